@@ -0,0 +1,158 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.cell.Cell;
+import it.polimi.ingsw.util.persistence.SaveJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the persistence of a {@link Game}.
+ * Before each measured save {@link GameState#victim} is moved to another {@link Cell}, so that every save has a
+ * change to write, as it has at the end of a real turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    /**
+     * This benchmark state tracks the {@link SaveJournal} of the {@link Game} of a {@link GameState}, so that each
+     * benchmark can choose which path of {@link SaveJournal#write(java.util.Map)} its measured save takes.
+     */
+    public abstract static class Journal {
+        /**
+         * The number of times {@link GameState#victim} was moved.
+         */
+        private int moves;
+
+        /**
+         * The {@link GameState} whose {@link Game} is saved, kept so that the invocation fixtures and the benchmarks
+         * all work on the instance this state was set up with.
+         */
+        GameState state;
+
+        /**
+         * The number of records appended to the journal since its last snapshot.
+         */
+        int recordsSinceSnapshot;
+
+        /**
+         * Saves the {@link Game} once, since the first save always writes a snapshot.
+         *
+         * @param state the {@link GameState}.
+         */
+        @Setup(Level.Trial)
+        public void setUp(GameState state) {
+            this.state = state;
+            state.game.save();
+            recordsSinceSnapshot = 0;
+        }
+
+        /**
+         * Moves {@link GameState#victim} to the next {@link Cell} of the board.
+         */
+        void move() {
+            List<Cell> cells = state.game.getBoard().getCells();
+            state.victim.setPosition(cells.get(++moves % cells.size()));
+        }
+
+        /**
+         * Moves {@link GameState#victim} and saves the {@link Game} outside of the measurement.
+         */
+        void save() {
+            move();
+            state.game.save();
+            saved();
+        }
+
+        /**
+         * Counts a save, which is a snapshot once {@link SaveJournal#SNAPSHOT_INTERVAL} records were appended.
+         */
+        @TearDown(Level.Invocation)
+        public void saved() {
+            recordsSinceSnapshot = recordsSinceSnapshot >= SaveJournal.SNAPSHOT_INTERVAL ? 0 : recordsSinceSnapshot + 1;
+        }
+    }
+
+    /**
+     * This benchmark state lets the measured saves take whichever path the journal is at, as the turns of a
+     * real {@link Game} do.
+     */
+    @State(Scope.Thread)
+    public static class AnyRecord extends Journal {
+        /**
+         * Moves {@link GameState#victim}.
+         */
+        @Setup(Level.Invocation)
+        public void prepare() {
+            move();
+        }
+    }
+
+    /**
+     * This benchmark state makes every measured save append a record to the journal.
+     */
+    @State(Scope.Thread)
+    public static class Append extends Journal {
+        /**
+         * Writes the snapshot that is due, if any, and moves {@link GameState#victim}.
+         */
+        @Setup(Level.Invocation)
+        public void prepare() {
+            if (recordsSinceSnapshot >= SaveJournal.SNAPSHOT_INTERVAL)
+                save();
+            move();
+        }
+    }
+
+    /**
+     * This benchmark state makes every measured save compact the journal into a snapshot.
+     */
+    @State(Scope.Thread)
+    public static class Snapshot extends Journal {
+        /**
+         * Appends records until a snapshot is due, and moves {@link GameState#victim}.
+         */
+        @Setup(Level.Invocation)
+        public void prepare() {
+            while (recordsSinceSnapshot < SaveJournal.SNAPSHOT_INTERVAL)
+                save();
+            move();
+        }
+    }
+
+    /**
+     * Measures {@link Game#save()}, which is invoked at the end of every turn, averaged over the appended records
+     * and the snapshots.
+     *
+     * @param turn the {@link AnyRecord} state.
+     */
+    @Benchmark
+    public void save(AnyRecord turn) {
+        turn.state.game.save();
+    }
+
+    /**
+     * Measures {@link Game#save()} when it appends a record holding the changed entries to the journal.
+     *
+     * @param turn the {@link Append} state.
+     */
+    @Benchmark
+    public void saveAppend(Append turn) {
+        turn.state.game.save();
+    }
+
+    /**
+     * Measures {@link Game#save()} when it compacts the journal into a snapshot of the whole state.
+     *
+     * @param turn the {@link Snapshot} state.
+     */
+    @Benchmark
+    public void saveSnapshot(Snapshot turn) {
+        turn.state.game.save();
+    }
+}
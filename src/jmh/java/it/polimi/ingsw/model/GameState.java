@@ -0,0 +1,101 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.cell.Cell;
+import it.polimi.ingsw.model.exceptions.EmptyDeckException;
+import it.polimi.ingsw.model.exceptions.FullHandException;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.util.persistence.SaveStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This benchmark state holds a {@link Game} in a typical mid-game configuration, generated from the real
+ * {@code boards.json} and {@code weapons.json}: five players spread over the board, each holding one weapon,
+ * and the first of them carrying damage from all of the others.
+ * Unlike a simulation, the {@link Game} is persistent, but it is saved to a temporary directory.
+ */
+@State(Scope.Thread)
+public class GameState {
+    /**
+     * The seed every benchmarked {@link Game} is created with.
+     */
+    private static final long SEED = 2019;
+
+    /**
+     * The id of the board schematic to play on.
+     */
+    @Param({"1", "2", "3", "4"})
+    public int boardType;
+
+    /**
+     * The {@link Game}.
+     */
+    public Game game;
+
+    /**
+     * The participants of the {@link Game}, the first one being {@link GameState#victim}.
+     */
+    public List<Player> participants;
+
+    /**
+     * The {@link Player} carrying damage from every opponent.
+     */
+    public Player victim;
+
+    /**
+     * The temporary directory the {@link Game} is saved to.
+     */
+    private File saves;
+
+    /**
+     * Creates the {@link Game} and sets up its state.
+     *
+     * @throws IOException if the temporary directory can't be created.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        saves = Files.createTempDirectory("game-state").toFile();
+        GameMode mode = new GameMode(true, true, true, true, GameMode.DEFAULT_SAVE_SLOT).withSaveStore(new SaveStore(saves));
+
+        participants = new ArrayList<>();
+        for (int i = 1; i <= 5; i++)
+            participants.add(new Player("Player" + i));
+
+        game = Game.create(true, 8, boardType, participants, mode, SEED);
+
+        List<Cell> cells = game.getBoard().getCells();
+        for (int i = 0; i < participants.size(); i++) {
+            Player player = participants.get(i);
+            player.setPosition(cells.get(i * 3 % cells.size()));
+            player.savePosition();
+            try {
+                player.giveWeapon(game.getBoard().getWeaponDeck().draw());
+            } catch (EmptyDeckException | FullHandException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        victim = participants.get(0);
+        for (int i = 1; i < participants.size(); i++) {
+            victim.applyDamage(participants.get(i));
+            victim.applyDamage(participants.get(i));
+        }
+    }
+
+    /**
+     * Deletes the temporary directory the {@link Game} was saved to.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        File[] files = saves.listFiles();
+        if (files != null)
+            for (File file : files)
+                file.delete();
+        saves.delete();
+    }
+}
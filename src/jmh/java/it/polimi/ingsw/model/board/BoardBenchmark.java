@@ -0,0 +1,40 @@
+package it.polimi.ingsw.model.board;
+
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.weaponry.Weapon;
+import it.polimi.ingsw.util.json.JsonObjectGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the generation of a {@link Board} and of its {@link Deck}s from the JSON configuration files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    /**
+     * Measures {@link Board#generate(it.polimi.ingsw.model.Game, int)} for the board type of the {@link GameState}.
+     *
+     * @param state the {@link GameState}.
+     * @return the {@link Board}, so that it is not optimized away.
+     */
+    @Benchmark
+    public Board generate(GameState state) {
+        return Board.generate(state.game, state.boardType);
+    }
+
+    /**
+     * Measures the parsing of {@code weapons.json} into a {@link Deck} of {@link Weapon}s.
+     *
+     * @return the {@link Deck}, so that it is not optimized away.
+     */
+    @Benchmark
+    public Deck<Weapon> generateWeapons() {
+        return Deck.generateWeapons(JsonObjectGenerator.getWeaponDeckBuilder());
+    }
+}
@@ -0,0 +1,50 @@
+package it.polimi.ingsw.model.cell;
+
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.exceptions.NullCellOperationException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the geometric queries between {@link Cell}s, each iteration covering every ordered pair of {@link Cell}s on the board.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CellBenchmark {
+
+    /**
+     * Measures {@link Cell#distance(Cell)}.
+     *
+     * @param state the {@link GameState}.
+     * @param hole  the sink for the results.
+     * @throws NullCellOperationException never, as no {@link Cell} is null.
+     */
+    @Benchmark
+    public void distance(GameState state, Blackhole hole) throws NullCellOperationException {
+        List<Cell> cells = state.game.getBoard().getCells();
+        for (Cell a : cells)
+            for (Cell b : cells)
+                hole.consume(a.distance(b));
+    }
+
+    /**
+     * Measures {@link Cell#canSee(Cell)}.
+     *
+     * @param state the {@link GameState}.
+     * @param hole  the sink for the results.
+     * @throws NullCellOperationException never, as no {@link Cell} is null.
+     */
+    @Benchmark
+    public void canSee(GameState state, Blackhole hole) throws NullCellOperationException {
+        List<Cell> cells = state.game.getBoard().getCells();
+        for (Cell a : cells)
+            for (Cell b : cells)
+                hole.consume(a.canSee(b));
+    }
+}
@@ -0,0 +1,40 @@
+package it.polimi.ingsw.model.player;
+
+import it.polimi.ingsw.model.GameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the per-turn decisions and the scoring of a {@link Player}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+    /**
+     * Measures {@link Execution#getOptionsForPlayer(Player)}.
+     *
+     * @param state the {@link GameState}.
+     * @return the options, so that they are not optimized away.
+     */
+    @Benchmark
+    public List<Execution> getOptionsForPlayer(GameState state) {
+        return Execution.getOptionsForPlayer(state.victim);
+    }
+
+    /**
+     * Measures {@link Player#scoreDamageTrack()} on a damaged, but not killed, {@link Player}.
+     * Scoring does not alter the damage track, so every invocation does the same amount of work.
+     *
+     * @param state the {@link GameState}.
+     */
+    @Benchmark
+    public void scoreDamageTrack(GameState state) {
+        state.victim.scoreDamageTrack();
+    }
+}
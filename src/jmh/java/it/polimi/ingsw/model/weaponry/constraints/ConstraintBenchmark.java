@@ -0,0 +1,85 @@
+package it.polimi.ingsw.model.weaponry.constraints;
+
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.weaponry.AttackPattern;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks {@link Constraint#filterPlayers(AttackPattern, List)} for each {@link ConstraintType},
+ * filtering the opponents of the first {@link Player} of the {@link GameState}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConstraintBenchmark {
+
+    /**
+     * The type of {@link Constraint} to filter with.
+     */
+    @Param({"ALIGNMENT", "DISTANCE", "IDENTITY", "ORDER", "ROOM", "VISIBILITY"})
+    public ConstraintType type;
+
+    /**
+     * The {@link AttackPattern} providing the context of the filter.
+     */
+    private AttackPattern context;
+
+    /**
+     * The list containing the only {@link Constraint} to filter with.
+     */
+    private List<Constraint> constraints;
+
+    /**
+     * Builds a {@link Constraint} of {@link ConstraintBenchmark#type} relating the author to any other {@link Player}.
+     *
+     * @param state the {@link GameState}.
+     */
+    @Setup(Level.Trial)
+    public void setUp(GameState state) {
+        context = new AttackPattern(new ArrayList<>(), new ArrayList<>());
+        context.setAuthor(state.victim);
+
+        Constraint constraint;
+        switch (type) {
+            case ALIGNMENT:
+                constraint = new AlignmentConstraint(-1, -1, -3, -3, true);
+                break;
+            case DISTANCE:
+                constraint = new DistanceConstraint(-1, -1, -3, -3, 1, 2);
+                break;
+            case IDENTITY:
+                constraint = new IdentityConstraint(-1, -1, -3, -3, false);
+                break;
+            case ORDER:
+                constraint = new OrderConstraint(-2, -2, -1, -1, -3, -3);
+                break;
+            case ROOM:
+                constraint = new RoomConstraint(-1, -1, -3, -3, true);
+                break;
+            default:
+                constraint = new VisibilityConstraint(-1, -1, -3, -3, true);
+                break;
+        }
+        constraints = Collections.singletonList(constraint);
+    }
+
+    /**
+     * Measures {@link Constraint#filterPlayers(AttackPattern, List)}.
+     *
+     * @param state the {@link GameState}.
+     * @return the filtered {@link Player}s, so that they are not optimized away.
+     */
+    @Benchmark
+    public List<Player> filterPlayers(GameState state) {
+        return Constraint.filterPlayers(context, constraints);
+    }
+}
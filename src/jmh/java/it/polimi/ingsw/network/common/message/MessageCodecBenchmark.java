@@ -0,0 +1,103 @@
+package it.polimi.ingsw.network.common.message;
+
+import it.polimi.ingsw.model.GameState;
+import it.polimi.ingsw.network.common.deliverable.*;
+import it.polimi.ingsw.view.virtual.cli.CliCommon;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares the {@link MessageCodec}s on the {@link NetworkMessage}s that make up most of the traffic of a
+ * {@code Game}: the {@link Response}s sent by the clients, the {@link Mapped} requests and the {@link Assets} holding
+ * the whole canvas of the {@link GameState}. The length of each frame is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageCodecBenchmark {
+
+    /**
+     * The name of the {@link MessageCodec} to measure.
+     */
+    @Param({"SERIALIZED", "BINARY"})
+    public String codecName;
+
+    /**
+     * The type of {@link Deliverable} carried by the {@link NetworkMessage}.
+     */
+    @Param({"RESPONSE", "MAPPED", "ASSETS"})
+    public DeliverableType content;
+
+    /**
+     * The {@link MessageCodec} to measure.
+     */
+    private MessageCodec codec;
+
+    /**
+     * The {@link NetworkMessage} to encode.
+     */
+    private NetworkMessage message;
+
+    /**
+     * The frame to decode, holding {@link MessageCodecBenchmark#message}.
+     */
+    private byte[] frame;
+
+    /**
+     * Builds the {@link NetworkMessage} and encodes it once.
+     *
+     * @param state the {@link GameState}.
+     * @throws IOException if the {@link NetworkMessage} can't be encoded.
+     */
+    @Setup(Level.Trial)
+    public void setUp(GameState state) throws IOException {
+        codec = codecName.equals("BINARY") ? MessageCodec.BINARY : MessageCodec.SERIALIZED;
+
+        Deliverable deliverable;
+        switch (content) {
+            case RESPONSE:
+                deliverable = new Response(2);
+                break;
+            case MAPPED:
+                deliverable = new Mapped(DeliverableEvent.MOVE_REQUEST, Arrays.asList("(0, 0)", "(0, 1)", "(1, 0)", "(1, 1)", "(2, 1)"));
+                break;
+            default:
+                deliverable = new Assets(DeliverableEvent.UPDATE_VIEW, CliCommon.getCanvas(state.victim));
+                break;
+        }
+        message = NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE, deliverable);
+
+        ByteBuffer encoded = codec.encode(message);
+        frame = encoded.array();
+        System.out.println(codecName + " " + content + ": " + encoded.limit() + " bytes per message");
+    }
+
+    /**
+     * Measures {@link MessageCodec#encode(NetworkMessage)}.
+     *
+     * @return the frame, so that it is not optimized away.
+     * @throws IOException if the {@link NetworkMessage} can't be encoded.
+     */
+    @Benchmark
+    public ByteBuffer encode() throws IOException {
+        return codec.encode(message);
+    }
+
+    /**
+     * Measures {@link MessageCodec#decode(byte[], int, int)}.
+     *
+     * @return the {@link NetworkMessage}, so that it is not optimized away.
+     * @throws IOException if the frame can't be decoded.
+     */
+    @Benchmark
+    public NetworkMessage decode() throws IOException {
+        return codec.decode(frame, Integer.BYTES, frame.length - Integer.BYTES);
+    }
+}
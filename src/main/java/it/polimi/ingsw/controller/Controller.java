@@ -31,6 +31,7 @@ import java.util.stream.Collectors;
 
 /**
  * This class controls changes in the status of the {@link Game}. One {@code Controller} is instantiated for each {@link Game}.
+ * Each change is followed by a call to {@link Game#notifyChanged()}, so that views know when to depict the {@link Game} again.
  */
 
 public class Controller {
@@ -59,6 +60,7 @@ public class Controller {
     public void spawn(Player subject, PowerUp powerUpToDiscard) {
         subject.spawn(powerUpToDiscard.getSpawnPoint(subject.getGame().getBoard()));
         subject.discardPowerUp(powerUpToDiscard);
+        subject.getGame().notifyChanged();
     }
 
     /**
@@ -69,6 +71,7 @@ public class Controller {
      */
     public void discardPowerUp(Player subject, PowerUp toDiscard) {
         subject.discardPowerUp(toDiscard);
+        subject.getGame().notifyChanged();
     }
 
     /**
@@ -79,6 +82,7 @@ public class Controller {
      */
     public void discardWeapon(Player subject, Weapon toDiscard) {
         subject.discardWeapon(toDiscard);
+        subject.getGame().notifyChanged();
     }
 
     /**
@@ -89,6 +93,7 @@ public class Controller {
      */
     public void move(Player subject, Cell destination) {
         subject.setPosition(destination);
+        subject.getGame().notifyChanged();
     }
 
     /**
@@ -105,6 +110,7 @@ public class Controller {
             return false;
 
         subject.giveAmmoCubes(ammoTile.getAmmoCubes());
+        subject.getGame().notifyChanged();
         if(ammoTile.includesPowerUp()) {
             Optional<PowerUp> powerUpOptional = subject.getGame()
                     .getBoard()
@@ -124,6 +130,7 @@ public class Controller {
         try {
             subject.getGame().getBoard().getAmmoTileDeck().discard(ammoTile);
         } catch (CannotDiscardFirstCardOfDeckException ignored) { }
+        subject.getGame().notifyChanged();
 
         return true;
     }
@@ -143,6 +150,7 @@ public class Controller {
         try {
             subject.takeAmmoCubes(weapons.get(weaponIndex).getPurchaseCost()); // this might throw an exception
             Weapon weapon = spawnCell.takeFromWeaponShop(weaponIndex); // if the player can't afford, this won't be executed
+            subject.getGame().notifyChanged();
             try {
                 subject.giveWeapon(weapon);
             } catch (FullHandException e) {
@@ -177,6 +185,7 @@ public class Controller {
         try {
             subject.takeAmmoCubes(attackModule.getSummonCost());
         } catch (CannotAffordException ignored) { } // this should never happen
+        subject.getGame().notifyChanged();
 
         List<Target> targets = attackModule.getTargets();
         virtualView.acquireTargets(subject, attackModule, targets);
@@ -213,6 +222,7 @@ public class Controller {
             });
 
         attackModule.setUsed(true);
+        subject.getGame().notifyChanged();
 
         AttackPattern pattern = attackModule.getContext();
 
@@ -239,6 +249,7 @@ public class Controller {
             weapon.reload(); // if the player can't afford, this won't be executed
         } catch (CannotAffordException ignored) {
         }
+        subject.getGame().notifyChanged();
     }
 
     /**
@@ -264,6 +275,8 @@ public class Controller {
      */
     public void scope(Damage damage, List<Player> targets, List<Player> scopedPlayers) {
         damage.applyAfterScopes(targets, scopedPlayers);
+        if (!targets.isEmpty())
+            targets.get(0).getGame().notifyChanged();
     }
 
     /**
@@ -278,6 +291,7 @@ public class Controller {
 
         Mark mark = new Mark(1, null);
         mark.grenade(subject, originalAttacker);
+        subject.getGame().notifyChanged();
     }
 
     /**
@@ -288,6 +302,7 @@ public class Controller {
      */
     public void newton(Player target, Cell destination) {
         target.setPosition(destination);
+        target.getGame().notifyChanged();
     }
 
     /**
@@ -298,5 +313,6 @@ public class Controller {
      */
     public void teleport(Player subject, Cell destination) {
         subject.setPosition(destination);
+        subject.getGame().notifyChanged();
     }
 }
@@ -8,10 +8,7 @@ import it.polimi.ingsw.model.cell.AmmoCell;
 import it.polimi.ingsw.model.cell.Cell;
 import it.polimi.ingsw.model.cell.SpawnCell;
 import it.polimi.ingsw.model.exceptions.*;
-import it.polimi.ingsw.util.json.DecoratedJsonArray;
-import it.polimi.ingsw.util.json.DecoratedJsonObject;
-import it.polimi.ingsw.util.json.JsonObjectGenerator;
-import it.polimi.ingsw.util.json.JsonPathGenerator;
+import it.polimi.ingsw.util.persistence.SaveJournal;
 import it.polimi.ingsw.network.server.Server;
 import it.polimi.ingsw.network.server.VirtualClient;
 import it.polimi.ingsw.view.virtual.VirtualView;
@@ -21,9 +18,10 @@ import it.polimi.ingsw.model.powerups.PowerUp;
 import it.polimi.ingsw.util.Table;
 import it.polimi.ingsw.model.weaponry.Weapon;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -36,9 +34,30 @@ public class Game {
      */
     public static final int MINIMUM_PLAYER_COUNT = 3;
 
+    /**
+     * The bits of a save state entry key that tell the kind of entry, the remaining bits holding the id of the entity.
+     */
+    private static final int ENTRY_KIND_MASK = 0xFFFF0000;
+
+    /**
+     * The key of the save state entry holding the state of the {@code Game} that belongs neither to a {@link Cell} nor to a {@link Player}.
+     */
+    private static final int HEADER_ENTRY = 0;
+
+    /**
+     * The kind of the save state entries holding the state of a {@link Cell}, to be combined with the id of the {@link Cell}.
+     */
+    private static final int CELL_ENTRY = 1 << 16;
+
+    /**
+     * The kind of the save state entries holding the state of a {@link Player}, to be combined with the id of the {@link Player}.
+     */
+    private static final int PLAYER_ENTRY = 2 << 16;
+
     /**
      * Allows to play a game without depending on the client-server architecture. Enabling this flag
      * allows integration testing of the game only, without indirectly testing external aspects as well.
+     * This is only read when a {@code Game} is created without an explicit {@link GameMode}.
      */
     public static boolean offlineMode = false;
 
@@ -98,6 +117,40 @@ public class Game {
      */
     private VirtualView virtualView;
 
+    /**
+     * The flags deciding how this {@code Game} interacts with the outside world.
+     */
+    private GameMode mode;
+
+    /**
+     * The seed {@link Game#random} was created from. Replaying a {@code Game} with the same seed and the same
+     * settings deals the same cards in the same order and, on auto pilot, makes the same choices.
+     */
+    private long seed;
+
+    /**
+     * The source of every random choice made on behalf of this {@code Game}. It is never shared with other games.
+     */
+    private SplittableRandom random;
+
+    /**
+     * The number of turns played so far. It is only increased by the thread playing the {@code Game}, but it may be
+     * read by any other, such as the one reporting the running games.
+     */
+    private volatile int turnCount;
+
+    /**
+     * The number of changes made to the state of the {@code Game} so far. It is increased by
+     * {@link Game#notifyChanged()}, so that views can tell whether what they depicted is still up to date.
+     */
+    private final AtomicLong revision = new AtomicLong();
+
+    /**
+     * The journal the state of the {@code Game} is saved to at the end of each turn, bound to the save slot of its {@link GameMode}.
+     * It is only opened by the first save of a persistent {@code Game}, so that the others never touch the {@link GameMode#getSaveStore()}.
+     */
+    private SaveJournal journal;
+
     /**
      * This is the only constructor.
      *
@@ -105,8 +158,14 @@ public class Game {
      * @param roundsToPlay the number of rounds to play, also the initial value {@link Game#roundsLeft}.
      * @param boardType    the id of the type of {@link Board} to play the game on.
      * @param participants the list of {@link Game#participants}.
+     * @param mode         the {@link Game#mode}.
+     * @param seed         the {@link Game#seed}.
      */
-    private Game(boolean finalFrenzy, int roundsToPlay, int boardType, List<Player> participants) {
+    private Game(boolean finalFrenzy, int roundsToPlay, int boardType, List<Player> participants, GameMode mode, long seed) {
+        this.mode = mode;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.turnCount = 0;
         this.finalFrenzy = finalFrenzy;
         this.roundsLeft = roundsToPlay;
         this.gameOver = false;
@@ -119,17 +178,50 @@ public class Game {
 
     /**
      * This factory method creates a new {@code Game} with the settings specified by the arguments. It then
-     * proceeds to bind each of the {@code participants} to the {@code Game}.
+     * proceeds to bind each of the {@code participants} to the {@code Game}, assigning them their ids in order.
      *
      * @param finalFrenzy  whether to enable {@link Game#finalFrenzy}.
      * @param roundsToPlay the number of rounds to play, also the initial value {@link Game#roundsLeft}.
      * @param boardType    the id of the type of {@link Board} to play the game on.
      * @param participants the list of {@link Game#participants}.
      * @return the {@code Game}.
+     * @see GameMode#defaults()
      */
     public static Game create(boolean finalFrenzy, int roundsToPlay, int boardType, List<Player> participants) {
-        Game game = new Game(finalFrenzy, roundsToPlay, boardType, participants);
-        participants.forEach(p -> p.setGame(game));
+        return create(finalFrenzy, roundsToPlay, boardType, participants, GameMode.defaults());
+    }
+
+    /**
+     * This factory method creates a new {@code Game} with the settings specified by the arguments, played in the given
+     * {@link GameMode} and with a random seed.
+     *
+     * @param finalFrenzy  whether to enable {@link Game#finalFrenzy}.
+     * @param roundsToPlay the number of rounds to play, also the initial value {@link Game#roundsLeft}.
+     * @param boardType    the id of the type of {@link Board} to play the game on.
+     * @param participants the list of {@link Game#participants}.
+     * @param mode         the {@link Game#mode}.
+     * @return the {@code Game}.
+     */
+    public static Game create(boolean finalFrenzy, int roundsToPlay, int boardType, List<Player> participants, GameMode mode) {
+        return create(finalFrenzy, roundsToPlay, boardType, participants, mode, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * This factory method creates a new {@code Game} with the settings specified by the arguments, played in the given
+     * {@link GameMode} and with all of its random choices drawn from a generator seeded with {@code seed}.
+     *
+     * @param finalFrenzy  whether to enable {@link Game#finalFrenzy}.
+     * @param roundsToPlay the number of rounds to play, also the initial value {@link Game#roundsLeft}.
+     * @param boardType    the id of the type of {@link Board} to play the game on.
+     * @param participants the list of {@link Game#participants}.
+     * @param mode         the {@link Game#mode}.
+     * @param seed         the {@link Game#seed}.
+     * @return the {@code Game}.
+     */
+    public static Game create(boolean finalFrenzy, int roundsToPlay, int boardType, List<Player> participants, GameMode mode, long seed) {
+        Game game = new Game(finalFrenzy, roundsToPlay, boardType, participants, mode, seed);
+        for(int i = 0; i < participants.size(); i ++)
+            participants.get(i).setGame(game, i + 1);
         return game;
     }
 
@@ -169,6 +261,60 @@ public class Game {
         return virtualView;
     }
 
+    /**
+     * Gets the {@link Game#mode} the {@code Game} is played in.
+     *
+     * @return the {@link GameMode}.
+     */
+    public GameMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the {@link Game#seed} of the {@code Game}.
+     *
+     * @return the seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the {@link Game#random} generator of the {@code Game}. It must only be used by the thread playing the {@code Game}.
+     *
+     * @return the generator.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets the {@link Game#turnCount}.
+     *
+     * @return the number of turns played so far.
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * Notifies the {@code Game} that its state has changed, or is about to change, in a way that can be seen by
+     * the {@link Player}s. This is done by the {@code Controller} after each action and by the {@code Game} itself
+     * at the beginning and at the end of each turn.
+     */
+    public void notifyChanged() {
+        revision.incrementAndGet();
+    }
+
+    /**
+     * Gets the {@link Game#revision}.
+     *
+     * @return the number of changes made to the state of the {@code Game} so far.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
     /**
      * Passes the turn on to the next {@link Player}.
      */
@@ -180,8 +326,10 @@ public class Game {
      * Executes a sequence of internal methods that form one complete turn.
      */
     private void playTurn() {
+        turnCount++;
         board.spreadAmmo();
         board.spreadWeapons();
+        notifyChanged();
 
         Player subject = participants.get(currentTurnPlayer);
 
@@ -194,13 +342,13 @@ public class Game {
 
         boolean enoughPlayers = onlinePlayerCount >= MINIMUM_PLAYER_COUNT;
 
-        if (!enoughPlayers && !offlineMode) { // end game if there are not enough participants
+        if (!enoughPlayers && !mode.isOffline()) { // end game if there are not enough participants
             gameOver = true;
             virtualView.announceInsufficientPlayers();
             return;
         }
 
-        if(!subject.isConnected() && !offlineMode) {
+        if(!subject.isConnected() && !mode.isOffline()) {
             virtualView.announceDisconnect(subject);
             advanceTurn();
             return;
@@ -355,6 +503,7 @@ public class Game {
         }
 
         advanceTurn();
+        notifyChanged();
         save(); // save the game state at the end of each turn
     }
 
@@ -384,534 +533,322 @@ public class Game {
     }
 
     /**
-     * Saves the game status to a {@code .json} file.
+     * Saves the game status to the {@link Game#journal}. Each {@link Cell}, each {@link Player} and the rest of the
+     * {@code Game} are encoded separately, so that only the ones that changed since the last save are written.
+     * Nothing is saved unless the {@link GameMode} is persistent.
      */
     public void save() {
-        DecoratedJsonObject jSaved = new DecoratedJsonObject();
-
-        jSaved.putValue("valid", true);
-        jSaved.putValue("finalFrenzy", finalFrenzy);
-        jSaved.putValue("roundsLeft", roundsLeft);
-        jSaved.putValue("currentTurnPlayer", currentTurnPlayer);
-        jSaved.putValue("boardType", boardType);
-
-        DecoratedJsonArray jKillers = new DecoratedJsonArray(
-                board.getKillers().stream().map(p -> {
-                    if (p == null)
-                        return new DecoratedJsonObject("id", -1);
-                    return new DecoratedJsonObject("id", p.getId());
-                }).collect(Collectors.toList()),
-                null
-        );
-        jSaved.putArray("killers", jKillers);
-
-        DecoratedJsonArray jDoubleKillers = new DecoratedJsonArray(
-                board.getDoubleKillers().stream().map(p -> {
-                    if (p == null)
-                        return new DecoratedJsonObject("id", -1);
-                    return new DecoratedJsonObject("id", p.getId());
-                }).collect(Collectors.toList()),
-                null
-        );
-        jSaved.putArray("doubleKillers", jDoubleKillers);
-
-        DecoratedJsonArray jCells = new DecoratedJsonArray(
-                board.getCells().stream().map(c -> {
-                    DecoratedJsonObject jCell = new DecoratedJsonObject();
-                    jCell.putValue("id", c.getId());
-                    if (c.isSpawnPoint()) {
-                        DecoratedJsonArray jWeaponShop = new DecoratedJsonArray(
-                                ((SpawnCell) c).getWeaponShop()
-                                        .stream()
-                                        .map(w -> new DecoratedJsonObject("name", w.getName()))
-                                        .collect(Collectors.toList()),
-                                null
-                        );
-                        jCell.putArray("weaponShop", jWeaponShop);
-                    } else {
-                        AmmoTile ammoTile = ((AmmoCell) c).getAmmoTile();
-                        DecoratedJsonObject jAmmoTile = new DecoratedJsonObject();
-                        if (ammoTile != null) {
-                            jAmmoTile.putValue("red", ammoTile.getAmmoCubes().getRed());
-                            jAmmoTile.putValue("yellow", ammoTile.getAmmoCubes().getYellow());
-                            jAmmoTile.putValue("blue", ammoTile.getAmmoCubes().getBlue());
-                            jAmmoTile.putValue("includesPowerUp", ammoTile.includesPowerUp());
-                            jCell.putObject("ammoTile", jAmmoTile);
-                        } else {
-                            jCell.putValue("ammoTile", null);
-                        }
-                    }
-                    return jCell;
-                }).collect(Collectors.toList()),
-                null
-        );
-        jSaved.putArray("cells", jCells);
-
-        DecoratedJsonArray jParticipants = new DecoratedJsonArray(
-                participants.stream().map(p -> {
-                    DecoratedJsonObject jPlayer = new DecoratedJsonObject();
-                    jPlayer.putValue("id", p.getId());
-                    jPlayer.putValue("name", p.getName());
-                    jPlayer.putValue("score", p.getScore());
-                    jPlayer.putValue("deathCount", p.getDeathCount());
-                    jPlayer.putValue("onFrenzy", p.isOnFrenzy());
-                    jPlayer.putValue("causedFrenzy", p.causedFrenzy());
-                    jPlayer.putArray("damage", new DecoratedJsonArray(
-                            p.getDamageAsList()
-                                    .stream()
-                                    .map(Player::getId)
-                                    .map(i -> new DecoratedJsonObject("id", i))
-                                    .collect(Collectors.toList()),
-                            null
-                    ));
-                    jPlayer.putArray("markings", new DecoratedJsonArray(
-                            p.getMarkingsAsList()
-                                    .stream()
-                                    .map(Player::getId)
-                                    .map(i -> new DecoratedJsonObject("id", i))
-                                    .collect(Collectors.toList()),
-                            null
-                    ));
-                    jPlayer.putArray("weapons", new DecoratedJsonArray(
-                            p.getWeapons()
-                                    .stream()
-                                    .map(Weapon::getName)
-                                    .map(s -> new DecoratedJsonObject("name", s))
-                                    .collect(Collectors.toList()),
-                            null
-                    ));
-                    jPlayer.putArray("powerUps", new DecoratedJsonArray(
-                            p.getPowerUps()
-                                    .stream()
-                                    .map(pow -> {
-                                        DecoratedJsonObject jPowerUp = new DecoratedJsonObject();
-                                        jPowerUp.putValue("type", pow.getType().toString().toLowerCase());
-                                        jPowerUp.putValue("color", pow.getAmmoCubes().toStringAsColor());
-                                        return jPowerUp;
-                                    })
-                                    .collect(Collectors.toList()),
-                            null
-                    ));
-                    DecoratedJsonObject jAmmoCubes = new DecoratedJsonObject();
-                    jAmmoCubes.putValue("red", p.getAmmoCubes().getRed());
-                    jAmmoCubes.putValue("yellow", p.getAmmoCubes().getYellow());
-                    jAmmoCubes.putValue("blue", p.getAmmoCubes().getBlue());
-                    jPlayer.putObject("ammoCubes", jAmmoCubes);
-
-                    jPlayer.putValue("position", p.getPosition() == null ? -1 : p.getPosition().getId());
-
-                    return jPlayer;
-                }).collect(Collectors.toList()),
-                null
-        );
-        jSaved.putArray("participants", jParticipants);
-
-        DecoratedJsonObject tl = new DecoratedJsonObject();
-        tl.putObject("saved", jSaved);
-        tl.writeToFile(JsonPathGenerator.getFile("saved.json"));
+        if (!mode.isPersistent())
+            return;
+
+        Map<Integer, byte[]> entries = new HashMap<>();
+        entries.put(HEADER_ENTRY, encodeHeader());
+        board.getCells().forEach(c -> entries.put(CELL_ENTRY | c.getId(), encodeCell(c)));
+        participants.forEach(p -> entries.put(PLAYER_ENTRY | p.getId(), encodePlayer(p)));
+        getJournal().write(entries);
     }
 
     /**
-     * Taints the current save state for this {@code Game} by applying an invalidity tag. This is done
+     * Discards the current save state for this {@code Game} by emptying its save slot. This is done
      * to prevent the option of replaying the last round of a {@code Game} that has already come to a conclusion.
+     * Nothing is discarded unless the {@link GameMode} is persistent.
      */
     public void invalidateSaveState() {
-        DecoratedJsonObject jSaved = new DecoratedJsonObject();
+        if (mode.isPersistent())
+            getJournal().discard();
+    }
 
-        jSaved.putValue("valid", false);
+    /**
+     * Gets the {@link Game#journal}, opening it on the save slot of the {@link GameMode} the first time.
+     *
+     * @return the {@link SaveJournal}.
+     */
+    private SaveJournal getJournal() {
+        if (journal == null)
+            journal = mode.getSaveStore().open(mode.getSaveSlot());
+        return journal;
+    }
 
-        DecoratedJsonObject tl = new DecoratedJsonObject();
-        tl.putObject("saved", jSaved);
-        tl.writeToFile(JsonPathGenerator.getFile("saved.json"));
+    /**
+     * Encodes the state of the {@code Game} that belongs neither to a {@link Cell} nor to a {@link Player}.
+     *
+     * @return the encoded state.
+     */
+    private byte[] encodeHeader() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeBoolean(finalFrenzy);
+            out.writeInt(roundsLeft);
+            out.writeInt(currentTurnPlayer);
+            out.writeInt(boardType);
+            writePlayerIds(out, board.getKillers());
+            writePlayerIds(out, board.getDoubleKillers());
+        } catch (IOException e) {
+            throw new SaveJournalException("Could not encode the game state.");
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes the state of a {@link Cell}: the content of its weapon shop if it is a {@link SpawnCell},
+     * or its {@link AmmoTile} otherwise.
+     *
+     * @param cell the {@link Cell}.
+     * @return the encoded state.
+     */
+    private static byte[] encodeCell(Cell cell) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (cell.isSpawnPoint()) {
+                List<Weapon> weaponShop = ((SpawnCell) cell).getWeaponShop();
+                out.writeByte(weaponShop.size());
+                for (Weapon weapon : weaponShop)
+                    out.writeUTF(weapon.getName());
+            } else {
+                AmmoTile ammoTile = ((AmmoCell) cell).getAmmoTile();
+                out.writeBoolean(ammoTile != null);
+                if (ammoTile != null) {
+                    out.writeByte(ammoTile.getAmmoCubes().getRed());
+                    out.writeByte(ammoTile.getAmmoCubes().getYellow());
+                    out.writeByte(ammoTile.getAmmoCubes().getBlue());
+                    out.writeBoolean(ammoTile.includesPowerUp());
+                }
+            }
+        } catch (IOException e) {
+            throw new SaveJournalException("Could not encode the state of cell " + cell.getId() + ".");
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes the state of a {@link Player}. The name comes first, so that it can be read without decoding the rest.
+     *
+     * @param player the {@link Player}.
+     * @return the encoded state.
+     */
+    private static byte[] encodePlayer(Player player) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(player.getName());
+            out.writeInt(player.getScore());
+            out.writeInt(player.getDeathCount());
+            out.writeBoolean(player.isOnFrenzy());
+            out.writeBoolean(player.causedFrenzy());
+            writePlayerIds(out, player.getDamageAsList());
+            writePlayerIds(out, player.getMarkingsAsList());
+            out.writeByte(player.getWeapons().size());
+            for (Weapon weapon : player.getWeapons())
+                out.writeUTF(weapon.getName());
+            out.writeByte(player.getPowerUps().size());
+            for (PowerUp powerUp : player.getPowerUps()) {
+                out.writeUTF(powerUp.getType().toString().toLowerCase());
+                out.writeUTF(powerUp.getAmmoCubes().toStringAsColor());
+            }
+            out.writeByte(player.getAmmoCubes().getRed());
+            out.writeByte(player.getAmmoCubes().getYellow());
+            out.writeByte(player.getAmmoCubes().getBlue());
+            out.writeByte(player.getPosition() == null ? -1 : player.getPosition().getId());
+        } catch (IOException e) {
+            throw new SaveJournalException("Could not encode the state of player " + player.getName() + ".");
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a list of {@link Player}s as their ids, {@code -1} standing for {@code null}.
+     *
+     * @param out     the stream to write to.
+     * @param players the list of {@link Player}s.
+     * @throws IOException when the stream can't be written.
+     */
+    private static void writePlayerIds(DataOutputStream out, List<Player> players) throws IOException {
+        out.writeByte(players.size());
+        for (Player player : players)
+            out.writeByte(player == null ? -1 : player.getId());
+    }
+
+    /**
+     * Reads a list of {@link Player}s written by {@link Game#writePlayerIds(DataOutputStream, List)}.
+     *
+     * @param in           the stream to read from.
+     * @param participants the {@link Player}s, in order of id.
+     * @return the list of {@link Player}s.
+     * @throws IOException when the stream ends prematurely.
+     */
+    private static List<Player> readPlayerIds(DataInputStream in, List<Player> participants) throws IOException {
+        int size = in.readUnsignedByte();
+        List<Player> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int id = in.readByte();
+            players.add(id == -1 ? null : participants.get(id - 1));
+        }
+        return players;
+    }
+
+    /**
+     * Opens an encoded save state entry for reading.
+     *
+     * @param entry the encoded entry.
+     * @return the stream.
+     */
+    private static DataInputStream open(byte[] entry) {
+        return new DataInputStream(new ByteArrayInputStream(entry));
     }
 
     /**
-     * This factory method creates a new {@code Game} based on a save state retrieved from a {@code .json} file.
+     * This factory method creates a new {@code Game} based on the save state held by the {@link GameMode#DEFAULT_SAVE_SLOT}.
      *
      * @param shuffledParticipants The list of {@link Player}s attempting to join the reloaded {@code Game}.
      * @return The {@code Game}.
-     * @throws InvalidSaveStateException           when attempting to load from an invalidated save state.
+     * @throws InvalidSaveStateException           when there is no resumable save state in the slot.
      * @throws UnmatchedSavedParticipantsException when the list of joining {@link Player}s is not a permutation
      *                                             of the list of {@link Player}s found in the save state.
+     * @see Game#load(List, GameMode)
      */
     public static Game load(List<Player> shuffledParticipants) throws InvalidSaveStateException, UnmatchedSavedParticipantsException {
-        DecoratedJsonObject jSaveState = JsonObjectGenerator.getSavedGameBuilder();
+        return load(shuffledParticipants, GameMode.defaults());
+    }
 
+    /**
+     * This factory method creates a new {@code Game} based on the save state held by the save slot of a {@link GameMode}.
+     * The reloaded {@code Game} is played in that {@link GameMode}, and keeps saving to the same slot.
+     *
+     * @param shuffledParticipants The list of {@link Player}s attempting to join the reloaded {@code Game}.
+     * @param mode                 the {@link GameMode} of the reloaded {@code Game}.
+     * @return The {@code Game}.
+     * @throws InvalidSaveStateException           when there is no resumable save state in the slot.
+     * @throws UnmatchedSavedParticipantsException when the list of joining {@link Player}s is not a permutation
+     *                                             of the list of {@link Player}s found in the save state.
+     */
+    public static Game load(List<Player> shuffledParticipants, GameMode mode) throws InvalidSaveStateException, UnmatchedSavedParticipantsException {
         if (shuffledParticipants == null)
             throw new NullPointerException("Tried to load a game with participants set to null.");
-        DecoratedJsonObject jSaved;
-        try {
-            jSaved = jSaveState.getObject("saved");
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate JSON does not include \"saved\" as top-level object.");
-        }
-
-        boolean valid;
-        try {
-            valid = jSaved.getBoolean("valid");
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate valid flag not found.");
-        }
 
-        if (!valid)
-            throw new InvalidSaveStateException("Attempted to load a save state marked as invalid.");
+        Map<Integer, byte[]> state = mode.getSaveStore().replay(mode.getSaveSlot());
+        if (!state.containsKey(HEADER_ENTRY))
+            throw new InvalidSaveStateException("No save state found in slot \"" + mode.getSaveSlot() + "\".");
 
-        List<String> savedPlayerNames;
         try {
-            savedPlayerNames = jSaved.getArray("participants")
-                    .toList()
-                    .stream()
-                    .map(djo -> {
-                        try {
-                            return djo.getString("name");
-                        } catch (JullPointerException e) {
-                            throw new JsonException("DecoratedJsonObject in \"participants\": name not found.");
-                        }
-                    })
-                    .collect(Collectors.toList());
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate participants not found.");
-        }
-
-        List<String> playerNames = shuffledParticipants.stream()
-                .map(Player::getName)
-                .collect(Collectors.toList());
+            DataInputStream header = open(state.get(HEADER_ENTRY));
 
-        if (savedPlayerNames.size() != playerNames.size())
-            throw new UnmatchedSavedParticipantsException("The saved game expected " + savedPlayerNames.size() + " players, but found " + playerNames.size() + " instead.");
+            List<String> savedPlayerNames = new ArrayList<>();
+            for (Map.Entry<Integer, byte[]> entry : state.entrySet())
+                if ((entry.getKey() & ENTRY_KIND_MASK) == PLAYER_ENTRY)
+                    savedPlayerNames.add(open(entry.getValue()).readUTF());
 
-        Optional<String> missingPlayer = savedPlayerNames.stream().filter(s -> !playerNames.contains(s)).findFirst();
-        if (missingPlayer.isPresent())
-            throw new UnmatchedSavedParticipantsException("The saved game expected player \"" + missingPlayer + "\" who was not found in the participants.");
+            List<String> playerNames = shuffledParticipants.stream()
+                    .map(Player::getName)
+                    .collect(Collectors.toList());
 
-        Optional<String> intrusivePlayer = playerNames.stream().filter(s -> !savedPlayerNames.contains(s)).findFirst();
-        if (intrusivePlayer.isPresent())
-            throw new UnmatchedSavedParticipantsException("The saved game did not expect a player named \"" + intrusivePlayer + "\".");
+            if (savedPlayerNames.size() != playerNames.size())
+                throw new UnmatchedSavedParticipantsException("The saved game expected " + savedPlayerNames.size() + " players, but found " + playerNames.size() + " instead.");
 
-        final List<Player> participants = shuffledParticipants.stream() // match the saved order
-                .sorted(Comparator.comparingInt(p -> savedPlayerNames.indexOf(p.getName())))
-                .collect(Collectors.toList());
+            Optional<String> missingPlayer = savedPlayerNames.stream().filter(s -> !playerNames.contains(s)).findFirst();
+            if (missingPlayer.isPresent())
+                throw new UnmatchedSavedParticipantsException("The saved game expected player \"" + missingPlayer + "\" who was not found in the participants.");
 
-        boolean finalFrenzy;
-        try {
-            finalFrenzy = jSaved.getBoolean("finalFrenzy");
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate finalFrenzy not found.");
-        }
-        int roundsLeft;
-        try {
-            roundsLeft = jSaved.getInt("roundsLeft");
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate roundsLeft not found.");
-        }
-        int currentTurnPlayer;
-        try {
-            currentTurnPlayer = jSaved.getInt("currentTurnPlayer");
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate currentTurnPlayer not found.");
-        }
-        int boardType;
-        try {
-            boardType = jSaved.getInt("boardType");
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate boardType not found.");
-        }
+            Optional<String> intrusivePlayer = playerNames.stream().filter(s -> !savedPlayerNames.contains(s)).findFirst();
+            if (intrusivePlayer.isPresent())
+                throw new UnmatchedSavedParticipantsException("The saved game did not expect a player named \"" + intrusivePlayer + "\".");
 
-        Game game = Game.create(finalFrenzy, roundsLeft, boardType, participants);
-        game.currentTurnPlayer = currentTurnPlayer;
+            final List<Player> participants = shuffledParticipants.stream() // match the saved order
+                    .sorted(Comparator.comparingInt(p -> savedPlayerNames.indexOf(p.getName())))
+                    .collect(Collectors.toList());
 
-        List<DecoratedJsonObject> jKillers;
-        try {
-            jKillers = jSaved.getArray("killers").toList();
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate killers not found.");
+            boolean finalFrenzy = header.readBoolean();
+            int roundsLeft = header.readInt();
+            int currentTurnPlayer = header.readInt();
+            int boardType = header.readInt();
+
+            Game game = Game.create(finalFrenzy, roundsLeft, boardType, participants, mode);
+            game.currentTurnPlayer = currentTurnPlayer;
+            game.getBoard().setKillers(readPlayerIds(header, participants));
+            game.getBoard().setDoubleKillers(readPlayerIds(header, participants));
+
+            for (Map.Entry<Integer, byte[]> entry : state.entrySet()) {
+                int kind = entry.getKey() & ENTRY_KIND_MASK;
+                int id = entry.getKey() & ~ENTRY_KIND_MASK;
+                if (kind == CELL_ENTRY)
+                    game.restoreCell(game.getBoard().getCells().get(id - 1), open(entry.getValue()));
+                else if (kind == PLAYER_ENTRY)
+                    game.restorePlayer(participants.get(id - 1), open(entry.getValue()));
+            }
+            return game;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new SaveJournalException("Save state is corrupted.");
         }
-        List<Player> killers = jKillers.stream()
-                .map(djo -> {
-                    try {
-                        return djo.getInt("id") - 1;
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate killer id not found.");
-                    }
-                })
-                .map(participants::get)
-                .collect(Collectors.toList());
-        game.getBoard().setKillers(killers);
-
+    }
 
-        List<DecoratedJsonObject> jDoubleKillers;
-        try {
-            jDoubleKillers = jSaved.getArray("doubleKillers").toList();
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate doubleKillers not found.");
-        }
-        List<Player> doubleKillers = jDoubleKillers.stream()
-                .map(djo -> {
-                    try {
-                        return djo.getInt("id") - 1;
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate doubleKiller id not found.");
-                    }
-                })
-                .map(participants::get)
-                .collect(Collectors.toList());
-        game.getBoard().setDoubleKillers(doubleKillers);
+    /**
+     * Restores the state of a {@link Cell} encoded by {@link Game#encodeCell(Cell)}.
+     *
+     * @param cell the {@link Cell}.
+     * @param in   the encoded state.
+     * @throws IOException when the encoded state ends prematurely.
+     */
+    private void restoreCell(Cell cell, DataInputStream in) throws IOException {
+        if (cell.isSpawnPoint()) {
+            int size = in.readUnsignedByte();
+            for (int i = 0; i < size; i++)
+                board.fetchWeapon(in.readUTF()).ifPresent(((SpawnCell) cell)::addToWeaponShop);
+        } else if (in.readBoolean()) {
+            int red = in.readByte();
+            int yellow = in.readByte();
+            int blue = in.readByte();
+            boolean includesPowerUp = in.readBoolean();
+            board.fetchAmmoTile(red, yellow, blue, includesPowerUp).ifPresent(((AmmoCell) cell)::setAmmoTile);
+        } else
+            ((AmmoCell) cell).setAmmoTile(null);
+    }
 
-        List<DecoratedJsonObject> jCells;
-        try {
-            jCells = jSaved.getArray("cells").toList();
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate cells not found.");
-        }
-        jCells.forEach(
-                jc -> {
-                    int id;
-                    try {
-                        id = jc.getInt("id");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate cell id not found.");
-                    }
-                    Cell cell = game.getBoard().getCells().get(id - 1);
-                    if (cell.isSpawnPoint()) {
-                        try {
-                            jc.getArray("weaponShop")
-                                    .toList()
-                                    .stream()
-                                    .map(djo -> {
-                                        try {
-                                            return djo.getString("name");
-                                        } catch (JullPointerException e) {
-                                            throw new JsonException("Savestate cell weaponShop weapon name not found.");
-                                        }
-                                    })
-                                    .map(s -> game.getBoard().fetchWeapon(s))
-                                    .forEach(
-                                            opt -> opt.ifPresent(((SpawnCell) cell)::addToWeaponShop)
-                                    );
-                        } catch (JullPointerException e) {
-                            throw new JsonException("Savestate cell weaponShop not found.");
-                        }
-                    } else {
-                        DecoratedJsonObject jAmmoTile;
-                        try {
-                            jAmmoTile = jc.getObject("ammoTile");
-                        } catch (JullPointerException e) {
-                            throw new JsonException("Savestate cell ammoTile not found.");
-                        }
-                        if (!jAmmoTile.isEmpty()) {
-                            int red;
-                            try {
-                                red = jAmmoTile.getInt("red");
-                            } catch (JullPointerException e) {
-                                throw new JsonException("Savestate cell ammoTile red not found.");
-                            }
-                            int yellow;
-                            try {
-                                yellow = jAmmoTile.getInt("yellow");
-                            } catch (JullPointerException e) {
-                                throw new JsonException("Savestate cell ammoTile yellow not found.");
-                            }
-                            int blue;
-                            try {
-                                blue = jAmmoTile.getInt("blue");
-                            } catch (JullPointerException e) {
-                                throw new JsonException("Savestate cell ammoTile blue not found.");
-                            }
-                            boolean includesPowerUp;
-                            try {
-                                includesPowerUp = jAmmoTile.getBoolean("includesPowerUp");
-                            } catch (JullPointerException e) {
-                                throw new JsonException("Savestate cell ammoTile includesPowerUp not found.");
-                            }
-                            game.getBoard()
-                                    .fetchAmmoTile(red, yellow, blue, includesPowerUp)
-                                    .ifPresent(((AmmoCell) cell)::setAmmoTile);
-                        } else
-                            ((AmmoCell) cell).setAmmoTile(null);
-                    }
+    /**
+     * Restores the state of a {@link Player} encoded by {@link Game#encodePlayer(Player)}.
+     *
+     * @param player the {@link Player}.
+     * @param in     the encoded state.
+     * @throws IOException when the encoded state ends prematurely.
+     */
+    private void restorePlayer(Player player, DataInputStream in) throws IOException {
+        in.readUTF(); // the name was already matched
+
+        player.giveScore(in.readInt());
+        player.setDeathCount(in.readInt());
+        if (in.readBoolean())
+            player.activateFrenzy();
+        if (in.readBoolean())
+            player.causeFrenzy();
+
+        readPlayerIds(in, participants).forEach(player::applyDamage);
+        readPlayerIds(in, participants).forEach(player::applyMarking);
+
+        int weapons = in.readUnsignedByte();
+        for (int i = 0; i < weapons; i++)
+            board.fetchWeapon(in.readUTF()).ifPresent(w -> {
+                try {
+                    player.giveWeapon(w);
+                } catch (FullHandException ignored) {
                 }
-        );
+            });
 
-        List<DecoratedJsonObject> jPlayers;
-        try {
-            jPlayers = jSaved.getArray("participants").toList();
-        } catch (JullPointerException e) {
-            throw new JsonException("Savestate participants not found.");
+        int powerUps = in.readUnsignedByte();
+        for (int i = 0; i < powerUps; i++) {
+            String type = in.readUTF();
+            String color = in.readUTF();
+            board.fetchPowerUp(type, color).ifPresent(pu -> {
+                try {
+                    player.givePowerUp(pu);
+                } catch (FullHandException ignored) {
+                }
+            });
         }
-        jPlayers.forEach(
-                jp -> {
-                    int id;
-                    try {
-                        id = jp.getInt("id");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant id not found.");
-                    }
-                    Player player = participants.get(id - 1);
-
-                    int score;
-                    try {
-                        score = jp.getInt("score");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant score not found.");
-                    }
-                    player.giveScore(score);
-
-                    int deathCount;
-                    try {
-                        deathCount = jp.getInt("deathCount");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant deathCount not found.");
-                    }
-                    player.setDeathCount(deathCount);
-
-                    boolean onFrenzy;
-                    try {
-                        onFrenzy = jp.getBoolean("onFrenzy");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant onFrenzy not found.");
-                    }
-                    if (onFrenzy)
-                        player.activateFrenzy();
-
-                    boolean causedFrenzy;
-                    try {
-                        causedFrenzy = jp.getBoolean("causedFrenzy");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant causedFrenzy not found.");
-                    }
-                    if (causedFrenzy)
-                        player.causeFrenzy();
-
-                    try {
-                        jp.getArray("damage")
-                                .toList()
-                                .stream()
-                                .map(djo -> {
-                                    try {
-                                        return djo.getInt("id");
-                                    } catch (JullPointerException e) {
-                                        throw new JsonException("Savestate participant damage id not found.");
-                                    }
-                                })
-                                .map(pid -> pid - 1)
-                                .map(participants::get)
-                                .forEach(player::applyDamage);
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant damage not found.");
-                    }
-
-                    try {
-                        jp.getArray("markings")
-                                .toList()
-                                .stream()
-                                .map(djo -> {
-                                    try {
-                                        return djo.getInt("id");
-                                    } catch (JullPointerException e) {
-                                        throw new JsonException("Savestate participant marking id not found.");
-                                    }
-                                })
-                                .map(pid -> pid - 1)
-                                .map(participants::get)
-                                .forEach(player::applyMarking);
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant markings not found.");
-                    }
 
-                    try {
-                        jp.getArray("weapons")
-                                .toList()
-                                .stream()
-                                .map(djo -> {
-                                    try {
-                                        return djo.getString("name");
-                                    } catch (JullPointerException e) {
-                                        throw new JsonException("Savestate participant weapon name not found.");
-                                    }
-                                })
-                                .map(game.getBoard()::fetchWeapon)
-                                .forEach(
-                                        opt -> opt.ifPresent(w -> {
-                                            try {
-                                                player.giveWeapon(w);
-                                            } catch (FullHandException ignored) {
-                                            }
-                                        })
-                                );
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant weapons not found.");
-                    }
+        int red = in.readByte();
+        int yellow = in.readByte();
+        int blue = in.readByte();
+        player.giveAmmoCubes(new AmmoCubes(red, yellow, blue));
 
-                    try {
-                        jp.getArray("powerUps")
-                                .toList()
-                                .forEach(
-                                        djo -> {
-                                            String type;
-                                            try {
-                                                type = djo.getString("type");
-                                            } catch (JullPointerException e) {
-                                                throw new JsonException("Savestate participant powerUp type not found.");
-                                            }
-                                            String color;
-                                            try {
-                                                color = djo.getString("color");
-                                            } catch (JullPointerException e) {
-                                                throw new JsonException("Savestate participant powerUp color not found.");
-                                            }
-                                            game.getBoard().fetchPowerUp(type, color).ifPresent(
-                                                    pu -> {
-                                                        try {
-                                                            player.givePowerUp(pu);
-                                                        } catch (FullHandException ignored) {
-                                                        }
-                                                    }
-                                            );
-                                        }
-                                );
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant powerUps not found.");
-                    }
-
-                    DecoratedJsonObject jAmmoCubes;
-                    try {
-                        jAmmoCubes = jp.getObject("ammoCubes");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant ammoCubes not found.");
-                    }
-                    int red;
-                    try {
-                        red = jAmmoCubes.getInt("red");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant ammoCubes red not found.");
-                    }
-                    int yellow;
-                    try {
-                        yellow = jAmmoCubes.getInt("yellow");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant ammoCubes yellow not found");
-                    }
-                    int blue;
-                    try {
-                        blue = jAmmoCubes.getInt("blue");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant ammoCubes blue not found.");
-                    }
-                    AmmoCubes ammoCubes = new AmmoCubes(red, yellow, blue);
-                    player.giveAmmoCubes(ammoCubes);
-
-                    int positionId;
-                    try {
-                        positionId = jp.getInt("position");
-                    } catch (JullPointerException e) {
-                        throw new JsonException("Savestate participant position not found.");
-                    }
-                    Cell position = positionId == -1 ? null : game.getBoard().getCells().get(positionId - 1);
-                    player.setPosition(position);
-
-                }
-        );
-        return game;
+        int positionId = in.readByte();
+        player.setPosition(positionId == -1 ? null : board.getCells().get(positionId - 1));
     }
 
     /**
@@ -0,0 +1,210 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.model.board.Board;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.util.persistence.SaveStore;
+import it.polimi.ingsw.view.virtual.VirtualView;
+
+/**
+ * A {@code GameMode} gathers the flags that decide how a single {@link Game} interacts with the world outside the model.
+ * Unlike the static flags found in {@link Game}, which are shared by every {@link Game} in the same JVM, a {@code GameMode}
+ * is bound to one {@link Game} only, so that differently configured games can run side by side.
+ */
+public class GameMode {
+    /**
+     * The slot used by games that were not given one.
+     */
+    public static final String DEFAULT_SAVE_SLOT = "saved";
+
+    /**
+     * Whether the {@link Game} is played without depending on the client-server architecture.
+     *
+     * @see Game#offlineMode
+     */
+    private final boolean offline;
+
+    /**
+     * Whether requests to the players are answered instantly by a random legal choice.
+     *
+     * @see Game#autoPilot
+     */
+    private final boolean autoPilot;
+
+    /**
+     * Whether all output of an offline {@link Game} is suppressed.
+     *
+     * @see Game#silent
+     */
+    private final boolean silent;
+
+    /**
+     * Whether the state of the {@link Game} is saved to disk at the end of each turn.
+     */
+    private final boolean persistent;
+
+    /**
+     * The slot of the {@link SaveStore} the {@link Game} is saved to and loaded from.
+     */
+    private final String saveSlot;
+
+    /**
+     * The {@link SaveStore} the {@link Game} is saved to and loaded from, or {@code null} for the default one.
+     */
+    private final SaveStore saveStore;
+
+    /**
+     * Whether the {@link Board} verifies its index of the positions of the {@link Player}s each time it is updated.
+     * This makes every movement linear in the number of {@link Player}s, so it is only meant to be used when testing.
+     *
+     * @see Board#verifyPositionIndex()
+     */
+    private final boolean checkPositionIndex;
+
+    /**
+     * This constructor creates a {@code GameMode} saving to the default {@link SaveStore}.
+     *
+     * @param offline    whether to enable {@link GameMode#offline}.
+     * @param autoPilot  whether to enable {@link GameMode#autoPilot}.
+     * @param silent     whether to enable {@link GameMode#silent}.
+     * @param persistent whether to enable {@link GameMode#persistent}.
+     * @param saveSlot   the {@link GameMode#saveSlot}.
+     */
+    public GameMode(boolean offline, boolean autoPilot, boolean silent, boolean persistent, String saveSlot) {
+        this(offline, autoPilot, silent, persistent, saveSlot, null, false);
+    }
+
+    /**
+     * This constructor creates a {@code GameMode} out of all of its settings.
+     *
+     * @param offline            whether to enable {@link GameMode#offline}.
+     * @param autoPilot          whether to enable {@link GameMode#autoPilot}.
+     * @param silent             whether to enable {@link GameMode#silent}.
+     * @param persistent         whether to enable {@link GameMode#persistent}.
+     * @param saveSlot           the {@link GameMode#saveSlot}.
+     * @param saveStore          the {@link GameMode#saveStore}, or {@code null} for the default one.
+     * @param checkPositionIndex whether to enable {@link GameMode#checkPositionIndex}.
+     */
+    private GameMode(boolean offline, boolean autoPilot, boolean silent, boolean persistent, String saveSlot, SaveStore saveStore, boolean checkPositionIndex) {
+        this.offline = offline;
+        this.autoPilot = autoPilot;
+        this.silent = silent;
+        this.persistent = persistent;
+        this.saveSlot = saveSlot;
+        this.saveStore = saveStore;
+        this.checkPositionIndex = checkPositionIndex;
+    }
+
+    /**
+     * This factory method creates a {@code GameMode} out of the current value of the static flags in {@link Game}.
+     * Saving is always enabled, as it has always been for games created this way, to the {@link GameMode#DEFAULT_SAVE_SLOT}.
+     *
+     * @return the {@code GameMode}.
+     */
+    public static GameMode defaults() {
+        return new GameMode(Game.offlineMode, Game.autoPilot, Game.silent, true, DEFAULT_SAVE_SLOT);
+    }
+
+    /**
+     * This factory method creates the {@code GameMode} used for headless simulations: offline, on auto pilot,
+     * silent and never saved, so that any number of such games can be played concurrently.
+     *
+     * @return the {@code GameMode}.
+     */
+    public static GameMode simulation() {
+        return new GameMode(true, true, true, false, DEFAULT_SAVE_SLOT);
+    }
+
+    /**
+     * Creates a copy of this {@code GameMode} that saves to a different slot.
+     *
+     * @param saveSlot the slot.
+     * @return the new {@code GameMode}.
+     */
+    public GameMode withSaveSlot(String saveSlot) {
+        return new GameMode(offline, autoPilot, silent, persistent, saveSlot, saveStore, checkPositionIndex);
+    }
+
+    /**
+     * Creates a copy of this {@code GameMode} that saves to a different {@link SaveStore}.
+     *
+     * @param saveStore the {@link SaveStore}.
+     * @return the new {@code GameMode}.
+     */
+    public GameMode withSaveStore(SaveStore saveStore) {
+        return new GameMode(offline, autoPilot, silent, persistent, saveSlot, saveStore, checkPositionIndex);
+    }
+
+    /**
+     * Creates a copy of this {@code GameMode} that verifies, or not, the index of the positions of the {@link Player}s.
+     *
+     * @param checkPositionIndex whether to enable {@link GameMode#checkPositionIndex}.
+     * @return the new {@code GameMode}.
+     */
+    public GameMode withPositionIndexCheck(boolean checkPositionIndex) {
+        return new GameMode(offline, autoPilot, silent, persistent, saveSlot, saveStore, checkPositionIndex);
+    }
+
+    /**
+     * Tells whether the {@link Game} is played offline.
+     *
+     * @return the value of {@link GameMode#offline}.
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * Tells whether the {@link VirtualView} answers requests on its own.
+     *
+     * @return the value of {@link GameMode#autoPilot}.
+     */
+    public boolean isAutoPilot() {
+        return autoPilot;
+    }
+
+    /**
+     * Tells whether all output is suppressed.
+     *
+     * @return the value of {@link GameMode#silent}.
+     */
+    public boolean isSilent() {
+        return silent;
+    }
+
+    /**
+     * Tells whether the {@link Game} is saved at the end of each turn.
+     *
+     * @return the value of {@link GameMode#persistent}.
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Gets the slot the {@link Game} is saved to.
+     *
+     * @return the value of {@link GameMode#saveSlot}.
+     */
+    public String getSaveSlot() {
+        return saveSlot;
+    }
+
+    /**
+     * Gets the {@link SaveStore} the {@link Game} is saved to, which is {@link SaveStore#getInstance()} unless
+     * another one was given.
+     *
+     * @return the {@link SaveStore}.
+     */
+    public SaveStore getSaveStore() {
+        return saveStore != null ? saveStore : SaveStore.getInstance();
+    }
+
+    /**
+     * Tells whether the {@link Board} verifies the index of the positions of the {@link Player}s.
+     *
+     * @return the value of {@link GameMode#checkPositionIndex}.
+     */
+    public boolean isCheckingPositionIndex() {
+        return checkPositionIndex;
+    }
+}
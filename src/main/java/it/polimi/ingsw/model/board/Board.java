@@ -1,6 +1,7 @@
 package it.polimi.ingsw.model.board;
 
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
 import it.polimi.ingsw.model.ammo.AmmoCubes;
 import it.polimi.ingsw.model.ammo.AmmoTile;
 import it.polimi.ingsw.model.cell.AmmoCell;
@@ -14,10 +15,8 @@ import it.polimi.ingsw.util.json.DecoratedJsonObject;
 import it.polimi.ingsw.util.json.JsonObjectGenerator;
 import it.polimi.ingsw.model.weaponry.Weapon;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -32,11 +31,32 @@ public class Board {
      */
     private static final int MAX_WEAPONS_PER_SPAWNPOINT = 3;
 
+    /**
+     * The distance tables computed so far, one for each board configuration. Since a table only depends on
+     * the layout of the board, it is computed once and then shared by all the {@code Board}s of the same type.
+     *
+     * @see Board#buildDistanceTable(List)
+     */
+    private static final Map<Integer, int[][]> distanceTables = new ConcurrentHashMap<>();
+
+    /**
+     * The visibility tables computed so far, one for each board configuration. Like the distance tables,
+     * these only depend on the layout of the board and are shared by all the {@code Board}s of the same type.
+     *
+     * @see Board#buildVisibilityTable(List)
+     */
+    private static final Map<Integer, long[]> visibilityTables = new ConcurrentHashMap<>();
+
     /**
      * The {@link Game} the {@code Board} is pertaining to.
      */
     private Game game;
 
+    /**
+     * The id of the board configuration the {@code Board} was generated from.
+     */
+    private int type;
+
     /**
      * The list of {@link Player}s who committed murder since the beginning of the current turn.
      * Each {@link Player} appears as many times as the number of kills they were able to score.
@@ -60,6 +80,36 @@ public class Board {
      */
     private List<Cell> cells;
 
+    /**
+     * The list of {@link Room}s the {@link Cell}s are grouped into, sorted by name.
+     */
+    private List<Room> rooms;
+
+    /**
+     * For each {@link Cell}, the list of {@link Player}s standing on it, sorted by id. The outer list is indexed
+     * by the position of the {@link Cell}s inside the {@link Board#cells} list.
+     *
+     * @see Cell#getPlayers()
+     */
+    private List<List<Player>> occupants;
+
+    /**
+     * The distance between each pair of {@link Cell}s, indexed by the position of the {@link Cell}s
+     * inside the {@link Board#cells} list. This table is never modified once generated.
+     *
+     * @see Cell#getIndex()
+     */
+    private int[][] distances;
+
+    /**
+     * For each {@link Cell}, the set of {@link Cell}s visible from it, encoded as a bit mask where
+     * bit {@code i} is set if and only if the {@link Cell} of index {@code i} is visible.
+     * This table is never modified once generated.
+     *
+     * @see Cell#canSee(Cell)
+     */
+    private long[] visibility;
+
     /**
      * The {@link Deck} of {@link Weapon}s.
      */
@@ -92,6 +142,7 @@ public class Board {
         Board board = new Board();
 
         board.game = game;
+        board.type = type;
 
         // initialize starting values
         board.turnKillers = new ArrayList<>();
@@ -102,13 +153,33 @@ public class Board {
         board.powerUpDeck = Deck.generatePowerUps();
         board.ammoTileDeck = Deck.generateAmmoTiles();
 
+        board.weaponDeck.setRandom(game.getRandom());
+        board.ammoTileDeck.setRandom(game.getRandom());
+        board.powerUpDeck.setRandom(game.getRandom());
+
         board.weaponDeck.shuffle();
         board.ammoTileDeck.shuffle();
         board.powerUpDeck.shuffle();
 
         // type is used to choose one predefined cell configuration
         board.cells = buildBoard(JsonObjectGenerator.getBoardBuilder(), type);
-        board.cells.forEach(c -> c.setBoard(board));
+        if(board.cells.size() > Long.SIZE)
+            throw new JsonException("Board configuration with id " + type + " has more than " + Long.SIZE + " cells.");
+        for(int i = 0; i < board.cells.size(); i ++)
+            board.cells.get(i).setBoard(board, i);
+        board.rooms = board.cells.stream()
+                .map(Cell::getRoom)
+                .distinct()
+                .sorted(Comparator.comparing(Room::toString))
+                .collect(Collectors.toList());
+        for(int i = 0; i < board.rooms.size(); i ++) {
+            board.rooms.get(i).setIndex(i);
+            board.rooms.get(i).computeMask();
+        }
+        board.occupants = new ArrayList<>();
+        board.cells.forEach(c -> board.occupants.add(new ArrayList<>()));
+        board.distances = distanceTables.computeIfAbsent(type, t -> buildDistanceTable(board.cells));
+        board.visibility = visibilityTables.computeIfAbsent(type, t -> buildVisibilityTable(board.cells));
 
         return board;
     }
@@ -269,6 +340,92 @@ public class Board {
         return cells;
     }
 
+    /**
+     * Computes the distance between each pair of {@link Cell}s by running a breadth-first search from every {@link Cell}.
+     * {@link Cell}s that cannot be reached are considered to be infinitely far away.
+     *
+     * @param cells the list of {@link Cell}s, already bound to their indices.
+     * @return the table, indexed by the position of the {@link Cell}s inside the list.
+     * @see Cell#distance(Cell)
+     */
+    private static int[][] buildDistanceTable(List<Cell> cells) {
+        int size = cells.size();
+        int[][] table = new int[size][size];
+
+        for(int source = 0; source < size; source ++) {
+            int[] row = table[source];
+            Arrays.fill(row, Integer.MAX_VALUE);
+            row[source] = 0;
+
+            Deque<Cell> frontier = new ArrayDeque<>();
+            frontier.add(cells.get(source));
+            while(!frontier.isEmpty()) {
+                Cell current = frontier.poll();
+                for(Cell neighbour : current.getAdjacentCells()) {
+                    if(row[neighbour.getIndex()] == Integer.MAX_VALUE) {
+                        row[neighbour.getIndex()] = row[current.getIndex()] + 1;
+                        frontier.add(neighbour);
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Computes the set of {@link Cell}s visible from each {@link Cell}, that is the union of the {@link Room}s
+     * containing any of its neighbours.
+     *
+     * @param cells the list of {@link Cell}s, already bound to their indices and with their {@link Room} masks computed.
+     * @return the table, indexed by the position of the {@link Cell}s inside the list.
+     * @see Cell#canSee(Cell)
+     */
+    private static long[] buildVisibilityTable(List<Cell> cells) {
+        long[] table = new long[cells.size()];
+
+        for(Cell cell : cells)
+            for(Cell neighbour : cell.getAdjacentCells())
+                table[cell.getIndex()] |= neighbour.getRoom().getMask();
+
+        return table;
+    }
+
+    /**
+     * Returns the set of {@link Cell}s visible from a {@link Cell} of the {@code Board}, as a bit mask
+     * over the indices of the {@link Cell}s.
+     *
+     * @param source the {@link Cell} to look from.
+     * @return the bit mask, with bit {@code i} set if and only if the {@link Cell} of index {@code i} is visible.
+     * @see Cell#getIndex()
+     */
+    public long getVisibleCells(Cell source) {
+        return visibility[source.getIndex()];
+    }
+
+    /**
+     * Tells whether a {@link Cell} of the {@code Board} can see another, as found in the precomputed table.
+     *
+     * @param source the {@link Cell} to look from.
+     * @param drain  the {@link Cell} to look at.
+     * @return whether or not the second {@link Cell} is visible from the first one.
+     * @see Cell#canSee(Cell)
+     */
+    public boolean canSee(Cell source, Cell drain) {
+        return (visibility[source.getIndex()] & (1L << drain.getIndex())) != 0;
+    }
+
+    /**
+     * Returns the distance between two {@link Cell}s of the {@code Board}, as found in the precomputed table.
+     *
+     * @param source the first {@link Cell}.
+     * @param drain  the second {@link Cell}.
+     * @return the length of the shortest walk between the two {@link Cell}s.
+     * @see Cell#distance(Cell)
+     */
+    public int distance(Cell source, Cell drain) {
+        return distances[source.getIndex()][drain.getIndex()];
+    }
+
     /**
      * Finds the {@link Cell} whose coordinates are equal to those passed in as arguments.
      *
@@ -293,6 +450,72 @@ public class Board {
         return cells;
     }
 
+    /**
+     * Returns the list of {@link Player}s standing on a {@link Cell} of the {@code Board}, sorted by id.
+     *
+     * @param cell the {@link Cell}.
+     * @return a new list containing the {@link Player}s.
+     * @see Cell#getPlayers()
+     */
+    public List<Player> getOccupants(Cell cell) {
+        return new ArrayList<>(occupants.get(cell.getIndex()));
+    }
+
+    /**
+     * Records that a {@link Player} moved from a {@link Cell} to another. Either {@link Cell} may be {@code null},
+     * when the {@link Player} is being spawned or removed from the {@code Board}.
+     * This is called by the {@link Player} whenever their position changes. The index is then verified if the
+     * {@link GameMode} of the {@link Game} asks so.
+     *
+     * @param player the {@link Player}.
+     * @param from   the {@link Cell} the {@link Player} left, or {@code null}.
+     * @param to     the {@link Cell} the {@link Player} moved to, or {@code null}.
+     * @see Player#setPosition(Cell)
+     */
+    public void move(Player player, Cell from, Cell to) {
+        if(from != null && from.getBoard() == this)
+            occupants.get(from.getIndex()).remove(player);
+
+        if(to != null) {
+            List<Player> list = occupants.get(to.getIndex());
+            int i = 0;
+            while(i < list.size() && list.get(i).getId() < player.getId())
+                i ++;
+            list.add(i, player);
+        }
+
+        if(game.getMode().isCheckingPositionIndex())
+            verifyPositionIndex();
+    }
+
+    /**
+     * Compares the index of {@link Board#occupants} with the positions of the {@link Player}s participating in the {@link Game}.
+     *
+     * @throws PositionIndexException if the index disagrees with any of the positions.
+     * @see GameMode#isCheckingPositionIndex()
+     */
+    public void verifyPositionIndex() {
+        for(Cell cell : cells) {
+            List<Player> expected = game.getParticipants()
+                    .stream()
+                    .filter(p -> cell.equals(p.getPosition()))
+                    .sorted(Comparator.comparingInt(Player::getId))
+                    .collect(Collectors.toList());
+            if(!expected.equals(occupants.get(cell.getIndex())))
+                throw new PositionIndexException(cell + " should hold " + expected + " but the index holds " + occupants.get(cell.getIndex()) + ".");
+        }
+    }
+
+    /**
+     * Returns the list of {@link Room}s the {@link Cell}s of the {@code Board} are grouped into, sorted by name.
+     *
+     * @return the list of {@link Room}s.
+     * @see Room#getIndex()
+     */
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
     /**
      * Adds all {@link Player}s appearing more than once in the {@link Board#turnKillers} list
      * to the {@code doubleKillers} list.
@@ -386,6 +609,15 @@ public class Board {
         return ammoTileDeck;
     }
 
+    /**
+     * Returns the id of the board configuration. {@code Board}s of the same type share the same layout.
+     *
+     * @return the {@link Board#type}.
+     */
+    public int getType() {
+        return type;
+    }
+
     /**
      * Returns the {@link Game} that is being played on the {@code Board}.
      *
@@ -1,5 +1,6 @@
 package it.polimi.ingsw.model.board;
 
+import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.ammo.AmmoCubes;
 import it.polimi.ingsw.model.ammo.AmmoTile;
 import it.polimi.ingsw.model.exceptions.*;
@@ -11,8 +12,6 @@ import it.polimi.ingsw.model.weaponry.Weapon;
 import java.util.*;
 import java.util.function.Function;
 
-import static it.polimi.ingsw.model.Game.autoPilot;
-
 /**
  * {@code Deck}s are ordered collections of objects from which it is only possible to remove, and then read, one object at a time.
  *
@@ -33,12 +32,28 @@ public class Deck<T> {
      */
     private List<T> discarded;
 
+    /**
+     * The generator used to shuffle the {@code Deck}. This is the generator of the {@link Game} the {@code Deck}
+     * belongs to, so that the order of the cards can be reproduced from the seed of the {@link Game}.
+     */
+    private SplittableRandom random;
+
     /**
      * This is the only constructor. It creates an empty {@code Deck}.
      */
     private Deck() {
         this.cards = new ArrayList<>();
         this.discarded = new ArrayList<>();
+        this.random = new SplittableRandom();
+    }
+
+    /**
+     * Sets the {@link Deck#random} generator used for shuffling.
+     *
+     * @param random the generator.
+     */
+    void setRandom(SplittableRandom random) {
+        this.random = random;
     }
 
     /**
@@ -67,12 +82,11 @@ public class Deck<T> {
     }
 
     /**
-     * Shuffles the order of the cards in the {@code Deck}.
+     * Shuffles the order of the cards in the {@code Deck}, drawing from {@link Deck#random}.
      */
     void shuffle() {
-        if(autoPilot)
-            return;
-        Collections.shuffle(this.cards);
+        for(int i = cards.size() - 1; i > 0; i --)
+            Collections.swap(cards, i, random.nextInt(i + 1));
     }
 
     /**
@@ -18,6 +18,18 @@ public class Room {
      */
     private List<Cell> cells;
 
+    /**
+     * The position of the {@link Room} inside the {@link Board}'s list of rooms.
+     */
+    private int index;
+
+    /**
+     * The set of {@link Cell}s included in the {@link Room}, encoded as a bit mask over their indices on the {@link Board}.
+     *
+     * @see Cell#getIndex()
+     */
+    private long mask;
+
     /**
      * This is the only constructor.
      *
@@ -42,6 +54,44 @@ public class Room {
         return this.cells.contains(cell);
     }
 
+    /**
+     * Sets the position of the {@link Room} inside the {@link Board}'s list of rooms.
+     *
+     * @param index the index.
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Returns the position of the {@link Room} inside the {@link Board}'s list of rooms.
+     *
+     * @return the {@link Room}'s index.
+     * @see Board#getRooms()
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Computes the bit mask of the {@link Room}. This needs to be called once the {@link Cell}s have been
+     * bound to the {@link Board}, as their indices are not known before.
+     */
+    void computeMask() {
+        mask = 0;
+        for(Cell c : cells)
+            mask |= 1L << c.getIndex();
+    }
+
+    /**
+     * Returns the set of {@link Cell}s included in the {@link Room}, as a bit mask over their indices on the {@link Board}.
+     *
+     * @return the bit mask.
+     */
+    public long getMask() {
+        return mask;
+    }
+
     /**
      * Returns the name of the {@code Room}'s {@link #color}.
      *
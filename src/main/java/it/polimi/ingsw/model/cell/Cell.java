@@ -7,10 +7,7 @@ import it.polimi.ingsw.model.exceptions.SelfAdjacentCellException;
 import it.polimi.ingsw.model.player.Player;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * The {@code Cell} is the unit of space on the {@link Board}. Cells are organized in a 2-dimensional
@@ -41,6 +38,12 @@ public abstract class Cell {
      */
     protected Room room;
 
+    /**
+     * The position of the {@code Cell} inside the {@link Board}'s list of cells. This is used as a dense key
+     * into the lookup tables the {@link Board} precomputes for its layout.
+     */
+    private int index;
+
     /**
      * The horizontal coordinate of the {@code Cell} on the {@link Board}.
      */
@@ -73,11 +76,13 @@ public abstract class Cell {
 
     /**
      * Returns a number that uniquely identifies the {@code Cell} on the {@link Board}.
+     * The id is fixed when the {@link Board} is generated and is one greater than the {@code Cell}'s index.
      *
      * @return the {@code Cell}'s id.
+     * @see Cell#getIndex()
      */
     public int getId() {
-        return board.getCells().indexOf(this) + 1;
+        return index + 1; // non-programmer friendly, ids start from 1
     }
 
     /**
@@ -95,9 +100,20 @@ public abstract class Cell {
      * Binds the {@code Cell} to a {@link Board}.
      *
      * @param board the board to bind the {@code Cell} to.
+     * @param index the position of the {@code Cell} inside the {@link Board}'s list of cells.
      */
-    public void setBoard(Board board) {
+    public void setBoard(Board board, int index) {
         this.board = board;
+        this.index = index;
+    }
+
+    /**
+     * Returns the position of the {@code Cell} inside the {@link Board}'s list of cells.
+     *
+     * @return the {@code Cell}'s index.
+     */
+    public int getIndex() {
+        return index;
     }
 
     /**
@@ -119,16 +135,13 @@ public abstract class Cell {
     }
 
     /**
-     * Returns a list containing all the {@link Player}s on the {@code Cell}.
+     * Returns a list containing all the {@link Player}s on the {@code Cell}, sorted by id.
      *
      * @return the list.
+     * @see Board#getOccupants(Cell)
      */
     public List<Player> getPlayers() {
-        return board.getGame()
-                .getParticipants()
-                .stream()
-                .filter(p -> this.equals(p.getPosition()))
-                .collect(Collectors.toList());
+        return board.getOccupants(this);
     }
 
     /**
@@ -189,30 +202,17 @@ public abstract class Cell {
      * and two consecutive steps must have a cell in common (i.e. the walk must be unbroken).
      * The distance between a cell and itself overrides the previous definition and is defined to be 0.
      *
+     * The actual value is looked up in the table the {@link Board} computed when it was generated.
+     *
      * @param cell the target cell.
      * @return the distance between the cell this method is called upon and the cell passed as argument.
+     * @see Board#distance(Cell, Cell)
      */
     public int distance(Cell cell) throws NullCellOperationException {
         if(cell == null)
             throw new NullCellOperationException("Attempted to measure distance from a null cell.");
 
-        List<Cell> visited = new ArrayList<>();
-        // consider the starting cell already visited
-        visited.add(this);
-
-        int distance;
-        for(distance = 0; !visited.contains(cell); distance ++) {
-            // any cell that is adjacent to already visited cells (without repetitions) excluding the already visited ones
-            visited.addAll(visited.stream()
-                    .map(c -> c.getAdjacentCells().stream())
-                    .flatMap(Function.identity())
-                    .sorted(Comparator.comparingInt(Cell::getId))
-                    .distinct()
-                    .filter(c -> !visited.contains(c))
-                    .collect(Collectors.toList())
-            );
-        }
-        return distance;
+        return board.distance(this, cell);
     }
 
     /**
@@ -237,27 +237,17 @@ public abstract class Cell {
      * This method tells if a cell is visible from another cell.
      * A cell can see another cell if and only if it belongs to a {@link Room} containing any of the first cell's neighbours.
      * A cell can always see itself.
+     * The actual value is looked up in the table the {@link Board} computed when it was generated.
      *
      * @param cell the target cell.
      * @return whether or not the cell this method is called upon is able to see the cell passed as argument.
+     * @see Board#canSee(Cell, Cell)
      */
     public boolean canSee(Cell cell) throws NullCellOperationException {
         if(cell == null)
             throw new NullCellOperationException("Attempted to measure visibility with a null cell.");
 
-        List<Room> adjacentRooms = new ArrayList<>();
-        // for each adjacent cell, get the room containing it
-        for(Cell c : this.adjacentCells) {
-            Room r = c.getRoom();
-            if(!adjacentRooms.contains(r))
-                adjacentRooms.add(r);
-        }
-        // for each room found above, if any contains the cell, then the cell is visible
-        for(Room r : adjacentRooms)
-            if(r.contains(cell))
-                return true;
-        // otherwise
-        return false;
+        return board.canSee(this, cell);
     }
 
     /**
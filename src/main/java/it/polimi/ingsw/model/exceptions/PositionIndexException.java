@@ -0,0 +1,17 @@
+package it.polimi.ingsw.model.exceptions;
+
+import it.polimi.ingsw.model.GameMode;
+import it.polimi.ingsw.model.board.Board;
+
+/**
+ * This exception is thrown when the index of the {@link Board} keeping track of which players stand on each cell
+ * is found to disagree with the actual positions of the players. It is declared as a runtime exception because
+ * such scenario implies flaws in the game logic and in normal conditions should never happen anyway.
+ *
+ * @see GameMode#isCheckingPositionIndex()
+ */
+public class PositionIndexException extends RuntimeException {
+    public PositionIndexException(String message) {
+        super(message);
+    }
+}
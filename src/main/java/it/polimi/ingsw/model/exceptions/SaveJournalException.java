@@ -0,0 +1,14 @@
+package it.polimi.ingsw.model.exceptions;
+
+import it.polimi.ingsw.util.persistence.SaveJournal;
+
+/**
+ * This exception is thrown when a {@link SaveJournal} can't be written to, or read from, its file.
+ * It is declared as a runtime exception since a game that can't be saved can still be played,
+ * and the caller has no sensible way to recover from a broken file system anyway.
+ */
+public class SaveJournalException extends RuntimeException {
+    public SaveJournalException(String message) {
+        super(message);
+    }
+}
@@ -65,6 +65,11 @@ public class Player extends VirtualClient {
      */
     private Game game;
 
+    /**
+     * The number that identifies the player inside the {@link Game}, assigned when the player joins it.
+     */
+    private int id;
+
     /**
      * The current score of the player.
      */
@@ -155,9 +160,11 @@ public class Player extends VirtualClient {
      * Binds the player to a {@link Game}.
      *
      * @param game The {@link Game} the player needs to be bound to.
+     * @param id   The id of the player inside the {@link Game}, equal to their position in the list of participants, plus one.
      */
-    public void setGame(Game game) {
+    public void setGame(Game game, int id) {
         this.game = game;
+        this.id = id;
     }
 
     /**
@@ -170,12 +177,13 @@ public class Player extends VirtualClient {
     }
 
     /**
-     * Returns a number that, inside the {@link Game}, is unique to this player.
+     * Returns a number that, inside the {@link Game}, is unique to this player. The id is assigned when the
+     * {@link Game} is created and never changes afterwards.
      *
      * @return the player's id.
      */
     public int getId() {
-        return this.game.getParticipants().indexOf(this) + 1; // non-programmer friendly, ids start from 1
+        return this.id; // non-programmer friendly, ids start from 1
     }
 
     /**
@@ -422,12 +430,19 @@ public class Player extends VirtualClient {
     }
 
     /**
-     * Sets the player's position to a given cell.
+     * Sets the player's position to a given cell, and updates the index of players kept by the {@link Board}.
      *
      * @param cell the player's new position.
+     * @see Board#getOccupants(Cell)
      */
     public void setPosition(Cell cell) {
+        Cell previous = this.position;
         this.position = cell;
+
+        if(cell != null)
+            cell.getBoard().move(this, previous, cell);
+        else if(previous != null)
+            previous.getBoard().move(this, previous, null);
     }
 
     /**
@@ -644,7 +659,7 @@ public class Player extends VirtualClient {
      */
     public void die() {
         this.deathCount++;
-        this.position = null;
+        this.setPosition(null);
     }
 
     /**
@@ -654,7 +669,7 @@ public class Player extends VirtualClient {
      */
     public void spawn(Cell cell) {
         this.damage.clear();
-        this.position = cell;
+        this.setPosition(cell);
     }
 
     /**
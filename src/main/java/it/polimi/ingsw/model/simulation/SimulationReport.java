@@ -0,0 +1,131 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.Game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@code SimulationReport} summarizes the outcome of a batch of {@link Game}s played by a {@link Simulator}.
+ */
+public class SimulationReport {
+    /**
+     * The number of {@link Game}s that were played to completion.
+     */
+    private final int games;
+
+    /**
+     * The seeds of the {@link Game}s that were interrupted by an exception.
+     */
+    private final List<Long> failedSeeds;
+
+    /**
+     * The total number of turns played across all completed {@link Game}s.
+     */
+    private final long turns;
+
+    /**
+     * The wall-clock time the whole batch took, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * The number of threads the batch was spread on.
+     */
+    private final int threads;
+
+    /**
+     * This is the only constructor.
+     *
+     * @param games        the number of completed {@link Game}s.
+     * @param failedSeeds  the seeds of the failed {@link Game}s.
+     * @param turns        the total number of turns played.
+     * @param elapsedNanos the duration of the batch, in nanoseconds.
+     * @param threads      the number of threads used.
+     */
+    SimulationReport(int games, List<Long> failedSeeds, long turns, long elapsedNanos, int threads) {
+        this.games = games;
+        this.failedSeeds = Collections.unmodifiableList(new ArrayList<>(failedSeeds));
+        this.turns = turns;
+        this.elapsedNanos = elapsedNanos;
+        this.threads = threads;
+    }
+
+    /**
+     * Gets the number of completed {@link Game}s.
+     *
+     * @return the number of {@link Game}s.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the seeds of the {@link Game}s that failed, which can be used to replay them one by one.
+     *
+     * @return the list of seeds.
+     */
+    public List<Long> getFailedSeeds() {
+        return failedSeeds;
+    }
+
+    /**
+     * Gets the total number of turns played.
+     *
+     * @return the number of turns.
+     */
+    public long getTurns() {
+        return turns;
+    }
+
+    /**
+     * Gets the duration of the batch.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the throughput of the batch in terms of completed {@link Game}s.
+     *
+     * @return the number of {@link Game}s per second.
+     */
+    public double getGamesPerSecond() {
+        return perSecond(games);
+    }
+
+    /**
+     * Gets the throughput of the batch in terms of turns.
+     *
+     * @return the number of turns per second.
+     */
+    public double getTurnsPerSecond() {
+        return perSecond(turns);
+    }
+
+    /**
+     * Divides a quantity by the duration of the batch.
+     *
+     * @param amount the quantity.
+     * @return the quantity per second.
+     */
+    private double perSecond(long amount) {
+        if (elapsedNanos <= 0)
+            return 0;
+        return amount * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Creates a human-readable summary of the report.
+     *
+     * @return the summary.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d games (%d failed), %d turns in %.3f s on %d threads: %.1f games/s, %.1f turns/s",
+                games, failedSeeds.size(), turns, elapsedNanos / 1e9, threads, getGamesPerSecond(), getTurnsPerSecond());
+    }
+}
@@ -0,0 +1,105 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
+import it.polimi.ingsw.model.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * The {@code Simulator} plays batches of headless {@link Game}s on auto pilot, spreading them over a pool of threads.
+ * Every {@link Game} is created with its own {@link GameMode#simulation()} mode and its own seed, so that no state
+ * is shared between concurrent games and any single {@link Game} of a batch can be replayed from its seed.
+ */
+public class Simulator {
+    /**
+     * The number of threads the {@link Game}s are spread on.
+     */
+    private final int threads;
+
+    /**
+     * This is the only constructor.
+     *
+     * @param threads the number of threads to play the {@link Game}s on.
+     */
+    public Simulator(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("A simulation needs at least one thread.");
+        this.threads = threads;
+    }
+
+    /**
+     * Creates a {@link Game} whose settings are randomized by the given seed: 3-5 players, random map,
+     * randomized Final Frenzy rule, 1-8 rounds. The same seed always produces the same {@link Game}.
+     *
+     * @param seed the seed.
+     * @param mode the {@link GameMode} of the {@link Game}.
+     * @return the {@link Game}, ready to be played.
+     */
+    public static Game randomGame(long seed, GameMode mode) {
+        SplittableRandom random = new SplittableRandom(seed);
+
+        int playerCount = random.nextInt(3) + 3; // between 3 and 5
+        List<Player> participants = new ArrayList<>();
+        for (int i = 1; i <= playerCount; i++)
+            participants.add(new Player("Player" + i));
+
+        boolean finalFrenzy = random.nextBoolean();
+        int gameLength = random.nextInt(8) + 1; // between 1 and 8
+        int boardType = random.nextInt(4) + 1; // between 1 and 4
+
+        return Game.create(finalFrenzy, gameLength, boardType, participants, mode, random.nextLong());
+    }
+
+    /**
+     * Plays a batch of randomized {@link Game}s and reports on their throughput.
+     * The seed of each {@link Game} is derived from {@code seed}, so that two batches with the same seed
+     * play exactly the same {@link Game}s, regardless of the number of threads.
+     *
+     * @param games the number of {@link Game}s to play.
+     * @param seed  the seed of the whole batch.
+     * @return the {@link SimulationReport}.
+     * @throws InterruptedException when the calling thread is interrupted while waiting for the batch to complete.
+     */
+    public SimulationReport run(int games, long seed) throws InterruptedException {
+        SplittableRandom master = new SplittableRandom(seed);
+        List<Long> seeds = new ArrayList<>();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            long gameSeed = master.nextLong();
+            seeds.add(gameSeed);
+            tasks.add(() -> {
+                Game game = randomGame(gameSeed, GameMode.simulation());
+                game.play();
+                return game.getTurnCount();
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<Integer>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int completed = 0;
+        long turns = 0;
+        List<Long> failedSeeds = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            try {
+                turns += results.get(i).get();
+                completed++;
+            } catch (ExecutionException e) {
+                failedSeeds.add(seeds.get(i));
+            }
+        }
+
+        return new SimulationReport(completed, failedSeeds, turns, elapsed, threads);
+    }
+}
@@ -0,0 +1,85 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.util.printer.ColorPrinter;
+
+/**
+ * This class is used to launch a {@link Simulator} from the command line. Its main purpose is to check whether the
+ * specific parameters are correct and print the resulting {@link SimulationReport}.
+ */
+public class SimulatorLauncher {
+
+    /**
+     * The number of games to play.
+     */
+    private static int games;
+
+    /**
+     * The number of threads to play the games on. Defaults to the number of available processors.
+     */
+    private static int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The seed of the whole batch. Defaults to the current time.
+     */
+    private static long seed = System.nanoTime();
+
+    /**
+     * The default {@code String} to display when the user inputs wrong or insufficient arguments, or simply asks for help.
+     */
+    private static final String helpString = "Adrenaline simulator.\n\n" +
+            "Usage:\n" +
+            "Simulator.jar -help\n" +
+            "Simulator.jar <games> [threads] [seed]";
+
+    /**
+     * Process the given set of {@code args} to start the {@link Simulator} with the proper configuration.
+     *
+     * @param args the parameters to start the simulator with.
+     */
+    private static void init(String[] args) {
+        if (args.length == 0 || args[0].equals("-help")) {
+            ColorPrinter.println(helpString);
+            System.exit(-1);
+        }
+
+        if (args.length > 3) {
+            ColorPrinter.err("too many arguments, expected: <games> [threads] [seed]");
+            System.exit(-1);
+        }
+
+        try {
+            games = Integer.parseInt(args[0]);
+            if (games < 1) {
+                ColorPrinter.err("provide a positive value for parameter <games>");
+                System.exit(-1);
+            }
+            if (args.length > 1) {
+                threads = Integer.parseInt(args[1]);
+                if (threads < 1) {
+                    ColorPrinter.err("provide a positive value for parameter [threads]");
+                    System.exit(-1);
+                }
+            }
+            if (args.length > 2)
+                seed = Long.parseLong(args[2]);
+        } catch (NumberFormatException ignored) {
+            ColorPrinter.err("provide integer values for all parameters");
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Launches the {@code SimulatorLauncher} application.
+     *
+     * @param args the command line arguments.
+     * @throws InterruptedException when interrupted while waiting for the simulation to end.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        init(args);
+
+        ColorPrinter.log("simulating " + games + " games on " + threads + " threads with seed " + seed);
+        SimulationReport report = new Simulator(threads).run(games, seed);
+        ColorPrinter.log(report.toString());
+        report.getFailedSeeds().forEach(s -> ColorPrinter.err("game with seed " + s + " failed"));
+    }
+}
@@ -10,9 +10,6 @@ import it.polimi.ingsw.model.weaponry.AttackPattern;
 import it.polimi.ingsw.model.weaponry.effects.Effect;
 import it.polimi.ingsw.model.weaponry.targets.Target;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * An {@link AlignmentConstraint} requires either that two cells are aligned, or that they are not aligned,
  * in order to be eligible for being the {@link Target} of an {@link Effect}.
@@ -61,71 +58,53 @@ public class AlignmentConstraint extends Constraint {
     }
 
     /**
-     * Creates a list of all players that satisfy the {@link Constraint}.
+     * Creates the set of all players that satisfy the {@link Constraint}, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the {@link Constraint} is relevant.
-     * @return the list of players.
+     * @return the bit mask of players.
      */
     @Override
-    public List<Player> filterPlayers(AttackPattern context) {
+    public long maskPlayers(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Cell drainCell = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(p.getPosition(), drainCell))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(p.getPosition(), drainCell));
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(sourceCell, p.getPosition()))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(sourceCell, p.getPosition()));
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
 
     /**
-     * Creates a list of all cells that satisfy the {@link Constraint}.
+     * Creates the set of all cells that satisfy the {@link Constraint}, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the {@link Constraint} is relevant.
-     * @return the list of cells.
+     * @return the bit mask of cells.
      */
     @Override
-    public List<Cell> filterCells(AttackPattern context) {
+    public long maskCells(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Cell drainCell = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(c, drainCell))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getCells(), c -> this.verify(c, drainCell));
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(sourceCell, c))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getCells(), c -> this.verify(sourceCell, c));
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
@@ -142,7 +121,7 @@ public class AlignmentConstraint extends Constraint {
      * @return nothing.
      */
     @Override
-    public List<Room> filterRooms(AttackPattern context) {
+    public long maskRooms(AttackPattern context) {
         throw new InvalidFilterInvocationException("A room can't be aligned.");
     }
 
@@ -13,10 +13,8 @@ import it.polimi.ingsw.model.weaponry.targets.TargetCell;
 import it.polimi.ingsw.model.weaponry.targets.TargetPlayer;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * A constraint is a simple rule that can be verified or falsified. It is expressed in a form
@@ -238,102 +236,143 @@ public abstract class Constraint {
         throw new IllegalArgumentException("Generic targets are not gettable.");
     }
 
-    public abstract List<Player> filterPlayers(AttackPattern context);
+    /**
+     * Creates the set of all {@link Player}s that satisfy the {@code Constraint}, encoded as a bit mask where
+     * bit {@code i} is set if and only if the {@link Player} whose id is {@code i + 1} satisfies it.
+     *
+     * @param context the {@link AttackPattern} in which the {@code Constraint} is relevant.
+     * @return the bit mask of {@link Player}s.
+     */
+    public abstract long maskPlayers(AttackPattern context);
 
-    public abstract List<Cell> filterCells(AttackPattern context);
+    /**
+     * Creates the set of all {@link Cell}s that satisfy the {@code Constraint}, encoded as a bit mask where
+     * bit {@code i} is set if and only if the {@link Cell} of index {@code i} satisfies it.
+     *
+     * @param context the {@link AttackPattern} in which the {@code Constraint} is relevant.
+     * @return the bit mask of {@link Cell}s.
+     * @see Cell#getIndex()
+     */
+    public abstract long maskCells(AttackPattern context);
 
-    public abstract List<Room> filterRooms(AttackPattern context);
+    /**
+     * Creates the set of all {@link Room}s that satisfy the {@code Constraint}, encoded as a bit mask where
+     * bit {@code i} is set if and only if the {@link Room} of index {@code i} satisfies it.
+     *
+     * @param context the {@link AttackPattern} in which the {@code Constraint} is relevant.
+     * @return the bit mask of {@link Room}s.
+     * @see Room#getIndex()
+     */
+    public abstract long maskRooms(AttackPattern context);
+
+    /**
+     * Builds a bit mask over a list of entities, setting the bit of each entity that satisfies a predicate.
+     *
+     * @param universe  the list of entities, whose positions define the bits of the mask.
+     * @param predicate the predicate.
+     * @param <T>       the type of the entities.
+     * @return the bit mask, with bit {@code i} set if and only if the {@code i}-th entity satisfies the predicate.
+     */
+    static <T> long mask(List<T> universe, Predicate<T> predicate) {
+        long mask = 0;
+        for(int i = 0; i < universe.size(); i ++)
+            if(predicate.test(universe.get(i)))
+                mask |= 1L << i;
+        return mask;
+    }
+
+    /**
+     * Builds a bit mask with one bit set for each entity in a list.
+     *
+     * @param universe the list of entities.
+     * @return the bit mask, with the lowest {@code universe.size()} bits set.
+     */
+    static long fullMask(List<?> universe) {
+        return universe.size() >= Long.SIZE ? -1L : (1L << universe.size()) - 1;
+    }
+
+    /**
+     * Collects the entities of a list whose bit is set in a mask, preserving the order of the list.
+     *
+     * @param universe the list of entities, whose positions define the bits of the mask.
+     * @param mask     the bit mask.
+     * @param <T>      the type of the entities.
+     * @return the list of selected entities.
+     */
+    private static <T> List<T> select(List<T> universe, long mask) {
+        List<T> selection = new ArrayList<>(Long.bitCount(mask));
+        for(long m = mask; m != 0; m &= m - 1) {
+            int i = Long.numberOfTrailingZeros(m);
+            if(i >= universe.size())
+                break;
+            selection.add(universe.get(i));
+        }
+        return selection;
+    }
 
     /**
      * Given an {@link AttackPattern} to provide a context, it searches for all {@link Player}s
      * that meet the requirements expressed by all of the {@code Constraint}s inside a list.
+     * The {@link Player}s are returned in ascending order of id.
      *
      * @param context     The {@link AttackPattern} of interest.
      * @param constraints The list of {@code Constraint}s.
      * @return all the {@link Player}s that satisfy every {@code Constraint} in the list.
      */
     public static List<Player> filterPlayers(AttackPattern context, List<Constraint> constraints) {
-        List<List<Player>> targetTable = new ArrayList<>();
-
-        for(Constraint constraint : constraints) {
-            targetTable.add(constraint.filterPlayers(context));
-        }
+        List<Player> participants = context.getAuthor()
+                .getGame()
+                .getParticipants();
 
-        Predicate<Player> missingFromAtLeastOneList = p -> targetTable.stream()
-                .map(list -> !list.contains(p))
-                .reduce(false, (a, b) -> a || b);
+        long mask = mask(participants, p -> !p.equals(context.getAuthor()) && p.getPosition() != null);
+        for(Constraint constraint : constraints)
+            mask &= constraint.maskPlayers(context);
 
-        return context.getAuthor()
-                .getGame()
-                .getParticipants()
-                .stream()
-                .sorted(Comparator.comparingInt(Player::getId))
-                .distinct()
-                .filter(p -> !missingFromAtLeastOneList.test(p))
-                .filter(p -> !p.equals(context.getAuthor()))
-                .filter(p -> p.getPosition() != null)
-                .collect(Collectors.toList());
+        return select(participants, mask);
     }
 
     /**
      * Given an {@link AttackPattern} to provide a context, it searches for all {@link Cell}s
      * that meet the requirements expressed by all of the {@code Constraint}s inside a list.
+     * The {@link Cell}s are returned in ascending order of id.
      *
      * @param context     The {@link AttackPattern} of interest.
      * @param constraints The list of {@code Constraint}s.
      * @return all the {@link Cell}s that satisfy every {@code Constraint} in the list.
      */
     public static List<Cell> filterCells(AttackPattern context, List<Constraint> constraints) {
-        List<List<Cell>> targetTable = new ArrayList<>();
-
-        for (Constraint constraint : constraints) {
-            targetTable.add(constraint.filterCells(context));
-        }
-
-        Predicate<Cell> missingFromAtLeastOneList = c -> targetTable.stream()
-                .map(list -> !list.contains(c))
-                .reduce(false, (a, b) -> a || b);
-
-        return context.getAuthor()
+        List<Cell> cells = context.getAuthor()
                 .getGame()
                 .getBoard()
-                .getCells()
-                .stream()
-                .sorted(Comparator.comparingInt(Cell::getId))
-                .distinct()
-                .filter(p -> !missingFromAtLeastOneList.test(p))
-                .collect(Collectors.toList());
+                .getCells();
+
+        long mask = fullMask(cells);
+        for(Constraint constraint : constraints)
+            mask &= constraint.maskCells(context);
+
+        return select(cells, mask);
     }
 
     /**
      * Given an {@link AttackPattern} to provide a context, it searches for all {@link Room}s
      * that meet the requirements expressed by all of the {@code Constraint}s inside a list.
+     * The {@link Room}s are returned in alphabetical order.
      *
      * @param context     The {@link AttackPattern} of interest.
      * @param constraints The list of {@code Constraint}s.
      * @return all the {@link Room}s that satisfy every {@code Constraint} in the list.
      */
     public static List<Room> filterRooms(AttackPattern context, List<Constraint> constraints) {
-        List<List<Room>> targetTable = new ArrayList<>();
-
-        for(Constraint constraint : constraints) {
-            targetTable.add(constraint.filterRooms(context));
-        }
-
-        Predicate<Room> missingFromAtLeastOneList = r -> targetTable.stream()
-                .map(list -> !list.contains(r))
-                .reduce(false, (a, b) -> a || b);
-
-        return context.getAuthor()
+        List<Room> rooms = context.getAuthor()
                 .getGame()
                 .getBoard()
-                .getCells()
-                .stream()
-                .map(Cell::getRoom)
-                .sorted(Comparator.comparing(Room::toString))
-                .distinct()
-                .filter(p -> !missingFromAtLeastOneList.test(p))
-                .collect(Collectors.toList());
+                .getRooms();
+
+        long mask = fullMask(rooms);
+        for(Constraint constraint : constraints)
+            mask &= constraint.maskRooms(context);
+
+        return select(rooms, mask);
     }
 
     /**
@@ -8,9 +8,6 @@ import it.polimi.ingsw.model.weaponry.AttackModule;
 import it.polimi.ingsw.model.weaponry.AttackPattern;
 import it.polimi.ingsw.model.weaponry.targets.Target;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * An {@link IdentityConstraint} requires either that two {@link Player}s actually be the same {@link Player}, or the opposite,
  * requiring two different identities from the two {@link Player}s.
@@ -51,36 +48,26 @@ public class IdentityConstraint extends Constraint {
     }
 
     /**
-     * Creates a list of all {@link Player}s that satisfy the {@link Constraint}.
+     * Creates the set of all {@link Player}s that satisfy the {@link Constraint}, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the {@link Constraint} is relevant.
-     * @return the list of {@link Player}s.
+     * @return the bit mask of {@link Player}s.
      */
     @Override
-    public List<Player> filterPlayers(AttackPattern context) {
+    public long maskPlayers(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Player drainPlayer = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getPlayer();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(p, drainPlayer))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(p, drainPlayer));
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Player sourcePlayer = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getPlayer();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(sourcePlayer, p))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(sourcePlayer, p));
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
@@ -97,7 +84,7 @@ public class IdentityConstraint extends Constraint {
      * @return nothing.
      */
     @Override
-    public List<Cell> filterCells(AttackPattern context) {
+    public long maskCells(AttackPattern context) {
         throw new InvalidFilterInvocationException("A cell can't be a player.");
     }
 
@@ -113,7 +100,7 @@ public class IdentityConstraint extends Constraint {
      * @return nothing.
      */
     @Override
-    public List<Room> filterRooms(AttackPattern context) {
+    public long maskRooms(AttackPattern context) {
         throw new InvalidFilterInvocationException("A room can't be a player.");
     }
 
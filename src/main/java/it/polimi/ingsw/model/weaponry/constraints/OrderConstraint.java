@@ -9,9 +9,6 @@ import it.polimi.ingsw.model.weaponry.AttackModule;
 import it.polimi.ingsw.model.weaponry.AttackPattern;
 import it.polimi.ingsw.model.weaponry.targets.Target;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * An {@link OrderConstraint} requires that three cells be aligned and in the order listed.
  * Since this is a ternary {@link Constraint}, it requires an intermediary entity to make a complete statement.
@@ -70,101 +67,74 @@ public class OrderConstraint extends Constraint {
     }
 
     /**
-     * Creates a list of all {@link Player}s that satisfy the {@link Constraint}.
+     * Creates the set of all {@link Player}s that satisfy the {@link Constraint}, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the {@link Constraint} is relevant.
-     * @return the list of {@link Player}s.
+     * @return the bit mask of {@link Player}s.
      */
     @Override
-    public List<Player> filterPlayers(AttackPattern context) {
+    public long maskPlayers(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Cell gateCell = Constraint.getTarget(context, gateAttackModuleId, gateTargetId).getCell();
             Cell drainCell = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(p.getPosition(), gateCell, drainCell))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(p.getPosition(), gateCell, drainCell));
         }
         if(gateAttackModuleId == -3 && gateTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
             Cell drainCell = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(sourceCell, p.getPosition(), drainCell))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(sourceCell, p.getPosition(), drainCell));
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
             Cell gateCell = Constraint.getTarget(context, gateAttackModuleId, gateTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(sourceCell, gateCell, p.getPosition()))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(sourceCell, gateCell, p.getPosition()));
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
 
     /**
-     * Creates a list of all cells that satisfy the {@link Constraint}.
+     * Creates the set of all cells that satisfy the {@link Constraint}, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the {@link Constraint} is relevant.
-     * @return the list of cells.
+     * @return the bit mask of cells.
      */
     @Override
-    public List<Cell> filterCells(AttackPattern context) {
+    public long maskCells(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Cell gateCell = Constraint.getTarget(context, gateAttackModuleId, gateTargetId).getCell();
             Cell drainCell = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(c, gateCell, drainCell))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getCells(), c -> this.verify(c, gateCell, drainCell));
         }
         if(gateAttackModuleId == -3 && gateTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
             Cell drainCell = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(sourceCell, c, drainCell))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getCells(), c -> this.verify(sourceCell, c, drainCell));
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
             Cell gateCell = Constraint.getTarget(context, gateAttackModuleId, gateTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(sourceCell, gateCell, c))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getCells(), c -> this.verify(sourceCell, gateCell, c));
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
@@ -181,7 +151,7 @@ public class OrderConstraint extends Constraint {
      * @return nothing.
      */
     @Override
-    public List<Room> filterRooms(AttackPattern context) {
+    public long maskRooms(AttackPattern context) {
         throw new InvalidFilterInvocationException("A room can't be \"between\".");
     }
 
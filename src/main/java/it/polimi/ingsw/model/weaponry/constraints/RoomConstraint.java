@@ -7,10 +7,6 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.weaponry.AttackModule;
 import it.polimi.ingsw.model.weaponry.AttackPattern;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * A {@link RoomConstraint} may require that two {@link Room}s be the same in order to satisfy the constraint.
  * Alternatively, it may instead require two {@link Room}s not to be the same, depending on the truth attribute.
@@ -53,118 +49,92 @@ public class RoomConstraint extends Constraint {
     }
 
     /**
-     * Creates a list of all players that satisfy the constraint.
+     * Creates the set of all players that satisfy the constraint, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the constraint is relevant.
-     * @return the list of players.
+     * @return the bit mask of players.
      */
     @Override
-    public List<Player> filterPlayers(AttackPattern context) {
+    public long maskPlayers(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Room drainRoom = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getRoom();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> {
+                    .getParticipants(), p -> {
                         if(p.getPosition() != null)
                             return this.verify(p.getPosition().getRoom(), drainRoom);
                         return false;
-                    })
-                    .distinct()
-                    .collect(Collectors.toList());
+                    });
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Room sourceRoom = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getRoom();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> {
+                    .getParticipants(), p -> {
                         if(p.getPosition() != null)
                             return this.verify(sourceRoom, p.getPosition().getRoom());
                         return false;
-                    })
-                    .distinct()
-                    .collect(Collectors.toList());
+                    });
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
 
     /**
-     * Creates a list of all cells that satisfy the constraint.
+     * Creates the set of all cells that satisfy the constraint, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the constraint is relevant.
-     * @return the list of cells.
+     * @return the bit mask of cells.
      */
     @Override
-    public List<Cell> filterCells(AttackPattern context) {
+    public long maskCells(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Room drainRoom = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getRoom();
 
-            return context.getAuthor()
+            if(drainRoom == null)
+                return 0;
+            return truth ? drainRoom.getMask() : ~drainRoom.getMask() & fullMask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(c.getRoom(), drainRoom))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getCells());
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Room sourceRoom = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getRoom();
 
-            return context.getAuthor()
+            if(sourceRoom == null)
+                return 0;
+            return truth ? sourceRoom.getMask() : ~sourceRoom.getMask() & fullMask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(sourceRoom, c.getRoom()))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getCells());
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
 
     /**
-     * Creates a list of all {@link Room}s that satisfy the constraint.
+     * Creates the set of all {@link Room}s that satisfy the constraint, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the constraint is relevant.
-     * @return the list of {@link Room}s.
+     * @return the bit mask of {@link Room}s.
      */
     @Override
-    public List<Room> filterRooms(AttackPattern context) {
+    public long maskRooms(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Room drainRoom = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getRoom();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .map(Cell::getRoom)
-                    .sorted()
-                    .filter(r -> this.verify(r, drainRoom))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getRooms(), r -> this.verify(r, drainRoom));
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Room sourceRoom = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getRoom();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .map(Cell::getRoom)
-                    .sorted(Comparator.comparing(Room::toString))
-                    .filter(r -> this.verify(sourceRoom, r))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getRooms(), r -> this.verify(sourceRoom, r));
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
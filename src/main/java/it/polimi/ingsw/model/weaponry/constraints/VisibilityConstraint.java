@@ -9,9 +9,6 @@ import it.polimi.ingsw.model.weaponry.AttackModule;
 import it.polimi.ingsw.model.weaponry.AttackPattern;
 import it.polimi.ingsw.model.weaponry.targets.Target;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * A {@link VisibilityConstraint} requires that a cell be visible from another. More specifically,
  * the drain must be visible from the source.
@@ -65,107 +62,78 @@ public class VisibilityConstraint extends Constraint {
      * acting as the drain.
      */
     private boolean verify(Cell sourceCell, Room drainRoom) {
-        return drainRoom.getCells()
-                .stream()
-                .anyMatch(c -> {
-                    try {
-                        return sourceCell.canSee(c);
-                    } catch (NullCellOperationException e) {
-                        return false;
-                    }
-                });
+        if(sourceCell == null)
+            return false;
+        return (sourceCell.getBoard().getVisibleCells(sourceCell) & drainRoom.getMask()) != 0;
     }
 
     /**
-     * Creates a list of all {@link Player}s that satisfy the {@link Constraint}.
+     * Creates the set of all {@link Player}s that satisfy the {@link Constraint}, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the {@link Constraint} is relevant.
-     * @return the list of {@link Player}s.
+     * @return the bit mask of {@link Player}s.
      */
     @Override
-    public List<Player> filterPlayers(AttackPattern context) {
+    public long maskPlayers(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Cell drainCell = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(p.getPosition(), drainCell))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(p.getPosition(), drainCell));
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
-                    .getParticipants()
-                    .stream()
-                    .filter(p -> !p.equals(context.getAuthor()))
-                    .filter(p -> this.verify(sourceCell, p.getPosition()))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getParticipants(), p -> this.verify(sourceCell, p.getPosition()));
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
 
     /**
-     * Creates a list of all cells that satisfy the {@link Constraint}.
+     * Creates the set of all cells that satisfy the {@link Constraint}, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the {@link Constraint} is relevant.
-     * @return the list of cells.
+     * @return the bit mask of cells.
      */
     @Override
-    public List<Cell> filterCells(AttackPattern context) {
+    public long maskCells(AttackPattern context) {
         if(sourceAttackModuleId == -3 && sourceTargetId == -3) {
             Cell drainCell = Constraint.getTarget(context, drainAttackModuleId, drainTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(c, drainCell))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getCells(), c -> this.verify(c, drainCell));
         }
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
 
-            return context.getAuthor()
-                    .getGame()
-                    .getBoard()
-                    .getCells()
-                    .stream()
-                    .filter(c -> this.verify(sourceCell, c))
-                    .distinct()
-                    .collect(Collectors.toList());
+            if(sourceCell == null)
+                return 0;
+            long visibleCells = sourceCell.getBoard().getVisibleCells(sourceCell);
+            return truth ? visibleCells : ~visibleCells & fullMask(sourceCell.getBoard().getCells());
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
 
     /**
-     * Creates a list of all {@link Room}s that satisfy the {@link Constraint}.
+     * Creates the set of all {@link Room}s that satisfy the {@link Constraint}, as a bit mask.
      *
      * @param context the {@link AttackPattern} in which the {@link Constraint} is relevant.
-     * @return the list of {@link Room}s.
+     * @return the bit mask of {@link Room}s.
      */
     @Override
-    public List<Room> filterRooms(AttackPattern context) {
+    public long maskRooms(AttackPattern context) {
         if(drainAttackModuleId == -3 && drainTargetId == -3) {
             Cell sourceCell = Constraint.getTarget(context, sourceAttackModuleId, sourceTargetId).getCell();
 
-            return context.getAuthor()
+            return mask(context.getAuthor()
                     .getGame()
                     .getBoard()
-                    .getCells()
-                    .stream()
-                    .map(Cell::getRoom)
-                    .filter(r -> this.verify(sourceCell, r))
-                    .distinct()
-                    .collect(Collectors.toList());
+                    .getRooms(), r -> this.verify(sourceCell, r));
         }
         throw new InvalidFilterInvocationException("This instance of constraint can't use a filter.");
     }
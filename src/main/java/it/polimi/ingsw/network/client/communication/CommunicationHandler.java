@@ -105,7 +105,7 @@ public class CommunicationHandler {
 
     /**
      * Returns the next {@link NetworkMessage} received from the remote {@code Server}, ignoring the {@code PING_MESSAGE}
-     * messages.
+     * messages and the {@code Lobby} list changes which may still arrive after an unsubscription.
      * Note that tis is a blocking call, meaning that this method returns only when a new {@link NetworkMessage} is available
      * from the underlying communication interface.
      *
@@ -113,6 +113,25 @@ public class CommunicationHandler {
      * @throws ConnectionException if any specific exception is thrown during the receiving process.
      */
     private NetworkMessage nextMessage() throws ConnectionException {
+        NetworkMessage message;
+        do {
+            message = this.nextNonPingMessage();
+        } while (message.getType().equals(MessageType.LOBBY_LIST_DELTA)
+                || message.getType().equals(MessageType.LOBBY_LIST_UNSUBSCRIBE_SUCCESS));
+
+        return message;
+    }
+
+    /**
+     * Returns the next {@link NetworkMessage} received from the remote {@code Server}, ignoring the {@code PING_MESSAGE}
+     * messages only.
+     * Note that tis is a blocking call, meaning that this method returns only when a new {@link NetworkMessage} is available
+     * from the underlying communication interface.
+     *
+     * @return the next {@link NetworkMessage}.
+     * @throws ConnectionException if any specific exception is thrown during the receiving process.
+     */
+    private NetworkMessage nextNonPingMessage() throws ConnectionException {
         NetworkMessage message;
         do {
             message = this.communicationInterface.nextMessage();
@@ -339,4 +358,50 @@ public class CommunicationHandler {
             throw new ConnectionException("expected: " + MessageType.LOBBY_LIST_UPDATE_RESPONSE + ", found " + message.getType());
         return (Map<String, String>) message.getContent(); //safe conversion guaranteed by string type
     }
+
+    /**
+     * Subscribes the {@code Client} to the changes of the {@code Lobby} list, which the remote {@code Server} pushes
+     * from now on, instead of being polled via {@link #requestLobbyUpdate()}. The changes must be read via
+     * {@link #nextLobbyUpdate()} until {@link #unsubscribeLobbyUpdates()} is acknowledged, and no other request can be
+     * made meanwhile.
+     *
+     * @throws ConnectionException if any specific exception is thrown during the send process.
+     */
+    public void subscribeLobbyUpdates() throws ConnectionException {
+        this.sendMessage(NetworkMessage.simpleClientMessage(this.username, MessageType.LOBBY_LIST_SUBSCRIBE_REQUEST));
+    }
+
+    /**
+     * Asks the remote {@code Server} to stop pushing the changes of the {@code Lobby} list. The unsubscription is
+     * acknowledged by {@link #nextLobbyUpdate()} returning {@code null}.
+     *
+     * @throws ConnectionException if any specific exception is thrown during the send process.
+     */
+    public void unsubscribeLobbyUpdates() throws ConnectionException {
+        this.sendMessage(NetworkMessage.simpleClientMessage(this.username, MessageType.LOBBY_LIST_UNSUBSCRIBE_REQUEST));
+    }
+
+    /**
+     * Returns the next change of the {@code Lobby} list pushed by the remote {@code Server} after a call to
+     * {@link #subscribeLobbyUpdates()}: it maps the name of each {@code Lobby} created or changed to its new status, and
+     * the name of each {@code Lobby} closed to {@code null}. The first change holds the whole {@code Lobby} list.
+     * Note that tis is a blocking call, meaning that this method returns only when a new change is available.
+     *
+     * @return the next change of the {@code Lobby} list, or {@code null} once the unsubscription asked via
+     * {@link #unsubscribeLobbyUpdates()} has been acknowledged.
+     * @throws ConnectionException if any specific exception is thrown during the receiving process.
+     */
+    public Map<String, String> nextLobbyUpdate() throws ConnectionException {
+        NetworkMessage message = this.nextNonPingMessage();
+
+        switch (message.getType()) {
+            case LOBBY_LIST_DELTA:
+                return (Map<String, String>) message.getContent(); //safe conversion guaranteed by string type
+            case LOBBY_LIST_UNSUBSCRIBE_SUCCESS:
+                return null;
+            default:
+                throw new ConnectionException("expected: " + MessageType.LOBBY_LIST_DELTA + ", " +
+                        MessageType.LOBBY_LIST_UNSUBSCRIBE_SUCCESS + ", found: " + message.getType());
+        }
+    }
 }
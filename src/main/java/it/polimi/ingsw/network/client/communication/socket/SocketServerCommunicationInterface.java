@@ -2,6 +2,8 @@ package it.polimi.ingsw.network.client.communication.socket;
 
 import it.polimi.ingsw.network.client.communication.ServerCommunicationInterface;
 import it.polimi.ingsw.network.common.exceptions.ConnectionException;
+import it.polimi.ingsw.network.common.message.FrameCodec;
+import it.polimi.ingsw.network.common.message.MessageCodec;
 import it.polimi.ingsw.network.common.message.MessageType;
 import it.polimi.ingsw.network.common.message.NetworkMessage;
 
@@ -11,6 +13,8 @@ import java.net.Socket;
 /**
  * A {@code SocketClientCommunicationInterface} offers a transparent way to send and receive {@link NetworkMessage}s via the
  * {@code Socket} protocol. To achieve such goal, this class implements the {@link ServerCommunicationInterface} interface.
+ * {@link NetworkMessage}s are exchanged as frames, as described by {@link FrameCodec}, encoded by the
+ * {@link MessageCodec#BINARY} whenever the remote {@code Server} supports it.
  *
  * @see ServerCommunicationInterface
  */
@@ -23,26 +27,35 @@ public class SocketServerCommunicationInterface implements ServerCommunicationIn
     /**
      * The standard output stream used to send {@link NetworkMessage}s to the remote {@code Server}.
      */
-    private final ObjectOutputStream out;
+    private final DataOutputStream out;
 
     /**
      * The standard input stream used to receive {@link NetworkMessage}s from the remote {@code Server}.
      */
-    private final ObjectInputStream in;
+    private final DataInputStream in;
 
     /**
-     * This is the only constructor. It creates a new {@code SocketServerCommunicationInterface} from the given arguments.
+     * The {@link MessageCodec} agreed on with the remote {@code Server}.
+     */
+    private final MessageCodec codec;
+
+    /**
+     * This is the only constructor. It creates a new {@code SocketServerCommunicationInterface} from the given arguments
+     * and agrees on the {@link MessageCodec} to use with the remote {@code Server}.
      *
      * @param hostAddress the remote {@code Server} ip address to connect to.
      * @param port        the remote {@code Server} port to listen from.
-     * @throws ConnectionException if any lower level socket exception is thrown by the input and output streams.
+     * @throws ConnectionException if any lower level socket exception is thrown by the input and output streams, or if
+     *                             the remote {@code Server} does not support framed messages.
      */
     public SocketServerCommunicationInterface(String hostAddress, int port) throws ConnectionException {
         try {
             this.socket = new Socket(hostAddress, port);
 
-            this.out = new ObjectOutputStream(this.socket.getOutputStream());
-            this.in = new ObjectInputStream(this.socket.getInputStream());
+            this.out = new DataOutputStream(new BufferedOutputStream(this.socket.getOutputStream()));
+            this.in = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
+
+            this.codec = FrameCodec.connect(this.out, this.in, MessageCodec.BINARY);
         } catch (IOException e) {
             throw new ConnectionException(e);
         }
@@ -60,22 +73,22 @@ public class SocketServerCommunicationInterface implements ServerCommunicationIn
     }
 
     /**
-     * Sends a given {@link NetworkMessage} through an {@link ObjectOutputStream} stream using the {@code Socket} protocol.
+     * Sends a given {@link NetworkMessage} as a frame through the output stream using the {@code Socket} protocol.
      *
      * @param message the {@link NetworkMessage} to be sent.
      * @throws ConnectionException if any exception is thrown by the output stream.
      */
     @Override
-    public void sendMessage(NetworkMessage message) throws ConnectionException {
+    public synchronized void sendMessage(NetworkMessage message) throws ConnectionException {
         try {
-            this.out.writeObject(message);
+            FrameCodec.write(this.out, this.codec, message);
         } catch (IOException e) {
             throw new ConnectionException(e);
         }
     }
 
     /**
-     * Reads an incoming {@link NetworkMessage} from the {@link ObjectInputStream} stream using the {@code Socket} protocol.
+     * Reads an incoming {@link NetworkMessage} frame from the input stream using the {@code Socket} protocol.
      *
      * @return the incoming {@link NetworkMessage}.
      * @throws ConnectionException if any exception is thrown by the input stream.
@@ -85,14 +98,14 @@ public class SocketServerCommunicationInterface implements ServerCommunicationIn
         try {
             NetworkMessage message;
 
-            do message = (NetworkMessage) this.in.readObject();
+            do message = FrameCodec.read(this.in, this.codec);
             while (message.getType().equals(MessageType.PING_MESSAGE));
 
             if (message.getType() == MessageType.UNREGISTER_SUCCESS)
                 this.closeConnection();
 
             return message;
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             throw new ConnectionException(e);
         }
     }
@@ -1,24 +1,40 @@
 package it.polimi.ingsw.network.common.deliverable;
 
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.exceptions.DeliverableException;
 import it.polimi.ingsw.network.client.executable.Client;
 import it.polimi.ingsw.network.server.Server;
 import it.polimi.ingsw.util.printer.ColoredString;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * {@code Assets}-type {@link Deliverable}s are used to display with colour the {@link Game} status. They're always sent by
  * the {@link Server} and received by the {@link Client}. The server does not require (or indeed expect) a {@link Response}
  * after sending one. Not to be confused with {@link Info}, which is used to convey simple information to the user.
+ * <br>
+ * {@code Assets} come in two forms: a full frame holding the whole canvas, and a delta holding only the
+ * {@link CanvasRun}s that changed since the previous canvas sent to the same client, which the client applies to its
+ * own copy through {@link #patch(ColoredString[][])}.
  */
 public class Assets extends Deliverable {
 
     /**
-     * A grid used to store all the {@link ColoredString}s needed to print the interface.
+     * A grid used to store all the {@link ColoredString}s needed to print the interface, or {@code null} if the
+     * {@code Assets} is a delta.
      */
     private ColoredString[][] matrix;
 
     /**
-     * This is the only constructor.
+     * The cells that changed since the previous canvas, or {@code null} if the {@code Assets} is a full frame.
+     */
+    private List<CanvasRun> runs;
+
+    /**
+     * This constructor creates a full frame.
      * @param event the event that caused the {@code Assets} to be sent.
      * @param matrix the value of the {@link #matrix}.
      */
@@ -28,11 +44,101 @@ public class Assets extends Deliverable {
         this.matrix = matrix;
     }
 
+    /**
+     * This constructor creates a delta.
+     * @param event the event that caused the {@code Assets} to be sent.
+     * @param runs the value of the {@link #runs}.
+     */
+    public Assets(DeliverableEvent event, List<CanvasRun> runs) {
+        super(event);
+        this.type = DeliverableType.ASSETS;
+        this.runs = runs;
+    }
+
+    /**
+     * Creates the {@code Assets} that turns a canvas into another one. This is a delta made of the maximal runs of
+     * changed cells in each row if both canvases have the same shape, and a full frame holding {@code current} otherwise.
+     * @param event the event that caused the {@code Assets} to be sent.
+     * @param previous the canvas the client holds, or {@code null} if it holds none.
+     * @param current the canvas to be displayed.
+     * @return the {@code Assets}.
+     */
+    public static Assets diff(DeliverableEvent event, ColoredString[][] previous, ColoredString[][] current) {
+        if (previous == current && current != null) // the very same frame, as sent again while nothing changed
+            return new Assets(event, new ArrayList<>());
+        if (previous == null || current == null || previous.length != current.length)
+            return new Assets(event, current);
+        for (int i = 0; i < current.length; i++)
+            if (previous[i] == null || current[i] == null || previous[i].length != current[i].length)
+                return new Assets(event, current);
+
+        List<CanvasRun> runs = new ArrayList<>();
+        for (int i = 0; i < current.length; i++) {
+            int j = 0;
+            while (j < current[i].length) {
+                if (Objects.equals(previous[i][j], current[i][j])) {
+                    j++;
+                    continue;
+                }
+                int start = j;
+                while (j < current[i].length && !Objects.equals(previous[i][j], current[i][j]))
+                    j++;
+                runs.add(new CanvasRun(i, start, Arrays.copyOfRange(current[i], start, j)));
+            }
+        }
+        return new Assets(event, runs);
+    }
+
+    /**
+     * Tells whether the {@code Assets} is a delta rather than a full frame.
+     * @return {@code true} if and only if the {@code Assets} holds {@link #runs}.
+     */
+    public boolean isDelta() {
+        return runs != null;
+    }
+
     /**
      * Gets the {@link #matrix} attribute.
-     * @return the {@link #matrix} attribute.
+     * @return the {@link #matrix} attribute, which is {@code null} for a delta.
      */
     public ColoredString[][] unpack() {
         return matrix;
     }
+
+    /**
+     * Gets the {@link #runs} attribute.
+     * @return the {@link #runs} attribute, which is {@code null} for a full frame.
+     */
+    public List<CanvasRun> getRuns() {
+        return runs;
+    }
+
+    /**
+     * Applies the {@code Assets} to the canvas currently displayed. The given canvas is left untouched: the rows
+     * changed by a delta are copied before being patched.
+     * @param previous the canvas currently displayed, or {@code null} if there is none.
+     * @return the canvas to be displayed.
+     * @throws DeliverableException when a delta is applied to no canvas, or to a canvas it does not fit.
+     */
+    public ColoredString[][] patch(ColoredString[][] previous) {
+        if (!isDelta())
+            return matrix;
+        if (previous == null)
+            throw new DeliverableException("Received a canvas delta with no canvas to apply it to.");
+
+        ColoredString[][] current = previous.clone();
+        boolean[] copied = new boolean[current.length];
+        for (CanvasRun run : runs) {
+            int row = run.getRow();
+            if (row < 0 || row >= current.length || current[row] == null
+                    || run.getColumn() < 0 || run.getColumn() + run.getCells().length > current[row].length)
+                throw new DeliverableException("Received a canvas delta that does not fit the canvas.");
+            if (!copied[row]) {
+                current[row] = current[row].clone();
+                copied[row] = true;
+            }
+            System.arraycopy(run.getCells(), 0, current[row], run.getColumn(), run.getCells().length);
+        }
+        return current;
+    }
 }
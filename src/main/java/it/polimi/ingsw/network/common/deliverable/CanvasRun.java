@@ -0,0 +1,67 @@
+package it.polimi.ingsw.network.common.deliverable;
+
+import it.polimi.ingsw.util.printer.ColoredString;
+
+import java.io.Serializable;
+
+/**
+ * A {@code CanvasRun} is a sequence of consecutive cells of the same row of a canvas that changed since the previous
+ * canvas sent to a client. A delta {@link Assets} is made of the {@code CanvasRun}s needed to turn the previous canvas
+ * into the current one.
+ */
+public class CanvasRun implements Serializable {
+    /**
+     * The row of the canvas the run belongs to.
+     */
+    private final int row;
+
+    /**
+     * The column of the first cell of the run.
+     */
+    private final int column;
+
+    /**
+     * The new content of the cells, from {@link #column} onwards.
+     */
+    private final ColoredString[] cells;
+
+    /**
+     * This is the only constructor.
+     *
+     * @param row    the {@link #row}.
+     * @param column the {@link #column}.
+     * @param cells  the {@link #cells}.
+     */
+    public CanvasRun(int row, int column, ColoredString[] cells) {
+        this.row = row;
+        this.column = column;
+        this.cells = cells;
+    }
+
+    /**
+     * Gets the {@link #row} attribute.
+     *
+     * @return the {@link #row}.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the {@link #column} attribute.
+     *
+     * @return the {@link #column}.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the {@link #cells} attribute.
+     *
+     * @return the {@link #cells}.
+     */
+    public ColoredString[] getCells() {
+        return cells;
+    }
+}
@@ -0,0 +1,471 @@
+package it.polimi.ingsw.network.common.message;
+
+import it.polimi.ingsw.network.common.deliverable.*;
+import it.polimi.ingsw.util.printer.ColoredString;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A {@code BinaryMessageCodec} encodes each {@link NetworkMessage} field by field, writing for each {@link MessageType}
+ * only the content it is known to carry, and for each {@link DeliverableType} only the fields it declares.
+ * This avoids the class descriptors and per-object overhead of the Java serialization.
+ *
+ * <p>The payload is laid out as: {@code byte type, string author}, followed by the content, if the {@link MessageType}
+ * carries one. Strings are written as a {@code varint} length, {@code 0} standing for {@code null}, followed by their
+ * UTF-8 bytes. The many repeated strings of an {@link Assets} matrix, or of its delta, are written once each: every further occurrence is
+ * replaced by its index into the strings already written.
+ */
+public class BinaryMessageCodec extends MessageCodec {
+    /**
+     * This is the only constructor. The unique instance is {@link MessageCodec#BINARY}.
+     */
+    BinaryMessageCodec() {
+        super((byte) 1);
+    }
+
+    /**
+     * Encodes a {@link NetworkMessage} to a stream.
+     *
+     * @param message the {@link NetworkMessage} to be encoded.
+     * @param out     the stream to write to.
+     * @throws IOException if the content of the {@link NetworkMessage} does not match its {@link MessageType}.
+     */
+    @Override
+    protected void write(NetworkMessage message, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        MessageType type = message.getType();
+        Object content = message.getContent();
+
+        data.writeByte(type.ordinal());
+        writeString(data, message.getAuthor());
+
+        try {
+            switch (type) {
+                case LOBBY_LIST_UPDATE_RESPONSE:
+                case LOBBY_LIST_DELTA:
+                    @SuppressWarnings("unchecked") Map<String, String> lobbies = (Map<String, String>) content;
+                    writeVarInt(data, lobbies.size());
+                    for (Map.Entry<String, String> lobby : lobbies.entrySet()) {
+                        writeString(data, lobby.getKey());
+                        writeString(data, lobby.getValue());
+                    }
+                    break;
+                case LOBBY_CREATE_REQUEST:
+                case LOBBY_LOGIN_REQUEST:
+                    String[] lobbyInfo = (String[]) content;
+                    writeString(data, lobbyInfo[0]);
+                    writeString(data, lobbyInfo[1]);
+                    break;
+                case LOBBY_LOGOUT_REQUEST:
+                    writeString(data, (String) content);
+                    break;
+                case COUNTDOWN_UPDATE:
+                    data.writeInt((Integer) content);
+                    break;
+                case OPPONENTS_LIST_UPDATE:
+                    @SuppressWarnings("unchecked") List<String> opponents = (List<String>) content;
+                    writeStrings(data, opponents);
+                    break;
+                case CLIENT_MESSAGE:
+                    writeDeliverable(data, (Deliverable) content);
+                    break;
+                default:
+                    if (content != null)
+                        throw new NotSerializableException("Unexpected content for " + type + ": " + content.getClass().getName());
+            }
+        } catch (ClassCastException | NullPointerException e) {
+            throw new NotSerializableException("Unexpected content for " + type + ": " + e.getMessage());
+        }
+        data.flush();
+    }
+
+    /**
+     * Decodes the payload of a frame into a {@link NetworkMessage}.
+     *
+     * @param payload the array holding the payload.
+     * @param offset  the position of the payload inside {@code payload}.
+     * @param length  the length of the payload.
+     * @return the decoded {@link NetworkMessage}.
+     * @throws IOException if the payload does not hold a valid {@link NetworkMessage}.
+     */
+    @Override
+    public NetworkMessage decode(byte[] payload, int offset, int length) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload, offset, length));
+        try {
+            MessageType type = MessageType.values()[data.readUnsignedByte()];
+            String author = readString(data);
+            Object content = null;
+
+            switch (type) {
+                case LOBBY_LIST_UPDATE_RESPONSE:
+                case LOBBY_LIST_DELTA:
+                    int size = readVarInt(data);
+                    Map<String, String> lobbies = new HashMap<>();
+                    for (int i = 0; i < size; i++)
+                        lobbies.put(readString(data), readString(data));
+                    content = lobbies;
+                    break;
+                case LOBBY_CREATE_REQUEST:
+                case LOBBY_LOGIN_REQUEST:
+                    content = new String[]{readString(data), readString(data)};
+                    break;
+                case LOBBY_LOGOUT_REQUEST:
+                    content = readString(data);
+                    break;
+                case COUNTDOWN_UPDATE:
+                    content = data.readInt();
+                    break;
+                case OPPONENTS_LIST_UPDATE:
+                    content = readStrings(data);
+                    break;
+                case CLIENT_MESSAGE:
+                    content = readDeliverable(data);
+                    break;
+                default:
+            }
+
+            if (data.available() > 0)
+                throw new StreamCorruptedException("Trailing bytes after " + type);
+            if (author == null)
+                return content == null ? NetworkMessage.simpleServerMessage(type) : NetworkMessage.completeServerMessage(type, content);
+            return content == null ? NetworkMessage.simpleClientMessage(author, type) : NetworkMessage.completeClientMessage(author, type, content);
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new StreamCorruptedException("Invalid message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a {@link Deliverable}: its type, event and message, followed by the fields of its {@link DeliverableType}.
+     *
+     * @param data        the stream to write to.
+     * @param deliverable the {@link Deliverable} to be written.
+     * @throws IOException if the stream can't be written.
+     */
+    private static void writeDeliverable(DataOutputStream data, Deliverable deliverable) throws IOException {
+        data.writeByte(deliverable.getType().ordinal());
+        data.writeByte(deliverable.getEvent().ordinal());
+        writeString(data, deliverable.getMessage());
+
+        switch (deliverable.getType()) {
+            case MAPPED:
+                Mapped mapped = (Mapped) deliverable;
+                writeStrings(data, mapped.getOptions());
+                writeVarInt(data, mapped.getKeys().size());
+                for (int key : mapped.getKeys())
+                    data.writeInt(key);
+                break;
+            case ASSETS:
+                writeAssets(data, (Assets) deliverable);
+                break;
+            case RESPONSE:
+                Response response = (Response) deliverable;
+                data.writeBoolean(response.isValid());
+                data.writeInt(response.getNumber());
+                break;
+            default:
+        }
+    }
+
+    /**
+     * Reads a {@link Deliverable} written by {@link #writeDeliverable(DataOutputStream, Deliverable)}.
+     *
+     * @param data the stream to read from.
+     * @return the {@link Deliverable}.
+     * @throws IOException if the stream does not hold a valid {@link Deliverable}.
+     */
+    private static Deliverable readDeliverable(DataInputStream data) throws IOException {
+        DeliverableType type = DeliverableType.values()[data.readUnsignedByte()];
+        DeliverableEvent event = DeliverableEvent.values()[data.readUnsignedByte()];
+        String message = readString(data);
+
+        Deliverable deliverable;
+        switch (type) {
+            case INFO:
+                deliverable = new Info(event);
+                break;
+            case DUAL:
+                deliverable = new Dual(event);
+                break;
+            case MAPPED:
+                List<String> options = readStrings(data);
+                int size = readVarInt(data);
+                List<Integer> keys = new ArrayList<>(Math.min(size, data.available()));
+                for (int i = 0; i < size; i++)
+                    keys.add(data.readInt());
+                deliverable = new Mapped(event, options, keys);
+                break;
+            case ASSETS:
+                deliverable = readAssets(data, event);
+                break;
+            case RESPONSE:
+                boolean valid = data.readBoolean();
+                int number = data.readInt();
+                deliverable = valid ? new Response(number) : Response.taint();
+                break;
+            default:
+                throw new StreamCorruptedException("Unknown deliverable type " + type);
+        }
+        deliverable.overwriteMessage(message);
+        return deliverable;
+    }
+
+    /**
+     * Writes the content of an {@link Assets}: a flag telling whether it is a delta, followed by either its matrix
+     * or its {@link CanvasRun}s. All of the strings share the same table of references.
+     *
+     * @param data   the stream to write to.
+     * @param assets the {@link Assets} to be written.
+     * @throws IOException if the stream can't be written.
+     */
+    private static void writeAssets(DataOutputStream data, Assets assets) throws IOException {
+        Map<String, Integer> table = new HashMap<>();
+
+        data.writeBoolean(assets.isDelta());
+        if (!assets.isDelta()) {
+            ColoredString[][] matrix = assets.unpack();
+            writeVarInt(data, matrix == null ? 0 : matrix.length + 1);
+            if (matrix == null)
+                return;
+            for (ColoredString[] row : matrix)
+                writeRow(data, table, row);
+            return;
+        }
+
+        writeVarInt(data, assets.getRuns().size());
+        for (CanvasRun run : assets.getRuns()) {
+            writeVarInt(data, run.getRow());
+            writeVarInt(data, run.getColumn());
+            writeRow(data, table, run.getCells());
+        }
+    }
+
+    /**
+     * Reads an {@link Assets} written by {@link #writeAssets(DataOutputStream, Assets)}.
+     *
+     * @param data  the stream to read from.
+     * @param event the event of the {@link Assets}.
+     * @return the {@link Assets}.
+     * @throws IOException if the stream does not hold a valid {@link Assets}.
+     */
+    private static Assets readAssets(DataInputStream data, DeliverableEvent event) throws IOException {
+        List<String> table = new ArrayList<>();
+
+        if (!data.readBoolean()) {
+            int rows = readVarInt(data) - 1;
+            if (rows < 0)
+                return new Assets(event, (ColoredString[][]) null);
+            if (rows > data.available())
+                throw new EOFException("Matrix larger than the frame");
+            ColoredString[][] matrix = new ColoredString[rows][];
+            for (int i = 0; i < rows; i++)
+                matrix[i] = readRow(data, table);
+            return new Assets(event, matrix);
+        }
+
+        int size = readVarInt(data);
+        if (size > data.available())
+            throw new EOFException("Delta larger than the frame");
+        List<CanvasRun> runs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int row = readVarInt(data);
+            int column = readVarInt(data);
+            ColoredString[] cells = readRow(data, table);
+            if (cells == null)
+                throw new StreamCorruptedException("Empty canvas run");
+            runs.add(new CanvasRun(row, column, cells));
+        }
+        return new Assets(event, runs);
+    }
+
+    /**
+     * Writes a row of {@link ColoredString}s, preceded by its length. Each {@link ColoredString} is written as two
+     * references into a table of the distinct strings met so far: a reference equal to the size of the table is
+     * followed by a new string, which is then added to the table; {@code 0} stands for {@code null}.
+     *
+     * @param data  the stream to write to.
+     * @param table the strings written so far, mapped to their reference.
+     * @param row   the row to be written.
+     * @throws IOException if the stream can't be written.
+     */
+    private static void writeRow(DataOutputStream data, Map<String, Integer> table, ColoredString[] row) throws IOException {
+        writeVarInt(data, row == null ? 0 : row.length + 1);
+        if (row == null)
+            return;
+        for (ColoredString cell : row) {
+            if (cell == null) {
+                writeVarInt(data, 0);
+                continue;
+            }
+            writeVarInt(data, 1);
+            writeReference(data, table, cell.content());
+            writeReference(data, table, cell.color());
+        }
+    }
+
+    /**
+     * Reads a row written by {@link #writeRow(DataOutputStream, Map, ColoredString[])}.
+     *
+     * @param data  the stream to read from.
+     * @param table the strings read so far.
+     * @return the row.
+     * @throws IOException if the stream does not hold a valid row.
+     */
+    private static ColoredString[] readRow(DataInputStream data, List<String> table) throws IOException {
+        int columns = readVarInt(data) - 1;
+        if (columns < 0)
+            return null;
+        if (columns > data.available())
+            throw new EOFException("Row larger than the frame");
+        ColoredString[] row = new ColoredString[columns];
+        for (int j = 0; j < columns; j++)
+            if (readVarInt(data) != 0)
+                row[j] = new ColoredString(readReference(data, table), readReference(data, table));
+        return row;
+    }
+
+    /**
+     * Writes a string as a reference into a table of the strings written so far, adding it to the table if needed.
+     *
+     * @param data   the stream to write to.
+     * @param table  the strings written so far, mapped to their reference.
+     * @param string the string to be written.
+     * @throws IOException if the stream can't be written.
+     */
+    private static void writeReference(DataOutputStream data, Map<String, Integer> table, String string) throws IOException {
+        if (string == null) {
+            writeVarInt(data, 0);
+            return;
+        }
+        Integer reference = table.get(string);
+        if (reference != null) {
+            writeVarInt(data, reference);
+            return;
+        }
+        reference = table.size() + 1;
+        table.put(string, reference);
+        writeVarInt(data, reference);
+        writeString(data, string);
+    }
+
+    /**
+     * Reads a string written by {@link #writeReference(DataOutputStream, Map, String)}.
+     *
+     * @param data  the stream to read from.
+     * @param table the strings read so far, the string with reference {@code r} being at index {@code r - 1}.
+     * @return the string.
+     * @throws IOException if the stream does not hold a valid reference.
+     */
+    private static String readReference(DataInputStream data, List<String> table) throws IOException {
+        int reference = readVarInt(data);
+        if (reference == 0)
+            return null;
+        if (reference > table.size() + 1)
+            throw new StreamCorruptedException("Unknown reference " + reference);
+        if (reference == table.size() + 1)
+            table.add(readString(data));
+        return table.get(reference - 1);
+    }
+
+    /**
+     * Writes a list of strings, preceded by its size.
+     *
+     * @param data    the stream to write to.
+     * @param strings the strings to be written.
+     * @throws IOException if the stream can't be written.
+     */
+    private static void writeStrings(DataOutputStream data, List<String> strings) throws IOException {
+        writeVarInt(data, strings.size());
+        for (String string : strings)
+            writeString(data, string);
+    }
+
+    /**
+     * Reads a list of strings written by {@link #writeStrings(DataOutputStream, List)}.
+     *
+     * @param data the stream to read from.
+     * @return the strings.
+     * @throws IOException if the stream does not hold a valid list.
+     */
+    private static List<String> readStrings(DataInputStream data) throws IOException {
+        int size = readVarInt(data);
+        List<String> strings = new ArrayList<>(Math.min(size, data.available()));
+        for (int i = 0; i < size; i++)
+            strings.add(readString(data));
+        return strings;
+    }
+
+    /**
+     * Writes a string as its UTF-8 bytes, preceded by their number plus one, so that {@code 0} can stand for {@code null}.
+     *
+     * @param data   the stream to write to.
+     * @param string the string to be written.
+     * @throws IOException if the stream can't be written.
+     */
+    private static void writeString(DataOutputStream data, String string) throws IOException {
+        if (string == null) {
+            writeVarInt(data, 0);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(data, bytes.length + 1);
+        data.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param data the stream to read from.
+     * @return the string.
+     * @throws IOException if the stream does not hold a valid string.
+     */
+    private static String readString(DataInputStream data) throws IOException {
+        int length = readVarInt(data) - 1;
+        if (length < 0)
+            return null;
+        if (length > data.available())
+            throw new EOFException("String longer than the frame");
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a non-negative {@code int} using seven bits per byte, the highest bit telling whether more bytes follow.
+     *
+     * @param data  the stream to write to.
+     * @param value the value to be written.
+     * @throws IOException if the stream can't be written.
+     */
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        if (value < 0)
+            throw new NotSerializableException("Negative value " + value);
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    /**
+     * Reads an {@code int} written by {@link #writeVarInt(DataOutputStream, int)}.
+     *
+     * @param data the stream to read from.
+     * @return the value.
+     * @throws IOException if the stream does not hold a valid value.
+     */
+    private static int readVarInt(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0)
+                    throw new StreamCorruptedException("Negative value " + value);
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed varint");
+    }
+}
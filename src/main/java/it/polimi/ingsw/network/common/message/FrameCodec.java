@@ -0,0 +1,118 @@
+package it.polimi.ingsw.network.common.message;
+
+import java.io.*;
+
+/**
+ * A {@code FrameCodec} turns {@link NetworkMessage}s into self-delimiting frames and back, so that a receiver can
+ * tell where a {@link NetworkMessage} ends without having to parse it, which is what a non-blocking reader needs.
+ * A frame is an {@code int} holding the length of the payload, followed by the payload itself, as encoded by the
+ * {@link MessageCodec} in use.
+ *
+ * <p>A connection using frames starts with a handshake: the client sends {@link #MAGIC} followed by the
+ * {@link MessageCodec#getId()} of the {@link MessageCodec} it prefers, then the server answers with {@link #MAGIC}
+ * followed by the identifier of the {@link MessageCodec} both ends are going to use, which is the one preferred by the
+ * client if the server supports it, or {@link MessageCodec#SERIALIZED} otherwise.
+ * As a Java serialization stream starts with a different header, a server can also tell a framed client from one
+ * sending a plain serialization stream.
+ */
+public class FrameCodec {
+    /**
+     * The value sent by both ends of a connection before any frame.
+     */
+    public static final int MAGIC = 0x41444652;
+
+    /**
+     * The length, in bytes, of the handshake sent by each end.
+     */
+    public static final int HANDSHAKE_LENGTH = Integer.BYTES + Byte.BYTES;
+
+    /**
+     * The maximum length, in bytes, of the payload of a frame. Longer frames are treated as a protocol violation.
+     */
+    public static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * This class is not meant to be instantiated.
+     */
+    private FrameCodec() {
+    }
+
+    /**
+     * Performs the client side of the handshake on a blocking connection.
+     *
+     * @param out       the stream to the server.
+     * @param in        the stream from the server.
+     * @param preferred the {@link MessageCodec} the client would like to use.
+     * @return the {@link MessageCodec} chosen by the server.
+     * @throws IOException if the streams can't be used, or if the server does not answer with the {@link #MAGIC}.
+     */
+    public static MessageCodec connect(DataOutputStream out, DataInputStream in, MessageCodec preferred) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(preferred.getId());
+        out.flush();
+
+        if (in.readInt() != MAGIC)
+            throw new StreamCorruptedException("Server does not support framed messages");
+        return MessageCodec.of(in.readByte());
+    }
+
+    /**
+     * Performs the server side of the handshake on a blocking connection, after the {@link #MAGIC} has already been
+     * read from the client.
+     *
+     * @param out the stream to the client.
+     * @param in  the stream from the client.
+     * @return the {@link MessageCodec} chosen.
+     * @throws IOException if the streams can't be used.
+     */
+    public static MessageCodec accept(DataOutputStream out, DataInputStream in) throws IOException {
+        MessageCodec codec = MessageCodec.of(in.readByte());
+
+        out.writeInt(MAGIC);
+        out.writeByte(codec.getId());
+        out.flush();
+        return codec;
+    }
+
+    /**
+     * Checks the length of a frame read from the network.
+     *
+     * @param length the length of the payload, as read from the frame.
+     * @throws StreamCorruptedException if {@code length} is negative or greater than {@link #MAX_FRAME_LENGTH}.
+     */
+    public static void checkLength(int length) throws StreamCorruptedException {
+        if (length < 0 || length > MAX_FRAME_LENGTH)
+            throw new StreamCorruptedException("Invalid frame length " + length);
+    }
+
+    /**
+     * Writes a {@link NetworkMessage} as a frame to a blocking stream and flushes it.
+     *
+     * @param out     the stream to write to.
+     * @param codec   the {@link MessageCodec} to encode the {@link NetworkMessage} with.
+     * @param message the {@link NetworkMessage} to be written.
+     * @throws IOException if the stream can't be written.
+     */
+    public static void write(OutputStream out, MessageCodec codec, NetworkMessage message) throws IOException {
+        byte[] frame = codec.encode(message).array();
+        out.write(frame);
+        out.flush();
+    }
+
+    /**
+     * Reads a frame from a blocking stream.
+     *
+     * @param in    the stream to read from.
+     * @param codec the {@link MessageCodec} to decode the {@link NetworkMessage} with.
+     * @return the {@link NetworkMessage} held by the frame.
+     * @throws IOException if the stream can't be read or does not hold a valid frame.
+     */
+    public static NetworkMessage read(DataInputStream in, MessageCodec codec) throws IOException {
+        int length = in.readInt();
+        checkLength(length);
+
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return codec.decode(payload, 0, length);
+    }
+}
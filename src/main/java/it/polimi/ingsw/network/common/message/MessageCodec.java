@@ -0,0 +1,97 @@
+package it.polimi.ingsw.network.common.message;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@code MessageCodec} defines how a {@link NetworkMessage} is turned into the payload of a frame and back.
+ * The two ends of a connection agree on the {@code MessageCodec} to use when the connection is established,
+ * as described by {@link FrameCodec}.
+ *
+ * @see SerializedMessageCodec
+ * @see BinaryMessageCodec
+ */
+public abstract class MessageCodec {
+    /**
+     * The {@code MessageCodec} relying on the standard Java serialization.
+     */
+    public static final MessageCodec SERIALIZED = new SerializedMessageCodec();
+
+    /**
+     * The {@code MessageCodec} relying on an explicit binary encoding of each kind of {@link NetworkMessage}.
+     */
+    public static final MessageCodec BINARY = new BinaryMessageCodec();
+
+    /**
+     * The identifier this {@code MessageCodec} is referred to by during the handshake.
+     */
+    private final byte id;
+
+    /**
+     * This is the only constructor.
+     *
+     * @param id the identifier of the {@code MessageCodec}.
+     */
+    MessageCodec(byte id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the identifier this {@code MessageCodec} is referred to by during the handshake.
+     *
+     * @return the identifier.
+     */
+    public byte getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the {@code MessageCodec} with the given identifier, falling back to {@link #SERIALIZED}, which every
+     * end supports, if the identifier is unknown.
+     *
+     * @param id the identifier received during the handshake.
+     * @return the {@code MessageCodec}.
+     */
+    public static MessageCodec of(byte id) {
+        return id == BINARY.getId() ? BINARY : SERIALIZED;
+    }
+
+    /**
+     * Encodes a {@link NetworkMessage} into a whole frame, length included.
+     *
+     * @param message the {@link NetworkMessage} to be encoded.
+     * @return a {@link ByteBuffer} holding the whole frame, ready to be written.
+     * @throws IOException if the {@link NetworkMessage} can't be encoded.
+     */
+    public ByteBuffer encode(NetworkMessage message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(new byte[Integer.BYTES]); //room for the length
+        this.write(message, bytes);
+
+        ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+        frame.putInt(0, frame.capacity() - Integer.BYTES);
+        return frame;
+    }
+
+    /**
+     * Writes the payload of a {@link NetworkMessage} to a stream.
+     *
+     * @param message the {@link NetworkMessage} to be encoded.
+     * @param out     the stream to write to.
+     * @throws IOException if the {@link NetworkMessage} can't be encoded.
+     */
+    protected abstract void write(NetworkMessage message, OutputStream out) throws IOException;
+
+    /**
+     * Decodes the payload of a frame into a {@link NetworkMessage}.
+     *
+     * @param payload the array holding the payload.
+     * @param offset  the position of the payload inside {@code payload}.
+     * @param length  the length of the payload.
+     * @return the decoded {@link NetworkMessage}.
+     * @throws IOException if the payload does not hold a valid {@link NetworkMessage}.
+     */
+    public abstract NetworkMessage decode(byte[] payload, int offset, int length) throws IOException;
+}
@@ -208,5 +208,34 @@ public enum MessageType implements Serializable {
      * A {@code OPPONENTS_LIST_UPDATE} represents a type of message sent from the server to all the clients connected.
      * It is used to notify a client with the collection of all the {@link Player}s logged into his same {@link Lobby}.
      */
-    OPPONENTS_LIST_UPDATE
+    OPPONENTS_LIST_UPDATE,
+
+    /**
+     * A {@code LOBBY_LIST_SUBSCRIBE_REQUEST} represents a type of message sent from the clients to server.
+     * It is used to ask the server to push the changes of the {@link Lobby} list, as {@link #LOBBY_LIST_DELTA} messages,
+     * instead of being polled via {@link #LOBBY_LIST_UPDATE_REQUEST} messages.
+     */
+    LOBBY_LIST_SUBSCRIBE_REQUEST,
+
+    /**
+     * A {@code LOBBY_LIST_UNSUBSCRIBE_REQUEST} represents a type of message sent from the clients to server.
+     * It is used to ask the server to stop pushing the changes of the {@link Lobby} list, usually right before joining a
+     * {@link Lobby}.
+     */
+    LOBBY_LIST_UNSUBSCRIBE_REQUEST,
+
+    /**
+     * A {@code LOBBY_LIST_DELTA} represents a type of message sent from the server to all the subscribed clients.
+     * It is used to notify a client about the {@link Lobby}s created, changed or closed since the previous one: it maps
+     * the name of each of them to its new status, or to {@code null} if it has been closed. The first one sent after a
+     * {@link #LOBBY_LIST_SUBSCRIBE_REQUEST} holds the whole {@link Lobby} list.
+     */
+    LOBBY_LIST_DELTA,
+
+    /**
+     * A {@code LOBBY_LIST_UNSUBSCRIBE_SUCCESS} represents a type of message sent from the server to all the clients connected.
+     * It is used to notify a client that the unsubscription asked via a {@link #LOBBY_LIST_UNSUBSCRIBE_REQUEST} has been
+     * successful, and therefore that no further {@link #LOBBY_LIST_DELTA} messages are to be expected.
+     */
+    LOBBY_LIST_UNSUBSCRIBE_SUCCESS
 }
@@ -0,0 +1,48 @@
+package it.polimi.ingsw.network.common.message;
+
+import java.io.*;
+
+/**
+ * A {@code SerializedMessageCodec} encodes each {@link NetworkMessage} with the standard Java serialization, on its own,
+ * with no reference to any previous frame.
+ */
+public class SerializedMessageCodec extends MessageCodec {
+    /**
+     * This is the only constructor. The unique instance is {@link MessageCodec#SERIALIZED}.
+     */
+    SerializedMessageCodec() {
+        super((byte) 0);
+    }
+
+    /**
+     * Serializes a {@link NetworkMessage} to a stream.
+     *
+     * @param message the {@link NetworkMessage} to be encoded.
+     * @param out     the stream to write to.
+     * @throws IOException if the {@link NetworkMessage} can't be serialized.
+     */
+    @Override
+    protected void write(NetworkMessage message, OutputStream out) throws IOException {
+        ObjectOutputStream objectOut = new ObjectOutputStream(out);
+        objectOut.writeObject(message);
+        objectOut.flush();
+    }
+
+    /**
+     * Deserializes the payload of a frame into a {@link NetworkMessage}.
+     *
+     * @param payload the array holding the payload.
+     * @param offset  the position of the payload inside {@code payload}.
+     * @param length  the length of the payload.
+     * @return the decoded {@link NetworkMessage}.
+     * @throws IOException if the payload does not hold a {@link NetworkMessage}.
+     */
+    @Override
+    public NetworkMessage decode(byte[] payload, int offset, int length) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload, offset, length))) {
+            return (NetworkMessage) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new InvalidObjectException("Frame does not hold a NetworkMessage: " + e.getMessage());
+        }
+    }
+}
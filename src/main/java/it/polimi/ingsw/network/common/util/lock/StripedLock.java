@@ -0,0 +1,43 @@
+package it.polimi.ingsw.network.common.util.lock;
+
+/**
+ * A {@code StripedLock} maps any key to one of a fixed number of monitor objects, so that operations on the same key
+ * are serialized while operations on different keys can, most of the time, proceed in parallel.
+ * Two different keys may share the same stripe: this only costs some contention, never correctness.
+ */
+public class StripedLock {
+    /**
+     * The monitor objects to synchronize on.
+     */
+    private final Object[] stripes;
+
+    /**
+     * This is the only constructor. It creates a new {@code StripedLock} with the given number of stripes.
+     *
+     * @param stripes the number of stripes, which is rounded up to the next power of two.
+     */
+    public StripedLock(int stripes) {
+        if (stripes < 1)
+            throw new IllegalArgumentException("Stripes must be positive");
+
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes)
+            size <<= 1;
+
+        this.stripes = new Object[size];
+        for (int i = 0; i < size; i++)
+            this.stripes[i] = new Object();
+    }
+
+    /**
+     * Returns the monitor object guarding the given {@code key}.
+     *
+     * @param key the key to be guarded.
+     * @return the monitor object to synchronize on.
+     */
+    public Object of(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return this.stripes[hash & (this.stripes.length - 1)];
+    }
+}
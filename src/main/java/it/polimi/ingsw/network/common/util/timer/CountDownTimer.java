@@ -6,10 +6,8 @@ import it.polimi.ingsw.network.server.lobby.Lobby;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.player.Player;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -19,6 +17,10 @@ import java.util.concurrent.atomic.AtomicInteger;
  * A {@code Timer} class to perform countdown from {@link #currentSeconds} all way down to {@code 0}.
  * This class extends the {@link Observable} interface, so the caller of {@link CountDownTimer} can be notified when the
  * timer expires, stops/pauses, or is being updated and the countdown performs from a slightly different value of time.
+ * The countdown runs on the threads of the {@link TimerService}, shared by all the {@code CountDownTimer}s, so that a
+ * {@code CountDownTimer} holds no resource other than its scheduled {@link #tick} while counting, and none after being
+ * stopped or {@link #discard() discarded}. As those threads are shared, the {@link Observer}s are notified on them and
+ * must never block, but only record or post the event.
  */
 public class CountDownTimer implements Observable {
     /**
@@ -36,15 +38,10 @@ public class CountDownTimer implements Observable {
      */
     private final AtomicInteger currentSeconds;
 
-    /**
-     * The {@link ScheduledExecutorService} responsible for the actual countdown operation.
-     */
-    private final ScheduledExecutorService executor;
-
     /**
      * The {@link ScheduledFuture} used to control the {@link #tick} task during its execution.
      */
-    private ScheduledFuture<?> future;
+    private volatile ScheduledFuture<?> future;
 
     /**
      * The task to be executed every {@link #PERIOD} seconds.
@@ -91,7 +88,6 @@ public class CountDownTimer implements Observable {
         this.currentSeconds = new AtomicInteger(startingSeconds);
         this.sendTimeUpdate = new AtomicBoolean(true);
 
-        this.executor = Executors.newSingleThreadScheduledExecutor();
         this.tick = () -> {
             if (this.currentSeconds.decrementAndGet() <= 0) {
                 this.stop();
@@ -102,7 +98,7 @@ public class CountDownTimer implements Observable {
             }
         };
 
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -134,10 +130,10 @@ public class CountDownTimer implements Observable {
      * Starts the countdown from {@link #currentSeconds} down to {@code 0}.
      * If called repeatedly before the {@link #tick} task is done, the second and subsequent calls have no effect.
      */
-    public void start() {
+    public synchronized void start() {
         //prepare the timer to start the countdown from the last value before interruption
         if (this.future == null || this.future.isDone())
-            this.future = this.executor.scheduleAtFixedRate(this.tick, INITIAL_DELAY, PERIOD, TimeUnit.SECONDS);
+            this.future = TimerService.scheduleAtFixedRate(this.tick, INITIAL_DELAY, PERIOD, TimeUnit.SECONDS);
     }
 
     /**
@@ -149,11 +145,30 @@ public class CountDownTimer implements Observable {
      * {@link Observer}s.
      */
     public void stop() {
-        this.future.cancel(true);
+        this.cancel();
         if (this.currentSeconds.get() > 0) //otherwise a STATUS_EXPIRED has already been sent
             this.notifyObservers(STATUS_STOPPED, -1); //-1: no valuable information given when the timer stops
     }
 
+    /**
+     * Stops the current countdown task, if any, without notifying the {@link Observer}s, and forgets all of them.
+     * This is meant to be called once the timer is no longer needed, such as when its {@link Game} has started.
+     * The timer can still be {@link #start() started} again, but nobody would be notified.
+     */
+    public void discard() {
+        this.cancel();
+        this.observers.clear();
+    }
+
+    /**
+     * Cancels the {@link #tick} task, so that it is removed from the {@link TimerService}. A running {@link #tick}
+     * is not interrupted, as the thread running it is shared with the other timers.
+     */
+    private synchronized void cancel() {
+        if (this.future != null)
+            this.future.cancel(false);
+    }
+
     /**
      * Adds an {@link Observer} to the {@link #observers} {@code List}, so that
      * it can be notified when the timer expires.
@@ -0,0 +1,108 @@
+package it.polimi.ingsw.network.common.util.timer;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code TimerService} hosts the {@link CountDownTimer}s of all the lobbies on a small pool of threads shared by the
+ * whole JVM, rather than on one thread per task.
+ * Cancelled tasks are removed from the queue right away, and the threads of the pool terminate after
+ * {@link #KEEP_ALIVE} seconds without any task, so that a server with no countdown running holds no timer thread.
+ * As the threads are shared, a task must never block: it may only record or post its work, and anything slower, such
+ * as notifying remote clients, belongs to another executor. Periodic tasks of other subsystems get a
+ * {@link #newDedicatedTimer(String) dedicated timer} instead, so that they never compete with the countdowns.
+ */
+public class TimerService {
+    /**
+     * The number of threads running the tasks, which only post events and never block.
+     */
+    private static final int THREADS = 2;
+
+    /**
+     * Time in seconds an idle thread of the pool waits for a new task before terminating.
+     */
+    private static final int KEEP_ALIVE = 30;
+
+    /**
+     * The executor shared by all the tasks.
+     */
+    private static final ScheduledThreadPoolExecutor executor = createExecutor("timer", THREADS);
+
+    /**
+     * This class is not meant to be instantiated.
+     */
+    private TimerService() {
+    }
+
+    /**
+     * Creates an executor with the same policies as the {@link #executor}, whose threads are daemons named
+     * {@code prefix-1}, {@code prefix-2} and so on.
+     *
+     * @param prefix  the prefix of the names of the threads.
+     * @param threads the number of threads.
+     * @return the executor.
+     */
+    private static ScheduledThreadPoolExecutor createExecutor(String prefix, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(threads, factory);
+        pool.setRemoveOnCancelPolicy(true);
+        pool.setKeepAliveTime(KEEP_ALIVE, TimeUnit.SECONDS);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Creates a timer of a single thread, not shared with the countdowns, for the periodic tasks of a subsystem.
+     * Its thread terminates after {@link #KEEP_ALIVE} seconds without any task, and its tasks may also be submitted
+     * to be run once, right away.
+     *
+     * @param name the name of the subsystem, which the thread is named after.
+     * @return the timer.
+     */
+    public static ScheduledExecutorService newDedicatedTimer(String name) {
+        return createExecutor(name, 1);
+    }
+
+    /**
+     * Schedules a task to be run periodically, as specified at
+     * {@link ScheduledThreadPoolExecutor#scheduleAtFixedRate(Runnable, long, long, TimeUnit)}.
+     * The same task is never run by two threads at the same time.
+     *
+     * @param task         the task.
+     * @param initialDelay the time before the first execution.
+     * @param period       the time between successive executions.
+     * @param unit         the unit of {@code initialDelay} and {@code period}.
+     * @return the {@link ScheduledFuture} to be cancelled when the task is no longer needed.
+     */
+    public static ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return executor.scheduleAtFixedRate(task, initialDelay, period, unit);
+    }
+
+    /**
+     * Returns the number of tasks waiting to be run, cancelled ones excluded.
+     *
+     * @return the number of tasks.
+     */
+    public static int getScheduledTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of threads currently alive in the pool.
+     *
+     * @return the number of threads.
+     */
+    public static int getThreads() {
+        return executor.getPoolSize();
+    }
+}
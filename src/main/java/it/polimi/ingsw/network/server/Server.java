@@ -1,5 +1,6 @@
 package it.polimi.ingsw.network.server;
 
+import it.polimi.ingsw.network.server.executable.NioSocketServer;
 import it.polimi.ingsw.network.server.executable.RMIServer;
 import it.polimi.ingsw.network.server.executable.SocketServer;
 
@@ -12,10 +13,11 @@ import java.util.concurrent.Executors;
  * server is desired, by specifying the correct {@code args[]} to the {@link ServerLauncher} class.
  * This class instantiate two different {@code threads} to handle the client connection using different protocols:
  * an {@link RMIServer} to listen for incoming connections by {@code RMI} clients;
- * a {@link SocketServer} to listen for incoming connections by {@code Socket} clients.
+ * a {@link SocketServer} or a {@link NioSocketServer} to listen for incoming connections by {@code Socket} clients.
  *
  * @see RMIServer
  * @see SocketServer
+ * @see NioSocketServer
  */
 
 @SuppressWarnings("UnnecessaryLocalVariable")
@@ -30,21 +32,40 @@ public class Server {
      */
     private final int port;
 
+    /**
+     * The number of input/output {@code Thread}s of the {@link NioSocketServer}, or {@code 0} to use a {@link SocketServer}.
+     */
+    private final int ioThreads;
+
     /**
      * The {@link ExecutorService} responsible for the execution of the two server instances.
      */
     private ExecutorService executor;
 
     /**
-     * This is the only constructor. It creates a new {@code Server} instance running on the specified ip address, listening
-     * on the specified port.
+     * This constructor creates a new {@code Server} instance running on the specified ip address, listening
+     * on the specified port, that dedicates a {@code Thread} to each {@code Socket} client.
      *
      * @param ipAddress the new {@code Server} ip address.
      * @param port      the new {@code Server} listening port.
      */
     public Server(String ipAddress, int port) {
+        this(ipAddress, port, 0);
+    }
+
+    /**
+     * This constructor creates a new {@code Server} instance running on the specified ip address, listening
+     * on the specified port.
+     *
+     * @param ipAddress the new {@code Server} ip address.
+     * @param port      the new {@code Server} listening port.
+     * @param ioThreads the number of input/output {@code Thread}s serving all the {@code Socket} clients, or {@code 0}
+     *                  to dedicate a {@code Thread} to each of them.
+     */
+    public Server(String ipAddress, int port, int ioThreads) {
         this.ipAddress = ipAddress;
         this.port = port;
+        this.ioThreads = ioThreads;
 
         this.executor = Executors.newFixedThreadPool(2);
     }
@@ -56,7 +77,9 @@ public class Server {
         int socketPort = this.port;
         int rmiPort = Registry.REGISTRY_PORT;
 
-        SocketServer socketServer = new SocketServer(this.ipAddress, socketPort);
+        Runnable socketServer = this.ioThreads > 0
+                ? new NioSocketServer(this.ipAddress, socketPort, this.ioThreads)
+                : new SocketServer(this.ipAddress, socketPort);
         RMIServer rmiServer = new RMIServer(this.ipAddress, rmiPort);
 
         this.executor.execute(socketServer);
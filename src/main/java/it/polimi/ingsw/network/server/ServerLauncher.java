@@ -1,5 +1,6 @@
 package it.polimi.ingsw.network.server;
 
+import it.polimi.ingsw.network.server.communication.CommunicationHub;
 import it.polimi.ingsw.util.printer.ColorPrinter;
 import org.fusesource.jansi.AnsiConsole;
 
@@ -21,13 +22,36 @@ public class ServerLauncher {
      */
     private static int port;
 
+    /**
+     * The number of input/output {@code Thread}s of the non-blocking socket server, or {@code 0} to dedicate a
+     * {@code Thread} to each socket client instead.
+     */
+    private static int ioThreads = 0;
+
+    /**
+     * Whether socket clients and games are served by virtual {@code Thread}s.
+     *
+     * @see ServerThreads
+     */
+    private static boolean virtualThreads = false;
+
+    /**
+     * The delay, in seconds, between subsequent checks of the clients' connection.
+     */
+    private static int heartbeatPeriod = 5;
+
+    /**
+     * The number of connection checks a client can miss before being logged out.
+     */
+    private static int heartbeatMisses = 3;
+
     /**
      * The default {@code String} to display when the user inputs wrong or insufficient arguments, or simply asks for help.
      */
     private static final String helpString = "Adrenaline server.\n\n" +
             "Usage:\n" +
             "Server.jar -help\n" +
-            "Server.jar <ip address> <port>";
+            "Server.jar <ip address> <port> [-nio [io threads] | -virtual] [-heartbeat <period> <misses>]";
 
     /**
      * Process the given set of {@code args}  to start the {@link Server} with the proper configuration.
@@ -48,7 +72,7 @@ public class ServerLauncher {
             System.exit(-1);
         }
 
-        if (args.length != 2) {
+        if (args.length < 2) {
             ColorPrinter.err("insufficient arguments, required: <ip address> <port>");
             System.exit(-1);
         }
@@ -85,6 +109,48 @@ public class ServerLauncher {
             ColorPrinter.err("provide an integer value for parameter <port>");
             System.exit(-1);
         }
+
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("-nio") && ioThreads == 0 && !virtualThreads) {
+                ioThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+                if (i + 1 < args.length && !args[i + 1].startsWith("-"))
+                    ioThreads = parsePositive(args[++i], "[io threads]");
+            } else if (args[i].equals("-virtual") && ioThreads == 0 && !virtualThreads) {
+                if (!ServerThreads.isVirtualSupported()) {
+                    ColorPrinter.err("virtual threads require Java 21 or later, running on " + Runtime.version());
+                    System.exit(-1);
+                }
+                virtualThreads = true;
+            } else if (args[i].equals("-heartbeat") && i + 2 < args.length) {
+                heartbeatPeriod = parsePositive(args[++i], "<period>");
+                heartbeatMisses = parsePositive(args[++i], "<misses>");
+            } else {
+                ColorPrinter.err("invalid arguments, expected: <ip address> <port> [-nio [io threads] | -virtual] [-heartbeat <period> <misses>]");
+                System.exit(-1);
+            }
+        }
+    }
+
+    /**
+     * Parses the value of a positive integer parameter, exiting if it is not valid.
+     *
+     * @param value     the value given.
+     * @param parameter the name of the parameter, as shown by the {@link #helpString}.
+     * @return the value.
+     */
+    private static int parsePositive(String value, String parameter) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 1) {
+                ColorPrinter.err("provide a positive value for parameter " + parameter);
+                System.exit(-1);
+            }
+            return parsed;
+        } catch (NumberFormatException ignored) {
+            ColorPrinter.err("provide an integer value for parameter " + parameter);
+            System.exit(-1);
+            return -1;
+        }
     }
 
     /**
@@ -95,7 +161,10 @@ public class ServerLauncher {
     public static void main(String[] args) {
         init(args);
 
-        Server server = new Server(ipAddress, port);
+        ServerThreads.setVirtual(virtualThreads);
+        CommunicationHub.configureHeartbeat(heartbeatPeriod, heartbeatMisses);
+
+        Server server = new Server(ipAddress, port, ioThreads);
         server.start();
     }
 }
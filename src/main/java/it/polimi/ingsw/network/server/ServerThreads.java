@@ -0,0 +1,131 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.network.server.communication.socket.SocketClientHandler;
+import it.polimi.ingsw.network.server.lobby.GameScheduler;
+import it.polimi.ingsw.util.printer.ColorPrinter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code ServerThreads} class creates the {@code Thread}s that spend most of their life blocked, waiting for a
+ * client: those of the {@link SocketClientHandler}s and those playing the {@link Game}s of the {@link GameScheduler}.
+ * By default they are platform {@code Thread}s. When virtual {@code Thread}s are enabled, which requires a Java
+ * runtime supporting them (Java 21 or later), they are virtual instead, so that thousands of idle clients and
+ * {@link Game}s cost little more than their own state.
+ * As the {@code Server} is still compiled for older Java releases, virtual {@code Thread}s are created through
+ * reflection.
+ */
+public class ServerThreads {
+    /**
+     * Whether the {@code Thread}s created from now on are virtual ones.
+     */
+    private static volatile boolean virtual = false;
+
+    /**
+     * This class is not meant to be instantiated.
+     */
+    private ServerThreads() {
+    }
+
+    /**
+     * Tells whether the Java runtime supports virtual {@code Thread}s.
+     *
+     * @return {@code true} if and only if virtual {@code Thread}s can be enabled.
+     */
+    public static boolean isVirtualSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Enables or disables virtual {@code Thread}s for the {@code Thread}s created from now on.
+     *
+     * @param virtual whether to use virtual {@code Thread}s.
+     * @throws UnsupportedOperationException if {@code virtual} is {@code true} but the Java runtime does not support
+     *                                       virtual {@code Thread}s.
+     */
+    public static void setVirtual(boolean virtual) {
+        if (virtual && !isVirtualSupported())
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later, running on " + Runtime.version());
+        ServerThreads.virtual = virtual;
+    }
+
+    /**
+     * Tells whether virtual {@code Thread}s are enabled.
+     *
+     * @return {@code true} if and only if the {@code Thread}s created from now on are virtual ones.
+     */
+    public static boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} whose {@code Thread}s are named {@code prefix-1}, {@code prefix-2} and so on,
+     * and log any exception that makes them die.
+     *
+     * @param prefix the prefix of the names of the {@code Thread}s.
+     * @return the {@link ThreadFactory}, creating virtual {@code Thread}s if {@link #isVirtual()}.
+     */
+    public static ThreadFactory factory(String prefix) {
+        Thread.UncaughtExceptionHandler handler = (t, e) -> ColorPrinter.err("thread \"" + t.getName() + "\" died: " + e);
+        if (virtual)
+            return virtualFactory(prefix, handler);
+
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + "-" + count.incrementAndGet());
+            thread.setUncaughtExceptionHandler(handler);
+            return thread;
+        };
+    }
+
+    /**
+     * Creates an {@link ExecutorService} running each task on a new {@code Thread} of a {@link #factory(String)}.
+     * Platform {@code Thread}s are kept alive for a while to be reused, while virtual ones are never reused.
+     *
+     * @param prefix the prefix of the names of the {@code Thread}s.
+     * @return the {@link ExecutorService}.
+     */
+    public static ExecutorService newPerTaskExecutor(String prefix) {
+        ThreadFactory factory = factory(prefix);
+        if (!virtual)
+            return Executors.newCachedThreadPool(factory);
+
+        try {
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available", e);
+        }
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} of virtual {@code Thread}s, as
+     * {@code Thread.ofVirtual().name(prefix + "-", 1).uncaughtExceptionHandler(handler).factory()} would.
+     *
+     * @param prefix  the prefix of the names of the {@code Thread}s.
+     * @param handler the handler of the exceptions that make the {@code Thread}s die.
+     * @return the {@link ThreadFactory}.
+     */
+    private static ThreadFactory virtualFactory(String prefix, Thread.UncaughtExceptionHandler handler) {
+        try {
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = ofVirtual.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 1L);
+            builder = ofVirtual.getMethod("uncaughtExceptionHandler", Thread.UncaughtExceptionHandler.class).invoke(builder, handler);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available", e);
+        }
+    }
+}
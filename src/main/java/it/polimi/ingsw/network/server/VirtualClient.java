@@ -1,14 +1,23 @@
 package it.polimi.ingsw.network.server;
 
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.common.exceptions.ClientTimeOutException;
 import it.polimi.ingsw.network.common.exceptions.ConnectionException;
 import it.polimi.ingsw.network.common.message.MessageStatus;
 import it.polimi.ingsw.network.common.message.MessageType;
 import it.polimi.ingsw.network.common.message.NetworkMessage;
 import it.polimi.ingsw.network.server.communication.ClientCommunicationInterface;
+import it.polimi.ingsw.network.common.deliverable.Assets;
 import it.polimi.ingsw.network.common.deliverable.Deliverable;
+import it.polimi.ingsw.network.common.deliverable.DeliverableType;
+import it.polimi.ingsw.util.printer.ColoredString;
 
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A {@code VirtualClient} represents the communication layer of a {@link Player}. The goal of this class is to
@@ -36,9 +45,10 @@ public abstract class VirtualClient {
     /**
      * The status in which a {@link NetworkMessage} can be found. This flag is used to synchronize multiple
      * calls on the same {@code VirtualClient}'s {@link #nextMessage} attribute, that can be modified through a multi-thread
-     * call to {@link #notifyReceived(NetworkMessage)} and {@link #nextMessage()} methods.
+     * call to {@link #notifyReceived(NetworkMessage)} and {@link #nextMessage(long)} methods.
+     * It is only accessed while holding the {@link #messageReceivedLock}.
      */
-    private volatile MessageStatus messageStatus;
+    private MessageStatus messageStatus;
 
     /**
      * The last {@link NetworkMessage} received from the remote-client counterpart.
@@ -47,15 +57,30 @@ public abstract class VirtualClient {
 
     /**
      * The {@code Lock} object used to synchronize access to {@link ClientCommunicationInterface} instance, so that
-     * only a blocking write at a time can be performed.
+     * only a blocking write at a time can be performed. This is a {@link ReentrantLock} rather than a monitor, so that
+     * a virtual {@code Thread} blocked on a write while holding it does not pin its carrier {@code Thread}.
      */
-    private final Object messageSentLock;
+    private final Lock messageSentLock;
 
     /**
      * The {@code Lock} object used to synchronize access to {@link #nextMessage} object, so that
      * only a blocking read at a time can be performed.
      */
-    private final Object messageReceivedLock;
+    private final Lock messageReceivedLock;
+
+    /**
+     * The {@code Condition} signalled whenever {@link #messageStatus} leaves {@link MessageStatus#WAITING}, so that
+     * a {@code Thread} waiting on {@link #nextMessage(long)} sleeps until there is something to read.
+     */
+    private final Condition messageStatusChanged;
+
+    /**
+     * The last canvas sent to the remote counterpart through the current {@link #communicationInterface}, which
+     * the next {@link Assets} are sent as a delta of. It is only accessed while holding the {@link #messageSentLock},
+     * and it is forgotten whenever the {@link #communicationInterface} changes or a send fails, so that the next
+     * canvas is sent as a full frame.
+     */
+    private ColoredString[][] lastCanvas;
 
     /**
      * Whether or not the {@code VirtualClient} resulted to be connected to the {@code Server}.
@@ -71,8 +96,9 @@ public abstract class VirtualClient {
         super();
         this.name = name;
         this.communicationInterface = null;
-        this.messageSentLock = new Object();
-        this.messageReceivedLock = new Object();
+        this.messageSentLock = new ReentrantLock();
+        this.messageReceivedLock = new ReentrantLock();
+        this.messageStatusChanged = this.messageReceivedLock.newCondition();
 
         this.messageStatus = MessageStatus.WAITING;
         this.connected = new AtomicBoolean(false); //need to call notifyConnected() manually to connect the VirtualClient
@@ -94,8 +120,12 @@ public abstract class VirtualClient {
      * @param communicationInterface the interface used to connect to the remote counterpart.
      */
     public void setCommunicationInterface(ClientCommunicationInterface communicationInterface) {
-        synchronized (this.messageSentLock) {
+        this.messageSentLock.lock();
+        try {
             this.communicationInterface = communicationInterface;
+            this.lastCanvas = null;
+        } finally {
+            this.messageSentLock.unlock();
         }
     }
 
@@ -105,8 +135,11 @@ public abstract class VirtualClient {
      * @return the {@code VirtualClient}'s current {@link ClientCommunicationInterface}.
      */
     public ClientCommunicationInterface getCommunicationInterface() {
-        synchronized (this.messageSentLock) {
+        this.messageSentLock.lock();
+        try {
             return this.communicationInterface;
+        } finally {
+            this.messageSentLock.unlock();
         }
     }
 
@@ -126,44 +159,96 @@ public abstract class VirtualClient {
      * @throws ConnectionException if any exception is thrown at a lower level.
      */
     public void sendMessage(NetworkMessage message) throws ConnectionException {
-        synchronized (this.messageSentLock) {
+        this.messageSentLock.lock();
+        try {
             if (this.communicationInterface == null)
                 throw new ConnectionException("ClientCommunicationInterface is null");
 
             this.communicationInterface.sendMessage(message);
+        } finally {
+            this.messageSentLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} of the last time the {@link NetworkMessage}s waiting to be written through
+     * the {@link ClientCommunicationInterface} made any progress.
+     *
+     * @return the time of the last progress, or {@code -1} if no {@link NetworkMessage} is waiting.
+     * @see ClientCommunicationInterface#getStalledSince()
+     */
+    public long getStalledSince() {
+        this.messageSentLock.lock();
+        try {
+            return this.communicationInterface == null ? -1 : this.communicationInterface.getStalledSince();
+        } finally {
+            this.messageSentLock.unlock();
         }
     }
 
     /**
      * Delivers a {@link Deliverable} to the remote client counterpart by encapsulating into a lower level {@link NetworkMessage}.
      * This behavior emulates the Transport level in an ISO/OSI stack communication protocol.
+     * A full-frame {@link Assets} is replaced by its delta from the {@link #lastCanvas}, if any.
      *
      * @param deliverable the {@link Deliverable} to be encapsulate.
      * @throws ConnectionException if any exception is thrown at a lower level.
      */
     public void deliver(Deliverable deliverable) throws ConnectionException {
-        this.sendMessage(NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE, deliverable));
+        if (!deliverable.getType().equals(DeliverableType.ASSETS) || ((Assets) deliverable).isDelta()) {
+            this.sendMessage(NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE, deliverable));
+            return;
+        }
+
+        this.messageSentLock.lock();
+        try {
+            ColoredString[][] canvas = ((Assets) deliverable).unpack();
+            Assets frame = Assets.diff(deliverable.getEvent(), this.lastCanvas, canvas);
+            frame.overwriteMessage(deliverable.getMessage());
+
+            this.lastCanvas = null;
+            this.sendMessage(NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE, frame));
+            this.lastCanvas = canvas;
+        } finally {
+            this.messageSentLock.unlock();
+        }
     }
 
     /**
      * Returns to the caller a {@link NetworkMessage} received from the {@code VirtualClient} remote counterpart.
-     * This is a blocking call, meaning the caller will wait until a new {@link NetworkMessage} is available or an exception is thrown.
+     * This is a blocking call, meaning the caller will wait until a new {@link NetworkMessage} is available, the
+     * {@code VirtualClient} is disconnected or the timeout expires. The waiting {@code Thread} is parked meanwhile.
      * Note that calling this method subsequently guarantees that every time a different {@link NetworkMessage} is returned.
      *
+     * @param timeoutNanos the maximum time to wait in nanoseconds, or a negative number to wait with no time limit.
      * @return the {@link NetworkMessage} received from the remote counterpart.
-     * @throws ConnectionException if the {@link NetworkMessage} remote sender encounters a network issue at any lower level.
+     * @throws ConnectionException    if the {@link NetworkMessage} remote sender encounters a network issue at any lower level,
+     *                                or if the waiting {@code Thread} is interrupted.
+     * @throws ClientTimeOutException if the timeout expires before a {@link NetworkMessage} is received.
      */
-    private NetworkMessage nextMessage() throws ConnectionException {
-
-        while (this.messageStatus.equals(MessageStatus.WAITING))
-            Thread.onSpinWait();
+    private NetworkMessage nextMessage(long timeoutNanos) throws ConnectionException, ClientTimeOutException {
+        this.messageReceivedLock.lock();
+        try {
+            long nanosLeft = timeoutNanos;
+            while (this.messageStatus.equals(MessageStatus.WAITING)) {
+                if (timeoutNanos < 0)
+                    this.messageStatusChanged.await();
+                else if (nanosLeft > 0)
+                    nanosLeft = this.messageStatusChanged.awaitNanos(nanosLeft);
+                else
+                    throw new ClientTimeOutException("Client did not answer in time");
+            }
 
-        synchronized (this.messageReceivedLock) {
             if (this.messageStatus.equals(MessageStatus.UNAVAILABLE))
                 throw new ConnectionException("Client disconnected");
 
             this.messageStatus = MessageStatus.WAITING;
             return this.nextMessage;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionException("Interrupted while waiting for the client");
+        } finally {
+            this.messageReceivedLock.unlock();
         }
     }
 
@@ -176,20 +261,42 @@ public abstract class VirtualClient {
      * @throws ConnectionException if any exception is thrown at a lower level.
      */
     public Deliverable nextDeliverable() throws ConnectionException {
-        return (Deliverable) this.nextMessage().getContent();
+        try {
+            return (Deliverable) this.nextMessage(-1).getContent();
+        } catch (ClientTimeOutException e) {
+            throw new IllegalStateException("Untimed wait timed out", e); // never happens, as there is no timeout
+        }
+    }
+
+    /**
+     * Returns to the caller a {@link Deliverable} received from the {@code VirtualClient} remote counterpart, waiting
+     * at most the given amount of time.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of {@code timeout}.
+     * @return the {@link Deliverable} received from the remote counterpart.
+     * @throws ConnectionException    if any exception is thrown at a lower level.
+     * @throws ClientTimeOutException if no {@link Deliverable} is received in time.
+     */
+    public Deliverable nextDeliverable(long timeout, TimeUnit unit) throws ConnectionException, ClientTimeOutException {
+        return (Deliverable) this.nextMessage(Math.max(0, unit.toNanos(timeout))).getContent();
     }
 
     /**
      * Notifies the {@code VirtualClient} that a new {@link NetworkMessage} has been received from its remote counterpart.
      * The received {@link NetworkMessage} is stored in the local object {@link #nextMessage} and the appropriated flag is
-     * set in order to end any blocking call to the {@link #nextMessage()} method.
+     * set, waking up any {@code Thread} blocked in the {@link #nextMessage(long)} method.
      *
      * @param message the new {@link NetworkMessage} received.
      */
     public void notifyReceived(NetworkMessage message) {
-        synchronized (this.messageReceivedLock) {
+        this.messageReceivedLock.lock();
+        try {
             this.nextMessage = message;
             this.messageStatus = MessageStatus.AVAILABLE;
+            this.messageStatusChanged.signalAll();
+        } finally {
+            this.messageReceivedLock.unlock();
         }
     }
 
@@ -203,13 +310,17 @@ public abstract class VirtualClient {
 
     /**
      * Notifies the {@code VirtualClient} that he is no longer logged into the server and set the {@link MessageStatus}
-     * accordingly. This is done to end any wait action by other {@code Thread}s listening on the {@link #nextMessage()}
+     * accordingly. This is done to immediately wake up any other {@code Thread} waiting on the {@link #nextMessage(long)}
      * method.
      */
     public void notifyDisconnected() {
-        synchronized (this.messageReceivedLock) {
+        this.messageReceivedLock.lock();
+        try {
             this.messageStatus = MessageStatus.UNAVAILABLE;
             this.connected.set(false);
+            this.messageStatusChanged.signalAll();
+        } finally {
+            this.messageReceivedLock.unlock();
         }
     }
 
@@ -230,4 +341,15 @@ public abstract class VirtualClient {
             return false;
         return ((VirtualClient) object).getName().equals(this.name);
     }
+
+    /**
+     * Returns a hash code for this {@code VirtualClient}, consistent with {@link #equals(Object)}: two
+     * {@code VirtualClient}s with the same {@link #name} have the same hash code.
+     *
+     * @return the hash code of the {@link #name}.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.name);
+    }
 }
@@ -20,4 +20,15 @@ public interface ClientCommunicationInterface {
      * @throws ConnectionException if any network related exception is thrown by the implementer method.
      */
     void sendMessage(NetworkMessage message) throws ConnectionException;
+
+    /**
+     * Returns the {@link System#nanoTime()} of the last time the {@link NetworkMessage}s sent and still waiting to be
+     * written to the network made any progress. Implementers whose {@link #sendMessage(NetworkMessage)} returns only
+     * once the {@link NetworkMessage} has been written never have any waiting.
+     *
+     * @return the time of the last progress, or {@code -1} if no {@link NetworkMessage} is waiting.
+     */
+    default long getStalledSince() {
+        return -1;
+    }
 }
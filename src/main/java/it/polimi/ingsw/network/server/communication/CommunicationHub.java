@@ -4,14 +4,13 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.network.common.exceptions.*;
 import it.polimi.ingsw.network.common.message.MessageType;
 import it.polimi.ingsw.network.common.message.NetworkMessage;
+import it.polimi.ingsw.network.common.util.lock.StripedLock;
 import it.polimi.ingsw.network.server.lobby.LobbyManager;
 import it.polimi.ingsw.util.printer.ColorPrinter;
 
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -19,9 +18,9 @@ import java.util.concurrent.TimeUnit;
  * more abstract {@link Player}.
  * This class collects all the {@link NetworkMessage}s received from the {@code Server} and process them. Messages that
  * does not compete to it, are forwarded to the corresponding {@link Player}.
- * Also the {@code CommunicationHub} is responsible for the continuous connection check for each client connected. After
- * a disconnection has been detected, the proper procedures of logout and unregistration is performed in order to guarantee
- * the integrity of this ecosystem.
+ * Also the {@code CommunicationHub} is responsible for the continuous connection check for each client connected, which
+ * is carried out by a {@link Heartbeat}. After a disconnection has been detected, the proper procedures of logout and
+ * unregistration is performed in order to guarantee the integrity of this ecosystem.
  */
 @SuppressWarnings("FieldCanBeLocal")
 public class CommunicationHub {
@@ -31,9 +30,9 @@ public class CommunicationHub {
     private static CommunicationHub instance;
 
     /**
-     * A {@code List} of all the {@link Player}s connected to te {@code Server}.
+     * All the {@link Player}s registered to the {@code Server}, by name.
      */
-    private final Queue<Player> players;
+    private final Map<String, Player> players;
 
     /**
      * A reference to the {@link LobbyManager} responsible for the {@code Lobby} handling.
@@ -41,66 +40,97 @@ public class CommunicationHub {
     private final LobbyManager lobbyManager;
 
     /**
-     * The {@link ScheduledExecutorService} responsible for the continuous connection check among all the clients.
+     * The {@link Heartbeat} responsible for the continuous connection check among all the clients.
      */
-    private final ScheduledExecutorService checkConnectionExecutor;
+    private final Heartbeat heartbeat;
 
     /**
-     * The task to be performed every time a connection check is required.
+     * The delay, in seconds, between subsequent connection checks.
      */
-    private final Runnable connectionCheckTask;
+    private static int heartbeatPeriod = 5;
 
     /**
-     * The delay between subsequent connection check tasks.
+     * The number of connection checks a client can miss before being logged out.
      */
-    private final int CHECK_PERIOD = 5;
+    private static int heartbeatMissThreshold = 3;
+
+    /**
+     * The number of stripes of {@link #registrationLocks}.
+     */
+    private final int REGISTRATION_LOCK_STRIPES = 64;
+
+    /**
+     * The locks serializing registrations and unregistrations of {@link Player}s with the same name, while letting
+     * those involving different names proceed in parallel.
+     */
+    private final StripedLock registrationLocks;
+
+    /**
+     * The names of the dormant {@link Player}s a client is rejoining as, from the moment the rejoin is decided under
+     * {@link #registrationLocks} until the {@link Player} is connected again, so that no other client can claim them.
+     */
+    private final Set<String> rejoining;
 
     /**
      * This is the only constructor. It creates a new {@code CommunicationHub} and the relative connection check task.
      */
     private CommunicationHub() {
-        this.players = new ConcurrentLinkedQueue<>();
+        this.players = new ConcurrentHashMap<>();
+        this.registrationLocks = new StripedLock(this.REGISTRATION_LOCK_STRIPES);
+        this.rejoining = ConcurrentHashMap.newKeySet();
         this.lobbyManager = new LobbyManager();
         this.lobbyManager.loadProperties();
 
-        this.connectionCheckTask = () -> {
-            NetworkMessage ping = NetworkMessage.simpleServerMessage(MessageType.PING_MESSAGE);
-            for (Player player : this.players) {
-                if (player.isConnected()) {
-                    try {
-                        ColorPrinter.mexS(("message " + ping.getType().toString() + " sent to Client \"" + player.getName() + "\""));
-                        player.sendMessage(ping);
-                    } catch (ConnectionException ignored) {
-                        ColorPrinter.err("Client \"" + player.getName() + "\" lost connection, logging out from his lobby...");
-                        try {
-                            try {
-                                String lobbyName = this.lobbyManager.getLobbyNameByPlayer(player);
-                                this.lobbyManager.remove(lobbyName, player);
-
-                                player.notifyDisconnected();
-
-                                ColorPrinter.log("Client \"" + player.getName() + "\" successfully logged out from Lobby \"" + lobbyName + "\"");
-
-                                this.lobbyManager.notifyOpponentsUpdate(lobbyName);
-                            } catch (LobbyNotFoundException e) {
-                                ColorPrinter.log(e.getMessage());
-                            } catch (PlayerNotFoundException | LobbyEmptyException e) {
-                                ColorPrinter.err(e.getMessage());
-                            }
-                            ColorPrinter.log("unregistering Client \"" + player.getName() + "\"...");
-                            this.unregister(player);
-
-                        } catch (ClientNotRegisteredException e) {
-                            ColorPrinter.err(e.getMessage());
-                        }
-                        ColorPrinter.log("Client \"" + player.getName() + "\" successfully unregistered");
-                    }
-                }
-            }
-        };
+        this.heartbeat = new Heartbeat(this.players::values, this::logOutLostClient, heartbeatPeriod, TimeUnit.SECONDS, heartbeatMissThreshold);
+        this.heartbeat.start();
+    }
 
-        this.checkConnectionExecutor = Executors.newSingleThreadScheduledExecutor();
-        this.checkConnectionExecutor.scheduleAtFixedRate(this.connectionCheckTask, 0, this.CHECK_PERIOD, TimeUnit.SECONDS);
+    /**
+     * Configures the connection check of the {@code CommunicationHub}. This must be called before the
+     * {@code CommunicationHub} unique instance is first created, and has no effect afterwards.
+     *
+     * @param period        the delay, in seconds, between subsequent connection checks.
+     * @param missThreshold the number of connection checks a client can miss before being logged out.
+     * @see Heartbeat
+     */
+    public static synchronized void configureHeartbeat(int period, int missThreshold) {
+        if (period < 1 || missThreshold < 1)
+            throw new IllegalArgumentException("Heartbeat period and miss threshold must be positive");
+        heartbeatPeriod = period;
+        heartbeatMissThreshold = missThreshold;
+    }
+
+    /**
+     * Logs a client found dead by the {@link #heartbeat} out of its {@code Lobby}, if any, and unregisters it.
+     * This runs on a {@code Thread} of the {@link #heartbeat}, never on the one checking the connections.
+     *
+     * @param player the {@link Player} representing the lost client.
+     */
+    private void logOutLostClient(Player player) {
+        ColorPrinter.err("Client \"" + player.getName() + "\" lost connection, logging out from his lobby...");
+        try {
+            try {
+                String lobbyName = this.lobbyManager.getLobbyNameByPlayer(player);
+                this.lobbyManager.remove(lobbyName, player);
+
+                player.notifyDisconnected();
+
+                ColorPrinter.log("Client \"" + player.getName() + "\" successfully logged out from Lobby \"" + lobbyName + "\"");
+
+                this.lobbyManager.notifyOpponentsUpdate(lobbyName);
+            } catch (LobbyNotFoundException e) {
+                ColorPrinter.log(e.getMessage());
+            } catch (PlayerNotFoundException | LobbyEmptyException e) {
+                ColorPrinter.err(e.getMessage());
+            }
+            ColorPrinter.log("unregistering Client \"" + player.getName() + "\"...");
+            synchronized (this.registrationLocks.of(player.getName())) {
+                this.unregister(player);
+            }
+        } catch (ClientNotRegisteredException e) {
+            ColorPrinter.err(e.getMessage());
+        }
+        ColorPrinter.log("Client \"" + player.getName() + "\" successfully unregistered");
     }
 
     /**
@@ -108,7 +138,7 @@ public class CommunicationHub {
      *
      * @return the {@code CommunicationHub} unique instance.
      */
-    public static CommunicationHub getInstance() {
+    public static synchronized CommunicationHub getInstance() {
         if (instance == null)
             instance = new CommunicationHub();
         return instance;
@@ -125,47 +155,65 @@ public class CommunicationHub {
         if (name == null)
             throw new NullPointerException("Client name is null");
 
-        for (Player player : this.players)
-            if (player.getName().equals(name))
-                return player;
-        throw new PlayerNotFoundException("Client \"" + name + "\" not registered");
+        Player player = this.players.get(name);
+        if (player == null)
+            throw new PlayerNotFoundException("Client \"" + name + "\" not registered");
+        return player;
     }
 
     /**
-     * Register the given {@link Player} into the {@code Server}.
+     * Register the given {@link Player} into the {@code Server}. The caller must hold the lock of
+     * {@link #registrationLocks} corresponding to the {@link Player} name.
+     * A {@link Player} rejoining as a dormant one is only claimed here: the caller must complete the rejoin with
+     * {@link #rejoin(Player, Player)} after releasing the lock, since that waits for any message being sent to the
+     * dormant {@link Player}'s lost connection.
      *
      * @param player the {@link Player} to be registered.
-     * @return {@code true} if the {@link Player} was already found into the {@code Server} and is has simply rejoined,
-     * {@code false} if the {@link Player} is a new one.
+     * @return the dormant {@link Player} found into the {@code Server} the given one is rejoining as, or {@code null}
+     * if the {@link Player} is a new one.
      * @throws ClientAlreadyRegisteredException if another {@link Player} with the same name of the {@link Player} given
-     *                                          has already been registered to the {@code Server}.
+     *                                          has already been registered to the {@code Server}, or is rejoining it.
      */
-    private boolean register(Player player) throws ClientAlreadyRegisteredException {
+    private Player register(Player player) throws ClientAlreadyRegisteredException {
         if (player == null)
             throw new NullPointerException("Client is null");
 
-        Player dormantPlayer;
-        try {
-            dormantPlayer = this.getPlayerByName(player.getName());
-        } catch (PlayerNotFoundException ignored) {
+        Player dormantPlayer = this.players.putIfAbsent(player.getName(), player);
+        if (dormantPlayer == null) {
             //this is a new Player with a unique name
-            this.players.add(player);
+            this.heartbeat.forget(player.getName());
             player.notifyConnected();
-            return false;
+            return null;
         }
 
-        if (dormantPlayer.isConnected())
+        if (dormantPlayer.isConnected() || !this.rejoining.add(player.getName()))
             //this is a new Player with the same name of another one
             throw new ClientAlreadyRegisteredException("Client \"" + player.getName() + "\" already registered");
 
-        //this Player lost connection and is trying to reconnect, we need to manually update its status.
-        dormantPlayer.setCommunicationInterface(player.getCommunicationInterface());
-        dormantPlayer.notifyConnected();
-        return true;
+        //this Player lost connection and is trying to reconnect
+        this.heartbeat.forget(player.getName());
+        return dormantPlayer;
     }
 
     /**
-     * Unregister the given {@link Player} from the {@code Server}.
+     * Completes the rejoin of a dormant {@link Player} claimed by {@link #register(Player)}, by manually updating its
+     * status. This must be called without holding any lock of {@link #registrationLocks}.
+     *
+     * @param dormantPlayer the dormant {@link Player}.
+     * @param player        the {@link Player} rejoining as the dormant one.
+     */
+    private void rejoin(Player dormantPlayer, Player player) {
+        try {
+            dormantPlayer.setCommunicationInterface(player.getCommunicationInterface());
+            dormantPlayer.notifyConnected();
+        } finally {
+            this.rejoining.remove(player.getName());
+        }
+    }
+
+    /**
+     * Unregister the given {@link Player} from the {@code Server}. The caller must hold the lock of
+     * {@link #registrationLocks} corresponding to the {@link Player} name.
      *
      * @param player the {@link Player} to be unregistered.
      * @throws ClientNotRegisteredException if no {@link Player} whose name equals the name of the given {@link Player}
@@ -174,21 +222,27 @@ public class CommunicationHub {
     private void unregister(Player player) throws ClientNotRegisteredException {
         if (player == null)
             throw new NullPointerException("Player is null");
-        if (!this.players.contains(player))
+        if (!this.players.remove(player.getName(), player))
             throw new ClientNotRegisteredException("Client \"" + player.getName() + "\" not registered");
-        this.players.remove(player);
+        this.heartbeat.forget(player.getName());
+        this.lobbyManager.getLobbyListPublisher().unsubscribe(player.getName());
     }
 
     /**
      * This method is the core of all the {@code CommunicationHub} logic. it is called every time the underlying network
      * level receives a {@link NetworkMessage} from the remote {@code Client}. Its only task is to classify the message
      * received and forward it to the corresponding handler method.
+     * This method may be called concurrently by any number of network {@code Thread}s: {@code CLIENT_MESSAGE}s are
+     * handed straight to their {@link Player} and lobby list requests only read, while registrations only lock on the
+     * name of the {@link Player} involved and {@code Lobby} operations only lock on the name of the {@code Lobby} involved.
      *
      * @param message the {@link NetworkMessage} to be classified.
      * @see MessageType
      */
-    public synchronized void handleMessage(NetworkMessage message) {
+    public void handleMessage(NetworkMessage message) {
         ColorPrinter.mexC("Message " + message.getType().toString() + " received from Client \"" + message.getAuthor() + "\"");
+        if (message.getAuthor() != null && this.players.containsKey(message.getAuthor()))
+            this.heartbeat.seen(message.getAuthor()); //any message is a sign of life
 
         switch (message.getType()) {
             case REGISTER_REQUEST:
@@ -200,6 +254,12 @@ public class CommunicationHub {
             case LOBBY_LIST_UPDATE_REQUEST:
                 this.handleUpdateRequest(message);
                 break;
+            case LOBBY_LIST_SUBSCRIBE_REQUEST:
+                this.handleSubscription(message);
+                break;
+            case LOBBY_LIST_UNSUBSCRIBE_REQUEST:
+                this.handleUnsubscription(message);
+                break;
             case LOBBY_CREATE_REQUEST:
                 this.handleLobbyCreation(message);
                 break;
@@ -229,10 +289,16 @@ public class CommunicationHub {
 
         ColorPrinter.log("registering Client \"" + player.getName() + "\"...");
         try {
-            if (!this.register(player))
+            Player dormantPlayer;
+            synchronized (this.registrationLocks.of(player.getName())) {
+                dormantPlayer = this.register(player);
+            }
+            if (dormantPlayer == null)
                 ColorPrinter.log("Client \"" + player.getName() + "\" successfully registered");
-            else
+            else {
+                this.rejoin(dormantPlayer, player);
                 ColorPrinter.log("Client \"" + player.getName() + "\" already found in server, rejoin successful");
+            }
             message = NetworkMessage.simpleServerMessage(MessageType.REGISTER_SUCCESS);
         } catch (ClientAlreadyRegisteredException e) {
             message = NetworkMessage.simpleServerMessage(MessageType.CLIENT_ALREADY_REGISTERED_ERROR);
@@ -260,7 +326,9 @@ public class CommunicationHub {
 
         ColorPrinter.log("unregistering Client \"" + player.getName() + "\"...");
         try {
-            this.unregister(player);
+            synchronized (this.registrationLocks.of(player.getName())) {
+                this.unregister(player);
+            }
             message = NetworkMessage.simpleServerMessage(MessageType.UNREGISTER_SUCCESS);
             ColorPrinter.log("Client \"" + player.getName() + "\" successfully unregistered");
         } catch (ClientNotRegisteredException e) {
@@ -288,6 +356,41 @@ public class CommunicationHub {
         }
     }
 
+    /**
+     * This method handles the {@link NetworkMessage}s of type {@code LOBBY_LIST_SUBSCRIBE_REQUEST}. It is responsible for
+     * the subscription of the {@link NetworkMessage} author to the {@code Lobby} list changes, the first of which holds
+     * the whole {@code Lobby} list.
+     *
+     * @param message the {@link NetworkMessage} to be handled.
+     * @see MessageType
+     */
+    private void handleSubscription(NetworkMessage message) {
+        try {
+            this.lobbyManager.getLobbyListPublisher().subscribe(this.getPlayerByName(message.getAuthor()));
+        } catch (PlayerNotFoundException e) {
+            ColorPrinter.err(e.getMessage());
+        }
+    }
+
+    /**
+     * This method handles the {@link NetworkMessage}s of type {@code LOBBY_LIST_UNSUBSCRIBE_REQUEST}. It is responsible
+     * for the unsubscription of the {@link NetworkMessage} author from the {@code Lobby} list changes, which is
+     * acknowledged even if the author was not subscribed.
+     *
+     * @param message the {@link NetworkMessage} to be handled.
+     * @see MessageType
+     */
+    private void handleUnsubscription(NetworkMessage message) {
+        try {
+            Player player = this.getPlayerByName(message.getAuthor());
+            this.lobbyManager.getLobbyListPublisher().unsubscribe(player.getName());
+
+            sendMessage(player, NetworkMessage.simpleServerMessage(MessageType.LOBBY_LIST_UNSUBSCRIBE_SUCCESS));
+        } catch (PlayerNotFoundException e) {
+            ColorPrinter.err(e.getMessage());
+        }
+    }
+
     /**
      * This method handles the {@link NetworkMessage}s of type {@code LOBBY_CREATE_REQUEST}. It is responsible for the
      * proper creation of a new {@code Lobby}. All the information needed are stored into the message {@code content} field.
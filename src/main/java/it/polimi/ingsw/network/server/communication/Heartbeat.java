@@ -0,0 +1,233 @@
+package it.polimi.ingsw.network.server.communication;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.common.exceptions.ConnectionException;
+import it.polimi.ingsw.network.common.message.MessageType;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import it.polimi.ingsw.network.common.util.timer.TimerService;
+import it.polimi.ingsw.network.server.ServerThreads;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@code Heartbeat} tells which clients are still alive, so that the lost ones can be logged out.
+ * Every {@link #period} it pings each connected {@link Player} that is not already being pinged, each ping being
+ * sent on its own {@code Thread}, so that a slow client can't delay the others. A {@link Player} is considered alive
+ * whenever any {@link NetworkMessage} is received from it, as reported to {@link #seen(String)}, or whatever was sent
+ * to it has actually been written to the network, and dead as soon as a ping fails, or after {@link #missThreshold}
+ * periods without any sign of life.
+ * Returning from {@link Player#sendMessage(NetworkMessage)} alone is not enough, since some connections only queue
+ * the {@link NetworkMessage}s: a {@link Player} whose queue made no progress for a whole period is not seen alive,
+ * and it is not sent another ping until its queue is written, so that pings never pile up.
+ * Dead {@link Player}s are handed to a handler on yet another {@code Thread}, so that logging them out never delays
+ * the next beat: a lost client is therefore detected in at most {@code (missThreshold + 2) * period}, however many
+ * clients there are.
+ */
+public class Heartbeat {
+    /**
+     * The {@link NetworkMessage} sent as a ping.
+     */
+    private static final NetworkMessage PING = NetworkMessage.simpleServerMessage(MessageType.PING_MESSAGE);
+
+    /**
+     * The time between two subsequent beats.
+     */
+    private final long period;
+
+    /**
+     * The unit of {@link #period}.
+     */
+    private final TimeUnit unit;
+
+    /**
+     * The number of periods without any sign of life after which a {@link Player} is considered dead.
+     */
+    private final int missThreshold;
+
+    /**
+     * The {@link Player}s to be checked, as supplied at each beat.
+     */
+    private final Supplier<Collection<Player>> players;
+
+    /**
+     * The handler of the {@link Player}s found dead.
+     */
+    private final Consumer<Player> onDead;
+
+    /**
+     * The {@link System#nanoTime()} of the last sign of life of each {@link Player}, by name.
+     */
+    private final Map<String, Long> lastSeen;
+
+    /**
+     * The names of the {@link Player}s whose ping is still being sent.
+     */
+    private final Set<String> pinging;
+
+    /**
+     * The names of the {@link Player}s found dead, which are no longer pinged until they are {@link #forget(String) forgotten}.
+     */
+    private final Set<String> dead;
+
+    /**
+     * The {@link ExecutorService} sending the pings.
+     */
+    private final ExecutorService pingExecutor;
+
+    /**
+     * The {@link ExecutorService} running {@link #onDead}.
+     */
+    private final ExecutorService deathExecutor;
+
+    /**
+     * The timer of the beats, which is not shared with the countdowns of the {@link TimerService}.
+     */
+    private final ScheduledExecutorService timer;
+
+    /**
+     * The {@link ScheduledFuture} of the beats, or {@code null} if the {@code Heartbeat} is not started.
+     */
+    private ScheduledFuture<?> future;
+
+    /**
+     * This is the only constructor. It creates a {@code Heartbeat} that is not started yet.
+     *
+     * @param players       the {@link #players}.
+     * @param onDead        the {@link #onDead} handler.
+     * @param period        the {@link #period}.
+     * @param unit          the {@link #unit}.
+     * @param missThreshold the {@link #missThreshold}.
+     */
+    public Heartbeat(Supplier<Collection<Player>> players, Consumer<Player> onDead, long period, TimeUnit unit, int missThreshold) {
+        if (period <= 0 || missThreshold < 1)
+            throw new IllegalArgumentException("A Heartbeat needs a positive period and miss threshold.");
+
+        this.players = players;
+        this.onDead = onDead;
+        this.period = period;
+        this.unit = unit;
+        this.missThreshold = missThreshold;
+
+        this.lastSeen = new ConcurrentHashMap<>();
+        this.pinging = ConcurrentHashMap.newKeySet();
+        this.dead = ConcurrentHashMap.newKeySet();
+        this.pingExecutor = ServerThreads.newPerTaskExecutor("heartbeat");
+        this.deathExecutor = ServerThreads.newPerTaskExecutor("heartbeat-logout");
+        this.timer = TimerService.newDedicatedTimer("heartbeat-timer");
+    }
+
+    /**
+     * Starts beating every {@link #period} on the {@link #timer}. Calling it again has no effect.
+     */
+    public synchronized void start() {
+        if (this.future == null)
+            this.future = this.timer.scheduleAtFixedRate(this::beat, 0, this.period, this.unit);
+    }
+
+    /**
+     * Stops beating. Pings already sent are not interrupted.
+     */
+    public synchronized void stop() {
+        if (this.future != null)
+            this.future.cancel(false);
+        this.future = null;
+    }
+
+    /**
+     * Records a sign of life of a {@link Player}, such as a {@link NetworkMessage} received from it.
+     *
+     * @param name the name of the {@link Player}.
+     */
+    public void seen(String name) {
+        this.lastSeen.put(name, System.nanoTime());
+    }
+
+    /**
+     * Forgets everything known about a {@link Player}, typically because it unregistered or registered again.
+     *
+     * @param name the name of the {@link Player}.
+     */
+    public void forget(String name) {
+        this.lastSeen.remove(name);
+        this.dead.remove(name);
+    }
+
+    /**
+     * Tells whether a {@link Player} has been found dead and not forgotten since.
+     *
+     * @param name the name of the {@link Player}.
+     * @return {@code true} if and only if the {@link Player} is dead.
+     */
+    public boolean isDead(String name) {
+        return this.dead.contains(name);
+    }
+
+    /**
+     * Checks all the connected {@link Player}s, declaring dead the ones that missed too many beats and pinging the
+     * others, unless their previous ping is still being sent.
+     */
+    void beat() {
+        long now = System.nanoTime();
+        long timeout = this.unit.toNanos(this.period) * this.missThreshold;
+
+        for (Player player : this.players.get()) {
+            String name = player.getName();
+            if (!player.isConnected() || this.dead.contains(name))
+                continue;
+
+            Long seen = this.lastSeen.putIfAbsent(name, now); //a Player never seen before starts being counted now
+            if (seen != null && now - seen > timeout)
+                this.declareDead(player);
+            else if (this.pinging.add(name))
+                this.pingExecutor.execute(() -> this.ping(player));
+        }
+    }
+
+    /**
+     * Pings a {@link Player}, which is seen alive if everything sent to it has been written, including the previous
+     * ping, and dead if the ping fails. A {@link Player} whose {@link NetworkMessage}s are still waiting to be written
+     * is not pinged again, and it is only seen alive if they made some progress during the last period.
+     *
+     * @param player the {@link Player}.
+     */
+    private void ping(Player player) {
+        try {
+            long stalledSince = player.getStalledSince();
+            if (stalledSince < 0) {
+                this.seen(player.getName());
+                player.sendMessage(PING);
+                if (player.getStalledSince() < 0)
+                    this.seen(player.getName());
+            } else if (System.nanoTime() - stalledSince < this.unit.toNanos(this.period))
+                this.seen(player.getName());
+        } catch (ConnectionException e) {
+            this.declareDead(player);
+        } finally {
+            this.pinging.remove(player.getName());
+        }
+    }
+
+    /**
+     * Hands a {@link Player} to {@link #onDead}, unless it was already found dead or it is {@link #forget(String) forgotten}
+     * before the handler runs.
+     *
+     * @param player the {@link Player}.
+     */
+    private void declareDead(Player player) {
+        String name = player.getName();
+        if (this.dead.add(name))
+            this.deathExecutor.execute(() -> {
+                if (this.dead.contains(name))
+                    this.onDead.accept(player);
+            });
+    }
+}
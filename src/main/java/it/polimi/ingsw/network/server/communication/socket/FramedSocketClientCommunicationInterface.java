@@ -0,0 +1,69 @@
+package it.polimi.ingsw.network.server.communication.socket;
+
+import it.polimi.ingsw.network.common.exceptions.ConnectionException;
+import it.polimi.ingsw.network.common.message.FrameCodec;
+import it.polimi.ingsw.network.common.message.MessageCodec;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import it.polimi.ingsw.network.server.communication.ClientCommunicationInterface;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@code FramedSocketClientCommunicationInterface} offers a transparent way to send {@link NetworkMessage}s as frames
+ * via the {@code Socket} protocol, as described by {@link FrameCodec}. To achieve such goal, this class implements the
+ * {@link ClientCommunicationInterface} interface.
+ *
+ * @see ClientCommunicationInterface
+ * @see FrameCodec
+ */
+public class FramedSocketClientCommunicationInterface implements ClientCommunicationInterface {
+    /**
+     * The stream used to send frames via {@code Socket} protocol.
+     */
+    private final OutputStream out;
+
+    /**
+     * The {@link MessageCodec} agreed on with the client-side application.
+     */
+    private final MessageCodec codec;
+
+    /**
+     * The {@code Lock} object used to write a single frame at a time. This is a {@link ReentrantLock} rather than a
+     * monitor, so that a virtual {@code Thread} blocked on a write while holding it does not pin its carrier {@code Thread}.
+     */
+    private final Lock writeLock;
+
+    /**
+     * This is the only constructor used to create a new {@code FramedSocketClientCommunicationInterface} by specifying the
+     * stream used by the {@code Socket} communication protocol.
+     *
+     * @param out   the stream to communicate with.
+     * @param codec the {@link MessageCodec} to encode {@link NetworkMessage}s with.
+     */
+    FramedSocketClientCommunicationInterface(OutputStream out, MessageCodec codec) {
+        this.out = out;
+        this.codec = codec;
+        this.writeLock = new ReentrantLock();
+    }
+
+    /**
+     * Sends a given {@link NetworkMessage} as a frame using the {@code Socket} protocol.
+     *
+     * @param message the {@link NetworkMessage} to be sent.
+     * @throws ConnectionException if any other exception is thrown at a lower level.
+     */
+    @Override
+    public void sendMessage(NetworkMessage message) throws ConnectionException {
+        this.writeLock.lock();
+        try {
+            FrameCodec.write(this.out, this.codec, message);
+        } catch (IOException e) {
+            throw new ConnectionException(e);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+}
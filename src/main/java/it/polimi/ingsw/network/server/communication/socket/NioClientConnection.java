@@ -0,0 +1,345 @@
+package it.polimi.ingsw.network.server.communication.socket;
+
+import it.polimi.ingsw.network.common.exceptions.ConnectionException;
+import it.polimi.ingsw.network.common.message.FrameCodec;
+import it.polimi.ingsw.network.common.message.MessageCodec;
+import it.polimi.ingsw.network.common.message.MessageType;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import it.polimi.ingsw.network.server.communication.ClientCommunicationInterface;
+import it.polimi.ingsw.network.server.communication.CommunicationHub;
+import it.polimi.ingsw.util.printer.ColorPrinter;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A {@code NioClientConnection} is the non-blocking counterpart of a {@link SocketClientHandler}: it holds the state of
+ * a single client-side application connected to a {@link NioSocketReactor}, which calls it whenever its
+ * {@link SocketChannel} can be read or written.
+ * Incoming bytes are collected until a whole frame, as described by {@link FrameCodec}, is available; the frames are
+ * decoded with the {@link MessageCodec} agreed on during the handshake, and the resulting {@link NetworkMessage}s are
+ * then forwarded to the {@link CommunicationHub}, one at a time and in the order they were received, on a
+ * {@code Thread} of the dispatcher, so that the {@link NioSocketReactor} never blocks. A {@link NetworkMessage} whose
+ * handling fails is logged and dropped, without affecting the following ones.
+ * Outgoing {@link NetworkMessage}s are encoded by the sender and queued, to be written as soon as the
+ * {@link SocketChannel} accepts them. The queue is bounded: a client-side application that stops reading is
+ * disconnected once {@link #MAX_BACKLOG} bytes are waiting for it, and the time since its queue last made any progress
+ * is exposed through {@link #getStalledSince()}.
+ */
+class NioClientConnection implements ClientCommunicationInterface {
+    /**
+     * The initial capacity of {@link #input}, which grows as needed to hold the largest frame received.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    /**
+     * The number of bytes waiting to be written beyond which no more frames are queued and the connection is closed.
+     */
+    private static final int MAX_BACKLOG = 1024 * 1024;
+
+    /**
+     * The {@link SocketChannel} connected to the client-side application.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * The {@link SelectionKey} registering {@link #channel} to its {@link NioSocketReactor}.
+     */
+    private final SelectionKey key;
+
+    /**
+     * The {@link Executor} the {@link NetworkMessage}s received are forwarded to the {@link CommunicationHub} on.
+     */
+    private final Executor dispatcher;
+
+    /**
+     * The handler the {@link NetworkMessage}s received are forwarded to, which is the {@link CommunicationHub} one
+     * outside of tests.
+     */
+    private final Consumer<NetworkMessage> handler;
+
+    /**
+     * The bytes received and not yet decoded, ready to be written into.
+     */
+    private ByteBuffer input;
+
+    /**
+     * The {@link MessageCodec} agreed on with the client-side application, or {@code null} until the handshake is complete.
+     */
+    private volatile MessageCodec codec;
+
+    /**
+     * The frames waiting to be written, in order. All access is synchronized on the queue itself.
+     */
+    private final Queue<ByteBuffer> output;
+
+    /**
+     * The number of bytes in {@link #output}. Guarded by {@link #output}.
+     */
+    private long backlog;
+
+    /**
+     * The {@link System#nanoTime()} of the last time {@link #output} made any progress, by being filled from empty
+     * or by being written, or {@code -1} if it is empty. Guarded by {@link #output}.
+     */
+    private long stalledSince;
+
+    /**
+     * The {@link NetworkMessage}s received and not yet forwarded to the {@link CommunicationHub}.
+     */
+    private final Queue<NetworkMessage> inbox;
+
+    /**
+     * Whether a task forwarding {@link #inbox} to the {@link CommunicationHub} is scheduled or running.
+     */
+    private final AtomicBoolean dispatching;
+
+    /**
+     * Whether the connection has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * This is the only constructor. It creates a new {@code NioClientConnection} for a {@link SocketChannel} already
+     * registered to a {@link NioSocketReactor}.
+     *
+     * @param channel    the {@link SocketChannel} connected to the client-side application.
+     * @param key        the {@link SelectionKey} of {@code channel}.
+     * @param dispatcher the {@link Executor} to forward {@link NetworkMessage}s on.
+     * @param handler    the handler to forward {@link NetworkMessage}s to.
+     */
+    NioClientConnection(SocketChannel channel, SelectionKey key, Executor dispatcher, Consumer<NetworkMessage> handler) {
+        this.channel = channel;
+        this.key = key;
+        this.dispatcher = dispatcher;
+        this.handler = handler;
+
+        this.input = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.output = new ArrayDeque<>();
+        this.stalledSince = -1;
+        this.inbox = new ConcurrentLinkedQueue<>();
+        this.dispatching = new AtomicBoolean(false);
+    }
+
+    /**
+     * Reads whatever is available from {@link #channel} and forwards every complete frame. This is called by the
+     * {@link NioSocketReactor} when {@link #channel} is readable.
+     */
+    void onReadable() {
+        try {
+            if (this.channel.read(this.input) < 0) {
+                //Client unexpectedly quit: the CommunicationHub will unregister it
+                this.close();
+                return;
+            }
+
+            this.input.flip();
+            int required = this.decodeFrames();
+            this.input.compact();
+
+            if (required > this.input.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(required);
+                this.input.flip();
+                larger.put(this.input);
+                this.input = larger;
+            }
+        } catch (IOException e) {
+            ColorPrinter.err(e.getClass() + ": " + e.getMessage());
+            this.close();
+        }
+    }
+
+    /**
+     * Decodes every complete frame found in {@link #input}, which must be ready to be read.
+     *
+     * @return the number of bytes needed to hold the first incomplete frame, or {@code 0} if there is none.
+     * @throws IOException if the client-side application breaks the protocol.
+     */
+    private int decodeFrames() throws IOException {
+        if (this.codec == null) {
+            if (this.input.remaining() < FrameCodec.HANDSHAKE_LENGTH)
+                return 0;
+            if (this.input.getInt() != FrameCodec.MAGIC)
+                throw new StreamCorruptedException("Client does not send framed messages");
+
+            this.codec = MessageCodec.of(this.input.get());
+            ByteBuffer handshake = ByteBuffer.allocate(FrameCodec.HANDSHAKE_LENGTH).putInt(FrameCodec.MAGIC).put(this.codec.getId());
+            handshake.flip();
+            this.enqueue(handshake);
+        }
+
+        while (this.input.remaining() >= Integer.BYTES) {
+            int length = this.input.getInt(this.input.position());
+            FrameCodec.checkLength(length);
+            if (this.input.remaining() < Integer.BYTES + length)
+                return Integer.BYTES + length;
+
+            this.input.position(this.input.position() + Integer.BYTES);
+            NetworkMessage message = this.codec.decode(this.input.array(), this.input.arrayOffset() + this.input.position(), length);
+            this.input.position(this.input.position() + length);
+
+            this.receive(message);
+        }
+        return 0;
+    }
+
+    /**
+     * Queues a {@link NetworkMessage} received from the client-side application to be forwarded to the
+     * {@link CommunicationHub}, making sure a task forwarding it is scheduled.
+     *
+     * @param message the {@link NetworkMessage} received.
+     */
+    private void receive(NetworkMessage message) {
+        if (message.getType().equals(MessageType.REGISTER_REQUEST)) {
+            ColorPrinter.log("Client \"" + message.getAuthor() + "\" connected via Socket protocol");
+            message = SocketClientHandler.bindRegistration(message, this);
+        }
+
+        this.inbox.add(message);
+        this.scheduleDispatch();
+    }
+
+    /**
+     * Schedules a task forwarding {@link #inbox} to the {@link CommunicationHub} on {@link #dispatcher}, unless one
+     * is already scheduled or running.
+     */
+    private void scheduleDispatch() {
+        if (this.dispatching.compareAndSet(false, true))
+            this.dispatcher.execute(this::dispatch);
+    }
+
+    /**
+     * Forwards every {@link NetworkMessage} in {@link #inbox} to the {@link CommunicationHub}, in order. A
+     * {@link NetworkMessage} whose handling fails is dropped, and the flag is cleared whatever happens, so that the
+     * connection never stops forwarding.
+     */
+    private void dispatch() {
+        try {
+            NetworkMessage message;
+            while ((message = this.inbox.poll()) != null)
+                try {
+                    this.handler.accept(message);
+                } catch (RuntimeException e) {
+                    ColorPrinter.err("Message " + message.getType() + " received from Client \"" + message.getAuthor() + "\" dropped: " + e);
+                }
+        } finally {
+            this.dispatching.set(false);
+        }
+        //a message may have been queued after the last poll, but before the flag was cleared
+        if (!this.inbox.isEmpty())
+            this.scheduleDispatch();
+    }
+
+    /**
+     * Writes as many queued frames as {@link #channel} accepts. This is called by the {@link NioSocketReactor} when
+     * {@link #channel} is writable.
+     */
+    void onWritable() {
+        try {
+            synchronized (this.output) {
+                while (!this.output.isEmpty()) {
+                    ByteBuffer frame = this.output.peek();
+                    int written = this.channel.write(frame);
+                    if (written > 0) {
+                        this.backlog -= written;
+                        this.stalledSince = System.nanoTime();
+                    }
+                    if (frame.hasRemaining())
+                        return;
+                    this.output.poll();
+                }
+                this.stalledSince = -1;
+                this.key.interestOps(SelectionKey.OP_READ);
+            }
+        } catch (IOException | CancelledKeyException e) {
+            this.close();
+        }
+    }
+
+    /**
+     * Queues a frame to be written and asks the {@link NioSocketReactor} to write it as soon as possible, unless
+     * {@link #MAX_BACKLOG} bytes are already waiting.
+     *
+     * @param frame the frame, ready to be read.
+     * @return {@code true} if the frame has been queued, {@code false} if the backlog is full.
+     * @throws CancelledKeyException if the connection has been closed.
+     */
+    private boolean enqueue(ByteBuffer frame) {
+        synchronized (this.output) {
+            if (this.backlog >= MAX_BACKLOG)
+                return false;
+            if (this.output.isEmpty())
+                this.stalledSince = System.nanoTime();
+            this.output.add(frame);
+            this.backlog += frame.remaining();
+            this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+        this.key.selector().wakeup();
+        return true;
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} of the last time the frames waiting to be written made any progress, so
+     * that a client-side application that stopped reading can be told apart from a live one.
+     *
+     * @return the time of the last progress, or {@code -1} if no frame is waiting.
+     */
+    @Override
+    public long getStalledSince() {
+        synchronized (this.output) {
+            return this.stalledSince;
+        }
+    }
+
+    /**
+     * Sends a given {@link NetworkMessage} as a frame. The frame is only queued: it is written by the
+     * {@link NioSocketReactor} {@code Thread} as soon as the client-side application can receive it. If too many bytes
+     * are already waiting, the client-side application is considered lost and the connection is closed.
+     *
+     * @param message the {@link NetworkMessage} to be sent.
+     * @throws ConnectionException if the connection has been closed, its backlog is full or the {@link NetworkMessage}
+     *                             can't be encoded.
+     */
+    @Override
+    public void sendMessage(NetworkMessage message) throws ConnectionException {
+        if (this.closed || this.codec == null)
+            throw new ConnectionException("Client disconnected");
+        try {
+            if (!this.enqueue(this.codec.encode(message))) {
+                this.close();
+                throw new ConnectionException("Client not reading: more than " + MAX_BACKLOG + " bytes waiting");
+            }
+        } catch (IOException e) {
+            throw new ConnectionException(e);
+        } catch (CancelledKeyException e) {
+            throw new ConnectionException("Client disconnected");
+        }
+    }
+
+    /**
+     * Safely closes the connection and discards any frame still waiting to be written.
+     */
+    void close() {
+        this.closed = true;
+        this.key.cancel();
+        try {
+            this.channel.close();
+        } catch (IOException ignored) {
+        }
+        synchronized (this.output) {
+            this.output.clear();
+            this.backlog = 0;
+            this.stalledSince = -1;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package it.polimi.ingsw.network.server.communication.socket;
+
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import it.polimi.ingsw.network.server.communication.CommunicationHub;
+import it.polimi.ingsw.util.printer.ColorPrinter;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A {@code NioSocketReactor} serves any number of client-side applications on a single {@code Thread}, by waiting on
+ * a {@link Selector} for any of their {@link SocketChannel}s to become readable or writable and then letting the
+ * corresponding {@link NioClientConnection} do the actual non-blocking input/output.
+ * A {@link NioClientConnection} failing unexpectedly is closed, without affecting the others.
+ */
+public class NioSocketReactor implements Runnable {
+    /**
+     * The {@link Selector} all the {@link SocketChannel}s served are registered to.
+     */
+    private final Selector selector;
+
+    /**
+     * The {@link SocketChannel}s handed to this {@code NioSocketReactor} and not yet registered to {@link #selector}.
+     */
+    private final Queue<SocketChannel> pending;
+
+    /**
+     * The {@link Executor} the {@link NioClientConnection}s forward the {@code NetworkMessage}s received on.
+     */
+    private final Executor dispatcher;
+
+    /**
+     * The handler the {@link NioClientConnection}s forward the {@code NetworkMessage}s received to.
+     */
+    private final Consumer<NetworkMessage> handler;
+
+    /**
+     * Creates a new {@code NioSocketReactor} with its own {@link Selector}, forwarding the {@code NetworkMessage}s
+     * received to the {@link CommunicationHub}.
+     *
+     * @param dispatcher the {@link Executor} to forward the {@code NetworkMessage}s received on.
+     * @throws IOException if the {@link Selector} can't be opened.
+     */
+    public NioSocketReactor(Executor dispatcher) throws IOException {
+        this(dispatcher, message -> CommunicationHub.getInstance().handleMessage(message));
+    }
+
+    /**
+     * Creates a new {@code NioSocketReactor} with its own {@link Selector}, forwarding the {@code NetworkMessage}s
+     * received to the given handler.
+     *
+     * @param dispatcher the {@link Executor} to forward the {@code NetworkMessage}s received on.
+     * @param handler    the handler to forward the {@code NetworkMessage}s received to.
+     * @throws IOException if the {@link Selector} can't be opened.
+     */
+    NioSocketReactor(Executor dispatcher, Consumer<NetworkMessage> handler) throws IOException {
+        this.selector = Selector.open();
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.dispatcher = dispatcher;
+        this.handler = handler;
+    }
+
+    /**
+     * Hands a newly accepted {@link SocketChannel} to this {@code NioSocketReactor}. This method can be called from any
+     * {@code Thread}: the {@link SocketChannel} is registered by the {@code NioSocketReactor} own {@code Thread}.
+     *
+     * @param channel the {@link SocketChannel} to be served.
+     */
+    public void register(SocketChannel channel) {
+        this.pending.add(channel);
+        this.selector.wakeup();
+    }
+
+    /**
+     * Registers every {@link SocketChannel} in {@link #pending} to {@link #selector}, attaching a new
+     * {@link NioClientConnection} to each of them.
+     */
+    private void registerPending() {
+        SocketChannel channel;
+        while ((channel = this.pending.poll()) != null) {
+            try {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(this.selector, SelectionKey.OP_READ);
+                key.attach(new NioClientConnection(channel, key, this.dispatcher, this.handler));
+            } catch (IOException e) {
+                ColorPrinter.err(e.getClass() + ": " + e.getMessage());
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes the {@code NioSocketReactor} core logic: waits for any {@link SocketChannel} to be ready and serves it,
+     * until the {@code Thread} is interrupted.
+     */
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                this.selector.select();
+            } catch (IOException e) {
+                ColorPrinter.err(e.getClass() + ": " + e.getMessage());
+                return;
+            }
+            this.registerPending();
+
+            Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+
+                NioClientConnection connection = (NioClientConnection) key.attachment();
+                try {
+                    if (key.isReadable())
+                        connection.onReadable();
+                    if (key.isValid() && key.isWritable())
+                        connection.onWritable();
+                } catch (CancelledKeyException e) {
+                    connection.close();
+                } catch (RuntimeException e) {
+                    ColorPrinter.err("connection closed after an unexpected failure: " + e);
+                    connection.close();
+                }
+            }
+        }
+    }
+}
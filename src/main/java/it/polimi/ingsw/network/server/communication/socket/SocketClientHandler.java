@@ -1,6 +1,8 @@
 package it.polimi.ingsw.network.server.communication.socket;
 
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.common.message.FrameCodec;
+import it.polimi.ingsw.network.common.message.MessageCodec;
 import it.polimi.ingsw.network.common.message.MessageType;
 import it.polimi.ingsw.network.common.message.NetworkMessage;
 import it.polimi.ingsw.network.server.communication.ClientCommunicationInterface;
@@ -20,9 +22,11 @@ import java.net.SocketException;
  *
  * <p>To achieve this goal a bi-directional channel is needed in order to make
  * the communication possible.
- * At the beginning of the communication process an {@link ObjectOutputStream} is created to send {@link NetworkMessage}
- * to the remote client-side application.
- * An {@link ObjectInputStream} is then created to allow messages to be received.
+ * At the beginning of the communication process the first bytes sent by the client-side application are checked: if they
+ * hold the {@link FrameCodec#MAGIC}, {@link NetworkMessage}s are exchanged as frames, as described by {@link FrameCodec},
+ * using the {@link MessageCodec} agreed on during the handshake.
+ * Otherwise an {@link ObjectOutputStream} is created to send {@link NetworkMessage} to the remote client-side application,
+ * and an {@link ObjectInputStream} is then created to allow messages to be received.
  *
  * <p>Before the communication can end, a call to {@link #closeConnection()} must be performed in order to safely interrupt
  * the connection and notify the client-side application in the proper way.
@@ -39,34 +43,97 @@ public class SocketClientHandler implements Runnable {
     private final Socket socket;
 
     /**
-     * The output channel used to send {@link NetworkMessage} to the client-side application.
+     * The output channel used to send {@link NetworkMessage} to the client-side application. This is an
+     * {@link ObjectOutputStream} unless {@link #framed}.
      */
-    private ObjectOutputStream out;
+    private OutputStream out;
+
+    /**
+     * The input channel used to receive {@link NetworkMessage} from the client-side application. This is an
+     * {@link ObjectInputStream} unless {@link #framed}, in which case it is a {@link DataInputStream}.
+     */
+    private InputStream in;
+
     /**
-     * The input channel used to receive {@link NetworkMessage} from the client-side application.
+     * Whether the client-side application exchanges {@link NetworkMessage}s as frames.
      */
-    private ObjectInputStream in;
+    private boolean framed;
+
+    /**
+     * The {@link MessageCodec} agreed on with the client-side application, if {@link #framed}.
+     */
+    private MessageCodec codec;
 
     /**
      * This is the only constructor used to create a new {@code SocketClientHandler} with the given {@code socket} argument.
      * This is used to create the input and output channels to instantiate a bi-directional communication to the
-     * client-side application.
+     * client-side application, once the {@code SocketClientHandler} is run.
      *
      * @param socket the {@link Socket} object needed to instantiate the bi-directional communication.
      */
     public SocketClientHandler(Socket socket) {
         this.communicationHub = CommunicationHub.getInstance();
         this.socket = socket;
+    }
+
+    /**
+     * Creates the input and output channels, in the format chosen by the client-side application. This is done
+     * on the {@code SocketClientHandler} own {@code Thread}, as it blocks until the client-side application sends
+     * its first bytes.
+     *
+     * @throws IOException if the channels can't be created.
+     */
+    private void openStreams() throws IOException {
+        BufferedInputStream input = new BufferedInputStream(this.socket.getInputStream());
+        input.mark(Integer.BYTES);
+        DataInputStream dataInput = new DataInputStream(input);
+        this.framed = dataInput.readInt() == FrameCodec.MAGIC;
+
+        if (this.framed) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(this.socket.getOutputStream()));
+            this.codec = FrameCodec.accept(output, dataInput);
+
+            this.out = output;
+            this.in = dataInput;
+        } else {
+            //not a framed client: give the stream header back to the ObjectInputStream
+            input.reset();
 
-        try {
             this.out = new ObjectOutputStream(this.socket.getOutputStream());
-            this.in = new ObjectInputStream(this.socket.getInputStream());
-        } catch (IOException e) {
-            ColorPrinter.err(e.getClass() + ": " + e.getMessage());
-            this.closeConnection();
+            this.in = new ObjectInputStream(input);
         }
     }
 
+    /**
+     * Reformats a {@link MessageType#REGISTER_REQUEST} so that it carries the new {@link Player} that is going to
+     * represent the client-side application on the {@code Server}, bound to the given {@link ClientCommunicationInterface}.
+     *
+     * @param message         the {@link MessageType#REGISTER_REQUEST} received from the client-side application.
+     * @param clientInterface the {@link ClientCommunicationInterface} used to reach the client-side application.
+     * @return the {@link NetworkMessage} to forward to the {@link CommunicationHub}.
+     */
+    static NetworkMessage bindRegistration(NetworkMessage message, ClientCommunicationInterface clientInterface) {
+        String playerName = message.getAuthor();
+
+        Player player = new Player(playerName);
+        player.setCommunicationInterface(clientInterface);
+
+        return NetworkMessage.completeClientMessage(message.getAuthor(), message.getType(), player);
+    }
+
+    /**
+     * Reads the next {@link NetworkMessage} from the client-side application, in the format it chose.
+     *
+     * @return the {@link NetworkMessage} received.
+     * @throws IOException            if the input channel can't be read.
+     * @throws ClassNotFoundException if the client-side application sent an unknown object.
+     */
+    private NetworkMessage readMessage() throws IOException, ClassNotFoundException {
+        if (this.framed)
+            return FrameCodec.read((DataInputStream) this.in, this.codec);
+        return (NetworkMessage) ((ObjectInputStream) this.in).readObject();
+    }
+
     /**
      * Safely closes all the opened connections.
      * This method should be called only when the communication is terminated and no more {@link NetworkMessage} are desired
@@ -75,11 +142,13 @@ public class SocketClientHandler implements Runnable {
      */
     private void closeConnection() {
         try {
-            this.in.close();
+            if (this.in != null)
+                this.in.close();
         } catch (IOException ignored) {
         } finally {
             try {
-                this.out.close();
+                if (this.out != null)
+                    this.out.close();
             } catch (IOException ignored) {
             } finally {
                 try {
@@ -100,20 +169,19 @@ public class SocketClientHandler implements Runnable {
     public void run() {
         NetworkMessage message;
         try {
+            this.openStreams();
             do {
-                message = (NetworkMessage) this.in.readObject();
+                message = this.readMessage();
 
                 if (message.getType().equals(MessageType.REGISTER_REQUEST)) {
                     //reformat the message to add the proper information before forwarding it to the communicationHub
-                    ClientCommunicationInterface clientInterface = new SocketClientCommunicationInterface(this.out);
-                    String playerName = message.getAuthor();
-
-                    ColorPrinter.log("Client \"" + playerName + "\" connected via Socket protocol");
+                    ClientCommunicationInterface clientInterface = this.framed
+                            ? new FramedSocketClientCommunicationInterface(this.out, this.codec)
+                            : new SocketClientCommunicationInterface((ObjectOutputStream) this.out);
 
-                    Player player = new Player(playerName);
-                    player.setCommunicationInterface(clientInterface);
+                    ColorPrinter.log("Client \"" + message.getAuthor() + "\" connected via Socket protocol");
 
-                    message = NetworkMessage.completeClientMessage(message.getAuthor(), message.getType(), player);
+                    message = bindRegistration(message, clientInterface);
                 }
 
                 this.communicationHub.handleMessage(message);
@@ -0,0 +1,79 @@
+package it.polimi.ingsw.network.server.executable;
+
+import it.polimi.ingsw.network.server.communication.socket.NioSocketReactor;
+import it.polimi.ingsw.util.printer.ColorPrinter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class is responsible for listening for incoming connections from clients using the {@code Socket} protocol,
+ * like a {@link SocketServer}. Instead of dedicating a {@code Thread} to each client, it spreads them over a fixed
+ * number of {@link NioSocketReactor}s, each serving all of its clients with non-blocking input/output on a single
+ * {@code Thread}, so that the number of {@code Thread}s does not grow with the number of idle clients.
+ * Only clients exchanging framed messages are supported.
+ */
+public class NioSocketServer implements Runnable {
+    /**
+     * The {@code NioSocketServer} ip address.
+     */
+    private final String ipAddress;
+
+    /**
+     * The {@code NioSocketServer} port.
+     */
+    private final int port;
+
+    /**
+     * The number of {@link NioSocketReactor}s, and so of input/output {@code Thread}s.
+     */
+    private final int ioThreads;
+
+    /**
+     * This is the only constructor. It creates a new {@code NioSocketServer} with the given {@code ipAddress} and {@code port}.
+     *
+     * @param ipAddress the {@code NioSocketServer} new ip address.
+     * @param port      the {@code NioSocketServer} new port.
+     * @param ioThreads the number of input/output {@code Thread}s.
+     */
+    public NioSocketServer(String ipAddress, int port, int ioThreads) {
+        this.ipAddress = ipAddress;
+        this.port = port;
+        this.ioThreads = ioThreads;
+    }
+
+    /**
+     * Starts the {@link NioSocketReactor}s, then listens for every possible client that may join the {@code Server} and
+     * hands each of them to the next {@link NioSocketReactor}, in a round-robin fashion.
+     */
+    @SuppressWarnings("InfiniteLoopStatement")
+    @Override
+    public void run() {
+        try (ServerSocketChannel socket = ServerSocketChannel.open()) {
+            socket.bind(new InetSocketAddress(InetAddress.getByName(this.ipAddress), this.port));
+            ColorPrinter.log("socket server configured on " + this.ipAddress + ":" + this.port);
+            ColorPrinter.log("socket server bounded on " + socket.socket().getInetAddress().getHostAddress() + ":" + socket.socket().getLocalPort());
+
+            ExecutorService dispatcher = Executors.newCachedThreadPool();
+            ExecutorService ioExecutor = Executors.newFixedThreadPool(this.ioThreads);
+            NioSocketReactor[] reactors = new NioSocketReactor[this.ioThreads];
+            for (int i = 0; i < reactors.length; i++) {
+                reactors[i] = new NioSocketReactor(dispatcher);
+                ioExecutor.execute(reactors[i]);
+            }
+            ColorPrinter.stat("socket server running on " + this.ioThreads + " I/O threads...");
+
+            int next = 0;
+            while (true) {
+                reactors[next].register(socket.accept());
+                next = (next + 1) % reactors.length;
+            }
+        } catch (IOException e) {
+            ColorPrinter.err(e.getClass() + ": " + e.getMessage());
+        }
+    }
+}
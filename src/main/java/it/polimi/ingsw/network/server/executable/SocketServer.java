@@ -1,5 +1,6 @@
 package it.polimi.ingsw.network.server.executable;
 
+import it.polimi.ingsw.network.server.ServerThreads;
 import it.polimi.ingsw.network.server.communication.socket.SocketClientHandler;
 import it.polimi.ingsw.util.printer.ColorPrinter;
 
@@ -7,12 +8,12 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * This class is responsible for listening for incoming connections from clients using the {@code Socket} protocol.
  * Every time a socket client connects to the {@code Server}, a dedicated {@code Thread} is associated to him and the
  * corresponding socket is sent to a {@link SocketClientHandler} to handle all the input/output operations.
+ * The {@code Thread}s are created by {@link ServerThreads}, and are therefore virtual ones if enabled.
  */
 public class SocketServer implements Runnable {
     /**
@@ -47,7 +48,7 @@ public class SocketServer implements Runnable {
             ColorPrinter.log("socket server configured on " + this.ipAddress + ":" + this.port);
             ColorPrinter.log("socket server bounded on " + socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort());
             ColorPrinter.stat("socket server running...");
-            ExecutorService executor = Executors.newCachedThreadPool();
+            ExecutorService executor = ServerThreads.newPerTaskExecutor("socket-client");
             while (true) {
                 SocketClientHandler clientHandler = new SocketClientHandler(socket.accept()); //create a User thread to represent the Client
                 executor.execute(clientHandler); //execute the user thread
@@ -0,0 +1,112 @@
+package it.polimi.ingsw.network.server.lobby;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.network.server.ServerThreads;
+import it.polimi.ingsw.util.printer.ColorPrinter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * The {@code GameScheduler} plays the {@link Game}s started by the {@link Lobby}s on a bounded pool of named threads,
+ * created by {@link ServerThreads} and therefore virtual ones if enabled,
+ * so that load spikes can't make the {@code Server} run an unbounded number of {@link Game}s at the same time.
+ * When all the threads are busy, new {@link Game}s wait in a bounded queue for one of the running ones to end;
+ * when the queue is full too, they are refused.
+ * A {@link Game} that fails with an exception is logged and dropped, without affecting the other ones.
+ */
+public class GameScheduler {
+    /**
+     * Time in seconds an idle thread waits for a new {@link Game} before terminating.
+     */
+    private static final int KEEP_ALIVE = 60;
+
+    /**
+     * The executor playing the {@link Game}s.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The {@link Game}s currently being played, by the name of the {@link Lobby} they were started from.
+     */
+    private final Map<String, Game> runningGames;
+
+    /**
+     * This is the only constructor. It creates a {@code GameScheduler} whose threads are created when needed.
+     *
+     * @param maxRunningGames the number of {@link Game}s that can be played at the same time.
+     * @param maxQueuedGames  the number of {@link Game}s that can wait for a thread to be available.
+     */
+    public GameScheduler(int maxRunningGames, int maxQueuedGames) {
+        if (maxRunningGames < 1 || maxQueuedGames < 1)
+            throw new IllegalArgumentException("A GameScheduler needs at least one thread and one queue slot.");
+
+        this.executor = new ThreadPoolExecutor(maxRunningGames, maxRunningGames, KEEP_ALIVE, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueuedGames), ServerThreads.factory("game"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.runningGames = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Schedules a {@link Game} to be created and played as soon as a thread is available.
+     *
+     * @param lobbyName the name of the {@link Lobby} the {@link Game} is started from.
+     * @param game      the task creating the {@link Game}, which is run by the thread playing it.
+     * @return {@code true} if the {@link Game} was scheduled, {@code false} if it was refused because the
+     * {@code GameScheduler} is saturated.
+     */
+    public boolean submit(String lobbyName, Supplier<Game> game) {
+        try {
+            this.executor.execute(() -> this.play(lobbyName, game));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates and plays a {@link Game}, keeping it into {@link #runningGames} meanwhile. The thread is named after the
+     * {@link Lobby} for as long as the {@link Game} lasts.
+     *
+     * @param lobbyName the name of the {@link Lobby} the {@link Game} is started from.
+     * @param factory   the task creating the {@link Game}.
+     */
+    private void play(String lobbyName, Supplier<Game> factory) {
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        thread.setName(threadName + " [" + lobbyName + "]");
+        try {
+            Game game = factory.get();
+            this.runningGames.put(lobbyName, game);
+            game.play();
+            ColorPrinter.stat("Game from Lobby \"" + lobbyName + "\" over after " + game.getTurnCount() + " turns");
+        } catch (RuntimeException e) {
+            ColorPrinter.err("Game from Lobby \"" + lobbyName + "\" aborted: " + e);
+        } finally {
+            this.runningGames.remove(lobbyName);
+            thread.setName(threadName);
+        }
+    }
+
+    /**
+     * Returns the {@link Game}s currently being played, each with the number of turns played so far.
+     *
+     * @return the number of turns of each running {@link Game}, by the name of its {@link Lobby}.
+     */
+    public Map<String, Integer> getRunningGames() {
+        Map<String, Integer> turns = new TreeMap<>();
+        this.runningGames.forEach((lobbyName, game) -> turns.put(lobbyName, game.getTurnCount()));
+        return turns;
+    }
+
+    /**
+     * Returns the number of {@link Game}s waiting for a thread to be available.
+     *
+     * @return the number of queued {@link Game}s.
+     */
+    public int getQueuedGames() {
+        return this.executor.getQueue().size();
+    }
+}
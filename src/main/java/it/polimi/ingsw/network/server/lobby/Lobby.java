@@ -1,7 +1,9 @@
 package it.polimi.ingsw.network.server.lobby;
 
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
 import it.polimi.ingsw.model.exceptions.InvalidSaveStateException;
+import it.polimi.ingsw.model.exceptions.SaveJournalException;
 import it.polimi.ingsw.model.exceptions.UnmatchedSavedParticipantsException;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.util.Dispatcher;
@@ -13,15 +15,26 @@ import it.polimi.ingsw.network.common.observer.Observer;
 import it.polimi.ingsw.network.common.observer.Observable;
 import it.polimi.ingsw.network.common.util.timer.CountDownTimer;
 import it.polimi.ingsw.network.common.util.property.GameProperty;
+import it.polimi.ingsw.network.server.ServerThreads;
 import it.polimi.ingsw.network.server.VirtualClient;
 import it.polimi.ingsw.util.printer.ColorPrinter;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * A collection of {@link Player}s logged together, waiting for a {@link Game} to start. {@link Player}s should be
  * identified through a unique value and the {@code Lobby} should contain only one instance of the same {@link Player}.
+ * All access to the {@link Player}s list is synchronized on the {@code Lobby} itself, as it is shared between the
+ * network {@code Thread}s, the {@link CountDownTimer} one and the one of the {@link GameScheduler}.
+ * Notifications to the {@link Player}s are never sent while holding that lock: the recipients are taken under it, and
+ * the messages are then sent by the {@link #notifier}, so that a slow client can delay neither the {@code Lobby}
+ * operations, nor the {@link LobbyManager} locks they are called under, nor the {@link CountDownTimer}s.
  */
 
 @SuppressWarnings("FieldCanBeLocal")
@@ -52,6 +65,17 @@ public class Lobby implements Observer {
      */
     private final int WAITING_TIME_MARGIN = 6;
 
+    /**
+     * Time in seconds the {@link #notifier} thread waits for a new notification before terminating.
+     */
+    private final int NOTIFIER_KEEP_ALIVE = 10;
+
+    /**
+     * The executor sending the notifications of this {@code Lobby} to its {@link Player}s, one at a time and in the
+     * order they are posted. Its only thread is created when needed.
+     */
+    private final ThreadPoolExecutor notifier;
+
     /**
      * The duration, in seconds, of a short interval of time given to a {@code Lobby} before starting the game, and
      * the amount by which the {@link #timer} gets delayed when the amount of {@link #players#size()} drops to the minimum
@@ -108,7 +132,18 @@ public class Lobby implements Observer {
      *
      * @see Game
      */
-    private Game game;
+    private volatile Game game;
+
+    /**
+     * Whether the {@link #game} has been handed to the {@link #gameScheduler}. From then on, the {@link #players} list
+     * no longer changes, even though the {@link #game} may still be waiting for a thread to be played on.
+     */
+    private boolean gameStarted;
+
+    /**
+     * The {@link GameScheduler} the {@link #game} is played on.
+     */
+    private GameScheduler gameScheduler;
 
     /**
      * The properties needed in order to play a new {@link Game}.
@@ -134,6 +169,10 @@ public class Lobby implements Observer {
         this.timer = new CountDownTimer(this.WAITING_TIME_FULL);
         this.timerStarted = false;
         this.timer.addObserver(this);
+
+        this.notifier = new ThreadPoolExecutor(1, 1, this.NOTIFIER_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), ServerThreads.factory("lobby-notifier"));
+        this.notifier.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -146,6 +185,15 @@ public class Lobby implements Observer {
         this.gameProperty = gameProperty;
     }
 
+    /**
+     * Sets the {@link GameScheduler} the {@link #game} will be played on.
+     *
+     * @param gameScheduler the {@link GameScheduler}.
+     */
+    void setGameScheduler(GameScheduler gameScheduler) {
+        this.gameScheduler = gameScheduler;
+    }
+
     /**
      * Returns the name given to this {@code Lobby}.
      *
@@ -160,7 +208,7 @@ public class Lobby implements Observer {
      *
      * @return the number of {@code Player}s currently logged into this {@code Lobby}.
      */
-    int getCurrentPlayers() {
+    synchronized int getCurrentPlayers() {
         return this.players.size();
     }
 
@@ -174,7 +222,7 @@ public class Lobby implements Observer {
      *
      * @return the {@link Map.Entry} representing the lobby current status.
      */
-    Map.Entry<String, String> getStatus() {
+    synchronized Map.Entry<String, String> getStatus() {
         return new AbstractMap.SimpleEntry<>(this.name, "[" + this.players.size() + "/" + this.MAX_PLAYERS + "]");
     }
 
@@ -184,7 +232,7 @@ public class Lobby implements Observer {
      * @param player the {@link Player} whose presence in this list is to be tested.
      * @return {@code true} if this {@code Lobby} contains the given {@link Player}, {@code false} otherwise.
      */
-    boolean contains(Player player) {
+    synchronized boolean contains(Player player) {
         return this.players.contains(player);
     }
 
@@ -214,7 +262,7 @@ public class Lobby implements Observer {
      * @throws InvalidPasswordException    if {@code password} does not satisfy one of the validity conditions.
      * @see #adjustTimer()
      */
-    void add(Player player, String password)
+    synchronized void add(Player player, String password)
             throws LobbyFullException, PlayerAlreadyAddedException, InvalidPasswordException, GameAlreadyStartedException {
         if (this.players.size() == this.MAX_PLAYERS)
             throw new LobbyFullException("Lobby \"" + this.name + "\" is full");
@@ -227,7 +275,7 @@ public class Lobby implements Observer {
             throw new InvalidPasswordException("password \"" + password + "\" invalid for Lobby \"" + this.name + "\"");
 
         //could be a new Player or an old one previously disconnected
-        if (this.game == null) {
+        if (!this.gameStarted) {
             //can add other players
             if (this.players.contains(player))
                 throw new PlayerAlreadyAddedException("Player \"" + player.getName() + "\" already found into Lobby \"" + this.name + "\"");
@@ -256,7 +304,7 @@ public class Lobby implements Observer {
      * @throws PlayerNotFoundException if the {@link Player} passed as parameter is not contained into the {@code Lobby}.
      * @see #adjustTimer()
      */
-    void remove(Player player) throws LobbyEmptyException, PlayerNotFoundException {
+    synchronized void remove(Player player) throws LobbyEmptyException, PlayerNotFoundException {
         if (this.players.size() == 0)
             throw new LobbyEmptyException("Lobby \"" + this.name + "\" is empty");
 
@@ -267,10 +315,12 @@ public class Lobby implements Observer {
             throw new PlayerNotFoundException("Player \"" + player.getName() + "\" not found into Lobby \"" + this.name + "\"");
 
         //a Player can be removed only while the Game is not started
-        if (this.game == null) {
+        if (!this.gameStarted) {
             this.previousPlayersAmount = this.players.size();
             this.players.removeIf(p -> p.equals(player));
             this.adjustTimer();
+            if (this.players.isEmpty()) //the Lobby is about to be dropped, see LobbyManager#remove(String, Player)
+                this.timer.discard();
         }
     }
 
@@ -319,19 +369,41 @@ public class Lobby implements Observer {
         }
     }
 
+    /**
+     * Returns the {@link #players} currently connected. The caller must hold the lock of this {@code Lobby}.
+     *
+     * @return a copy of the connected {@link #players}.
+     */
+    private List<Player> connectedPlayers() {
+        return this.players.stream().filter(VirtualClient::isConnected).collect(Collectors.toList());
+    }
+
+    /**
+     * Posts a notification to the {@link #notifier}, which sends it to the given recipients after all the
+     * notifications previously posted. Recipients that can't be reached are skipped.
+     *
+     * @param recipients the {@link Player}s to be notified.
+     * @param message    the function returning the {@link NetworkMessage} to be sent to each recipient.
+     * @return the {@link CompletableFuture} completed once the notification has been sent.
+     */
+    private CompletableFuture<Void> post(List<Player> recipients, Function<Player, NetworkMessage> message) {
+        return CompletableFuture.runAsync(() -> recipients.forEach(player -> {
+            NetworkMessage networkMessage = message.apply(player);
+            try {
+                player.sendMessage(networkMessage);
+                ColorPrinter.mexS("message " + networkMessage.getType() + " sent to client \"" + player.getName() + "\"");
+            } catch (ConnectionException ignored) {
+            }
+        }), this.notifier);
+    }
+
     /**
      * Notifies all the {@link #players} that the {@link #timer} has been expired.
+     *
+     * @return the {@link CompletableFuture} completed once all the {@link #players} have been notified.
      */
-    private void notifyExpired() {
-        this.players.stream()
-                .filter(VirtualClient::isConnected)
-                .forEach(player -> {
-                    try {
-                        player.sendMessage(NetworkMessage.simpleServerMessage(MessageType.COUNTDOWN_EXPIRED));
-                        ColorPrinter.mexS("message " + MessageType.COUNTDOWN_EXPIRED + " sent to client \"" + player.getName() + "\"");
-                    } catch (ConnectionException ignored) {
-                    }
-                });
+    private synchronized CompletableFuture<Void> notifyExpired() {
+        return this.post(this.connectedPlayers(), player -> NetworkMessage.simpleServerMessage(MessageType.COUNTDOWN_EXPIRED));
     }
 
     /**
@@ -339,70 +411,88 @@ public class Lobby implements Observer {
      *
      * @param seconds the new amount of time left to count down from.
      */
-    private void notifyTimeUpdate(int seconds) {
-        this.players.stream()
-                .filter(VirtualClient::isConnected)
-                .forEach(player -> {
-                    try {
-                        player.sendMessage(NetworkMessage.completeServerMessage(MessageType.COUNTDOWN_UPDATE, seconds));
-                        ColorPrinter.mexS("message " + MessageType.COUNTDOWN_UPDATE + " sent to client \"" + player.getName() + "\"");
-                    } catch (ConnectionException ignored) {
-                    }
-                });
+    private synchronized void notifyTimeUpdate(int seconds) {
+        this.post(this.connectedPlayers(), player -> NetworkMessage.completeServerMessage(MessageType.COUNTDOWN_UPDATE, seconds));
     }
 
     /**
      * Notifies all the {@link #players} that the {@link #timer} has been updated with a value new value and therefore
      * the {@link Player}s should be notified.
      */
-    void notifyTimeUpdate() {
-        if (timerStarted)
-            this.players.stream()
-                    .filter(VirtualClient::isConnected)
-                    .forEach(player -> {
-                        try {
-                            player.sendMessage(NetworkMessage.completeServerMessage(MessageType.COUNTDOWN_UPDATE, this.timer.getTime()));
-                            ColorPrinter.mexS("message " + MessageType.COUNTDOWN_UPDATE + " sent to client \"" + player.getName() + "\"");
-                        } catch (ConnectionException ignored) {
-                        }
-                    });
+    synchronized void notifyTimeUpdate() {
+        if (timerStarted) {
+            int seconds = this.timer.getTime();
+            this.post(this.connectedPlayers(), player -> NetworkMessage.completeServerMessage(MessageType.COUNTDOWN_UPDATE, seconds));
+        }
     }
 
     /**
      * Notifies all the {@link #players} that the {@link #timer} has been stopped or paused due to not enough {@link Player}s
      * left in the {@code Lobby}.
      */
-    private void notifyStopped() {
-        this.players.stream()
-                .filter(VirtualClient::isConnected)
-                .forEach(player -> {
-                    try {
-                        player.sendMessage(NetworkMessage.simpleServerMessage(MessageType.COUNTDOWN_STOPPED));
-                        ColorPrinter.mexS("message " + MessageType.COUNTDOWN_STOPPED + " sent to client \"" + player.getName() + "\"");
-                    } catch (ConnectionException ignored) {
-                    }
-                });
+    private synchronized void notifyStopped() {
+        this.post(this.connectedPlayers(), player -> NetworkMessage.simpleServerMessage(MessageType.COUNTDOWN_STOPPED));
     }
 
     /**
      * Notifies all the {@link #players} with the updated list of all the other {@link Player}s logged in the same {@link Lobby},
      * except himself.
      */
-    void notifyOpponentUpdate() {
-        if (game == null)
-            this.players.stream()
-                    .filter(VirtualClient::isConnected)
-                    .forEach(player -> {
-                        try {
-                            player.sendMessage(NetworkMessage.completeServerMessage(MessageType.OPPONENTS_LIST_UPDATE,
-                                    this.players.stream()
-                                            .filter(p -> !p.equals(player))
-                                            .map(VirtualClient::getName)
-                                            .collect(Collectors.toList())));
-                            ColorPrinter.mexS("message " + MessageType.OPPONENTS_LIST_UPDATE + " sent to client \"" + player.getName() + "\"");
-                        } catch (ConnectionException ignored) {
-                        }
-                    });
+    synchronized void notifyOpponentUpdate() {
+        if (!this.gameStarted) {
+            List<String> names = this.players.stream().map(VirtualClient::getName).collect(Collectors.toList());
+            this.post(this.connectedPlayers(), player -> NetworkMessage.completeServerMessage(MessageType.OPPONENTS_LIST_UPDATE,
+                    names.stream().filter(name -> !name.equals(player.getName())).collect(Collectors.toList())));
+        }
+    }
+
+    /**
+     * Hands the {@link #game} to the {@link #gameScheduler} and notifies all the {@link #players} that it is about to
+     * start. If the {@link #gameScheduler} is saturated, the {@link #timer} is restarted from
+     * {@link #WAITING_TIME_REDUCED} instead, so that the {@code Lobby} tries again later.
+     * The {@link #game} is not created before the notification has been sent, so that the {@link Player}s are told
+     * about the expiration before receiving anything from the {@link #game}.
+     */
+    private synchronized void startGame() {
+        CompletableFuture<Void> notified = new CompletableFuture<>();
+
+        this.gameStarted = true;
+        if (!this.gameScheduler.submit(this.name, () -> {
+            notified.join();
+            return this.createGame();
+        })) {
+            ColorPrinter.err("too many Games running, Game from Lobby \"" + this.name + "\" delayed");
+            this.gameStarted = false;
+            this.timer.setTime(this.WAITING_TIME_REDUCED);
+            this.timer.start();
+            return;
+        }
+        this.timer.discard();
+
+        //notify Clients the Game is about to start
+        this.notifyExpired().whenComplete((result, e) -> notified.complete(null));
+    }
+
+    /**
+     * Creates the {@link #game}, by loading the one previously played from this {@code Lobby}, if any, or by starting
+     * a new one. This is run by the {@link #gameScheduler}, after {@link #startGame()} has notified all the
+     * {@link #players}.
+     *
+     * @return the {@link #game}, ready to be played.
+     */
+    private synchronized Game createGame() {
+        GameMode mode = GameMode.defaults().withSaveSlot(this.name);
+        try {
+            Dispatcher.ANSWER_TIME_LIMIT = this.gameProperty.turnDuration();
+            this.game = Game.load(this.players, mode);
+            ColorPrinter.stat("previous Game loaded from Lobby \"" + this.name + "\" with Players " + Table.list(this.players));
+        } catch (InvalidSaveStateException | UnmatchedSavedParticipantsException | SaveJournalException e) {
+            ColorPrinter.log(e.getMessage());
+            this.game = Game.create(this.gameProperty.finalFrenzy(), this.gameProperty.roundsToPlay(),
+                    this.gameProperty.boardType(), this.players, mode);
+            ColorPrinter.stat("new Game started from Lobby \"" + this.name + "\" with Players " + Table.list(this.players));
+        }
+        return this.game;
     }
 
     /**
@@ -416,27 +506,9 @@ public class Lobby implements Observer {
      */
     @Override
     public void onEvent(int eventStatus, int value) {
-        if (eventStatus == CountDownTimer.STATUS_EXPIRED) {
-            this.timer.removeObserver(this);
-
-            //notify Clients the Game is about to start
-            this.notifyExpired();
-
-            //start a new game or load an existing one
-            new Thread(() -> {
-                try {
-                    Dispatcher.ANSWER_TIME_LIMIT = this.gameProperty.turnDuration();
-                    this.game = Game.load(this.players);
-                    ColorPrinter.stat("previous Game loaded from Lobby \"" + this.name + "\" with Players " + Table.list(this.players));
-                } catch (InvalidSaveStateException | UnmatchedSavedParticipantsException e) {
-                    ColorPrinter.log(e.getMessage());
-                    this.game = Game.create(this.gameProperty.finalFrenzy(), this.gameProperty.roundsToPlay(),
-                            this.gameProperty.boardType(), this.players);
-                    ColorPrinter.stat("new Game started from Lobby \"" + this.name + "\" with Players " + Table.list(this.players));
-                }
-                this.game.play();
-            }).start();
-        } else if (eventStatus == CountDownTimer.STATUS_TIME_UPDATE)
+        if (eventStatus == CountDownTimer.STATUS_EXPIRED)
+            this.startGame();
+        else if (eventStatus == CountDownTimer.STATUS_TIME_UPDATE)
             this.notifyTimeUpdate(value);
         else if (eventStatus == CountDownTimer.STATUS_STOPPED) //else should be enough but, just in case...
             this.notifyStopped();
@@ -0,0 +1,203 @@
+package it.polimi.ingsw.network.server.lobby;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.common.exceptions.ConnectionException;
+import it.polimi.ingsw.network.common.message.MessageType;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import it.polimi.ingsw.network.common.util.timer.TimerService;
+import it.polimi.ingsw.util.printer.ColorPrinter;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The {@code LobbyListPublisher} pushes the changes of the {@link Lobby} list to the subscribed {@link Player}s, so
+ * that they don't need to poll the whole list with {@code LOBBY_LIST_UPDATE_REQUEST}s.
+ * The names of the {@link Lobby}s created, joined, left or closed are collected as they change and, at most once every
+ * {@link #period}, a single {@code LOBBY_LIST_DELTA} holding their current status is sent to every subscriber: any
+ * number of changes in between cost one message per subscriber, and no message at all is sent while nothing changes.
+ * A new subscriber is sent the whole {@link Lobby} list as its first {@code LOBBY_LIST_DELTA}.
+ * All the messages are sent by one {@code Thread}, so that each subscriber receives them in order. It is the one
+ * checking for changes too, and it is not shared with the countdowns of the {@link TimerService}.
+ */
+public class LobbyListPublisher {
+    /**
+     * The time between two subsequent checks for changes.
+     */
+    private final long period;
+
+    /**
+     * The unit of {@link #period}.
+     */
+    private final TimeUnit unit;
+
+    /**
+     * The supplier of the status of all the {@link Lobby}s, by name.
+     */
+    private final Supplier<Map<String, String>> lobbiesStatus;
+
+    /**
+     * The function returning the status of a {@link Lobby} given its name, or {@code null} if it does not exist.
+     */
+    private final Function<String, String> lobbyStatus;
+
+    /**
+     * The subscribed {@link Player}s, by name.
+     */
+    private final Map<String, Player> subscribers;
+
+    /**
+     * The names of the subscribers that still have to be sent the whole {@link Lobby} list.
+     */
+    private final Set<String> newSubscribers;
+
+    /**
+     * The names of the {@link Lobby}s changed since the last {@code LOBBY_LIST_DELTA}.
+     */
+    private final Set<String> changedLobbies;
+
+    /**
+     * Whether a {@link #flush()} is already waiting to be run by the {@link #executor}.
+     */
+    private final AtomicBoolean flushPending;
+
+    /**
+     * The timer checking for changes and sending all the messages.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * The {@link ScheduledFuture} of the checks for changes, or {@code null} if the {@code LobbyListPublisher} is not started.
+     */
+    private ScheduledFuture<?> future;
+
+    /**
+     * This is the only constructor. It creates a {@code LobbyListPublisher} that starts checking for changes as soon as
+     * it gets its first subscriber.
+     *
+     * @param lobbiesStatus the {@link #lobbiesStatus} supplier.
+     * @param lobbyStatus   the {@link #lobbyStatus} function.
+     * @param period        the {@link #period}.
+     * @param unit          the {@link #unit}.
+     */
+    public LobbyListPublisher(Supplier<Map<String, String>> lobbiesStatus, Function<String, String> lobbyStatus, long period, TimeUnit unit) {
+        if (period <= 0)
+            throw new IllegalArgumentException("A LobbyListPublisher needs a positive period.");
+
+        this.lobbiesStatus = lobbiesStatus;
+        this.lobbyStatus = lobbyStatus;
+        this.period = period;
+        this.unit = unit;
+
+        this.subscribers = new ConcurrentHashMap<>();
+        this.newSubscribers = ConcurrentHashMap.newKeySet();
+        this.changedLobbies = ConcurrentHashMap.newKeySet();
+        this.flushPending = new AtomicBoolean(false);
+        this.executor = TimerService.newDedicatedTimer("lobby-list");
+    }
+
+    /**
+     * Subscribes a {@link Player}, which is sent the whole {@link Lobby} list as soon as possible and its changes from
+     * then on. Subscribing again has the only effect of sending the whole list again.
+     *
+     * @param player the {@link Player} to be subscribed.
+     */
+    public void subscribe(Player player) {
+        synchronized (this) {
+            if (this.future == null)
+                this.future = this.executor.scheduleAtFixedRate(() -> {
+                    if (!this.changedLobbies.isEmpty())
+                        this.requestFlush();
+                }, this.period, this.period, this.unit);
+        }
+        //marked as new before being added, so that it can't be sent a delta before the whole list
+        this.newSubscribers.add(player.getName());
+        this.subscribers.put(player.getName(), player);
+        this.requestFlush();
+    }
+
+    /**
+     * Unsubscribes a {@link Player}. A {@code LOBBY_LIST_DELTA} that is already being sent may still reach it.
+     *
+     * @param name the name of the {@link Player} to be unsubscribed.
+     * @return {@code true} if the {@link Player} was subscribed, {@code false} otherwise.
+     */
+    public boolean unsubscribe(String name) {
+        this.newSubscribers.remove(name);
+        return this.subscribers.remove(name) != null;
+    }
+
+    /**
+     * Records that a {@link Lobby} has been created, joined, left or closed, so that its status is sent to the
+     * subscribers with the next {@code LOBBY_LIST_DELTA}.
+     *
+     * @param lobbyName the name of the {@link Lobby}.
+     */
+    public void changed(String lobbyName) {
+        if (!this.subscribers.isEmpty())
+            this.changedLobbies.add(lobbyName);
+    }
+
+    /**
+     * Stops checking for changes. Subscribing again starts it over.
+     */
+    public synchronized void stop() {
+        if (this.future != null)
+            this.future.cancel(false);
+        this.future = null;
+    }
+
+    /**
+     * Makes the {@link #executor} run a {@link #flush()}, unless one is already waiting to be run.
+     */
+    private void requestFlush() {
+        if (this.flushPending.compareAndSet(false, true))
+            this.executor.execute(this::flush);
+    }
+
+    /**
+     * Sends the whole {@link Lobby} list to the new subscribers, and the status of the {@link Lobby}s changed since the
+     * last call to the other ones.
+     */
+    void flush() {
+        this.flushPending.set(false);
+
+        Map<String, String> delta = new HashMap<>();
+        for (Iterator<String> it = this.changedLobbies.iterator(); it.hasNext(); ) {
+            String lobbyName = it.next();
+            it.remove();
+            delta.put(lobbyName, this.lobbyStatus.apply(lobbyName));
+        }
+
+        Map<String, String> lobbies = null;
+        for (Player player : this.subscribers.values()) {
+            if (this.newSubscribers.remove(player.getName())) {
+                if (lobbies == null)
+                    lobbies = this.lobbiesStatus.get();
+                this.send(player, lobbies);
+            } else if (!delta.isEmpty())
+                this.send(player, delta);
+        }
+    }
+
+    /**
+     * Sends a {@code LOBBY_LIST_DELTA} to a subscriber, which is unsubscribed if it can't be reached.
+     *
+     * @param player the subscribed {@link Player}.
+     * @param delta  the status of the {@link Lobby}s to be sent, by name.
+     */
+    private void send(Player player, Map<String, String> delta) {
+        try {
+            player.sendMessage(NetworkMessage.completeServerMessage(MessageType.LOBBY_LIST_DELTA, delta));
+        } catch (ConnectionException e) {
+            ColorPrinter.err("Lobby list not sent to Client \"" + player.getName() + "\", unsubscribing: " + e.getMessage());
+            this.subscribers.remove(player.getName(), player);
+        }
+    }
+}
@@ -3,13 +3,14 @@ package it.polimi.ingsw.network.server.lobby;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.network.common.exceptions.*;
+import it.polimi.ingsw.network.common.util.lock.StripedLock;
 import it.polimi.ingsw.network.common.util.property.GameProperty;
 import it.polimi.ingsw.network.common.util.property.GamePropertyLoader;
 import it.polimi.ingsw.util.printer.ColorPrinter;
 
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -23,9 +24,17 @@ import java.util.stream.Collectors;
 
 public class LobbyManager {
     /**
-     * The {@link Queue} containing all the {@link Lobby}.
+     * All the {@link Lobby}s located on the {@code Server}, by name.
      */
-    private final Queue<Lobby> lobbies; //all Lobbies located on the Server
+    private final Map<String, Lobby> lobbies;
+
+    /**
+     * The {@link Lobby} each {@link Player} is logged into, by name of the {@link Player}, as {@link Player}s are told
+     * apart by their names: a client registering again after losing its connection is a new {@link Player} object,
+     * but still finds the {@link Lobby} of its started {@link Game}. This is kept consistent with the content of the
+     * {@link #lobbies} by {@link #add(String, Player, String)} and {@link #remove(String, Player)}.
+     */
+    private final Map<String, Lobby> lobbyByPlayer;
 
     /**
      * The properties used by all the {@code Lobby}.
@@ -35,10 +44,80 @@ public class LobbyManager {
     private GameProperty gameProperty;
 
     /**
-     * This is the only constructor. It creates a {@code LobbyManager} to handle the {@link Lobby} lifecycle.
+     * The number of stripes of {@link #lobbyLocks}.
+     */
+    private final int LOBBY_LOCK_STRIPES = 64;
+
+    /**
+     * The locks serializing the operations that create, join, leave or delete {@link Lobby}s with the same name,
+     * while letting those involving different {@link Lobby}s proceed in parallel.
+     */
+    private final StripedLock lobbyLocks;
+
+    /**
+     * The maximum number of {@link Game}s played at the same time by the {@link #gameScheduler}.
+     */
+    private static final int MAX_RUNNING_GAMES = 64;
+
+    /**
+     * The maximum number of {@link Game}s waiting to be played by the {@link #gameScheduler}.
+     */
+    private static final int MAX_QUEUED_GAMES = 128;
+
+    /**
+     * The {@link GameScheduler} playing the {@link Game}s started from all the {@link Lobby}s.
+     */
+    private final GameScheduler gameScheduler;
+
+    /**
+     * The minimum time in milliseconds between two subsequent {@link Lobby} list changes pushed by the {@link #lobbyListPublisher}.
+     */
+    private final int LOBBY_LIST_PUBLISH_PERIOD = 500;
+
+    /**
+     * The {@link LobbyListPublisher} pushing the changes of the {@link Lobby} list to the subscribed {@link Player}s.
+     */
+    private final LobbyListPublisher lobbyListPublisher;
+
+    /**
+     * This constructor creates a {@code LobbyManager} to handle the {@link Lobby} lifecycle.
      */
     public LobbyManager() {
-        this.lobbies = new ConcurrentLinkedQueue<>();
+        this(new GameScheduler(MAX_RUNNING_GAMES, MAX_QUEUED_GAMES));
+    }
+
+    /**
+     * This constructor creates a {@code LobbyManager} whose {@link Game}s are handed to the given {@link GameScheduler}.
+     *
+     * @param gameScheduler the {@link GameScheduler} playing the {@link Game}s.
+     */
+    LobbyManager(GameScheduler gameScheduler) {
+        this.lobbies = new ConcurrentHashMap<>();
+        this.lobbyByPlayer = new ConcurrentHashMap<>();
+        this.lobbyLocks = new StripedLock(this.LOBBY_LOCK_STRIPES);
+        this.gameScheduler = gameScheduler;
+        this.lobbyListPublisher = new LobbyListPublisher(this::getLobbiesStatus, this::getLobbyStatus,
+                this.LOBBY_LIST_PUBLISH_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the {@link GameScheduler} playing the {@link Game}s started from the {@link Lobby}s, which can be asked
+     * about the {@link Game}s currently running.
+     *
+     * @return the {@link #gameScheduler}.
+     */
+    public GameScheduler getGameScheduler() {
+        return this.gameScheduler;
+    }
+
+    /**
+     * Returns the {@link LobbyListPublisher} which {@link Player}s can subscribe to, in order to be pushed the changes
+     * of the {@link Lobby} list.
+     *
+     * @return the {@link #lobbyListPublisher}.
+     */
+    public LobbyListPublisher getLobbyListPublisher() {
+        return this.lobbyListPublisher;
     }
 
     /**
@@ -55,17 +134,17 @@ public class LobbyManager {
     }
 
     /**
-     * Returns the {@link Lobby} corresponding to the given {@code name}, if present into the {@link #lobbies} list.
+     * Returns the {@link Lobby} corresponding to the given {@code name}, if present into the {@link #lobbies}.
      *
      * @param name the name corresponding to the {@link Lobby} whose presence in {@link #lobbies} is to be tested.
      * @return the {@link Lobby} associated with the given {@code name}.
      * @throws LobbyNotFoundException if no {@link Lobby} can be found with the given {@code lobbyName}.
      */
-    private Lobby getLobbyByName(String name) throws LobbyNotFoundException {
-        for (Lobby lobby : this.lobbies)
-            if (lobby.getName().equals(name))
-                return lobby;
-        throw new LobbyNotFoundException("Lobby \"" + name + "\" not found");
+    Lobby getLobbyByName(String name) throws LobbyNotFoundException {
+        Lobby lobby = this.lobbies.get(name);
+        if (lobby == null)
+            throw new LobbyNotFoundException("Lobby \"" + name + "\" not found");
+        return lobby;
     }
 
 
@@ -76,21 +155,22 @@ public class LobbyManager {
      * @param lobbyName the new {@link Lobby} name.
      * @param password  the new {@link Lobby} password.
      * @throws LobbyAlreadyExistsException if another {@link Lobby} having the same {@code lobbyName} is already present
-     *                                     into {@link #lobbies} list.
+     *                                     into {@link #lobbies}.
      */
     public void newLobby(String lobbyName, String password) throws LobbyAlreadyExistsException {
         if (lobbyName == null)
             throw new NullPointerException("Lobby name is null");
 
-        try {
-            this.getLobbyByName(lobbyName);
-            throw new LobbyAlreadyExistsException("Lobby\"" + lobbyName + "\" already exists");
-        } catch (LobbyNotFoundException ignored) {
-        }
+        synchronized (this.lobbyLocks.of(lobbyName)) {
+            if (this.lobbies.containsKey(lobbyName))
+                throw new LobbyAlreadyExistsException("Lobby\"" + lobbyName + "\" already exists");
 
-        Lobby lobby = new Lobby(lobbyName, password);
-        lobby.setGameProperty(this.gameProperty);
-        this.lobbies.add(lobby);
+            Lobby lobby = new Lobby(lobbyName, password);
+            lobby.setGameProperty(this.gameProperty);
+            lobby.setGameScheduler(this.gameScheduler);
+            this.lobbies.put(lobbyName, lobby);
+        }
+        this.lobbyListPublisher.changed(lobbyName);
     }
 
     /**
@@ -109,7 +189,13 @@ public class LobbyManager {
         if (lobbyName == null)
             throw new NullPointerException("Lobby name is null");
 
-        this.getLobbyByName(lobbyName).add(player, password);
+        synchronized (this.lobbyLocks.of(lobbyName)) {
+            Lobby lobby = this.getLobbyByName(lobbyName);
+
+            lobby.add(player, password);
+            this.lobbyByPlayer.put(player.getName(), lobby);
+        }
+        this.lobbyListPublisher.changed(lobbyName);
     }
 
     /**
@@ -130,14 +216,17 @@ public class LobbyManager {
         if (player == null)
             throw new NullPointerException("Player is null");
 
-        Lobby lobby = this.getLobbyByName(lobbyName);
+        synchronized (this.lobbyLocks.of(lobbyName)) {
+            Lobby lobby = this.getLobbyByName(lobbyName);
 
-        lobby.remove(player);
-        if (lobby.getCurrentPlayers() == 0) {
-            synchronized (this.lobbies) {
-                this.lobbies.remove(lobby);
-            }
+            lobby.remove(player);
+            //once the Game is started the Player is kept into the Lobby, so that he can rejoin it
+            if (!lobby.contains(player))
+                this.lobbyByPlayer.remove(player.getName(), lobby);
+            if (lobby.getCurrentPlayers() == 0)
+                this.lobbies.remove(lobbyName, lobby);
         }
+        this.lobbyListPublisher.changed(lobbyName);
     }
 
     /**
@@ -148,10 +237,10 @@ public class LobbyManager {
      * @throws PlayerNotFoundException if the given {@link Player} can't be found into the chosen {@link Lobby}.
      */
     public String getLobbyNameByPlayer(Player player) throws PlayerNotFoundException {
-        for (Lobby lobby : this.lobbies)
-            if (lobby.contains(player))
-                return lobby.getName();
-        throw new PlayerNotFoundException("Player \"" + player.getName() + "\" not found in any Lobby");
+        Lobby lobby = this.lobbyByPlayer.get(player.getName());
+        if (lobby == null)
+            throw new PlayerNotFoundException("Player \"" + player.getName() + "\" not found in any Lobby");
+        return lobby.getName();
     }
 
     /**
@@ -163,11 +252,24 @@ public class LobbyManager {
      */
     public Map<String, String> getLobbiesStatus() {
         return this.lobbies
+                .values()
                 .stream()
                 .map(Lobby::getStatus)
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    /**
+     * Returns the status of the {@link Lobby} corresponding to the given {@code lobbyName}, as retrieved via
+     * {@link Lobby#getStatus()}.
+     *
+     * @param lobbyName the name of the {@link Lobby}.
+     * @return the status of the {@link Lobby}, or {@code null} if no {@link Lobby} can be found with the given {@code lobbyName}.
+     */
+    private String getLobbyStatus(String lobbyName) {
+        Lobby lobby = this.lobbies.get(lobbyName);
+        return lobby == null ? null : lobby.getStatus().getValue();
+    }
+
     /**
      * Notifies the {@link Player}s in the {@link Lobby} corresponding to the given {@code lobbyName} about the update in his opponents list.
      *
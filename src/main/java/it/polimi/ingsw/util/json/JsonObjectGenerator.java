@@ -25,12 +25,4 @@ public abstract class JsonObjectGenerator {
     public static DecoratedJsonObject getBoardBuilder() {
         return DecoratedJsonObject.getFromFile(JsonPathGenerator.getFile("boards.json"));
     }
-
-    /**
-     * Used when trying to load a {@link Game} from a save state.
-     * @return a {@link DecoratedJsonObject} containing all the information necessary to restore the game status.
-     */
-    public static DecoratedJsonObject getSavedGameBuilder() {
-        return DecoratedJsonObject.getFromFile(JsonPathGenerator.getFile("saved.json"));
-    }
 }
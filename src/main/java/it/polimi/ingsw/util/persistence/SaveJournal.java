@@ -0,0 +1,263 @@
+package it.polimi.ingsw.util.persistence;
+
+import it.polimi.ingsw.model.exceptions.SaveJournalException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * A {@code SaveJournal} persists a state made of independent binary entries, each identified by an integer key,
+ * to an append-only file. Each call to {@link SaveJournal#write(Map)} appends a record holding only the entries
+ * that changed since the previous call, so that the cost of saving is proportional to what changed, rather than
+ * to the size of the whole state.
+ * Every {@link SaveJournal#SNAPSHOT_INTERVAL} records the file is compacted into a single record holding the
+ * whole state, which is written to a temporary file first and then moved over the journal.
+ * <br>
+ * The file starts with {@link SaveJournal#MAGIC}, followed by any number of records, each laid out as:
+ * {@code int payloadLength, int crc32(payload), payload}, where the payload is
+ * {@code short entryCount} followed by {@code entryCount} times {@code int key, int length, byte[length] value}.
+ * A record that is truncated or whose checksum does not match, as left behind by a crash mid-write, ends the journal.
+ */
+public class SaveJournal {
+    /**
+     * The first four bytes of every journal file.
+     */
+    private static final int MAGIC = 0x41443233;
+
+    /**
+     * The number of records appended after a snapshot before the file is compacted again.
+     */
+    public static final int SNAPSHOT_INTERVAL = 16;
+
+    /**
+     * The file the journal is kept in.
+     */
+    private final Path path;
+
+    /**
+     * The entries as they were last successfully written to the file, by key.
+     */
+    private final Map<Integer, byte[]> written;
+
+    /**
+     * The {@link SaveStore} whose index is updated whenever the journal is written or discarded, if any.
+     */
+    private final SaveStore store;
+
+    /**
+     * The slot of {@link SaveJournal#store} the journal is bound to.
+     */
+    private final String slot;
+
+    /**
+     * The number of records appended since the last snapshot, or {@code -1} if nothing was written
+     * by this instance yet or the last write failed, in which case the next write is always a snapshot.
+     */
+    private int recordsSinceSnapshot;
+
+    /**
+     * This constructor creates a journal bound to a file, whose previous content is
+     * discarded by the first {@link SaveJournal#write(Map)}.
+     *
+     * @param file the file to keep the journal in.
+     */
+    public SaveJournal(File file) {
+        this(file, null, null);
+    }
+
+    /**
+     * This constructor creates a journal bound to a slot of a {@link SaveStore}.
+     *
+     * @param file  the file to keep the journal in.
+     * @param store the {@link SaveStore} to notify of writes.
+     * @param slot  the slot the file belongs to.
+     * @see SaveStore#open(String)
+     */
+    SaveJournal(File file, SaveStore store, String slot) {
+        this.path = file.toPath();
+        this.written = new HashMap<>();
+        this.recordsSinceSnapshot = -1;
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * Records the given entries. Entries whose value equals the one last written are skipped, and nothing at all
+     * is appended if no entry changed. Entries not included in the map are left as they are.
+     * If the file can't be written the entries are not considered written, and the next call writes a snapshot,
+     * since a record left half-written would keep any record appended after it from being replayed.
+     *
+     * @param entries the entries to record, by key.
+     * @throws SaveJournalException when the file can't be written.
+     */
+    public void write(Map<Integer, byte[]> entries) {
+        Map<Integer, byte[]> changed = new TreeMap<>();
+        entries.forEach((key, value) -> {
+            if (!Arrays.equals(written.get(key), value))
+                changed.put(key, value);
+        });
+        if (changed.isEmpty() && recordsSinceSnapshot >= 0)
+            return;
+
+        try {
+            if (recordsSinceSnapshot < 0 || recordsSinceSnapshot >= SNAPSHOT_INTERVAL) {
+                Map<Integer, byte[]> state = new TreeMap<>(written);
+                state.putAll(changed);
+                snapshot(state);
+                recordsSinceSnapshot = 0;
+            } else {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    writeFully(channel, encode(changed));
+                }
+                recordsSinceSnapshot++;
+            }
+        } catch (IOException e) {
+            recordsSinceSnapshot = -1;
+            throw new SaveJournalException("Could not write to journal " + path + ": " + e.getMessage());
+        }
+        written.putAll(changed);
+        if (store != null)
+            store.setResumable(slot, true);
+    }
+
+    /**
+     * Deletes the journal, so that it can no longer be replayed. A later {@link SaveJournal#write(Map)} starts a new one.
+     *
+     * @throws SaveJournalException when the file can't be deleted.
+     */
+    public void discard() {
+        written.clear();
+        recordsSinceSnapshot = -1;
+        if (store != null) {
+            store.delete(slot);
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new SaveJournalException("Could not delete journal " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the journal with a single record holding the whole state.
+     * The new journal is written to a temporary file that is then moved over the old one, so that a crash
+     * never leaves the journal half-written.
+     *
+     * @param state the entries making up the whole state, sorted by key.
+     * @throws IOException when the file can't be written.
+     */
+    private void snapshot(Map<Integer, byte[]> state) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC);
+            magic.flip();
+            writeFully(channel, magic);
+            writeFully(channel, encode(state));
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the whole content of a buffer to a channel.
+     *
+     * @param channel the channel.
+     * @param buffer  the buffer.
+     * @throws IOException when the channel can't be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /**
+     * Encodes a set of entries into a record, checksum included.
+     *
+     * @param entries the entries, by key.
+     * @return a buffer ready to be written.
+     */
+    private static ByteBuffer encode(Map<Integer, byte[]> entries) {
+        int payloadLength = Short.BYTES;
+        for (byte[] value : entries.values())
+            payloadLength += 2 * Integer.BYTES + value.length;
+
+        ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+        payload.putShort((short) entries.size());
+        entries.forEach((key, value) -> payload.putInt(key).putInt(value.length).put(value));
+
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+
+        ByteBuffer record = ByteBuffer.allocate(2 * Integer.BYTES + payloadLength);
+        record.putInt(payloadLength).putInt((int) crc.getValue()).put(payload.array());
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Reads a journal from a file, replaying all of its valid records in order so that each key is mapped
+     * to the last value recorded for it.
+     *
+     * @param file the file the journal is kept in.
+     * @return the entries by key, which is empty if the file does not exist.
+     * @throws SaveJournalException when the file exists but is not a journal, or can't be read.
+     */
+    public static Map<Integer, byte[]> replay(File file) {
+        Map<Integer, byte[]> state = new TreeMap<>();
+        if (!file.exists())
+            return state;
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) ;
+            buffer.flip();
+        } catch (IOException e) {
+            throw new SaveJournalException("Could not read journal " + file + ": " + e.getMessage());
+        }
+
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC)
+            throw new SaveJournalException(file + " is not a save journal.");
+
+        while (buffer.remaining() >= 2 * Integer.BYTES) {
+            int payloadLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (payloadLength < Short.BYTES || payloadLength > buffer.remaining())
+                break; // truncated record
+
+            byte[] payload = new byte[payloadLength];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum)
+                break; // torn record
+
+            ByteBuffer entries = ByteBuffer.wrap(payload);
+            int count = entries.getShort();
+            for (int i = 0; i < count; i++) {
+                int key = entries.getInt();
+                byte[] value = new byte[entries.getInt()];
+                entries.get(value);
+                state.put(key, value);
+            }
+        }
+        return state;
+    }
+}
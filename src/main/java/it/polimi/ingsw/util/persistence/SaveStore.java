@@ -0,0 +1,203 @@
+package it.polimi.ingsw.util.persistence;
+
+import it.polimi.ingsw.model.exceptions.SaveJournalException;
+import it.polimi.ingsw.util.json.JsonPathGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@code SaveStore} keeps one {@link SaveJournal} per save slot inside a directory, so that games saved under
+ * different slots never overwrite each other. It also keeps an in-memory index of the slots that currently hold
+ * a resumable save state, which is built once from the content of the directory and then kept up to date
+ * by the {@link SaveJournal}s it opens.
+ */
+public class SaveStore {
+    /**
+     * The name of the directory, inside the JSON folder, the default {@code SaveStore} is kept in.
+     */
+    private static final String DIRECTORY_NAME = "saves";
+
+    /**
+     * The extension of the journal files.
+     */
+    private static final String EXTENSION = ".journal";
+
+    /**
+     * The {@code SaveStore} unique instance.
+     */
+    private static SaveStore instance;
+
+    /**
+     * The directory the journals are kept in.
+     */
+    private final File directory;
+
+    /**
+     * The slots holding a resumable save state.
+     */
+    private final Set<String> resumable;
+
+    /**
+     * This is the only constructor. It creates the directory if needed, removes any temporary file
+     * left behind by an interrupted snapshot and indexes the journals found inside it.
+     *
+     * @param directory the directory to keep the journals in.
+     * @throws SaveJournalException when the directory can't be created.
+     */
+    public SaveStore(File directory) {
+        this.directory = directory;
+        this.resumable = ConcurrentHashMap.newKeySet();
+
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new SaveJournalException("Could not create save directory " + directory + ".");
+
+        File[] files = directory.listFiles();
+        if (files == null)
+            return;
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(EXTENSION + ".tmp"))
+                file.delete();
+            else if (name.endsWith(EXTENSION))
+                resumable.add(decode(name.substring(0, name.length() - EXTENSION.length())));
+        }
+    }
+
+    /**
+     * Returns the {@code SaveStore} unique instance, kept inside the JSON folder.
+     *
+     * @return the {@code SaveStore} unique instance.
+     */
+    public static synchronized SaveStore getInstance() {
+        if (instance == null)
+            instance = new SaveStore(JsonPathGenerator.getFile(DIRECTORY_NAME));
+        return instance;
+    }
+
+    /**
+     * Opens a new {@link SaveJournal} on a slot. Whatever the slot held is replaced by the first write to the journal.
+     *
+     * @param slot the name of the slot.
+     * @return the {@link SaveJournal}.
+     */
+    public SaveJournal open(String slot) {
+        return new SaveJournal(fileOf(slot), this, slot);
+    }
+
+    /**
+     * Reads the save state held by a slot.
+     *
+     * @param slot the name of the slot.
+     * @return the entries of the save state by key, which is empty if the slot holds no resumable save state.
+     * @see SaveJournal#replay(File)
+     */
+    public Map<Integer, byte[]> replay(String slot) {
+        if (!resumable.contains(slot))
+            return new TreeMap<>();
+        return SaveJournal.replay(fileOf(slot));
+    }
+
+    /**
+     * Tells whether a slot holds a resumable save state.
+     *
+     * @param slot the name of the slot.
+     * @return {@code true} if the slot holds a save state.
+     */
+    public boolean isResumable(String slot) {
+        return resumable.contains(slot);
+    }
+
+    /**
+     * Gets the slots holding a resumable save state.
+     *
+     * @return an unmodifiable view of the slots.
+     */
+    public Set<String> getResumableSlots() {
+        return Collections.unmodifiableSet(resumable);
+    }
+
+    /**
+     * Updates the index after a {@link SaveJournal} of this {@code SaveStore} was written or discarded.
+     *
+     * @param slot      the name of the slot.
+     * @param available whether the slot now holds a save state.
+     */
+    void setResumable(String slot, boolean available) {
+        if (available)
+            resumable.add(slot);
+        else
+            resumable.remove(slot);
+    }
+
+    /**
+     * Deletes the file of a slot.
+     *
+     * @param slot the name of the slot.
+     * @throws SaveJournalException when the file exists but can't be deleted.
+     */
+    void delete(String slot) {
+        try {
+            Files.deleteIfExists(fileOf(slot).toPath());
+        } catch (IOException e) {
+            throw new SaveJournalException("Could not delete save slot \"" + slot + "\": " + e.getMessage());
+        }
+        resumable.remove(slot);
+    }
+
+    /**
+     * Gets the journal file of a slot.
+     *
+     * @param slot the name of the slot.
+     * @return the file.
+     */
+    private File fileOf(String slot) {
+        return new File(directory, encode(slot) + EXTENSION);
+    }
+
+    /**
+     * Turns the name of a slot into a string that is safe to use as a file name on any file system. Letters, digits
+     * and dashes are kept as they are, any other byte of the UTF-8 encoding is replaced by an underscore and its
+     * two hexadecimal digits, so that different slot names always map to different file names.
+     *
+     * @param slot the name of the slot.
+     * @return the encoded name.
+     */
+    private static String encode(String slot) {
+        StringBuilder name = new StringBuilder();
+        for (byte b : slot.getBytes(StandardCharsets.UTF_8)) {
+            if ((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '-')
+                name.append((char) b);
+            else
+                name.append('_').append(String.format("%02x", b & 0xFF));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Reverses {@link SaveStore#encode(String)}.
+     *
+     * @param name the encoded name.
+     * @return the name of the slot.
+     */
+    private static String decode(String name) {
+        byte[] bytes = new byte[name.length()];
+        int length = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_' && i + 2 < name.length()) {
+                bytes[length++] = (byte) Integer.parseInt(name.substring(i + 1, i + 3), 16);
+                i += 2;
+            } else
+                bytes[length++] = (byte) c;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
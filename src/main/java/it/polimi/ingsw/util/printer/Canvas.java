@@ -0,0 +1,355 @@
+package it.polimi.ingsw.util.printer;
+
+import java.util.Arrays;
+
+/**
+ * A {@code Canvas} is a compact grid of coloured characters. Rather than holding one {@link ColoredString} per cell,
+ * it keeps two parallel arrays: the code point of each cell and the index of its colour into a small palette of
+ * {@code ANSI} escape sequences, so that drawing on it allocates nothing.
+ * {@link ColoredString}s are only created as a view over its cells, one per distinct character and colour, and are
+ * kept for as long as the {@code Canvas}, which can be {@link #clear() cleared} and drawn on again.
+ */
+public class Canvas {
+    /**
+     * The code point of an empty cell.
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * The maximum number of distinct colours a {@code Canvas} can hold, the first one being the absence of colour.
+     */
+    private static final int PALETTE_SIZE = Byte.MAX_VALUE + 1;
+
+    /**
+     * The initial size of the table of {@link ColoredString}s, which is doubled whenever it gets half full.
+     */
+    private static final int GLYPH_TABLE_SIZE = 256;
+
+    /**
+     * The width of the grid, in characters.
+     */
+    private final int width;
+
+    /**
+     * The height of the grid, in characters.
+     */
+    private final int height;
+
+    /**
+     * The code point of each cell, row by row, or {@link #EMPTY} for empty cells.
+     */
+    private final int[] codePoints;
+
+    /**
+     * The index into the {@link #palette} of the colour of each cell, row by row.
+     */
+    private final byte[] colors;
+
+    /**
+     * The {@code ANSI} escape sequences of the colours used so far, the first one being {@code null}.
+     */
+    private final String[] palette;
+
+    /**
+     * The number of colours in the {@link #palette}.
+     */
+    private int paletteLength;
+
+    /**
+     * The keys of the {@link ColoredString}s created so far, each packing the index of the colour into the
+     * {@link #palette} and the code point as {@code color << 21 | codePoint}, in an open-addressing table whose
+     * empty slots hold {@code 0}.
+     */
+    private int[] glyphKeys;
+
+    /**
+     * The {@link ColoredString}s created so far, at the same position as their key in {@link #glyphKeys}.
+     */
+    private ColoredString[] glyphs;
+
+    /**
+     * The number of {@link ColoredString}s in {@link #glyphs}.
+     */
+    private int glyphCount;
+
+    /**
+     * This is the only constructor. It creates an empty {@code Canvas}.
+     *
+     * @param height the {@link #height}.
+     * @param width  the {@link #width}.
+     */
+    public Canvas(int height, int width) {
+        this.width = width;
+        this.height = height;
+        this.codePoints = new int[width * height];
+        this.colors = new byte[width * height];
+        this.palette = new String[PALETTE_SIZE];
+        this.paletteLength = 1;
+        this.glyphKeys = new int[GLYPH_TABLE_SIZE];
+        this.glyphs = new ColoredString[GLYPH_TABLE_SIZE];
+    }
+
+    /**
+     * Creates a {@code Canvas} out of a grid of {@link ColoredString}s, each holding a single character.
+     * The {@code Canvas} is as wide as the longest row of the grid.
+     *
+     * @param grid the grid.
+     * @return the {@code Canvas}.
+     */
+    public static Canvas of(ColoredString[][] grid) {
+        int width = 0;
+        for (ColoredString[] row : grid)
+            width = Math.max(width, row == null ? 0 : row.length);
+
+        Canvas canvas = new Canvas(grid.length, width);
+        for (int i = 0; i < grid.length; i++) {
+            if (grid[i] == null)
+                continue;
+            for (int j = 0; j < grid[i].length; j++) {
+                ColoredString cell = grid[i][j];
+                if (cell != null && cell.content() != null && !cell.content().isEmpty())
+                    canvas.put(i, j, cell.content().codePointAt(0), cell.color());
+            }
+        }
+        return canvas;
+    }
+
+    /**
+     * Gets the {@link #width} attribute.
+     *
+     * @return the {@link #width}.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the {@link #height} attribute.
+     *
+     * @return the {@link #height}.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Sets the content of a single cell.
+     *
+     * @param i         the vertical position, from the top.
+     * @param j         the horizontal position, from the left.
+     * @param codePoint the character.
+     * @param color     the {@code ANSI} escape sequence of its colour, or {@code null}.
+     * @throws IndexOutOfBoundsException when the cell lies outside of the {@code Canvas}.
+     */
+    public void put(int i, int j, int codePoint, String color) {
+        int index = indexOf(i, j);
+        codePoints[index] = codePoint;
+        colors[index] = colorIndexOf(color);
+    }
+
+    /**
+     * Writes a string on consecutive cells of a row, one character per cell.
+     *
+     * @param i       the vertical position, from the top.
+     * @param j       the horizontal position, from the left, of the first character.
+     * @param content the string.
+     * @param color   the {@code ANSI} escape sequence of its colour, or {@code null}.
+     * @return the number of cells written.
+     * @throws IndexOutOfBoundsException when the string does not fit in the row.
+     */
+    public int write(int i, int j, String content, String color) {
+        byte colorIndex = colorIndexOf(color);
+        int written = 0;
+        for (int k = 0; k < content.length(); ) {
+            int codePoint = content.codePointAt(k);
+            int index = indexOf(i, j + written);
+            codePoints[index] = codePoint;
+            colors[index] = colorIndex;
+            k += Character.charCount(codePoint);
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Tells whether a cell holds no character.
+     *
+     * @param i the vertical position, from the top.
+     * @param j the horizontal position, from the left.
+     * @return {@code true} if and only if nothing was drawn on the cell.
+     */
+    public boolean isEmpty(int i, int j) {
+        return codePoints[indexOf(i, j)] == EMPTY;
+    }
+
+    /**
+     * Gets the character held by a cell.
+     *
+     * @param i the vertical position, from the top.
+     * @param j the horizontal position, from the left.
+     * @return the code point, or {@code 0} if the cell is empty.
+     */
+    public int codePointAt(int i, int j) {
+        return codePoints[indexOf(i, j)];
+    }
+
+    /**
+     * Gets the colour of a cell.
+     *
+     * @param i the vertical position, from the top.
+     * @param j the horizontal position, from the left.
+     * @return the {@code ANSI} escape sequence, or {@code null} if the cell has no colour.
+     */
+    public String colorAt(int i, int j) {
+        return palette[colors[indexOf(i, j)]];
+    }
+
+    /**
+     * Empties every cell, so that the {@code Canvas} can be drawn on again. The palette and the {@link ColoredString}s
+     * created so far are kept.
+     */
+    public void clear() {
+        Arrays.fill(codePoints, EMPTY);
+        Arrays.fill(colors, (byte) 0);
+    }
+
+    /**
+     * Replaces every cell with the one at the same position of another {@code Canvas} of the same size, typically a
+     * layer holding what does not change from one frame to the next. The colours of {@code layer} are added to the
+     * palette, which is replaced altogether, along with the {@link ColoredString}s created so far, only if the two
+     * palettes disagree.
+     *
+     * @param layer the {@code Canvas} to copy.
+     * @throws IllegalArgumentException when {@code layer} is not of the same size.
+     */
+    public void copyFrom(Canvas layer) {
+        if (layer.width != width || layer.height != height)
+            throw new IllegalArgumentException("Cannot copy a " + layer.height + "x" + layer.width + " canvas onto a " + height + "x" + width + " one");
+
+        boolean samePalette = layer.paletteLength <= paletteLength;
+        for (int k = 1; k < layer.paletteLength && samePalette; k++)
+            samePalette = layer.palette[k].equals(palette[k]);
+        if (!samePalette) {
+            System.arraycopy(layer.palette, 0, palette, 0, layer.paletteLength);
+            if (paletteLength > layer.paletteLength)
+                Arrays.fill(palette, layer.paletteLength, paletteLength, null);
+            paletteLength = layer.paletteLength;
+            Arrays.fill(glyphKeys, 0);
+            Arrays.fill(glyphs, null);
+            glyphCount = 0;
+        }
+
+        System.arraycopy(layer.codePoints, 0, codePoints, 0, codePoints.length);
+        System.arraycopy(layer.colors, 0, colors, 0, colors.length);
+    }
+
+    /**
+     * Gets a cell as a {@link ColoredString}. Cells holding the same character with the same colour share the same
+     * {@link ColoredString}.
+     *
+     * @param i the vertical position, from the top.
+     * @param j the horizontal position, from the left.
+     * @return the {@link ColoredString}, or {@code null} if the cell is empty.
+     */
+    public ColoredString get(int i, int j) {
+        int index = indexOf(i, j);
+        return codePoints[index] == EMPTY ? null : glyphOf(codePoints[index], colors[index]);
+    }
+
+    /**
+     * Converts the {@code Canvas} into a grid of {@link ColoredString}s, as sent over the network. Cells holding the
+     * same character with the same colour share the same {@link ColoredString}, and empty cells are {@code null}.
+     *
+     * @return the grid.
+     */
+    public ColoredString[][] toMatrix() {
+        ColoredString[][] matrix = new ColoredString[height][width];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                int index = i * width + j;
+                if (codePoints[index] != EMPTY)
+                    matrix[i][j] = glyphOf(codePoints[index], colors[index]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Finds the {@link ColoredString} holding a character with a colour, creating it if needed.
+     *
+     * @param codePoint the character.
+     * @param color     the index of the colour into the {@link #palette}.
+     * @return the {@link ColoredString}.
+     */
+    private ColoredString glyphOf(int codePoint, byte color) {
+        int key = color << 21 | codePoint;
+        int mask = glyphKeys.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 16 & mask;
+        while (glyphKeys[slot] != 0) {
+            if (glyphKeys[slot] == key)
+                return glyphs[slot];
+            slot = (slot + 1) & mask;
+        }
+
+        ColoredString glyph = new ColoredString(new String(Character.toChars(codePoint)), palette[color]);
+        glyphKeys[slot] = key;
+        glyphs[slot] = glyph;
+        if (++glyphCount * 2 > glyphKeys.length)
+            growGlyphs();
+        return glyph;
+    }
+
+    /**
+     * Doubles the size of the table of {@link ColoredString}s.
+     */
+    private void growGlyphs() {
+        int[] oldKeys = glyphKeys;
+        ColoredString[] oldGlyphs = glyphs;
+        glyphKeys = new int[oldKeys.length * 2];
+        glyphs = new ColoredString[oldKeys.length * 2];
+
+        int mask = glyphKeys.length - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldKeys[k] == 0)
+                continue;
+            int slot = (oldKeys[k] * 0x9E3779B9) >>> 16 & mask;
+            while (glyphKeys[slot] != 0)
+                slot = (slot + 1) & mask;
+            glyphKeys[slot] = oldKeys[k];
+            glyphs[slot] = oldGlyphs[k];
+        }
+    }
+
+    /**
+     * Computes the position of a cell inside {@link #codePoints} and {@link #colors}.
+     *
+     * @param i the vertical position, from the top.
+     * @param j the horizontal position, from the left.
+     * @return the position.
+     * @throws IndexOutOfBoundsException when the cell lies outside of the {@code Canvas}.
+     */
+    private int indexOf(int i, int j) {
+        if (i < 0 || i >= height || j < 0 || j >= width)
+            throw new IndexOutOfBoundsException("Cell (" + i + ", " + j + ") outside of a " + height + "x" + width + " canvas");
+        return i * width + j;
+    }
+
+    /**
+     * Finds the index of a colour into the {@link #palette}, adding it if it's not there yet.
+     *
+     * @param color the {@code ANSI} escape sequence, or {@code null}.
+     * @return the index.
+     * @throws IllegalStateException when the {@link #palette} is full.
+     */
+    private byte colorIndexOf(String color) {
+        if (color == null)
+            return 0;
+        for (int k = 1; k < paletteLength; k++)
+            if (palette[k] == color || palette[k].equals(color))
+                return (byte) k;
+        if (paletteLength == PALETTE_SIZE)
+            throw new IllegalStateException("Too many colours in canvas: " + Arrays.toString(palette));
+        palette[paletteLength] = color;
+        return (byte) paletteLength++;
+    }
+}
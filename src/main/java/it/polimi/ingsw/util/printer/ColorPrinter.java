@@ -31,47 +31,42 @@ public abstract class ColorPrinter {
      * @param grid the grid.
      */
     public static void print(ColoredString[][] grid) {
-        printAccumulatedLines(accumulateLines(grid));
+        print(Canvas.of(grid));
     }
 
     /**
-     * This method is used to convert 2-dimensional grid of {@link ColoredString}s into a list of {@code String}s.
-     * This is to improve performance and minimize system calls.
-     * @param grid the grid.
+     * Prints a {@link Canvas}.
+     * @param canvas the canvas.
+     */
+    public static void print(Canvas canvas) {
+        printAccumulatedLines(accumulateLines(canvas));
+    }
+
+    /**
+     * This method is used to convert a {@link Canvas} into a list of {@code String}s, emitting a colour escape only
+     * where the colour changes along a row. This is to improve performance and minimize system calls.
+     * @param canvas the canvas.
      * @return the list of {@code String}s.
      */
-    private static List<String> accumulateLines(ColoredString[][] grid) {
-        List<String> lines = new ArrayList<>();
+    private static List<String> accumulateLines(Canvas canvas) {
+        List<String> lines = new ArrayList<>(canvas.getHeight());
+        StringBuilder line = new StringBuilder();
 
-        for (ColoredString[] row : grid) {
-            StringBuilder line = new StringBuilder();
-            StringBuilder accumulator = new StringBuilder();
+        for (int i = 0; i < canvas.getHeight(); i++) {
+            line.setLength(0);
             String lastColor = null;
-            boolean firstColor = true;
-
-            for (ColoredString cs : row) {
-                if (cs == null) {
-                    accumulator.append(" ");
-                } else if (cs.color() == null || cs.color().equals(lastColor)) {
-                    accumulator.append(cs.content());
-                } else {
-                    if (firstColor) {
-                        accumulator.append(cs.color()).append(cs.content());
-                        lastColor = cs.color();
-                        firstColor = false;
-                    } else {
-                        if (accumulator.length() > 0) {
-                            line.append(accumulator.toString());
-                        }
-                        accumulator = new StringBuilder();
-                        accumulator.append(cs.color()).append(cs.content());
-                        lastColor = cs.color();
-                    }
-                }
-            }
 
-            if (accumulator.length() > 0) {
-                line.append(accumulator.toString());
+            for (int j = 0; j < canvas.getWidth(); j++) {
+                if (canvas.isEmpty(i, j)) {
+                    line.append(' ');
+                    continue;
+                }
+                String color = canvas.colorAt(i, j);
+                if (color != null && !color.equals(lastColor)) {
+                    line.append(color);
+                    lastColor = color;
+                }
+                line.appendCodePoint(canvas.codePointAt(i, j));
             }
 
             lines.add(line.toString());
@@ -1,6 +1,7 @@
 package it.polimi.ingsw.util.printer;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * A {@code ColoredString} is like a {@code String} but with a colour associated with it.
@@ -41,4 +42,31 @@ public class ColoredString implements Serializable {
     public String color() {
         return ansiColor;
     }
+
+    /**
+     * Determines whether two {@code ColoredString}s are equal, which is when both their {@link #content} and their
+     * {@link #ansiColor} are.
+     *
+     * @param object the object to compare with.
+     * @return {@code true} if and only if {@code object} is a {@code ColoredString} printed the same way as this one.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (!(object instanceof ColoredString))
+            return false;
+        ColoredString other = (ColoredString) object;
+        return Objects.equals(content, other.content) && Objects.equals(ansiColor, other.ansiColor);
+    }
+
+    /**
+     * Computes the hash code of the {@code ColoredString}, consistently with {@link #equals(Object)}.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, ansiColor);
+    }
 }
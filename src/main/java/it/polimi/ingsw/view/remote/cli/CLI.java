@@ -8,13 +8,11 @@ import it.polimi.ingsw.network.common.message.NetworkMessage;
 import it.polimi.ingsw.util.Dispatcher;
 import it.polimi.ingsw.util.printer.Color;
 import it.polimi.ingsw.util.printer.ColorPrinter;
+import it.polimi.ingsw.util.printer.ColoredString;
 import it.polimi.ingsw.view.remote.GraphicalInterface;
 
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -39,19 +37,15 @@ public class CLI implements GraphicalInterface {
     private final Scanner in = new Scanner(System.in);
 
     /**
-     * The {@link ScheduledExecutorService} responsible for all the periodical interrogations to the {@code Server}.
+     * The {@link ScheduledExecutorService} responsible for receiving the {@code Lobby} list changes pushed by the
+     * {@code Server} and for all the periodical prints.
      */
     private ScheduledExecutorService executor;
 
     /**
-     * The {@link ScheduledFuture} used to control the {@code executor} tasks.
+     * The {@link Future} used to control the {@code executor} tasks.
      */
-    private ScheduledFuture<?> futureUpdate;
-
-    /**
-     * The amount in seconds between successive {@link #executor} executions.
-     */
-    private final int UPDATE_REQUEST_PERIOD = 5;
+    private Future<?> futureUpdate;
 
     /**
      * The {@link CommunicationHandler} responsible for the interaction with the remote {@code Server}.
@@ -64,6 +58,11 @@ public class CLI implements GraphicalInterface {
      */
     private boolean keepAlive = true;
 
+    /**
+     * The canvas currently displayed, which incoming {@link Assets} are applied to.
+     */
+    private ColoredString[][] canvas;
+
     /**
      * Sets the {@link #communicationHandler} interface for this console, allowing the {@code Client} to communicate with
      * the remote {@code Server}.
@@ -154,7 +153,8 @@ public class CLI implements GraphicalInterface {
                 }
                 break;
             case ASSETS:
-                ColorPrinter.print(((Assets) deliverable).unpack());
+                canvas = ((Assets) deliverable).patch(canvas);
+                ColorPrinter.print(canvas);
                 ColorPrinter.println(Color.RESET);
             default:
                 break;
@@ -211,38 +211,59 @@ public class CLI implements GraphicalInterface {
     }
 
     /**
-     * Updates the local {@code Lobby} list: {@link #lobbies} with the most recent one, provided by the remote {@code Server}
-     * and prints it into the standard output.
+     * Subscribes to the {@code Lobby} list changes pushed by the remote {@code Server} and, at each of them, updates the
+     * local {@code Lobby} list: {@link #lobbies} and prints it into the standard output.
      */
     private void startLobbyUpdateAndPrint() {
-        //ColorPrinter.err("connection to the server is lost, cause: " + e.getMessage());
-        Runnable updateTask = () -> {
+        try {
+            communicationHandler.subscribeLobbyUpdates();
+        } catch (ConnectionException e) {
+            ColorPrinter.err("connection to the server is lost, cause: " + e.getMessage());
+            System.exit(-1);
+        }
 
-            Map<String, String> lobbyInfo;
+        Runnable updateTask = () -> {
+            //the Lobbies are kept in order of appearance, so that their numbers don't change while the user chooses
+            Map<String, String> lobbyInfo = new LinkedHashMap<>();
+            Map<String, String> changes;
 
             try {
-                lobbyInfo = communicationHandler.requestLobbyUpdate();
+                while ((changes = communicationHandler.nextLobbyUpdate()) != null) {
+                    for (Map.Entry<String, String> change : changes.entrySet())
+                        if (change.getValue() == null)
+                            lobbyInfo.remove(change.getKey());
+                        else
+                            lobbyInfo.put(change.getKey(), change.getValue());
+
+                    synchronized (lobbies) {
+                        lobbies.clear();
+                        lobbies.addAll(lobbyInfo.keySet());
+                    }
+                    printAll(lobbyInfo);
+                }
             } catch (ConnectionException e) {
                 ColorPrinter.err("connection to the server is lost, cause: " + e.getMessage());
                 System.exit(-1);
-                return;
             }
-            synchronized (lobbies) {
-                lobbies.clear();
-                lobbies.addAll(lobbyInfo.keySet());
-            }
-            printAll(lobbyInfo);
         };
         executor = Executors.newScheduledThreadPool(2);
-        futureUpdate = executor.scheduleAtFixedRate(updateTask, 0, UPDATE_REQUEST_PERIOD, TimeUnit.SECONDS);
+        futureUpdate = executor.submit(updateTask);
     }
 
     /**
-     * Stops the {@code Lobby} list update and print process.
+     * Stops the {@code Lobby} list update and print process, waiting for the {@code Server} to acknowledge it so that
+     * no more changes are received afterwards.
      */
     private void stopLobbyUpdateAndPrint() {
-        if (!futureUpdate.isDone())
-            futureUpdate.cancel(true);
+        try {
+            communicationHandler.unsubscribeLobbyUpdates();
+            futureUpdate.get();
+        } catch (ConnectionException | ExecutionException e) {
+            ColorPrinter.err("connection to the server is lost, cause: " + e.getMessage());
+            System.exit(-1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
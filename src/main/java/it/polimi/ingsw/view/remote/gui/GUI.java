@@ -25,12 +25,14 @@ import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class GUI extends Application implements GraphicalInterface {
@@ -59,9 +61,8 @@ public class GUI extends Application implements GraphicalInterface {
 
     private static ObservableList<String> lobbies = FXCollections.observableList(FXCollections.observableArrayList());
 
-    static ScheduledFuture<?> futureUpdate;
-    static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
-    private static final int UPDATE_REQUEST_PERIOD = 5;
+    private static Future<?> futureUpdate;
+    private static ExecutorService executor;
 
     public GUI() {
     }
@@ -94,12 +95,17 @@ public class GUI extends Application implements GraphicalInterface {
 
     private void createLobby(String lobbyName, String password) {
         try {
-            GUI.communicationHandler.initLobby(lobbyName, password);
+            stopLobbyUpdate();
+            try {
+                GUI.communicationHandler.initLobby(lobbyName, password);
+            } catch (LobbyAlreadyExistsException e) {
+                startLobbyUpdate();
+                errorLabelRoutine(e.getMessage());
+                return;
+            }
             createGameLayout();
         } catch (ConnectionException e) {
             fatalErrorRoutine(e.getMessage());
-        } catch (LobbyAlreadyExistsException e) {
-            errorLabelRoutine(e.getMessage());
         }
     }
 
@@ -117,31 +123,51 @@ public class GUI extends Application implements GraphicalInterface {
             createLobby(lobbyName, lobbyPassword);
     }
 
-    //update the Lobby list and printOpponents them
-    private void startLobbyUpdate() {
-        Runnable updateTask = () -> {
+    //subscribes to the Lobby list changes pushed by the Server and applies them to the Lobby list
+    static void startLobbyUpdate() throws ConnectionException {
+        communicationHandler.subscribeLobbyUpdates();
 
-            Map<String, String> lobbyInfo;
+        executor = Executors.newSingleThreadExecutor();
+        futureUpdate = executor.submit(() -> {
+            Map<String, String> lobbyInfo = new LinkedHashMap<>();
+            Map<String, String> changes;
 
             try {
-                lobbyInfo = communicationHandler.requestLobbyUpdate();
+                while ((changes = communicationHandler.nextLobbyUpdate()) != null) {
+                    for (Map.Entry<String, String> change : changes.entrySet())
+                        if (change.getValue() == null)
+                            lobbyInfo.remove(change.getKey());
+                        else
+                            lobbyInfo.put(change.getKey(), change.getValue());
+
+                    List<String> items = lobbyInfo.entrySet().stream().map(entry -> entry.getValue() + " " + entry.getKey()).collect(Collectors.toList());
+                    Platform.runLater(() -> lobbies.setAll(items));
+                }
             } catch (ConnectionException e) {
-                fatalErrorRoutine(e.getMessage());
-                return;
+                Platform.runLater(() -> connectionLostRoutine(e.getMessage()));
             }
+            return null;
+        });
+    }
 
-            Platform.runLater(() -> {
-                lobbies.clear();
-                lobbies.addAll(lobbyInfo.entrySet().stream().map(entry -> entry.getValue() + " " + entry.getKey()).collect(Collectors.toList()));
-            });
-        };
-        futureUpdate = executor.scheduleAtFixedRate(updateTask, 0, UPDATE_REQUEST_PERIOD, TimeUnit.SECONDS);
+    //reports a connection lost while listening to the Lobby list changes, as soon as it happens, and terminates
+    private static void connectionLostRoutine(String errorMessage) {
+        Stage owner = (Stage) baseLayout.getScene().getWindow();
+        Palette.errorAlert(Palette.ERROR_TITLE_TEXT, null, errorMessage, owner).showAndWait();
+        owner.close();
+        System.exit(-1);
     }
 
-    //stops the update and printOpponents process
-    private void stopLobbyUpdate() {
-        if (!futureUpdate.isDone()) {
-            futureUpdate.cancel(true);
+    //stops the update process, waiting for the Server to acknowledge it
+    static void stopLobbyUpdate() throws ConnectionException {
+        try {
+            communicationHandler.unsubscribeLobbyUpdates();
+            futureUpdate.get();
+        } catch (ExecutionException e) {
+            throw new ConnectionException(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
             executor.shutdown();
         }
     }
@@ -362,8 +388,8 @@ public class GUI extends Application implements GraphicalInterface {
 
         if (result.isPresent() && result.get().getButtonData().equals(ButtonType.OK.getButtonData())) {
             if (currentLayout.equals(Layout.LOBBY_SELECTION_LAYOUT)) {
-                stopLobbyUpdate();
                 try {
+                    stopLobbyUpdate();
                     communicationHandler.unregister();
                 } catch (ConnectionException | ClientNotRegisteredException e) {
                     fatalErrorRoutine(e.getMessage());
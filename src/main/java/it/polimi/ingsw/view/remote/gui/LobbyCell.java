@@ -114,8 +114,8 @@ public class LobbyCell extends ListCell<String> {
 
     private void handleLobbyLogin(String lobbyName, String lobbyPassword) {
         try {
+            GUI.stopLobbyUpdate();
             GUI.communicationHandler.login(lobbyName, lobbyPassword);
-            stopLobbyUpdate();
             createGameLayout();
 
             if (passwordChoiceStage != null)
@@ -123,17 +123,20 @@ public class LobbyCell extends ListCell<String> {
         } catch (ConnectionException | PlayerAlreadyAddedException e) {
             fatalErrorRoutine(e.getMessage(), true);
         } catch (LobbyFullException | GameAlreadyStartedException | LobbyNotFoundException e) {
+            restartLobbyUpdate();
             fatalErrorRoutine(e.getMessage(), false);
         } catch (InvalidPasswordException e) {
+            restartLobbyUpdate();
             errorRoutine(e.getMessage());
         }
     }
 
-    //stops the update and printOpponents process
-    private void stopLobbyUpdate() {
-        if (!GUI.futureUpdate.isDone()) {
-            GUI.futureUpdate.cancel(true);
-            GUI.executor.shutdown();
+    //restarts the Lobby list update after a failed login
+    private void restartLobbyUpdate() {
+        try {
+            GUI.startLobbyUpdate();
+        } catch (ConnectionException e) {
+            fatalErrorRoutine(e.getMessage(), true);
         }
     }
 
@@ -2,6 +2,7 @@ package it.polimi.ingsw.view.virtual;
 
 import it.polimi.ingsw.controller.Controller;
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
 import it.polimi.ingsw.model.ammo.AmmoCubes;
 import it.polimi.ingsw.model.board.Room;
 import it.polimi.ingsw.model.cell.AmmoCell;
@@ -26,14 +27,15 @@ import it.polimi.ingsw.model.weaponry.targets.TargetRoom;
 import it.polimi.ingsw.network.common.deliverable.*;
 import it.polimi.ingsw.network.common.exceptions.ConnectionException;
 import it.polimi.ingsw.network.server.VirtualClient;
+import it.polimi.ingsw.util.printer.ColoredString;
 import it.polimi.ingsw.view.virtual.cli.CliCommon;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import static it.polimi.ingsw.model.Game.*;
-
 /**
  * This class is responsible of bridging the network and model packages converting game-related request into {@link Deliverable}s.
  * On this end, {@link Deliverable}s are sent to (and received from) the {@link VirtualClient}, whose {@link VirtualClient#deliver(Deliverable)} method is invoked.
@@ -49,6 +51,17 @@ public class VirtualView {
      */
     private Controller controller;
 
+    /**
+     * The last canvas drawn for each {@link Player}, which stays valid for as long as the {@link Game#getRevision()}
+     * is {@link VirtualView#framesRevision}.
+     */
+    private final Map<Player, ColoredString[][]> frames;
+
+    /**
+     * The {@link Game#getRevision()} the {@link VirtualView#frames} were drawn at.
+     */
+    private long framesRevision;
+
     /**
      * This is the only constructor.
      *
@@ -57,6 +70,8 @@ public class VirtualView {
     public VirtualView(Game game) {
         this.game = game;
         this.controller = new Controller(this);
+        this.frames = new HashMap<>();
+        this.framesRevision = -1;
     }
 
     /**
@@ -78,11 +93,12 @@ public class VirtualView {
      *                              and the current turn needs to be ended prematurely.
      */
     private int send(Player recipient, Deliverable deliverable) throws AbortedTurnException {
-        if (offlineMode) {
+        GameMode mode = game.getMode();
+        if (mode.isOffline()) {
             String stampedMessage = "\n<" + recipient.getName() + "> " + deliverable.getMessage();
             String stampedResponse = "\nauto >>> ";
-            boolean enableDispatch = !silent;
-            boolean enableQuery = enableDispatch && !autoPilot;
+            boolean enableDispatch = !mode.isSilent();
+            boolean enableQuery = enableDispatch && !mode.isAutoPilot();
             switch (deliverable.getType()) {
                 case INFO:
                     if (enableDispatch)
@@ -97,7 +113,7 @@ public class VirtualView {
                             throw new AbortedTurnException("Timed out.");
                         }
                     }
-                    int response = (int) Math.round(Math.random()); // either 0 or 1
+                    int response = game.getRandom().nextInt(2); // either 0 or 1
                     if (enableDispatch) {
                         Dispatcher.sendMessage(stampedMessage);
                         Dispatcher.sendMessage(stampedResponse + (response == 1 ? "y" : "n"));
@@ -114,7 +130,7 @@ public class VirtualView {
                             throw new AbortedTurnException("Timed out.");
                         }
                     }
-                    response = (int) (Math.random() * keys.size()); // a random index
+                    response = keys.isEmpty() ? 0 : game.getRandom().nextInt(keys.size()); // a random index
                     if (enableDispatch) {
                         Dispatcher.sendMessage(stampedMessage);
                         Dispatcher.sendMessage(stampedResponse + response);
@@ -156,8 +172,8 @@ public class VirtualView {
         if (!(deliverable.getType().equals(DeliverableType.INFO) || deliverable.getType().equals(DeliverableType.ASSETS)))
             throw new DeliverableException("Wrong call to send in VirtualView.");
 
-        if (offlineMode) {
-            if (!silent)
+        if (game.getMode().isOffline()) {
+            if (!game.getMode().isSilent())
                 Dispatcher.sendMessage("\n<#ALL> " + deliverable.getMessage());
         } else {
             game.getParticipants().forEach(recipient -> {
@@ -169,9 +185,32 @@ public class VirtualView {
         }
     }
 
+    /**
+     * Gets the canvas depicting the {@link Game} from the point of view of a {@link Player}, drawing it only if the
+     * {@link Game} changed since it was last drawn.
+     *
+     * @param player the {@link Player}.
+     * @return the canvas, which must not be modified as it may be returned again.
+     */
+    ColoredString[][] frameOf(Player player) {
+        synchronized (frames) {
+            long revision = game.getRevision();
+            if (revision != framesRevision) {
+                frames.clear();
+                framesRevision = revision;
+            }
+            return frames.computeIfAbsent(player, CliCommon::getCanvas);
+        }
+    }
+
     private void updateView(Player player) throws AbortedTurnException {
+        if (game.getMode().isOffline()) { // offline views only ever print the game itself, the canvas would be discarded
+            if (!game.getMode().isSilent())
+                Dispatcher.sendMessage(game.toString());
+            return;
+        }
         try {
-            send(player, new Assets(DeliverableEvent.UPDATE_VIEW, CliCommon.getCanvas(player)));
+            send(player, new Assets(DeliverableEvent.UPDATE_VIEW, frameOf(player)));
         } catch (AbortedTurnException e) {
             throw new AbortedTurnException("");
         }
@@ -1,5 +1,6 @@
 package it.polimi.ingsw.view.virtual.cli;
 
+import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.ammo.AmmoTile;
 import it.polimi.ingsw.model.board.Board;
 import it.polimi.ingsw.model.board.Room;
@@ -8,17 +9,15 @@ import it.polimi.ingsw.model.cell.Cell;
 import it.polimi.ingsw.model.cell.SpawnCell;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.weaponry.Weapon;
+import it.polimi.ingsw.util.printer.Canvas;
 import it.polimi.ingsw.util.printer.Color;
 import it.polimi.ingsw.util.printer.ColoredString;
 import it.polimi.ingsw.view.remote.cli.CLI;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import static it.polimi.ingsw.util.UTF.*;
-import static it.polimi.ingsw.view.virtual.cli.CliCommon.canvas;
 
 /**
  * This class is responsible of depicting the {@link Board} on the {@link CLI} interface.
@@ -55,21 +54,42 @@ abstract class CliBoard {
     private static final int doorHeight = 3;
 
     /**
-     * Adds the board's area to the {@link CliCommon}'s grid.
+     * The writing of a {@link Player}'s token, followed by the {@link Player}'s name.
+     */
+    private static final String playerToken = block + " ";
+
+    /**
+     * Adds what changes during the {@link Game} on the board's area to the {@link CliCommon}'s grid: the content of
+     * each {@link Cell} and the {@link Player}s standing on it.
+     *
+     * @param canvas the {@link Canvas} to draw on.
+     * @param board  the {@link Board} to depict.
+     * @see #buildLayer(Canvas, Board)
+     */
+    static void build(Canvas canvas, Board board) {
+        for (Cell cell : board.getCells())
+            writeCell(canvas, cell);
+    }
+
+    /**
+     * Adds what never changes on the board's area to a layer of the {@link CliCommon}'s grid: the walls and the name
+     * of each {@link Cell}, which only depend on the {@link Board#getType()}.
      *
-     * @param board the {@link Board} to depict.
+     * @param canvas the {@link Canvas} to draw on.
+     * @param board  the {@link Board} to depict.
      */
-    static void build(Board board) {
+    static void buildLayer(Canvas canvas, Board board) {
         for (Cell cell : board.getCells())
-            writeCell(cell);
+            writeCellLayer(canvas, cell);
     }
 
     /**
-     * Writes a single {@link Cell} on the grid.
+     * Writes the walls and the name of a single {@link Cell} on the grid.
      *
-     * @param cell the cell.
+     * @param canvas the {@link Canvas} to draw on.
+     * @param cell   the cell.
      */
-    private static void writeCell(Cell cell) {
+    private static void writeCellLayer(Canvas canvas, Cell cell) {
         int cellX = cell.getXCoord();
         int cellY = cell.getYCoord();
 
@@ -82,33 +102,40 @@ abstract class CliBoard {
                 getWall(cell, northNeighbour), getWall(cell, westNeighbour));
 
         for (int i = 1; i <= 4; i++)
-            buildWallCounterclockwise(cellX, cellY, i, walls.get(i - 1), cell.getRoom().getColor());
+            buildWallCounterclockwise(canvas, cellX, cellY, i, walls.get(i - 1), cell.getRoom().getColor());
+
+        canvas.write(top + cellHeight * cellY + 1, 2 + cellWidth * cellX, "Cell " + cell.getId(), null);
+    }
 
-        List<ColoredString> cellName = Collections.singletonList(new ColoredString("Cell " + cell.getId(), null));
-        CliCommon.write(top + cellHeight * cellY + 1, 2 + cellWidth * cellX, cellName);
+    /**
+     * Writes the content of a single {@link Cell} and the {@link Player}s standing on it on the grid.
+     *
+     * @param canvas the {@link Canvas} to draw on.
+     * @param cell   the cell.
+     */
+    private static void writeCell(Canvas canvas, Cell cell) {
+        int cellX = cell.getXCoord();
+        int cellY = cell.getYCoord();
 
         if (cell.isSpawnPoint()) {
             List<Weapon> weapons = ((SpawnCell) cell).getWeaponShop();
             int row = 2;
             for (Weapon weapon : weapons) {
-                CliCommon.write(top + cellHeight * cellY + row, 2 + cellWidth * cellX, weapon.toColoredStrings());
+                CliCommon.write(canvas, top + cellHeight * cellY + row, 2 + cellWidth * cellX, weapon.toColoredStrings());
                 row++;
             }
         } else {
             AmmoTile ammoTile = ((AmmoCell) cell).getAmmoTile();
             if (ammoTile != null) {
                 List<ColoredString> ammo = ammoTile.toColoredStrings();
-                CliCommon.write(top + cellHeight * cellY + 2, 2 + cellWidth * cellX, ammo);
+                CliCommon.write(canvas, top + cellHeight * cellY + 2, 2 + cellWidth * cellX, ammo);
             }
         }
 
         int row = cellHeight - 2;
         for (Player p : cell.getPlayers()) {
-            String playerAnsiColor = CliCommon.toAnsiColor(p);
-            List<ColoredString> playerToken = new ArrayList<>();
-            playerToken.add(new ColoredString(block + " ", playerAnsiColor));
-            playerToken.add(new ColoredString(CliCommon.nameOf(p), Color.RESET));
-            CliCommon.write(top + cellHeight * cellY + row, 2 + cellWidth * cellX, playerToken);
+            int caret = canvas.write(top + cellHeight * cellY + row, 2 + cellWidth * cellX, playerToken, CliCommon.toAnsiColor(p));
+            canvas.write(top + cellHeight * cellY + row, 2 + cellWidth * cellX + caret, CliCommon.nameOf(p), Color.RESET);
             row--;
         }
     }
@@ -156,6 +183,7 @@ abstract class CliBoard {
     /**
      * Builds the border of a {@link Cell}, minding the surroundings.
      *
+     * @param canvas   the {@link Canvas} to draw on.
      * @param cellX    the {@link Cell}'s horizontal position.
      * @param cellY    the {@link Cell}'s vertical position.
      * @param cornerId a number (1~4) identifying one of the corners. They are numbered in ascending order
@@ -163,17 +191,17 @@ abstract class CliBoard {
      * @param type     the wall found next to the specified corner.
      * @param color    the {@code ANSI} escape for the {@link Cell}'s colour.
      */
-    private static void buildWallCounterclockwise(int cellX, int cellY, int cornerId, WallType type, String color) {
+    private static void buildWallCounterclockwise(Canvas canvas, int cellX, int cellY, int cornerId, WallType type, String color) {
         int i = top + cellY * cellHeight + (cornerId == 1 || cornerId == 2 ? cellHeight - 1 : 0);
         int j = left + cellX * cellWidth + (cornerId == 2 || cornerId == 3 ? cellWidth - 1 : 0);
 
-        String startingCorner = Arrays.asList(corner1, corner2, corner3, corner4).get(cornerId - 1);
+        String startingCorner = CliCommon.corners[cornerId - 1];
         String full = cornerId % 2 == 0 ? vertical : horizontal;
-        String gapOpen = Arrays.asList(corner3, corner4, corner1, corner2).get(cornerId - 1);
-        String gapClose = Arrays.asList(corner4, corner1, corner2, corner3).get(cornerId - 1);
+        String gapOpen = CliCommon.corners[(cornerId + 1) % 4];
+        String gapClose = CliCommon.corners[(cornerId + 2) % 4];
 
-        int di = Arrays.asList(0, -1, 0, 1).get(cornerId - 1);
-        int dj = Arrays.asList(1, 0, -1, 0).get(cornerId - 1);
+        int di = CliCommon.rowSteps[cornerId - 1];
+        int dj = CliCommon.columnSteps[cornerId - 1];
 
         int limit = cornerId % 2 == 0 ? cellHeight : cellWidth;
         int middle = (limit - 1) / 2;
@@ -182,29 +210,29 @@ abstract class CliBoard {
 
         String ansiColor = Color.toAnsi(color);
 
-        canvas[i][j] = new ColoredString(startingCorner, ansiColor);
+        canvas.write(i, j, startingCorner, ansiColor);
         for (int k = 1; k < limit - 1; k++) {
             i += di;
             j += dj;
 
             switch (type) {
                 case FULL:
-                    canvas[i][j] = new ColoredString(full, ansiColor);
+                    canvas.write(i, j, full, ansiColor);
                     break;
 
                 case DOOR:
                     int distanceFromMiddle = Math.abs(k - middle);
                     if (distanceFromMiddle == doorHalfSize)
-                        canvas[i][j] = new ColoredString(k < middle ? gapOpen : gapClose, ansiColor);
+                        canvas.write(i, j, k < middle ? gapOpen : gapClose, ansiColor);
                     else if (distanceFromMiddle > doorHalfSize)
-                        canvas[i][j] = new ColoredString(full, ansiColor);
+                        canvas.write(i, j, full, ansiColor);
                     break;
 
                 case OPEN:
                     if (k == 1)
-                        canvas[i][j] = new ColoredString(gapOpen, ansiColor);
+                        canvas.write(i, j, gapOpen, ansiColor);
                     else if (k == limit - 2)
-                        canvas[i][j] = new ColoredString(gapClose, ansiColor);
+                        canvas.write(i, j, gapClose, ansiColor);
             }
         }
     }
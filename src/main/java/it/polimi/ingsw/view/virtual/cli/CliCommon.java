@@ -1,13 +1,19 @@
 package it.polimi.ingsw.view.virtual.cli;
 
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.board.Board;
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.util.printer.Canvas;
 import it.polimi.ingsw.util.printer.Color;
 import it.polimi.ingsw.util.printer.ColoredString;
 import it.polimi.ingsw.view.remote.cli.CLI;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static it.polimi.ingsw.util.UTF.*;
 import static it.polimi.ingsw.util.UTF.horizontal;
@@ -40,9 +46,32 @@ public abstract class CliCommon {
     private static final int canvasHeight = 48;
 
     /**
-     * The grid used to draw the interface's objects.
+     * The four corners of a frame, starting at the bottom-left one and proceeding counter-clockwise.
      */
-    static ColoredString[][] canvas;
+    static final String[] corners = {corner1, corner2, corner3, corner4};
+
+    /**
+     * The vertical step taken when drawing the side of a frame that starts at each of the {@link #corners}.
+     */
+    static final int[] rowSteps = {0, -1, 0, 1};
+
+    /**
+     * The horizontal step taken when drawing the side of a frame that starts at each of the {@link #corners}.
+     */
+    static final int[] columnSteps = {1, 0, -1, 0};
+
+    /**
+     * The grids used to draw the interface's objects that no call to {@link #getCanvas(Player)} is currently using.
+     * Each call takes one of them, or creates a new one if there is none, and gives it back once done, so that
+     * frames can be built in parallel while cells and {@link ColoredString}s are still reused from one frame to the next.
+     */
+    private static final Queue<Canvas> idleCanvases = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The layers holding what never changes on the interface, such as the walls of the {@link Board} and the titles,
+     * one for each type of {@link Board}. Each frame starts as a copy of one of them.
+     */
+    private static final Map<Integer, Canvas> layers = new ConcurrentHashMap<>();
 
     /**
      * Tells which colour a {@link Player}'s token is.
@@ -71,65 +100,79 @@ public abstract class CliCommon {
     /**
      * Adds a coloured writing to the interface.
      *
+     * @param canvas  the {@link Canvas} to draw on.
      * @param i       the vertical position, from the top.
      * @param j       the horizontal position, from the left.
      * @param message the string to write.
      */
-    static void write(int i, int j, ColoredString message) {
-        for (int k = 0; k < message.content().length(); k++) {
-            canvas[i][j + k] = new ColoredString(message.content().substring(k, k + 1), message.color());
-        }
+    static void write(Canvas canvas, int i, int j, ColoredString message) {
+        canvas.write(i, j, message.content(), message.color());
     }
 
     /**
      * Adds a series of coloured writings to the interface.
      *
+     * @param canvas  the {@link Canvas} to draw on.
      * @param i       the vertical position, from the top.
      * @param j       the horizontal position, from the left.
      * @param message a collection of {@link ColoredString}s. These will be concatenated but each
      *                will retain its colour.
      */
-    static void write(int i, int j, List<ColoredString> message) {
+    static void write(Canvas canvas, int i, int j, List<ColoredString> message) {
         int caret = 0;
-        for (ColoredString cs : message) {
-            for (int k = 0; k < cs.content().length(); k++) {
-                canvas[i][caret + j] = new ColoredString(cs.content().substring(k, k + 1), cs.color());
-                caret++;
-            }
-        }
+        for (ColoredString cs : message)
+            caret += canvas.write(i, j + caret, cs.content(), cs.color());
     }
 
     /**
      * Builds a coloured rectangular frame on the interface.
      *
+     * @param canvas    the {@link Canvas} to draw on.
      * @param i         the vertical position, from the top, of the top-left corner of the frame.
      * @param j         the horizontal position, from the left, of the top-left corner of the frame.
      * @param width     the external width of the frame, expressed in characters.
      * @param height    the external height of the frame, expressed in characters.
      * @param ansiColor the {@code ANSI} escape sequence of the colour to make the frame out of.
      */
-    static void frame(int i, int j, int width, int height, String ansiColor) {
+    static void frame(Canvas canvas, int i, int j, int width, int height, String ansiColor) {
         for (int cornerId = 1; cornerId <= 4; cornerId++) {
             int ti = cornerId < 3 ? (i + height - 1) : i;
             int tj = cornerId == 2 || cornerId == 3 ? (j + width - 1) : j;
 
-            String startingCorner = Arrays.asList(corner1, corner2, corner3, corner4).get(cornerId - 1);
+            String startingCorner = corners[cornerId - 1];
             String line = cornerId % 2 == 0 ? vertical : horizontal;
 
             int limit = cornerId % 2 == 0 ? height : width;
 
-            int di = Arrays.asList(0, -1, 0, 1).get(cornerId - 1);
-            int dj = Arrays.asList(1, 0, -1, 0).get(cornerId - 1);
+            int di = rowSteps[cornerId - 1];
+            int dj = columnSteps[cornerId - 1];
 
-            canvas[ti][tj] = new ColoredString(startingCorner, ansiColor);
+            canvas.write(ti, tj, startingCorner, ansiColor);
             for (int k = 1; k < limit - 1; k++) {
                 ti += di;
                 tj += dj;
-                canvas[ti][tj] = new ColoredString(line, ansiColor);
+                canvas.write(ti, tj, line, ansiColor);
             }
         }
     }
 
+    /**
+     * Gets the layer holding what never changes on the interface of a {@link Game} played on a {@link Board},
+     * drawing it if this is the first time a {@link Board} of the same type is depicted.
+     *
+     * @param board the {@link Board}.
+     * @return the layer, which must not be drawn on.
+     */
+    private static Canvas layerOf(Board board) {
+        return layers.computeIfAbsent(board.getType(), type -> {
+            Canvas layer = new Canvas(canvasHeight, canvasWidth);
+            CliTracks.buildLayer(layer);
+            CliBoard.buildLayer(layer, board);
+            CliToasters.buildLayer(layer);
+            return layer;
+        });
+    }
+
     /**
      * Creates a grid of {@link ColoredString}s depicting the {@link Game} status from a {@link Player}'s perspective.
      *
@@ -137,12 +180,20 @@ public abstract class CliCommon {
      * @return the grid.
      */
     public static ColoredString[][] getCanvas(Player player) {
-        canvas = new ColoredString[canvasHeight][canvasWidth];
-        CliTracks.build(player.getGame());
-        CliBoard.build(player.getGame().getBoard());
-        CliToasters.build(player);
-        CliWeapons.build(player);
-        CliPowerUps.build(player);
-        return canvas;
+        Canvas canvas = idleCanvases.poll();
+        if (canvas == null)
+            canvas = new Canvas(canvasHeight, canvasWidth);
+        canvas.copyFrom(layerOf(player.getGame().getBoard()));
+
+        try {
+            CliTracks.build(canvas, player.getGame());
+            CliBoard.build(canvas, player.getGame().getBoard());
+            CliToasters.build(canvas, player);
+            CliWeapons.build(canvas, player);
+            CliPowerUps.build(canvas, player);
+            return canvas.toMatrix();
+        } finally {
+            idleCanvases.offer(canvas);
+        }
     }
 }
@@ -2,6 +2,7 @@ package it.polimi.ingsw.view.virtual.cli;
 
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.powerups.PowerUp;
+import it.polimi.ingsw.util.printer.Canvas;
 import it.polimi.ingsw.util.printer.Color;
 import it.polimi.ingsw.util.printer.ColoredString;
 
@@ -32,27 +33,29 @@ class CliPowerUps {
     /**
      * Draws a {@link Player}'s {@link PowerUp} hand on {@link CliCommon}'s grid.
      *
+     * @param canvas the {@link Canvas} to draw on.
      * @param player the player.
      */
-    static void build(Player player) {
+    static void build(Canvas canvas, Player player) {
         for (int i = 0; i < player.getPowerUps().size() && i < 3; i++)
-            writePowerUp(player.getPowerUps().get(i), i);
+            writePowerUp(canvas, player.getPowerUps().get(i), i);
 
         if (player.getPowerUps().size() > 0)
-            CliCommon.write(top + 2, left - 10, new ColoredString("Powerups:", Color.RESET));
+            CliCommon.write(canvas, top + 2, left - 10, new ColoredString("Powerups:", Color.RESET));
     }
 
     /**
      * Draws a single {@link PowerUp} card.
      *
+     * @param canvas  the {@link Canvas} to draw on.
      * @param powerUp the card.
      * @param index   its position in the {@link Player}'s hand.
      */
-    private static void writePowerUp(PowerUp powerUp, int index) {
+    private static void writePowerUp(Canvas canvas, PowerUp powerUp, int index) {
         String name = powerUp.getType().toString();
 
-        CliCommon.frame(top, left + index * width, width, height, Color.toAnsi(powerUp.getAmmoCubes().toStringAsColor()));
+        CliCommon.frame(canvas, top, left + index * width, width, height, Color.toAnsi(powerUp.getAmmoCubes().toStringAsColor()));
 
-        CliCommon.write(top + 2, left + index * width + width / 2 - name.length() / 2, new ColoredString(name, null));
+        CliCommon.write(canvas, top + 2, left + index * width + width / 2 - name.length() / 2, new ColoredString(name, null));
     }
 }
@@ -2,15 +2,11 @@ package it.polimi.ingsw.view.virtual.cli;
 
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.player.ScoreList;
+import it.polimi.ingsw.util.printer.Canvas;
 import it.polimi.ingsw.util.printer.Color;
 import it.polimi.ingsw.util.printer.ColoredString;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import static it.polimi.ingsw.util.UTF.*;
-import static it.polimi.ingsw.view.virtual.cli.CliCommon.canvas;
 
 /**
  * This class is in charge of drawing the small status boards (also known as {@code Toaster}s) for each {@link Player}.
@@ -36,85 +32,104 @@ abstract class CliToasters {
      */
     private static final int toasterHeight = 10;
 
+    /**
+     * The writing of a token on the marks and damage strips.
+     */
+    private static final String fullToken = " " + full;
+
+    /**
+     * The writing of an empty slot on the damage strip.
+     */
+    private static final String emptyToken = " " + empty;
+
+    /**
+     * The writing of a skull on the death track.
+     */
+    private static final String skullToken = " " + skull;
+
+    /**
+     * The scale drawn below the damage strip.
+     */
+    private static final String damageMeasure = " ".repeat(8) + "1  |" + " ".repeat(5) + "|" + " ".repeat(9) + "|K O";
+
     /**
      * Depicts all the toasters, indicating which one belongs to a given {@link Player}.
      *
+     * @param canvas the {@link Canvas} to draw on.
      * @param player the player.
+     * @see #buildLayer(Canvas)
      */
-    static void build(Player player) {
+    static void build(Canvas canvas, Player player) {
         for (Player p : player.getGame().getParticipants())
-            writeToaster(p);
+            writeToaster(canvas, p);
 
-        CliCommon.write(top - 1, 0, new ColoredString("Players:", Color.RESET));
-        CliCommon.write(top + toasterHeight, (player.getId() - 1) * toasterWidth + (toasterWidth - 1) / 2 - 5, new ColoredString("^^^ YOU ^^^", Color.RESET));
+        CliCommon.write(canvas, top + toasterHeight, (player.getId() - 1) * toasterWidth + (toasterWidth - 1) / 2 - 5, new ColoredString("^^^ YOU ^^^", Color.RESET));
+    }
+
+    /**
+     * Draws what never changes on the toasters on a layer of {@link CliCommon}'s grid: their title.
+     *
+     * @param canvas the {@link Canvas} to draw on.
+     */
+    static void buildLayer(Canvas canvas) {
+        CliCommon.write(canvas, top - 1, 0, new ColoredString("Players:", Color.RESET));
     }
 
     /**
      * Draws a single toaster, belonging to a player.
      *
+     * @param canvas the {@link Canvas} to draw on.
      * @param player the player.
      */
-    private static void writeToaster(Player player) {
+    private static void writeToaster(Canvas canvas, Player player) {
         int index = player.getId() - 1;
         String ansiColor = CliCommon.toAnsiColor(player);
         String name = CliCommon.nameOf(player);
 
-        CliCommon.frame(top, left + index * toasterWidth, toasterWidth, toasterHeight, CliCommon.toAnsiColor(player));
+        CliCommon.frame(canvas, top, left + index * toasterWidth, toasterWidth, toasterHeight, CliCommon.toAnsiColor(player));
 
-        List<ColoredString> nameAndAmmo = new ArrayList<>();
-        nameAndAmmo.add(new ColoredString(name, ansiColor));
-        nameAndAmmo.add(new ColoredString(" ".repeat(CliCommon.nameLengthLimit + 2 - name.length()), null));
-        nameAndAmmo.addAll(player.getAmmoCubes().toColoredStringsWithNumbers());
-        writeOnToaster(index, 1, nameAndAmmo);
+        int caret = writeOnToaster(canvas, index, 1, 0, name, ansiColor);
+        caret = writeOnToaster(canvas, index, 1, caret, " ".repeat(CliCommon.nameLengthLimit + 2 - name.length()), null);
+        for (ColoredString cs : player.getAmmoCubes().toColoredStringsWithNumbers())
+            caret = writeOnToaster(canvas, index, 1, caret, cs.content(), cs.color());
 
-        List<ColoredString> markStrip = new ArrayList<>();
-        markStrip.add(new ColoredString(" Marks:", Color.RESET));
+        caret = writeOnToaster(canvas, index, 3, 0, " Marks:", Color.RESET);
         for (Player p : player.getMarkingsAsList())
-            markStrip.add(new ColoredString(" " + full, CliCommon.toAnsiColor(p)));
-        writeOnToaster(index, 3, markStrip);
+            caret = writeOnToaster(canvas, index, 3, caret, fullToken, CliCommon.toAnsiColor(p));
 
-        List<ColoredString> damageStrip = new ArrayList<>();
-        damageStrip.add(new ColoredString("Damage:", Color.RESET));
+        caret = writeOnToaster(canvas, index, 5, 0, "Damage:", Color.RESET);
         for (int i = 0; i <= 11; i++) {
             if (i < player.getDamageAsList().size())
-                damageStrip.add(new ColoredString(" " + full, CliCommon.toAnsiColor(player.getDamageAsList().get(i))));
+                caret = writeOnToaster(canvas, index, 5, caret, fullToken, CliCommon.toAnsiColor(player.getDamageAsList().get(i)));
             else
-                damageStrip.add(new ColoredString(" " + empty, Color.RESET));
+                caret = writeOnToaster(canvas, index, 5, caret, emptyToken, Color.RESET);
         }
-        writeOnToaster(index, 5, damageStrip);
 
-        List<ColoredString> damageMeasure = Collections.singletonList(new ColoredString(" ".repeat(8) + "1  |" + " ".repeat(5) + "|" + " ".repeat(9) + "|K O", Color.RESET));
-        writeOnToaster(index, 6, damageMeasure);
+        writeOnToaster(canvas, index, 6, 0, damageMeasure, Color.RESET);
 
         int indent = player.isOnFrenzy() ? 15 : 13;
         int numberCount = player.isOnFrenzy() ? 4 : 6;
-        List<ColoredString> deathTrack = new ArrayList<>();
-        deathTrack.add(new ColoredString(" ".repeat(indent), null));
+        caret = writeOnToaster(canvas, index, 8, 0, " ".repeat(indent), null);
         for (int i = 0; i < numberCount; i++) {
             if (i >= player.getDeathCount())
-                deathTrack.add(new ColoredString(" " + ScoreList.get(i, player.isOnFrenzy()), Color.RESET));
+                caret = writeOnToaster(canvas, index, 8, caret, " " + ScoreList.get(i, player.isOnFrenzy()), Color.RESET);
             else
-                deathTrack.add(new ColoredString(" " + skull, Color.RED));
+                caret = writeOnToaster(canvas, index, 8, caret, skullToken, Color.RED);
         }
-        writeOnToaster(index, 8, deathTrack);
     }
 
     /**
-     * Adds a series of coloured writings to the {@code Toaster}.
+     * Adds a coloured writing to the {@code Toaster}.
      *
-     * @param index          the index of the {@code Toaster} to write on.
-     * @param row            the number of the row at which to write, starting from the top.
-     * @param coloredStrings a collection of {@link ColoredString}s. These will be concatenated but each
-     *                       will retain its colour.
+     * @param canvas  the {@link Canvas} to draw on.
+     * @param index   the index of the {@code Toaster} to write on.
+     * @param row     the number of the row at which to write, starting from the top.
+     * @param caret   the number of characters already written on the row.
+     * @param content the string to write.
+     * @param color   the {@code ANSI} escape sequence of its colour.
+     * @return the number of characters written on the row, {@code content} included.
      */
-    private static void writeOnToaster(int index, int row, List<ColoredString> coloredStrings) {
-        int caret = 0;
-
-        for (ColoredString cs : coloredStrings) {
-            for (int i = 0; i < cs.content().length(); i++) {
-                canvas[row + top][index * toasterWidth + 2 + caret + left] = new ColoredString(cs.content().substring(i, i + 1), cs.color());
-                caret++;
-            }
-        }
+    private static int writeOnToaster(Canvas canvas, int index, int row, int caret, String content, String color) {
+        return caret + canvas.write(row + top, index * toasterWidth + 2 + caret + left, content, color);
     }
 }
@@ -2,6 +2,7 @@ package it.polimi.ingsw.view.virtual.cli;
 
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.util.printer.Canvas;
 import it.polimi.ingsw.util.printer.Color;
 import it.polimi.ingsw.util.printer.ColoredString;
 
@@ -9,7 +10,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static it.polimi.ingsw.util.UTF.*;
-import static it.polimi.ingsw.view.virtual.cli.CliCommon.canvas;
 
 /**
  * This class is used for drawing the killshot track and double-kill track of a {@link Game}.
@@ -36,29 +36,39 @@ abstract class CliTracks {
     private static final int trackHeight = 3;
 
     /**
-     * Draws the two tracks on {@link CliCommon}'s grid.
+     * Draws the content of the two tracks on {@link CliCommon}'s grid.
      *
+     * @param canvas the {@link Canvas} to draw on.
      * @param game the {@link Game} described by the tracks.
+     * @see #buildLayer(Canvas)
      */
-    static void build(Game game) {
+    static void build(Canvas canvas, Game game) {
         List<Player> doubleKillers = game.getBoard().getDoubleKillers();
 
-        writeKillerTrack(game.getBoard().getKillers(), game.getRoundsLeft());
-        writeDoubleKillerTrack(doubleKillers);
+        writeKillerTrack(canvas, game.getBoard().getKillers(), game.getRoundsLeft());
+        writeDoubleKillerTrack(canvas, doubleKillers);
+    }
 
-        CliCommon.write(top + 1, 0, new ColoredString("Kills:", Color.RESET));
+    /**
+     * Draws what never changes on the tracks on a layer of {@link CliCommon}'s grid: their title and the frame of the
+     * killshot track.
+     *
+     * @param canvas the {@link Canvas} to draw on.
+     */
+    static void buildLayer(Canvas canvas) {
+        CliCommon.frame(canvas, top, left, trackWidth, trackHeight, Color.BLACK);
+        CliCommon.write(canvas, top + 1, 0, new ColoredString("Kills:", Color.RESET));
     }
 
     /**
      * Draws the killshot track.
      *
+     * @param canvas the {@link Canvas} to draw on.
      * @param rawKillers a list containing the {@link Player} who scored kills. The value {@code null} after a {@link Player}
      *                   indicates an overkill by that player.
      * @param roundsLeft the number of rounds left to play in the {@link Game}.
      */
-    private static void writeKillerTrack(List<Player> rawKillers, int roundsLeft) {
-        CliCommon.frame(top, left, trackWidth, trackHeight, Color.BLACK);
-
+    private static void writeKillerTrack(Canvas canvas, List<Player> rawKillers, int roundsLeft) {
         List<Player> killers = new ArrayList<>();
         List<Boolean> overKill = new ArrayList<>();
 
@@ -77,55 +87,58 @@ abstract class CliTracks {
             roundsLeft = 0;
 
         for (int k = 0; k < 8 - roundsLeft; k++) {
-            canvas[top + 1][left + 2 + 3 * k] = new ColoredString(skull, Color.WHITE);
+            canvas.write(top + 1, left + 2 + 3 * k, skull, Color.WHITE);
         }
 
         for (int k = 8 - roundsLeft; k < 8; k++) {
-            canvas[top + 1][left + 2 + 3 * k] = new ColoredString(skull, Color.RED);
+            canvas.write(top + 1, left + 2 + 3 * k, skull, Color.RED);
         }
 
         for (int i = 0; i < killers.size(); i++)
-            writeOnKillerTrack(8 - killers.size() + i - roundsLeft, killers.get(i), overKill.get(i));
+            writeOnKillerTrack(canvas, 8 - killers.size() + i - roundsLeft, killers.get(i), overKill.get(i));
     }
 
     /**
      * Draws the double-killer track.
      *
+     * @param canvas the {@link Canvas} to draw on.
      * @param doubleKillers a list containing all the {@link Player}s who scored a double-kill.
      */
-    private static void writeDoubleKillerTrack(List<Player> doubleKillers) {
-        CliCommon.frame(top, left + trackWidth, 3 + 2 * doubleKillers.size(), trackHeight, Color.BLACK);
+    private static void writeDoubleKillerTrack(Canvas canvas, List<Player> doubleKillers) {
+        CliCommon.frame(canvas, top, left + trackWidth, 3 + 2 * doubleKillers.size(), trackHeight, Color.BLACK);
         for (int i = 0; i < doubleKillers.size(); i++)
-            writeOnDoubleKillerTrack(i, doubleKillers.get(i));
+            writeOnDoubleKillerTrack(canvas, i, doubleKillers.get(i));
 
     }
 
     /**
      * Adds a {@link Player}'s token to the killshot track.
      *
+     * @param canvas   the {@link Canvas} to draw on.
      * @param index    the position in which to put the token.
      * @param player   the {@link Player} the token represents.
      * @param overKill whether or not a double token should be used instead.
      */
-    private static void writeOnKillerTrack(int index, Player player, boolean overKill) {
+    private static void writeOnKillerTrack(Canvas canvas, int index, Player player, boolean overKill) {
         int i = top + 1;
         int j = left + 2 + 3 * index;
 
-        canvas[i][j] = new ColoredString(full, CliCommon.toAnsiColor(player));
+        canvas.write(i, j, full, CliCommon.toAnsiColor(player));
         if (overKill)
-            canvas[i][j + 1] = new ColoredString(full, CliCommon.toAnsiColor(player));
+            canvas.write(i, j + 1, full, CliCommon.toAnsiColor(player));
     }
 
     /**
      * Adds a {@link Player}'s token to the double-kill track.
      *
+     * @param canvas the {@link Canvas} to draw on.
      * @param index  the position in which to put the token.
      * @param player the {@link Player} the token represents.
      */
-    private static void writeOnDoubleKillerTrack(int index, Player player) {
+    private static void writeOnDoubleKillerTrack(Canvas canvas, int index, Player player) {
         int i = top + 1;
         int j = left + 2 + 2 * index;
 
-        canvas[i][j] = new ColoredString(full, CliCommon.toAnsiColor(player));
+        canvas.write(i, j, full, CliCommon.toAnsiColor(player));
     }
 }
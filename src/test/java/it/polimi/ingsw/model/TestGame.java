@@ -1,12 +1,13 @@
 package it.polimi.ingsw.model;
 
+import it.polimi.ingsw.model.simulation.Simulator;
 import it.polimi.ingsw.model.player.Player;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
@@ -35,28 +36,24 @@ public class TestGame {
                 .collect(Collectors.toList());
 
         //Change these parameters
-        Game game = Game.create(true, 5, 4, participants);
+        Game game = Game.create(true, 5, 4, participants, GameMode.defaults().withPositionIndexCheck(true));
         game.play();
     }
 
     /**
      * This test runs a game with runtime randomized parameters: 3-5 players, random map, randomized Final Frenzy rule, 1-8 rounds.
+     * Both the parameters and the game itself are derived from a single seed, which is reported should the game fail.
      */
     @Test
     public void autoPlayRandomized() {
-        List<Player> participants = new ArrayList<>();
+        long seed = ThreadLocalRandom.current().nextLong();
 
-        int randomPlayerCount = (int) Math.floor(Math.random() * 3) + 3; // between 3 and 5
-
-        for(int i = 1; i <= randomPlayerCount; i ++)
-            participants.add(new Player("Player" + i));
-
-        boolean randomFrenzy = Math.random() < 0.5;
-        int randomGameLength = (int) Math.floor(Math.random() * 8) + 1; // between 1 and 8
-        int randomBoardType = (int) Math.floor(Math.random() * 4) + 1; // between 1 and 4
-
-        Game game = Game.create(randomFrenzy, randomGameLength, randomBoardType, participants);
-        game.play();
+        Game game = Simulator.randomGame(seed, GameMode.defaults().withPositionIndexCheck(true));
+        try {
+            game.play();
+        } catch (RuntimeException e) {
+            throw new AssertionError("Game with seed " + seed + " failed.", e);
+        }
     }
 
     /**
@@ -1,10 +1,19 @@
 package it.polimi.ingsw.model.board;
 
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
+import it.polimi.ingsw.model.cell.Cell;
+import it.polimi.ingsw.model.exceptions.NullCellOperationException;
+import it.polimi.ingsw.model.exceptions.PositionIndexException;
+import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.weaponry.Weapon;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -46,4 +55,131 @@ public class TestBoard {
         Weapon lockRifle2 = board.fetchWeapon("Lock Rifle").orElse(null);
         assertNull(lockRifle2);
     }
+
+    /**
+     * This method tests the distance table computed by {@link Board#generate(Game, int)}, by comparing it
+     * against a plain breadth-first search on every pair of {@link Cell}s, for each board configuration.
+     */
+    @Test
+    public void distanceTable() {
+        for(int type = 1; type <= 4; type ++) {
+            Board board = Game.create(false, 1, type, new ArrayList<>()).getBoard();
+
+            try {
+                for(Cell source : board.getCells())
+                    for(Cell drain : board.getCells())
+                        assertEquals(source + " -> " + drain + " on board " + type, walk(source, drain), source.distance(drain));
+            } catch (NullCellOperationException e) {
+                fail();
+            }
+        }
+    }
+
+    /**
+     * This method tests the visibility table computed by {@link Board#generate(Game, int)}, by comparing it
+     * against the definition based on the {@link Room}s adjacent to each {@link Cell}, for each board configuration.
+     */
+    @Test
+    public void visibilityTable() {
+        for(int type = 1; type <= 4; type ++) {
+            Board board = Game.create(false, 1, type, new ArrayList<>()).getBoard();
+
+            try {
+                for(Cell source : board.getCells())
+                    for(Cell drain : board.getCells())
+                        assertEquals(source + " -> " + drain + " on board " + type, look(source, drain), source.canSee(drain));
+            } catch (NullCellOperationException e) {
+                fail();
+            }
+        }
+    }
+
+    /**
+     * This method tests the index of the {@link Player}s standing on each {@link Cell} kept by {@link Board#move(Player, Cell, Cell)},
+     * through spawns, moves, deaths and respawns, with {@link Board#verifyPositionIndex()} run after each of them.
+     */
+    @Test
+    public void positionIndex() {
+        List<Player> participants = new ArrayList<>();
+        for(int i = 1; i <= 3; i ++)
+            participants.add(new Player("Player" + i));
+        Game game = Game.create(false, 1, 1, participants, GameMode.simulation().withPositionIndexCheck(true));
+        Board board = game.getBoard();
+        Cell first = board.getCells().get(0);
+        Cell second = board.getCells().get(1);
+        Player p1 = participants.get(0);
+        Player p2 = participants.get(1);
+        Player p3 = participants.get(2);
+
+        // spawned in reverse order, listed by id
+        p3.spawn(first);
+        p2.spawn(first);
+        p1.spawn(first);
+        assertEquals(Arrays.asList(p1, p2, p3), board.getOccupants(first));
+
+        p2.setPosition(second);
+        assertEquals(Arrays.asList(p1, p3), board.getOccupants(first));
+        assertEquals(Collections.singletonList(p2), board.getOccupants(second));
+
+        p3.die();
+        assertEquals(Collections.singletonList(p1), board.getOccupants(first));
+        assertNull(p3.getPosition());
+
+        p3.spawn(second);
+        assertEquals(Arrays.asList(p2, p3), board.getOccupants(second));
+
+        p1.setPosition(second);
+        assertTrue(board.getOccupants(first).isEmpty());
+        assertEquals(Arrays.asList(p1, p2, p3), board.getOccupants(second));
+        board.verifyPositionIndex();
+
+        // an index disagreeing with the positions is reported, and only checked when the GameMode asks so
+        Game unchecked = Game.create(false, 1, 1, new ArrayList<>(Collections.singletonList(new Player("Player1"))), GameMode.simulation());
+        Player ghost = unchecked.getParticipants().get(0);
+        Cell cell = unchecked.getBoard().getCells().get(0);
+        unchecked.getBoard().move(ghost, null, cell);
+        try {
+            unchecked.getBoard().verifyPositionIndex();
+            fail();
+        } catch (PositionIndexException ignored) {
+        }
+    }
+
+    /**
+     * Measures the distance between two {@link Cell}s by expanding the set of visited {@link Cell}s one step at a time.
+     *
+     * @param source the starting cell.
+     * @param drain  the target cell.
+     * @return the number of steps needed to reach the target cell.
+     */
+    private static int walk(Cell source, Cell drain) {
+        List<Cell> visited = new ArrayList<>();
+        visited.add(source);
+
+        int distance;
+        for(distance = 0; !visited.contains(drain); distance ++) {
+            visited.addAll(visited.stream()
+                    .flatMap(c -> c.getAdjacentCells().stream())
+                    .distinct()
+                    .filter(c -> !visited.contains(c))
+                    .collect(Collectors.toList())
+            );
+        }
+        return distance;
+    }
+
+    /**
+     * Tells whether a {@link Cell} can see another by checking every {@link Room} adjacent to the first one.
+     *
+     * @param source the cell to look from.
+     * @param drain  the cell to look at.
+     * @return whether or not the target cell is in a room containing a neighbour of the starting cell.
+     */
+    private static boolean look(Cell source, Cell drain) {
+        return source.getAdjacentCells()
+                .stream()
+                .map(Cell::getRoom)
+                .distinct()
+                .anyMatch(r -> r.contains(drain));
+    }
 }
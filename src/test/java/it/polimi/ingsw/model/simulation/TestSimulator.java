@@ -0,0 +1,35 @@
+package it.polimi.ingsw.model.simulation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests the {@link Simulator} by playing small batches of games concurrently.
+ */
+public class TestSimulator {
+
+    /**
+     * This test plays a batch of games on several threads and checks that none of them failed.
+     */
+    @Test
+    public void parallelBatch() throws InterruptedException {
+        SimulationReport report = new Simulator(4).run(16, 2019);
+
+        assertTrue(report.getFailedSeeds().isEmpty());
+        assertEquals(16, report.getGames());
+        assertTrue(report.getTurns() >= 16);
+    }
+
+    /**
+     * This test checks that the same batch seed plays the same games, regardless of the number of threads.
+     */
+    @Test
+    public void reproducibleBatch() throws InterruptedException {
+        SimulationReport sequential = new Simulator(1).run(8, 42);
+        SimulationReport parallel = new Simulator(4).run(8, 42);
+
+        assertEquals(sequential.getTurns(), parallel.getTurns());
+    }
+}
@@ -0,0 +1,351 @@
+package it.polimi.ingsw.model.weaponry.constraints;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
+import it.polimi.ingsw.model.board.Board;
+import it.polimi.ingsw.model.board.Room;
+import it.polimi.ingsw.model.cell.Cell;
+import it.polimi.ingsw.model.exceptions.NullCellOperationException;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.weaponry.AttackPattern;
+import it.polimi.ingsw.util.json.DecoratedJsonObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests the bit mask filtering of {@link Constraint}s against a reference implementation of the
+ * per-candidate filtering it replaced, which checked each {@link Player}, {@link Cell} or {@link Room} against each
+ * {@link Constraint} and then sorted the candidates satisfying all of them by id, or by name for the {@link Room}s.
+ * Every type of {@link Constraint} is checked, with the generic target in each of its possible places, on every board
+ * and in many arrangements of the {@link Player}s, both alone and combined with the other {@link Constraint}s.
+ */
+public class TestConstraint {
+    /**
+     * The number of random arrangements of the {@link Player}s tried for each position of the attacker.
+     */
+    private static final int ARRANGEMENTS = 8;
+
+    /**
+     * The id pair of the generic target a {@link Constraint} filters.
+     */
+    private static final int GENERIC = -3;
+
+    /**
+     * The id pair of the original position of the attacker.
+     */
+    private static final int SAVED_POSITION = -2;
+
+    /**
+     * The id pair of the attacker.
+     */
+    private static final int ATTACKER = -1;
+
+    /**
+     * A check of a single candidate against a {@link Constraint}, as done before bit masks were introduced.
+     *
+     * @param <T> the type of the candidates.
+     */
+    @FunctionalInterface
+    private interface Check<T> {
+        /**
+         * Tells whether a candidate satisfies the {@link Constraint}.
+         *
+         * @param author    the attacker.
+         * @param candidate the candidate.
+         * @return {@code true} if the candidate satisfies the {@link Constraint}.
+         * @throws NullCellOperationException if a {@link Cell} involved is missing, in which case the candidate is rejected.
+         */
+        boolean test(Player author, T candidate) throws NullCellOperationException;
+    }
+
+    /**
+     * A {@link Constraint} paired with the reference checks of the candidates it can filter.
+     */
+    private static class Case {
+        /**
+         * The {@link Constraint}.
+         */
+        private final Constraint constraint;
+
+        /**
+         * The check of the {@link Cell}s, or {@code null} if the {@link Constraint} can't filter {@link Cell}s.
+         */
+        private final Check<Cell> cells;
+
+        /**
+         * The check of the {@link Player}s, or {@code null} if the {@link Constraint} can't filter {@link Player}s.
+         */
+        private final Check<Player> players;
+
+        /**
+         * The check of the {@link Room}s, or {@code null} if the {@link Constraint} can't filter {@link Room}s.
+         */
+        private final Check<Room> rooms;
+
+        /**
+         * Creates a {@code Case}.
+         *
+         * @param json    the {@link Constraint} in its JSON form.
+         * @param cells   the {@link Case#cells} check.
+         * @param players the {@link Case#players} check.
+         * @param rooms   the {@link Case#rooms} check.
+         */
+        private Case(DecoratedJsonObject json, Check<Cell> cells, Check<Player> players, Check<Room> rooms) {
+            this.constraint = Constraint.build(json);
+            this.cells = cells;
+            this.players = players;
+            this.rooms = rooms;
+        }
+    }
+
+    /**
+     * Checks every type of {@link Constraint}, alone and combined, on all the boards.
+     */
+    @Test
+    public void masksMatchPerCandidateFiltering() {
+        List<Case> cases = cases();
+
+        for (int boardType = 1; boardType <= 4; boardType++) {
+            Random random = new Random(boardType);
+            List<Player> participants = new ArrayList<>();
+            for (int i = 1; i <= 5; i++)
+                participants.add(new Player("Player" + i));
+            Game game = Game.create(false, 1, boardType, participants, GameMode.simulation());
+            List<Cell> cells = game.getBoard().getCells();
+
+            for (Cell authorCell : cells) {
+                for (int arrangement = 0; arrangement < ARRANGEMENTS; arrangement++) {
+                    Player author = participants.get(random.nextInt(participants.size()));
+                    for (Player player : participants)
+                        player.setPosition(random.nextInt(4) == 0 ? null : cells.get(random.nextInt(cells.size())));
+                    author.setPosition(cells.get(random.nextInt(cells.size())));
+                    author.savePosition();
+                    author.setPosition(authorCell);
+
+                    AttackPattern context = new AttackPattern(new ArrayList<>(), new ArrayList<>());
+                    context.setAuthor(author);
+                    String where = "board " + boardType + ", attacker " + author + " on " + authorCell + " from " + author.getSavedPosition();
+
+                    for (Case c : cases)
+                        check(context, Collections.singletonList(c), where + ", " + c.constraint);
+                    for (int i = 0; i < cases.size(); i++)
+                        for (int j = i + 1; j < cases.size(); j++)
+                            check(context, List.of(cases.get(i), cases.get(j)), where + ", " + cases.get(i).constraint + " and " + cases.get(j).constraint);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares the {@link Player}s, {@link Cell}s and {@link Room}s selected by a list of {@link Constraint}s with the
+     * ones selected by the reference checks, order included, for each kind of candidate all of them can filter.
+     *
+     * @param context the {@link AttackPattern} the {@link Constraint}s are evaluated in.
+     * @param cases   the {@link Case}s.
+     * @param message the description of the comparison.
+     */
+    private static void check(AttackPattern context, List<Case> cases, String message) {
+        Player author = context.getAuthor();
+        Board board = author.getGame().getBoard();
+        List<Constraint> constraints = cases.stream().map(c -> c.constraint).collect(Collectors.toList());
+
+        if (cases.stream().allMatch(c -> c.players != null)) {
+            List<Player> expected = author.getGame().getParticipants().stream()
+                    .sorted(Comparator.comparingInt(Player::getId))
+                    .filter(p -> cases.stream().allMatch(c -> passes(c.players, author, p)))
+                    .filter(p -> !p.equals(author))
+                    .filter(p -> p.getPosition() != null)
+                    .collect(Collectors.toList());
+            assertEquals("players, " + message, expected, Constraint.filterPlayers(context, constraints));
+        }
+
+        if (cases.stream().allMatch(c -> c.cells != null)) {
+            List<Cell> expected = board.getCells().stream()
+                    .sorted(Comparator.comparingInt(Cell::getId))
+                    .filter(cell -> cases.stream().allMatch(c -> passes(c.cells, author, cell)))
+                    .collect(Collectors.toList());
+            assertEquals("cells, " + message, expected, Constraint.filterCells(context, constraints));
+        }
+
+        if (cases.stream().allMatch(c -> c.rooms != null)) {
+            List<Room> expected = board.getCells().stream()
+                    .map(Cell::getRoom)
+                    .sorted(Comparator.comparing(Room::toString))
+                    .distinct()
+                    .filter(r -> cases.stream().allMatch(c -> passes(c.rooms, author, r)))
+                    .collect(Collectors.toList());
+            assertEquals("rooms, " + message, expected, Constraint.filterRooms(context, constraints));
+        }
+    }
+
+    /**
+     * Runs a reference check, rejecting the candidate if a {@link Cell} involved is missing.
+     *
+     * @param check     the check.
+     * @param author    the attacker.
+     * @param candidate the candidate.
+     * @param <T>       the type of the candidate.
+     * @return whether the candidate satisfies the check.
+     */
+    private static <T> boolean passes(Check<T> check, Player author, T candidate) {
+        try {
+            return check.test(author, candidate);
+        } catch (NullCellOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the {@link Cell} of a specific target.
+     *
+     * @param author the attacker.
+     * @param id     the id pair of the target, either {@link #ATTACKER} or {@link #SAVED_POSITION}.
+     * @return the {@link Cell}, which may be {@code null}.
+     */
+    private static Cell cellOf(Player author, int id) {
+        return id == ATTACKER ? author.getPosition() : author.getSavedPosition();
+    }
+
+    /**
+     * Returns the {@link Room} of a specific target.
+     *
+     * @param author the attacker.
+     * @param id     the id pair of the target, either {@link #ATTACKER} or {@link #SAVED_POSITION}.
+     * @return the {@link Room}, or {@code null} if the target is not on the board.
+     */
+    private static Room roomOf(Player author, int id) {
+        Cell cell = cellOf(author, id);
+        return cell == null ? null : cell.getRoom();
+    }
+
+    /**
+     * Creates the JSON form of a {@link Constraint} between two targets.
+     *
+     * @param type   the type of the {@link Constraint}.
+     * @param source the id pair of the source target.
+     * @param drain  the id pair of the drain target.
+     * @return the JSON object.
+     */
+    private static DecoratedJsonObject json(String type, int source, int drain) {
+        DecoratedJsonObject json = new DecoratedJsonObject();
+        json.putValue("type", type);
+        json.putValue("sourceAttackModuleId", (long) source);
+        json.putValue("sourceTargetId", (long) source);
+        json.putValue("drainAttackModuleId", (long) drain);
+        json.putValue("drainTargetId", (long) drain);
+        return json;
+    }
+
+    /**
+     * Creates the JSON form of a {@link Constraint} between two targets, with a truth value.
+     *
+     * @param type   the type of the {@link Constraint}.
+     * @param source the id pair of the source target.
+     * @param drain  the id pair of the drain target.
+     * @param truth  the truth value.
+     * @return the JSON object.
+     */
+    private static DecoratedJsonObject json(String type, int source, int drain, boolean truth) {
+        DecoratedJsonObject json = json(type, source, drain);
+        json.putValue("truth", truth);
+        return json;
+    }
+
+    /**
+     * Creates a {@link Case} for a {@link Constraint} between the {@link Cell}s of two targets, one of which is generic,
+     * that can filter both {@link Cell}s and {@link Player}s, the latter by their position.
+     *
+     * @param json     the {@link Constraint} in its JSON form.
+     * @param source   the id pair of the source target.
+     * @param drain    the id pair of the drain target.
+     * @param relation the reference relation between the source and the drain {@link Cell}s, which is never given a
+     *                 {@code null} source.
+     * @return the {@link Case}.
+     */
+    private static Case cellRelation(DecoratedJsonObject json, int source, int drain, Check<Cell[]> relation) {
+        Check<Cell> cells = (author, c) -> {
+            Cell sourceCell = source == GENERIC ? c : cellOf(author, source);
+            Cell drainCell = drain == GENERIC ? c : cellOf(author, drain);
+            return sourceCell != null && relation.test(author, new Cell[]{sourceCell, drainCell});
+        };
+        return new Case(json, cells, (author, p) -> cells.test(author, p.getPosition()), null);
+    }
+
+    /**
+     * Creates the {@link Case}s covering every type of {@link Constraint}.
+     *
+     * @return the {@link Case}s.
+     */
+    private static List<Case> cases() {
+        List<Case> cases = new ArrayList<>();
+        int[][] pairs = {{GENERIC, ATTACKER}, {ATTACKER, GENERIC}, {GENERIC, SAVED_POSITION}, {SAVED_POSITION, GENERIC}};
+
+        for (int[] pair : pairs) {
+            int source = pair[0];
+            int drain = pair[1];
+
+            for (boolean truth : new boolean[]{true, false}) {
+                cases.add(cellRelation(json("alignment", source, drain, truth), source, drain,
+                        (author, c) -> c[0].isAligned(c[1]) == truth));
+
+                Case visibility = cellRelation(json("visibility", source, drain, truth), source, drain,
+                        (author, c) -> c[0].canSee(c[1]) == truth);
+                Check<Room> visibleRooms = null;
+                if (drain == GENERIC)
+                    visibleRooms = (author, r) -> {
+                        Cell sourceCell = cellOf(author, source);
+                        return sourceCell != null && (sourceCell.getBoard().getVisibleCells(sourceCell) & r.getMask()) != 0;
+                    };
+                cases.add(new Case(json("visibility", source, drain, truth), visibility.cells, visibility.players, visibleRooms));
+
+                Check<Room> rooms = (author, r) -> {
+                    Room sourceRoom = source == GENERIC ? r : roomOf(author, source);
+                    Room drainRoom = drain == GENERIC ? r : roomOf(author, drain);
+                    return sourceRoom != null && drainRoom != null && sourceRoom.equals(drainRoom) == truth;
+                };
+                cases.add(new Case(json("room", source, drain, truth),
+                        (author, c) -> rooms.test(author, c.getRoom()),
+                        (author, p) -> p.getPosition() != null && rooms.test(author, p.getPosition().getRoom()),
+                        rooms));
+            }
+
+            for (int[] bounds : new int[][]{{0, 0}, {1, 2}, {2, -1}}) {
+                DecoratedJsonObject json = json("distance", source, drain);
+                json.putValue("lowerBound", (long) bounds[0]);
+                json.putValue("upperBound", (long) bounds[1]);
+                cases.add(cellRelation(json, source, drain, (author, c) -> {
+                    int distance = c[0].distance(c[1]);
+                    return distance >= bounds[0] && (distance <= bounds[1] || bounds[1] < 0);
+                }));
+            }
+        }
+
+        for (boolean truth : new boolean[]{true, false}) {
+            cases.add(new Case(json("identity", GENERIC, ATTACKER, truth), null, (author, p) -> p.equals(author) == truth, null));
+            cases.add(new Case(json("identity", ATTACKER, GENERIC, truth), null, (author, p) -> author.equals(p) == truth, null));
+        }
+
+        int[][] orders = {{GENERIC, SAVED_POSITION, ATTACKER}, {ATTACKER, GENERIC, SAVED_POSITION}, {SAVED_POSITION, ATTACKER, GENERIC}};
+        for (int[] order : orders) {
+            DecoratedJsonObject json = json("order", order[0], order[2]);
+            json.putValue("gateAttackModuleId", (long) order[1]);
+            json.putValue("gateTargetId", (long) order[1]);
+            Check<Cell> cells = (author, c) -> {
+                Cell[] targets = new Cell[3];
+                for (int i = 0; i < 3; i++)
+                    targets[i] = order[i] == GENERIC ? c : cellOf(author, order[i]);
+                return targets[1] != null && targets[1].isBetween(targets[0], targets[2]);
+            };
+            cases.add(new Case(json, cells, (author, p) -> cells.test(author, p.getPosition()), null));
+        }
+        return cases;
+    }
+}
@@ -0,0 +1,191 @@
+package it.polimi.ingsw.network.common.message;
+
+import it.polimi.ingsw.network.common.deliverable.*;
+import it.polimi.ingsw.util.printer.ColoredString;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the encoding of {@link NetworkMessage}s into frames and back, as performed by {@link FrameCodec}
+ * with each {@link MessageCodec}.
+ */
+public class TestFrameCodec {
+
+    /**
+     * Encodes a {@link NetworkMessage} into a frame and decodes it back, checking that the frame holds its own length.
+     *
+     * @param codec   the {@link MessageCodec} to use.
+     * @param message the {@link NetworkMessage}.
+     * @return the decoded {@link NetworkMessage}.
+     * @throws IOException if the {@link NetworkMessage} can't be encoded or decoded.
+     */
+    private static NetworkMessage roundTrip(MessageCodec codec, NetworkMessage message) throws IOException {
+        ByteBuffer frame = codec.encode(message);
+        int length = frame.getInt();
+        assertEquals(frame.remaining(), length);
+
+        NetworkMessage decoded = codec.decode(frame.array(), frame.position(), length);
+        assertEquals(message.getAuthor(), decoded.getAuthor());
+        assertEquals(message.getType(), decoded.getType());
+        return decoded;
+    }
+
+    /**
+     * Checks whether a {@link NetworkMessage} carrying a {@link Response} survives a round trip with every {@link MessageCodec}.
+     *
+     * @throws IOException if the {@link NetworkMessage} can't be encoded or decoded.
+     */
+    @Test
+    public void response() throws IOException {
+        for (MessageCodec codec : Arrays.asList(MessageCodec.SERIALIZED, MessageCodec.BINARY)) {
+            NetworkMessage message = NetworkMessage.completeClientMessage("author", MessageType.CLIENT_MESSAGE, new Response(3));
+            Response response = (Response) roundTrip(codec, message).getContent();
+            assertEquals(3, response.getNumber());
+            assertTrue(response.isValid());
+
+            message = NetworkMessage.completeClientMessage("author", MessageType.CLIENT_MESSAGE, Response.taint());
+            assertFalse(((Response) roundTrip(codec, message).getContent()).isValid());
+        }
+    }
+
+    /**
+     * Checks whether the content of every kind of {@link NetworkMessage} survives a round trip with the
+     * {@link MessageCodec#BINARY}.
+     *
+     * @throws IOException if a {@link NetworkMessage} can't be encoded or decoded.
+     */
+    @Test
+    public void binaryContent() throws IOException {
+        MessageCodec codec = MessageCodec.BINARY;
+
+        Map<String, String> lobbies = new HashMap<>();
+        lobbies.put("lobby", "[2/5]");
+        assertEquals(lobbies, roundTrip(codec, NetworkMessage.completeServerMessage(MessageType.LOBBY_LIST_UPDATE_RESPONSE, lobbies)).getContent());
+        lobbies.put("closed", null);
+        assertEquals(lobbies, roundTrip(codec, NetworkMessage.completeServerMessage(MessageType.LOBBY_LIST_DELTA, lobbies)).getContent());
+
+        String[] lobbyInfo = {"lobby", null};
+        assertArrayEquals(lobbyInfo, (String[]) roundTrip(codec, NetworkMessage.completeClientMessage("author", MessageType.LOBBY_LOGIN_REQUEST, lobbyInfo)).getContent());
+
+        assertEquals(7, roundTrip(codec, NetworkMessage.completeServerMessage(MessageType.COUNTDOWN_UPDATE, 7)).getContent());
+        assertEquals(Arrays.asList("a", "b"), roundTrip(codec, NetworkMessage.completeServerMessage(MessageType.OPPONENTS_LIST_UPDATE, Arrays.asList("a", "b"))).getContent());
+        assertNull(roundTrip(codec, NetworkMessage.simpleServerMessage(MessageType.PING_MESSAGE)).getContent());
+
+        Mapped mapped = new Mapped(DeliverableEvent.MOVE_REQUEST, Arrays.asList("here", "there"));
+        mapped.overwriteMessage("Where?");
+        Mapped decodedMapped = (Mapped) roundTrip(codec, NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE, mapped)).getContent();
+        assertEquals(DeliverableEvent.MOVE_REQUEST, decodedMapped.getEvent());
+        assertEquals("Where?", decodedMapped.getMessage());
+        assertEquals(mapped.getOptions(), decodedMapped.getOptions());
+        assertEquals(mapped.getKeys(), decodedMapped.getKeys());
+
+        ColoredString[][] matrix = {
+                {new ColoredString("a", "red"), new ColoredString("b", "red"), null},
+                {new ColoredString("a", "blue"), new ColoredString(null, "red")}
+        };
+        ColoredString[][] decodedMatrix = ((Assets) roundTrip(codec, NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE,
+                new Assets(DeliverableEvent.UPDATE_VIEW, matrix))).getContent()).unpack();
+        assertEquals(matrix.length, decodedMatrix.length);
+        for (int i = 0; i < matrix.length; i++) {
+            assertEquals(matrix[i].length, decodedMatrix[i].length);
+            for (int j = 0; j < matrix[i].length; j++) {
+                if (matrix[i][j] == null) {
+                    assertNull(decodedMatrix[i][j]);
+                    continue;
+                }
+                assertEquals(matrix[i][j].content(), decodedMatrix[i][j].content());
+                assertEquals(matrix[i][j].color(), decodedMatrix[i][j].color());
+            }
+        }
+
+        ColoredString[][] changed = {matrix[0].clone(), matrix[1].clone()};
+        changed[0][1] = new ColoredString("c", "blue");
+        Assets delta = (Assets) roundTrip(codec, NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE,
+                Assets.diff(DeliverableEvent.UPDATE_VIEW, matrix, changed))).getContent();
+        assertTrue(delta.isDelta());
+        assertArrayEquals(changed[0], delta.patch(decodedMatrix)[0]);
+    }
+
+    /**
+     * Checks whether a {@link NetworkMessage} whose content does not match its {@link MessageType} is refused by the
+     * {@link MessageCodec#BINARY}.
+     *
+     * @throws IOException always, as the content is not the expected one.
+     */
+    @Test(expected = NotSerializableException.class)
+    public void binaryUnexpectedContent() throws IOException {
+        MessageCodec.BINARY.encode(NetworkMessage.completeServerMessage(MessageType.COUNTDOWN_UPDATE, "seven"));
+    }
+
+    /**
+     * Checks whether a frame referring to a string that was never sent is rejected by the {@link MessageCodec#BINARY}.
+     *
+     * @throws IOException always, as the frame is invalid.
+     */
+    @Test(expected = StreamCorruptedException.class)
+    public void binaryUnknownReference() throws IOException {
+        ColoredString[][] matrix = {{new ColoredString("a", "red"), new ColoredString("a", "red")}};
+        ByteBuffer frame = MessageCodec.BINARY.encode(NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE,
+                new Assets(DeliverableEvent.UPDATE_VIEW, matrix)));
+        int length = frame.getInt();
+
+        //the frame ends with the references of the second cell, 1 and 2: only 3 could be a new one
+        assertEquals(2, frame.get(frame.limit() - 1));
+        frame.put(frame.limit() - 1, (byte) 5);
+        MessageCodec.BINARY.decode(frame.array(), frame.position(), length);
+    }
+
+    /**
+     * Checks whether consecutive frames written to a stream are read back one at a time, in order.
+     *
+     * @throws IOException if the stream can't be written or read.
+     */
+    @Test
+    public void stream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FrameCodec.write(bytes, MessageCodec.BINARY, NetworkMessage.simpleClientMessage("first", MessageType.REGISTER_REQUEST));
+        FrameCodec.write(bytes, MessageCodec.BINARY, NetworkMessage.simpleClientMessage("second", MessageType.UNREGISTER_REQUEST));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals("first", FrameCodec.read(in, MessageCodec.BINARY).getAuthor());
+        assertEquals(MessageType.UNREGISTER_REQUEST, FrameCodec.read(in, MessageCodec.BINARY).getType());
+    }
+
+    /**
+     * Checks whether the handshake agrees on the {@link MessageCodec} preferred by the client.
+     *
+     * @throws IOException if the handshake fails.
+     */
+    @Test
+    public void handshake() throws IOException {
+        ByteArrayOutputStream fromClient = new ByteArrayOutputStream();
+        ByteArrayOutputStream fromServer = new ByteArrayOutputStream();
+        DataOutputStream serverOut = new DataOutputStream(fromServer);
+        serverOut.writeInt(FrameCodec.MAGIC);
+        serverOut.writeByte(MessageCodec.BINARY.getId());
+
+        MessageCodec clientCodec = FrameCodec.connect(new DataOutputStream(fromClient),
+                new DataInputStream(new ByteArrayInputStream(fromServer.toByteArray())), MessageCodec.BINARY);
+        assertSame(MessageCodec.BINARY, clientCodec);
+
+        DataInputStream serverIn = new DataInputStream(new ByteArrayInputStream(fromClient.toByteArray()));
+        assertEquals(FrameCodec.MAGIC, serverIn.readInt());
+        assertSame(MessageCodec.BINARY, FrameCodec.accept(new DataOutputStream(new ByteArrayOutputStream()), serverIn));
+    }
+
+    /**
+     * Checks whether a frame declaring an invalid length is rejected before any allocation.
+     *
+     * @throws IOException always, as the frame is invalid.
+     */
+    @Test(expected = StreamCorruptedException.class)
+    public void invalidLength() throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES).putInt(-1);
+        FrameCodec.read(new DataInputStream(new ByteArrayInputStream(frame.array())), MessageCodec.BINARY);
+    }
+}
@@ -2,7 +2,10 @@ package it.polimi.ingsw.network.common.util.timer;
 
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
 
 /**
  * This class tests the validity of {@link CountDownTimer} by stressing it's resistance to multi thread
@@ -43,4 +46,33 @@ public class TestCountDownTimer {
         Thread.sleep(1000 + 25);
         assertEquals(1, timer.getTime());
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks that many running timers share the threads of the {@link TimerService}, and that a discarded timer
+     * releases its task without notifying its observers.
+     */
+    @Test
+    public void sharedAndDiscarded() {
+        List<Integer> events = new ArrayList<>();
+        List<CountDownTimer> timers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            CountDownTimer timer = new CountDownTimer(60);
+            timer.addObserver((eventStatus, value) -> {
+                synchronized (events) {
+                    events.add(eventStatus);
+                }
+            });
+            timer.start();
+            timers.add(timer);
+        }
+        assertTrue(TimerService.getThreads() <= 2);
+        int scheduled = TimerService.getScheduledTasks();
+        assertTrue(scheduled >= timers.size());
+
+        timers.forEach(CountDownTimer::discard);
+        assertTrue(TimerService.getScheduledTasks() <= scheduled - timers.size());
+        synchronized (events) {
+            assertFalse(events.contains(CountDownTimer.STATUS_STOPPED));
+        }
+    }
+}
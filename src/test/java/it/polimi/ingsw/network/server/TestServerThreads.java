@@ -0,0 +1,90 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.common.deliverable.Response;
+import it.polimi.ingsw.network.common.message.MessageType;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class load tests the {@code Thread}s created by {@link ServerThreads} with a crowd of idle clients, each one
+ * keeping a {@code Thread} blocked while waiting for its next answer, as a {@link it.polimi.ingsw.model.Game} does.
+ */
+public class TestServerThreads {
+    /**
+     * The number of simulated clients.
+     */
+    private static final int CLIENTS = 5000;
+
+    /**
+     * Checks that all the idle clients are served, first on platform {@code Thread}s and then, if the Java runtime
+     * supports them, on virtual ones, which must not need a platform {@code Thread} each.
+     *
+     * @throws InterruptedException if the tester is interrupted while waiting for the clients.
+     */
+    @Test
+    public void idleClients() throws InterruptedException {
+        serveIdleClients();
+
+        if (ServerThreads.isVirtualSupported()) {
+            ServerThreads.setVirtual(true);
+            try {
+                int platformThreads = serveIdleClients();
+                assertTrue(platformThreads + " platform threads for " + CLIENTS + " clients", platformThreads < CLIENTS / 10);
+            } finally {
+                ServerThreads.setVirtual(false);
+            }
+        }
+    }
+
+    /**
+     * Makes {@link #CLIENTS} {@link Player}s wait for an answer on their own {@code Thread}, then answers all of them.
+     *
+     * @return the number of live platform {@code Thread}s while all the clients were waiting.
+     * @throws InterruptedException if the tester is interrupted while waiting for the clients.
+     */
+    private static int serveIdleClients() throws InterruptedException {
+        ExecutorService executor = ServerThreads.newPerTaskExecutor("idle-client");
+        List<Player> players = new ArrayList<>();
+        CountDownLatch waiting = new CountDownLatch(CLIENTS);
+        CountDownLatch answered = new CountDownLatch(CLIENTS);
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int i = 0; i < CLIENTS; i++) {
+            Player player = new Player("client" + i);
+            player.notifyConnected();
+            players.add(player);
+            executor.execute(() -> {
+                waiting.countDown();
+                try {
+                    if (!(player.nextDeliverable(1, TimeUnit.MINUTES) instanceof Response))
+                        failures.incrementAndGet();
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+                answered.countDown();
+            });
+        }
+
+        assertTrue(waiting.await(1, TimeUnit.MINUTES));
+        int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        players.forEach(p -> p.notifyReceived(NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE, new Response(0))));
+        assertTrue(answered.await(1, TimeUnit.MINUTES));
+        assertEquals(0, failures.get());
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        return platformThreads;
+    }
+}
@@ -0,0 +1,132 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.common.deliverable.Assets;
+import it.polimi.ingsw.network.common.deliverable.Deliverable;
+import it.polimi.ingsw.network.common.deliverable.DeliverableEvent;
+import it.polimi.ingsw.network.common.deliverable.Response;
+import it.polimi.ingsw.network.common.exceptions.ClientTimeOutException;
+import it.polimi.ingsw.network.common.exceptions.ConnectionException;
+import it.polimi.ingsw.network.common.message.MessageType;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import it.polimi.ingsw.util.printer.ColoredString;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * This class tests the handoff of {@link Deliverable}s between the {@code Thread} receiving them on behalf of a
+ * {@link VirtualClient} and the {@code Thread} waiting for them.
+ */
+public class TestVirtualClient {
+
+    /**
+     * Checks whether a {@code Thread} waiting for an idle client sleeps instead of burning CPU time.
+     *
+     * @throws Exception if the tester fails to sleep or the waiter fails.
+     */
+    @Test
+    public void idleWaiterUsesNoCpu() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadCpuTimeSupported());
+        threads.setThreadCpuTimeEnabled(true);
+
+        Player player = new Player("idle");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        BlockingQueue<Long> waiterId = new ArrayBlockingQueue<>(1);
+        Future<Deliverable> waiter = executor.submit(() -> {
+            waiterId.put(Thread.currentThread().getId());
+            return player.nextDeliverable();
+        });
+
+        long id = waiterId.take();
+        Thread.sleep(100);
+        long before = threads.getThreadCpuTime(id);
+        Thread.sleep(500);
+        long spent = threads.getThreadCpuTime(id) - before;
+
+        player.notifyReceived(NetworkMessage.completeServerMessage(MessageType.CLIENT_MESSAGE, new Response(1)));
+        assertTrue(waiter.get(1, TimeUnit.SECONDS) instanceof Response);
+        executor.shutdown();
+
+        assertTrue("idle waiter spent " + spent / 1_000_000 + " ms of CPU time", spent < TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    /**
+     * Checks whether a disconnection immediately wakes up a waiting {@code Thread}.
+     *
+     * @throws Exception if the tester fails to sleep.
+     */
+    @Test
+    public void disconnectionWakesWaiter() throws Exception {
+        Player player = new Player("leaving");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Deliverable> waiter = executor.submit(() -> player.nextDeliverable());
+
+        Thread.sleep(100);
+        player.notifyDisconnected();
+        try {
+            waiter.get(1, TimeUnit.SECONDS);
+            fail("waiter returned after disconnection");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ConnectionException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Checks whether a timed wait gives up when no {@link Deliverable} arrives.
+     *
+     * @throws ConnectionException if the client is found disconnected.
+     */
+    @Test(expected = ClientTimeOutException.class)
+    public void timedWaitExpires() throws ConnectionException, ClientTimeOutException {
+        new Player("silent").nextDeliverable(100, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether canvases are sent as deltas that rebuild the canvas on the client, and whether a full frame is
+     * sent again once the client reconnects.
+     *
+     * @throws ConnectionException if the canvas can't be delivered.
+     */
+    @Test
+    public void canvasSentAsDelta() throws ConnectionException {
+        Player player = new Player("viewer");
+        List<Assets> sent = new ArrayList<>();
+        player.setCommunicationInterface(message -> sent.add((Assets) message.getContent()));
+
+        ColoredString[][] first = new ColoredString[3][4];
+        for (ColoredString[] row : first)
+            Arrays.fill(row, new ColoredString(" ", "white"));
+        ColoredString[][] second = new ColoredString[3][];
+        for (int i = 0; i < first.length; i++)
+            second[i] = first[i].clone();
+        second[1][1] = new ColoredString("X", "red");
+        second[1][2] = new ColoredString("X", "red");
+
+        player.deliver(new Assets(DeliverableEvent.UPDATE_VIEW, first));
+        player.deliver(new Assets(DeliverableEvent.UPDATE_VIEW, second));
+        assertFalse(sent.get(0).isDelta());
+        assertTrue(sent.get(1).isDelta());
+        assertEquals(1, sent.get(1).getRuns().size());
+
+        ColoredString[][] canvas = sent.get(1).patch(sent.get(0).patch(null));
+        for (int i = 0; i < second.length; i++)
+            assertArrayEquals(second[i], canvas[i]);
+        assertEquals(" ", first[1][1].content());
+
+        player.setCommunicationInterface(message -> sent.add((Assets) message.getContent()));
+        player.deliver(new Assets(DeliverableEvent.UPDATE_VIEW, second));
+        assertFalse(sent.get(2).isDelta());
+    }
+}
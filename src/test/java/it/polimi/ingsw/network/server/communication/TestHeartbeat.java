@@ -0,0 +1,170 @@
+package it.polimi.ingsw.network.server.communication;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.common.exceptions.ConnectionException;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the detection of lost clients by a {@link Heartbeat}.
+ */
+public class TestHeartbeat {
+    /**
+     * The period of the {@link Heartbeat}s under test, in milliseconds.
+     */
+    private static final int PERIOD = 50;
+
+    /**
+     * Creates a connected {@link Player} whose pings are handled by the given {@link ClientCommunicationInterface}.
+     *
+     * @param name            the name of the {@link Player}.
+     * @param clientInterface the {@link ClientCommunicationInterface}.
+     * @return the {@link Player}.
+     */
+    private static Player player(String name, ClientCommunicationInterface clientInterface) {
+        Player player = new Player(name);
+        player.setCommunicationInterface(clientInterface);
+        player.notifyConnected();
+        return player;
+    }
+
+    /**
+     * Checks that a client whose ping fails and a client whose ping never completes are both found dead in a bounded
+     * time, and that neither of them keeps a healthy client from being pinged or gets it declared dead.
+     *
+     * @throws InterruptedException if the tester is interrupted while waiting.
+     */
+    @Test
+    public void lostClients() throws InterruptedException {
+        CountDownLatch stuck = new CountDownLatch(1);
+        AtomicInteger healthyPings = new AtomicInteger();
+        Player failing = player("failing", message -> {
+            throw new ConnectionException("Connection reset");
+        });
+        Player slow = player("slow", message -> {
+            try {
+                stuck.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Player healthy = player("healthy", message -> healthyPings.incrementAndGet());
+
+        Set<String> dead = ConcurrentHashMap.newKeySet();
+        CountDownLatch bothDead = new CountDownLatch(2);
+        Heartbeat heartbeat = new Heartbeat(() -> List.of(failing, slow, healthy), p -> {
+            dead.add(p.getName());
+            bothDead.countDown();
+        }, PERIOD, TimeUnit.MILLISECONDS, 3);
+
+        heartbeat.start();
+        try {
+            assertTrue(bothDead.await(20 * PERIOD, TimeUnit.MILLISECONDS));
+            assertTrue(dead.contains("failing"));
+            assertTrue(dead.contains("slow"));
+            assertFalse(dead.contains("healthy"));
+            assertTrue(healthyPings.get() >= 3);
+        } finally {
+            heartbeat.stop();
+            stuck.countDown();
+        }
+    }
+
+    /**
+     * Checks that a client whose pings never complete is kept alive for as long as it keeps sending messages.
+     *
+     * @throws InterruptedException if the tester is interrupted while waiting.
+     */
+    @Test
+    public void trafficCountsAsLiveness() throws InterruptedException {
+        CountDownLatch stuck = new CountDownLatch(1);
+        Player busy = player("busy", message -> {
+            try {
+                stuck.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Set<String> dead = ConcurrentHashMap.newKeySet();
+        Heartbeat heartbeat = new Heartbeat(() -> List.of(busy), p -> dead.add(p.getName()), PERIOD, TimeUnit.MILLISECONDS, 3);
+
+        heartbeat.start();
+        try {
+            for (int i = 0; i < 12; i++) {
+                heartbeat.seen("busy");
+                Thread.sleep(PERIOD);
+            }
+            assertTrue(dead.isEmpty());
+        } finally {
+            heartbeat.stop();
+            stuck.countDown();
+        }
+    }
+
+    /**
+     * Checks that a client whose pings are only queued is found dead once its queue stops being written, without
+     * piling more pings on it, while a client whose queue keeps being written stays alive.
+     *
+     * @throws InterruptedException if the tester is interrupted while waiting.
+     */
+    @Test
+    public void stalledQueueIsAMiss() throws InterruptedException {
+        AtomicInteger stalledPings = new AtomicInteger();
+        AtomicLong stalledSince = new AtomicLong(-1);
+        Player stalled = player("stalled", new ClientCommunicationInterface() {
+            @Override
+            public void sendMessage(NetworkMessage message) {
+                stalledPings.incrementAndGet();
+                stalledSince.compareAndSet(-1, System.nanoTime()); //queued, and never written
+            }
+
+            @Override
+            public long getStalledSince() {
+                return stalledSince.get();
+            }
+        });
+        AtomicInteger flushedPings = new AtomicInteger();
+        Player flushed = player("flushed", new ClientCommunicationInterface() {
+            @Override
+            public void sendMessage(NetworkMessage message) {
+                flushedPings.incrementAndGet();
+            }
+
+            @Override
+            public long getStalledSince() {
+                return -1; //written as soon as queued
+            }
+        });
+
+        Set<String> dead = ConcurrentHashMap.newKeySet();
+        CountDownLatch stalledDead = new CountDownLatch(1);
+        Heartbeat heartbeat = new Heartbeat(() -> List.of(stalled, flushed), p -> {
+            dead.add(p.getName());
+            stalledDead.countDown();
+        }, PERIOD, TimeUnit.MILLISECONDS, 3);
+
+        heartbeat.start();
+        try {
+            assertTrue(stalledDead.await(20 * PERIOD, TimeUnit.MILLISECONDS));
+            assertTrue(dead.contains("stalled"));
+            assertEquals(1, stalledPings.get());
+
+            Thread.sleep(4 * PERIOD);
+            assertFalse(dead.contains("flushed"));
+            assertTrue(flushedPings.get() >= 3);
+        } finally {
+            heartbeat.stop();
+        }
+    }
+}
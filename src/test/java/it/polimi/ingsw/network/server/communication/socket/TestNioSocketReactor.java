@@ -0,0 +1,286 @@
+package it.polimi.ingsw.network.server.communication.socket;
+
+import it.polimi.ingsw.network.common.exceptions.ConnectionException;
+import it.polimi.ingsw.network.common.message.FrameCodec;
+import it.polimi.ingsw.network.common.message.MessageCodec;
+import it.polimi.ingsw.network.common.message.MessageType;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests a {@link NioSocketReactor} through real loopback connections, checking how the frames are
+ * reassembled from whatever the reads return and how failures are contained.
+ */
+public class TestNioSocketReactor {
+    /**
+     * The time in seconds to wait for a {@link NetworkMessage} before failing.
+     */
+    private static final int TIMEOUT = 10;
+
+    /**
+     * The {@link NetworkMessage}s forwarded by the {@link #reactor}, in order.
+     */
+    private BlockingQueue<NetworkMessage> received;
+
+    /**
+     * The {@link NioSocketReactor} under test.
+     */
+    private NioSocketReactor reactor;
+
+    /**
+     * The {@code Thread} running the {@link #reactor}.
+     */
+    private Thread reactorThread;
+
+    /**
+     * The {@link ExecutorService} the {@link #reactor} forwards the {@link NetworkMessage}s on.
+     */
+    private ExecutorService dispatcher;
+
+    /**
+     * The {@link ServerSocketChannel} accepting the test clients.
+     */
+    private ServerSocketChannel server;
+
+    /**
+     * Starts a {@link NioSocketReactor} whose forwarded {@link NetworkMessage}s are collected into {@link #received},
+     * except for the {@code LOBBY_LOGOUT_REQUEST}s whose content is "fail", whose handling fails.
+     *
+     * @throws IOException if the loopback server can't be opened.
+     */
+    @Before
+    public void setUp() throws IOException {
+        this.received = new LinkedBlockingQueue<>();
+        this.dispatcher = Executors.newCachedThreadPool();
+        this.reactor = new NioSocketReactor(this.dispatcher, message -> {
+            if ("fail".equals(message.getContent()))
+                throw new IllegalStateException("handler failure");
+            this.received.add(message);
+        });
+        this.reactorThread = new Thread(this.reactor, "test-reactor");
+        this.reactorThread.start();
+
+        this.server = ServerSocketChannel.open();
+        this.server.bind(new InetSocketAddress("127.0.0.1", 0));
+    }
+
+    /**
+     * Stops the {@link #reactor} and closes the loopback server.
+     *
+     * @throws IOException if the loopback server can't be closed.
+     */
+    @After
+    public void tearDown() throws IOException {
+        this.reactorThread.interrupt();
+        this.dispatcher.shutdownNow();
+        this.server.close();
+    }
+
+    /**
+     * Connects a new client, hands its server side to the {@link #reactor} and performs the handshake.
+     *
+     * @param codec the {@link MessageCodec} the client asks for.
+     * @return the client {@link Socket}.
+     * @throws IOException if the connection fails.
+     */
+    private Socket connect(MessageCodec codec) throws IOException {
+        Socket socket = new Socket("127.0.0.1", this.server.socket().getLocalPort());
+        this.reactor.register(this.server.accept());
+
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.writeInt(FrameCodec.MAGIC);
+        out.writeByte(codec.getId());
+        out.flush();
+
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        assertEquals(FrameCodec.MAGIC, in.readInt());
+        assertEquals(codec.getId(), in.readByte());
+        return socket;
+    }
+
+    /**
+     * Returns the bytes of the frame of a {@link NetworkMessage}.
+     *
+     * @param codec   the {@link MessageCodec} to encode it with.
+     * @param message the {@link NetworkMessage}.
+     * @return the frame.
+     * @throws IOException if the {@link NetworkMessage} can't be encoded.
+     */
+    private static byte[] frame(MessageCodec codec, NetworkMessage message) throws IOException {
+        ByteBuffer frame = codec.encode(message);
+        return Arrays.copyOfRange(frame.array(), frame.position(), frame.limit());
+    }
+
+    /**
+     * Returns a {@code LOBBY_LOGOUT_REQUEST} holding the given content.
+     *
+     * @param content the content.
+     * @return the {@link NetworkMessage}.
+     */
+    private static NetworkMessage logout(String content) {
+        return NetworkMessage.completeClientMessage("client", MessageType.LOBBY_LOGOUT_REQUEST, content);
+    }
+
+    /**
+     * Returns the content of the next {@link NetworkMessage} forwarded by the {@link #reactor}.
+     *
+     * @return the content.
+     * @throws InterruptedException if the tester is interrupted while waiting.
+     */
+    private Object next() throws InterruptedException {
+        NetworkMessage message = this.received.poll(TIMEOUT, TimeUnit.SECONDS);
+        assertNotNull(message);
+        return message.getContent();
+    }
+
+    /**
+     * Checks that a frame split across several reads, several frames received at once, and a frame larger than the
+     * initial buffer are all forwarded whole and in order, with either {@link MessageCodec}.
+     *
+     * @throws Exception if the loopback connection fails.
+     */
+    @Test
+    public void framing() throws Exception {
+        for (MessageCodec codec : Arrays.asList(MessageCodec.BINARY, MessageCodec.SERIALIZED)) {
+            try (Socket socket = this.connect(codec)) {
+                OutputStream out = socket.getOutputStream();
+
+                //a frame split across reads, even within its length
+                byte[] split = frame(codec, logout("split"));
+                out.write(split, 0, 2);
+                out.flush();
+                Thread.sleep(50);
+                out.write(split, 2, 5);
+                out.flush();
+                Thread.sleep(50);
+                out.write(split, 7, split.length - 7);
+                out.flush();
+                assertEquals("split", this.next());
+
+                //several frames in a single write
+                byte[] first = frame(codec, logout("first"));
+                byte[] second = frame(codec, logout("second"));
+                byte[] third = frame(codec, logout("third"));
+                byte[] all = new byte[first.length + second.length + third.length];
+                System.arraycopy(first, 0, all, 0, first.length);
+                System.arraycopy(second, 0, all, first.length, second.length);
+                System.arraycopy(third, 0, all, first.length + second.length, third.length);
+                out.write(all);
+                out.flush();
+                assertEquals("first", this.next());
+                assertEquals("second", this.next());
+                assertEquals("third", this.next());
+
+                //a frame larger than the initial buffer
+                char[] chars = new char[64 * 1024];
+                Arrays.fill(chars, 'x');
+                String large = new String(chars);
+                out.write(frame(codec, logout(large)));
+                out.flush();
+                assertEquals(large, this.next());
+            }
+        }
+    }
+
+    /**
+     * Checks that a {@link NetworkMessage} whose handling fails does not stop the following ones from being forwarded,
+     * and that a client sending a {@link NetworkMessage} that breaks the reactor is disconnected without affecting
+     * the other clients.
+     *
+     * @throws Exception if the loopback connection fails.
+     */
+    @Test
+    public void failuresAreContained() throws Exception {
+        try (Socket healthy = this.connect(MessageCodec.BINARY);
+             Socket broken = this.connect(MessageCodec.SERIALIZED)) {
+            OutputStream out = healthy.getOutputStream();
+            out.write(frame(MessageCodec.BINARY, logout("fail")));
+            out.write(frame(MessageCodec.BINARY, logout("after")));
+            out.flush();
+            assertEquals("after", this.next());
+
+            //a message without type can't even be queued: the connection is closed
+            broken.getOutputStream().write(frame(MessageCodec.SERIALIZED, NetworkMessage.simpleClientMessage("broken", null)));
+            broken.getOutputStream().flush();
+            broken.setSoTimeout(TIMEOUT * 1000);
+            assertEquals(-1, broken.getInputStream().read());
+
+            out.write(frame(MessageCodec.BINARY, logout("still served")));
+            out.flush();
+            assertEquals("still served", this.next());
+            assertTrue(this.reactorThread.isAlive());
+        }
+    }
+
+    /**
+     * Checks that the frames sent to a client that does not read are queued only up to a bound, after which the
+     * connection is closed, and that a queue that is not written reports no progress while a written one does.
+     *
+     * @throws Exception if the loopback connection fails.
+     */
+    @Test
+    public void boundedBacklog() throws Exception {
+        try (Socket client = new Socket("127.0.0.1", this.server.socket().getLocalPort());
+             SocketChannel channel = this.server.accept();
+             Selector selector = Selector.open()) {
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            NioClientConnection connection = new NioClientConnection(channel, key, this.dispatcher, this.received::add);
+
+            DataOutputStream out = new DataOutputStream(client.getOutputStream());
+            out.writeInt(FrameCodec.MAGIC);
+            out.writeByte(MessageCodec.BINARY.getId());
+            out.flush();
+            Thread.sleep(100);
+            connection.onReadable();
+            connection.onWritable();
+            assertEquals(-1, connection.getStalledSince());
+
+            //nothing is written until the reactor is told so
+            char[] chars = new char[16 * 1024];
+            Arrays.fill(chars, 'x');
+            NetworkMessage large = NetworkMessage.completeServerMessage(MessageType.LOBBY_LOGOUT_REQUEST, new String(chars));
+            connection.sendMessage(large);
+            long stalledSince = connection.getStalledSince();
+            assertTrue(stalledSince >= 0);
+            connection.sendMessage(large);
+            assertEquals(stalledSince, connection.getStalledSince());
+
+            connection.onWritable();
+            assertTrue(connection.getStalledSince() == -1 || connection.getStalledSince() > stalledSince);
+
+            //the client never reads: the backlog eventually fills up
+            try {
+                for (int i = 0; i < 1000; i++) {
+                    connection.sendMessage(large);
+                    connection.onWritable();
+                }
+                fail("The backlog of a client that does not read is unbounded");
+            } catch (ConnectionException e) {
+                assertFalse(channel.isOpen());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package it.polimi.ingsw.network.server.lobby;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
+import it.polimi.ingsw.model.simulation.Simulator;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the admission control of the {@link GameScheduler} and its handling of failing {@link Game}s.
+ */
+public class TestGameScheduler {
+
+    /**
+     * This test saturates a {@link GameScheduler} with a single thread and a single queue slot, then checks that
+     * further {@link Game}s are refused, and that a failing {@link Game} does not prevent the next ones from being played.
+     *
+     * @throws InterruptedException if the tester is interrupted while waiting for the {@link Game}s.
+     */
+    @Test
+    public void admission() throws InterruptedException {
+        GameScheduler scheduler = new GameScheduler(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch played = new CountDownLatch(1);
+
+        assertTrue(scheduler.submit("blocked", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("failing game");
+        }));
+        assertTrue(scheduler.submit("queued", () -> {
+            Game game = Simulator.randomGame(7, GameMode.simulation());
+            played.countDown();
+            return game;
+        }));
+        assertFalse(scheduler.submit("refused", () -> Simulator.randomGame(8, GameMode.simulation())));
+        assertEquals(1, scheduler.getQueuedGames());
+
+        release.countDown();
+        assertTrue(played.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100 && !scheduler.getRunningGames().isEmpty(); i++)
+            Thread.sleep(100);
+        assertTrue(scheduler.getRunningGames().isEmpty());
+        assertEquals(0, scheduler.getQueuedGames());
+    }
+}
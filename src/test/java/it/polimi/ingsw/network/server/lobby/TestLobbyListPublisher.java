@@ -0,0 +1,97 @@
+package it.polimi.ingsw.network.server.lobby;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.common.message.MessageType;
+import it.polimi.ingsw.network.common.message.NetworkMessage;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the {@link Lobby} list changes pushed by a {@link LobbyListPublisher} to its subscribers.
+ */
+public class TestLobbyListPublisher {
+    /**
+     * Creates a connected {@link Player} whose received {@link NetworkMessage}s are collected into the given queue.
+     *
+     * @param name     the name of the {@link Player}.
+     * @param received the queue collecting the {@link NetworkMessage}s.
+     * @return the {@link Player}.
+     */
+    private static Player subscriber(String name, BlockingQueue<NetworkMessage> received) {
+        Player player = new Player(name);
+        player.setCommunicationInterface(received::add);
+        player.notifyConnected();
+        return player;
+    }
+
+    /**
+     * Returns the content of the next {@code LOBBY_LIST_DELTA} received.
+     *
+     * @param received the queue collecting the {@link NetworkMessage}s.
+     * @return the content of the {@link NetworkMessage}.
+     * @throws InterruptedException if the tester is interrupted while waiting.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> nextDelta(BlockingQueue<NetworkMessage> received) throws InterruptedException {
+        NetworkMessage message = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals(MessageType.LOBBY_LIST_DELTA, message.getType());
+        return (Map<String, String>) message.getContent();
+    }
+
+    /**
+     * Checks that a new subscriber is first sent the whole {@link Lobby} list, then a single message for any number of
+     * changes, holding only the {@link Lobby}s changed, and nothing once unsubscribed.
+     *
+     * @throws InterruptedException if the tester is interrupted while waiting.
+     */
+    @Test
+    public void coalescedDeltas() throws InterruptedException {
+        Map<String, String> lobbies = new ConcurrentHashMap<>();
+        lobbies.put("a", "[1/5]");
+        lobbies.put("b", "[2/5]");
+        LobbyListPublisher publisher = new LobbyListPublisher(() -> new HashMap<>(lobbies), lobbies::get, 1, TimeUnit.HOURS);
+
+        BlockingQueue<NetworkMessage> received = new LinkedBlockingQueue<>();
+        publisher.subscribe(subscriber("watcher", received));
+        try {
+            assertEquals(lobbies, nextDelta(received));
+
+            //nothing changed: nothing sent
+            publisher.flush();
+            assertTrue(received.isEmpty());
+
+            lobbies.put("a", "[2/5]");
+            publisher.changed("a");
+            lobbies.put("a", "[3/5]");
+            publisher.changed("a");
+            lobbies.remove("b");
+            publisher.changed("b");
+            lobbies.put("c", "[1/5]");
+            publisher.changed("c");
+            publisher.flush();
+
+            Map<String, String> expected = new HashMap<>();
+            expected.put("a", "[3/5]");
+            expected.put("b", null);
+            expected.put("c", "[1/5]");
+            assertEquals(expected, nextDelta(received));
+            assertTrue(received.isEmpty());
+
+            assertTrue(publisher.unsubscribe("watcher"));
+            publisher.changed("c");
+            publisher.flush();
+            assertTrue(received.isEmpty());
+        } finally {
+            publisher.stop();
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package it.polimi.ingsw.network.server.lobby;
 
+import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.network.common.exceptions.*;
+import it.polimi.ingsw.network.common.util.timer.CountDownTimer;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -11,6 +20,10 @@ import static org.junit.Assert.assertTrue;
  * This class tests the {@link LobbyManager} integrity after certain operation on the {@link Lobby} are asked do be done.
  */
 public class TestLobbyManager {
+    /**
+     * The number of {@link Lobby}s created besides the one under test, enough to share a lock stripe with it.
+     */
+    private static final int LOBBY_COUNT = 200;
 
     /**
      * Tests the creation of a new {@link Lobby}, the creation of a {@link Lobby} with the same name of an already created one.
@@ -134,4 +147,135 @@ public class TestLobbyManager {
         }
         assertTrue(catchTaken);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the lookup of the {@link Lobby} a {@link Player} is logged into, before joining, after joining and after
+     * leaving it, together with the deletion of the {@link Lobby} once it is left empty.
+     *
+     * @throws Exception if any of the {@link LobbyManager} operations fails.
+     */
+    @Test
+    public void getLobbyNameByPlayer() throws Exception {
+        String lobbyName = "SampleLobby5Name";
+        Player player = new Player("SamplePlayerName");
+        LobbyManager manager = new LobbyManager();
+
+        boolean catchTaken;
+
+        //look for a Player not logged into any Lobby: KO
+        try {
+            manager.getLobbyNameByPlayer(player);
+            catchTaken = false;
+        } catch (PlayerNotFoundException ignored) {
+            catchTaken = true;
+        }
+        assertTrue(catchTaken);
+
+        //look for a Player logged into a Lobby: OK
+        manager.newLobby(lobbyName, null);
+        manager.add(lobbyName, player, null);
+        assertEquals(lobbyName, manager.getLobbyNameByPlayer(player));
+
+        //look for a Player who left his Lobby: KO
+        manager.remove(lobbyName, player);
+        try {
+            manager.getLobbyNameByPlayer(player);
+            catchTaken = false;
+        } catch (PlayerNotFoundException ignored) {
+            catchTaken = true;
+        }
+        assertTrue(catchTaken);
+
+        //the empty Lobby has been deleted
+        assertTrue(manager.getLobbiesStatus().isEmpty());
+    }
+
+    /**
+     * Tests that a client whose sends never complete delays neither the operations on its own {@link Lobby}, which
+     * notify it, nor those on the other {@link Lobby}s.
+     *
+     * @throws Exception if any of the {@link LobbyManager} operations fails.
+     */
+    @Test(timeout = 5000)
+    public void slowClient() throws Exception {
+        CountDownLatch stuck = new CountDownLatch(1);
+        Player slow = new Player("SlowPlayerName");
+        slow.setCommunicationInterface(message -> {
+            try {
+                stuck.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        slow.notifyConnected();
+        Player p2 = new Player("SamplePlayer2Name");
+        Player p3 = new Player("SamplePlayer3Name");
+        LobbyManager manager = new LobbyManager();
+
+        try {
+            manager.newLobby("SlowLobbyName", null);
+            manager.add("SlowLobbyName", slow, null);
+            manager.notifyOpponentsUpdate("SlowLobbyName");
+            manager.add("SlowLobbyName", p2, null);
+            manager.add("SlowLobbyName", p3, null); //the countdown starts
+            manager.notifyTimeUpdate("SlowLobbyName");
+            manager.remove("SlowLobbyName", p3); //the countdown stops
+            assertEquals("[2/5]", manager.getLobbiesStatus().get("SlowLobbyName"));
+
+            for (int i = 0; i < LOBBY_COUNT; i++) {
+                manager.newLobby("OtherLobby" + i + "Name", null);
+                manager.add("OtherLobby" + i + "Name", new Player("OtherPlayer" + i + "Name"), null);
+            }
+            assertEquals(LOBBY_COUNT + 1, manager.getLobbiesStatus().size());
+        } finally {
+            stuck.countDown();
+        }
+    }
+
+    /**
+     * Tests that a {@link Player} logged out of a started {@link it.polimi.ingsw.model.Game} and registered again, as a
+     * new {@link Player} object with the same name, is still found into its {@link Lobby} and can rejoin it, while a
+     * new {@link Player} can't.
+     *
+     * @throws Exception if any of the {@link LobbyManager} operations fails.
+     */
+    @Test
+    public void reconnectToStartedGame() throws Exception {
+        String lobbyName = "SampleLobby6Name";
+        List<String> submitted = new ArrayList<>();
+        LobbyManager manager = new LobbyManager(new GameScheduler(1, 1) {
+            @Override
+            public boolean submit(String lobbyName, Supplier<Game> game) {
+                submitted.add(lobbyName); //the Game is never created nor played
+                return true;
+            }
+        });
+        manager.newLobby(lobbyName, null);
+        manager.add(lobbyName, new Player("Mark"), null);
+        manager.add(lobbyName, new Player("John"), null);
+        Player lost = new Player("Lisa");
+        manager.add(lobbyName, lost, null);
+
+        //the countdown expires: the Game starts and the Players can no longer leave the Lobby
+        manager.getLobbyByName(lobbyName).onEvent(CountDownTimer.STATUS_EXPIRED, -1);
+        assertEquals(Collections.singletonList(lobbyName), submitted);
+
+        //the Player is logged out after losing connection, then registers again
+        manager.remove(lobbyName, lost);
+        Player reconnected = new Player("Lisa");
+        assertEquals(lobbyName, manager.getLobbyNameByPlayer(reconnected));
+
+        manager.add(lobbyName, reconnected, null);
+        assertEquals(lobbyName, manager.getLobbyNameByPlayer(reconnected));
+        assertEquals("[3/5]", manager.getLobbiesStatus().get(lobbyName));
+
+        boolean catchTaken;
+        try {
+            manager.add(lobbyName, new Player("Anne"), null);
+            catchTaken = false;
+        } catch (GameAlreadyStartedException ignored) {
+            catchTaken = true;
+        }
+        assertTrue(catchTaken);
+    }
+}
@@ -0,0 +1,111 @@
+package it.polimi.ingsw.util.persistence;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
+import it.polimi.ingsw.model.exceptions.InvalidSaveStateException;
+import it.polimi.ingsw.model.exceptions.UnmatchedSavedParticipantsException;
+import it.polimi.ingsw.model.player.Player;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests saving a {@link Game} to a {@link SaveStore} and loading it back, in a temporary directory.
+ */
+public class TestGameSave {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The {@link GameMode} of the games under test, saving to a {@link SaveStore} in {@link TestGameSave#folder}.
+     */
+    private GameMode mode;
+
+    /**
+     * Creates the {@link SaveStore} of the games under test.
+     */
+    @Before
+    public void setUp() {
+        this.mode = GameMode.defaults().withSaveStore(new SaveStore(folder.getRoot()));
+    }
+
+    /**
+     * Tests that {@link Game#load(List, GameMode)} restores what {@link Game#save()} saved, after the state changed between saves.
+     */
+    @Test
+    public void loadRestoresState() {
+        List<Player> participants = new ArrayList<>();
+        participants.add(new Player("Aldo"));
+        participants.add(new Player("Giovanni"));
+        participants.add(new Player("Giacomo"));
+
+        Game game = Game.create(true, 3, 1, participants, mode);
+        game.save();
+
+        participants.get(0).setPosition(game.getBoard().getCells().get(4));
+        participants.get(1).applyDamage(participants.get(0));
+        participants.get(1).applyDamage(participants.get(2));
+        participants.get(2).giveScore(7);
+        game.save();
+
+        List<Player> rejoining = new ArrayList<>();
+        rejoining.add(new Player("Giacomo"));
+        rejoining.add(new Player("Aldo"));
+        rejoining.add(new Player("Giovanni"));
+
+        Game loaded = null;
+        try {
+            loaded = Game.load(rejoining, mode);
+        } catch (InvalidSaveStateException | UnmatchedSavedParticipantsException e) {
+            fail();
+        }
+
+        Player aldo = loaded.getParticipants().get(0);
+        Player giovanni = loaded.getParticipants().get(1);
+        Player giacomo = loaded.getParticipants().get(2);
+        assertEquals("Aldo", aldo.getName());
+        assertEquals(5, aldo.getPosition().getId());
+        assertEquals(1, giovanni.getDamageByAuthor(aldo));
+        assertEquals(1, giovanni.getDamageByAuthor(giacomo));
+        assertEquals(7, giacomo.getScore());
+    }
+
+    /**
+     * Tests that an invalidated save state can't be loaded.
+     */
+    @Test(expected = InvalidSaveStateException.class)
+    public void loadInvalidated() throws InvalidSaveStateException, UnmatchedSavedParticipantsException {
+        List<Player> participants = new ArrayList<>();
+        participants.add(new Player("Aldo"));
+
+        Game game = Game.create(false, 1, 2, participants, mode);
+        game.save();
+        game.invalidateSaveState();
+        Game.load(participants, mode);
+    }
+
+    /**
+     * Tests that a {@link Game} that is not persistent never writes to its {@link SaveStore}.
+     */
+    @Test
+    public void simulationNeverSaved() {
+        List<Player> participants = new ArrayList<>();
+        participants.add(new Player("Aldo"));
+        participants.add(new Player("Giovanni"));
+
+        GameMode simulation = GameMode.simulation().withSaveStore(new SaveStore(folder.getRoot()));
+        Game game = Game.create(false, 1, 2, participants, simulation);
+        game.save();
+        game.invalidateSaveState();
+
+        assertFalse(simulation.getSaveStore().isResumable(simulation.getSaveSlot()));
+        assertEquals(0, folder.getRoot().list().length);
+    }
+}
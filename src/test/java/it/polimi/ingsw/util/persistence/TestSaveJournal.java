@@ -0,0 +1,124 @@
+package it.polimi.ingsw.util.persistence;
+
+import it.polimi.ingsw.model.exceptions.SaveJournalException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the writing and replaying of a {@link SaveJournal}.
+ */
+public class TestSaveJournal {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * This test checks that replaying yields the last value written for each key, across many snapshots.
+     */
+    @Test
+    public void replayLastValues() throws IOException {
+        File file = folder.newFile("game.journal");
+        SaveJournal journal = new SaveJournal(file);
+
+        Map<Integer, byte[]> entries = new HashMap<>();
+        for (int turn = 0; turn < 50; turn++) {
+            entries.put(0, new byte[]{(byte) turn});
+            entries.put(turn % 5 + 1, new byte[]{(byte) turn, (byte) -turn});
+            journal.write(entries);
+        }
+
+        Map<Integer, byte[]> state = SaveJournal.replay(file);
+        assertEquals(6, state.size());
+        assertArrayEquals(new byte[]{49}, state.get(0));
+        for (int key = 1; key <= 5; key++)
+            assertArrayEquals(new byte[]{(byte) (44 + key), (byte) -(44 + key)}, state.get(key));
+    }
+
+    /**
+     * This test checks that a record torn by a crash mid-write is discarded, together with everything after it.
+     */
+    @Test
+    public void discardTornRecord() throws IOException {
+        File file = folder.newFile("game.journal");
+        SaveJournal journal = new SaveJournal(file);
+
+        Map<Integer, byte[]> entries = new HashMap<>();
+        entries.put(1, new byte[]{1});
+        journal.write(entries);
+        entries.put(1, new byte[]{2});
+        journal.write(entries);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        assertArrayEquals(new byte[]{1}, SaveJournal.replay(file).get(1));
+    }
+
+    /**
+     * This test checks that entries whose write failed are written again by the next write, as a snapshot.
+     */
+    @Test
+    public void retryAfterFailedWrite() throws IOException {
+        File file = folder.newFile("game.journal");
+        SaveJournal journal = new SaveJournal(file);
+
+        Map<Integer, byte[]> entries = new HashMap<>();
+        entries.put(1, new byte[]{1});
+        journal.write(entries);
+
+        //a directory in place of the journal makes the next append fail
+        Files.delete(file.toPath());
+        assertTrue(file.mkdir());
+        entries.put(2, new byte[]{2});
+        try {
+            journal.write(entries);
+            fail();
+        } catch (SaveJournalException ignored) {
+        }
+        assertTrue(file.delete());
+
+        journal.write(entries);
+        Map<Integer, byte[]> state = SaveJournal.replay(file);
+        assertArrayEquals(new byte[]{1}, state.get(1));
+        assertArrayEquals(new byte[]{2}, state.get(2));
+    }
+
+    /**
+     * This test checks that a new journal discards whatever a previous one left in the same file.
+     */
+    @Test
+    public void freshJournalOverwrites() throws IOException {
+        File file = folder.newFile("game.journal");
+
+        Map<Integer, byte[]> entries = new HashMap<>();
+        entries.put(1, new byte[]{1});
+        entries.put(2, new byte[]{2});
+        new SaveJournal(file).write(entries);
+
+        entries.remove(2);
+        new SaveJournal(file).write(entries);
+
+        Map<Integer, byte[]> state = SaveJournal.replay(file);
+        assertEquals(1, state.size());
+        assertFalse(state.containsKey(2));
+    }
+
+    /**
+     * This test checks that replaying a missing file yields no state.
+     */
+    @Test
+    public void replayMissingFile() {
+        assertTrue(SaveJournal.replay(new File(folder.getRoot(), "missing.journal")).isEmpty());
+    }
+}
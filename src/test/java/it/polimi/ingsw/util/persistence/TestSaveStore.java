@@ -0,0 +1,58 @@
+package it.polimi.ingsw.util.persistence;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the slots and the index of a {@link SaveStore}.
+ */
+public class TestSaveStore {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * This test checks that journals on different slots don't overwrite each other.
+     */
+    @Test
+    public void separateSlots() {
+        SaveStore store = new SaveStore(folder.getRoot());
+
+        store.open("first").write(Collections.singletonMap(0, new byte[]{1}));
+        store.open("second").write(Collections.singletonMap(0, new byte[]{2}));
+
+        assertArrayEquals(new byte[]{1}, store.replay("first").get(0));
+        assertArrayEquals(new byte[]{2}, store.replay("second").get(0));
+    }
+
+    /**
+     * This test checks that the index follows writes and discards, and that it is rebuilt from the directory,
+     * slot names that are not valid file names included.
+     */
+    @Test
+    public void index() {
+        SaveStore store = new SaveStore(folder.getRoot());
+        String name = "Lobby: ünïcödé/1_a";
+
+        assertFalse(store.isResumable(name));
+        SaveJournal journal = store.open(name);
+        journal.write(Collections.singletonMap(0, new byte[]{1}));
+        store.open("discarded").discard();
+        assertTrue(store.isResumable(name));
+        assertFalse(store.isResumable("discarded"));
+
+        SaveStore reopened = new SaveStore(folder.getRoot());
+        assertEquals(Collections.singleton(name), reopened.getResumableSlots());
+
+        journal.discard();
+        assertFalse(store.isResumable(name));
+        assertTrue(store.replay(name).isEmpty());
+        assertEquals(0, new File(folder.getRoot().getPath()).list().length);
+    }
+}
@@ -0,0 +1,83 @@
+package it.polimi.ingsw.util.printer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the drawing on a {@link Canvas} and its conversion into {@link ColoredString}s.
+ */
+public class TestCanvas {
+
+    /**
+     * This test checks that writings are split into one cell per character, and that cells holding the same character
+     * with the same colour are viewed as the same {@link ColoredString}, even after the {@link Canvas} is cleared.
+     */
+    @Test
+    public void sharedGlyphs() {
+        Canvas canvas = new Canvas(2, 6);
+        assertEquals(3, canvas.write(0, 1, "aba", Color.RED));
+        canvas.write(1, 0, "a", Color.BLUE);
+
+        ColoredString[][] matrix = canvas.toMatrix();
+        assertNull(matrix[0][0]);
+        assertEquals("b", matrix[0][2].content());
+        assertEquals(Color.RED, matrix[0][2].color());
+        assertSame(matrix[0][1], matrix[0][3]);
+        assertNotSame(matrix[0][1], matrix[1][0]);
+
+        canvas.clear();
+        assertTrue(canvas.isEmpty(0, 1));
+        canvas.write(1, 5, "a", Color.RED);
+        assertSame(matrix[0][1], canvas.get(1, 5));
+    }
+
+    /**
+     * This test checks that a {@link Canvas} built out of a grid of {@link ColoredString}s holds the same cells.
+     */
+    @Test
+    public void fromMatrix() {
+        ColoredString[][] grid = {
+                {new ColoredString("╔", Color.BLACK), null, new ColoredString("x", null)},
+                {null, null, null}
+        };
+        Canvas canvas = Canvas.of(grid);
+
+        assertEquals(3, canvas.getWidth());
+        assertEquals('╔', canvas.codePointAt(0, 0));
+        assertEquals(Color.BLACK, canvas.colorAt(0, 0));
+        assertTrue(canvas.isEmpty(0, 1));
+        assertNull(canvas.colorAt(0, 2));
+        assertEquals(grid[0][2], canvas.get(0, 2));
+    }
+
+    /**
+     * This test checks that copying a layer replaces every cell, keeping the colours right even when the palettes of
+     * the two {@link Canvas}es disagree.
+     */
+    @Test
+    public void copyLayer() {
+        Canvas layer = new Canvas(1, 4);
+        layer.write(0, 0, "ab", Color.BLUE);
+
+        Canvas canvas = new Canvas(1, 4);
+        canvas.write(0, 2, "cd", Color.RED);
+        canvas.copyFrom(layer);
+        assertEquals(Color.BLUE, canvas.colorAt(0, 1));
+        assertEquals(new ColoredString("a", Color.BLUE), canvas.get(0, 0));
+        assertTrue(canvas.isEmpty(0, 2));
+
+        canvas.write(0, 3, "e", Color.RED);
+        canvas.copyFrom(layer);
+        assertTrue(canvas.isEmpty(0, 3));
+        assertEquals(Color.BLUE, canvas.colorAt(0, 0));
+    }
+
+    /**
+     * This test checks that a writing that does not fit in its row is refused.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void overflow() {
+        new Canvas(1, 4).write(0, 2, "abc", null);
+    }
+}
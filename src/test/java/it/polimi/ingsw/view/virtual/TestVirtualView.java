@@ -0,0 +1,178 @@
+package it.polimi.ingsw.view.virtual;
+
+import it.polimi.ingsw.controller.Controller;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
+import it.polimi.ingsw.model.cell.AmmoCell;
+import it.polimi.ingsw.model.cell.Cell;
+import it.polimi.ingsw.model.exceptions.AbortedTurnException;
+import it.polimi.ingsw.model.exceptions.CannotAffordException;
+import it.polimi.ingsw.model.exceptions.EmptyDeckException;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.weaponry.AttackModule;
+import it.polimi.ingsw.model.weaponry.AttackPattern;
+import it.polimi.ingsw.model.weaponry.Weapon;
+import it.polimi.ingsw.model.weaponry.targets.TargetPlayer;
+import it.polimi.ingsw.util.printer.ColoredString;
+import it.polimi.ingsw.view.virtual.cli.CliCommon;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the canvases cached by a {@link VirtualView}, which must be drawn again after every change to its
+ * {@link Game} made through the {@link Controller} or by the {@link Game} itself, and only then.
+ */
+public class TestVirtualView {
+
+    private Game game;
+    private VirtualView view;
+    private Controller controller;
+    private List<Player> participants;
+
+    @Before
+    public void setUp() {
+        participants = new ArrayList<>();
+        participants.add(new Player("Aldo"));
+        participants.add(new Player("Giovanni"));
+        participants.add(new Player("Giacomo"));
+
+        game = Game.create(false, 1, 1, participants, GameMode.simulation(), 2019);
+        view = game.getVirtualView();
+        controller = view.getController();
+
+        List<Cell> cells = game.getBoard().getCells();
+        for (int i = 0; i < participants.size(); i++)
+            participants.get(i).setPosition(cells.get(i));
+        game.getBoard().spreadAmmo();
+        game.notifyChanged();
+    }
+
+    /**
+     * Asserts that a cached canvas is a new drawing, which differs from the previous one and matches the current
+     * state of the {@link Game}.
+     *
+     * @param previous the canvas drawn before the change.
+     * @param current  the canvas returned after the change.
+     * @param viewer   the {@link Player} the canvases are drawn for.
+     */
+    private static void assertRedrawn(ColoredString[][] previous, ColoredString[][] current, Player viewer) {
+        assertNotSame(previous, current);
+        assertFalse("the change is not depicted", sameDrawing(previous, current));
+        assertTrue("the canvas is not up to date", sameDrawing(CliCommon.getCanvas(viewer), current));
+    }
+
+    /**
+     * Tells whether two canvases depict the same thing.
+     *
+     * @param a a canvas.
+     * @param b another canvas.
+     * @return {@code true} if every row of the canvases is the same.
+     */
+    private static boolean sameDrawing(ColoredString[][] a, ColoredString[][] b) {
+        if (a.length != b.length)
+            return false;
+        for (int row = 0; row < a.length; row++)
+            if (!Arrays.equals(a[row], b[row]))
+                return false;
+        return true;
+    }
+
+    /**
+     * Tests that the canvas is not drawn again when nothing changed, but is still drawn for each {@link Player}.
+     */
+    @Test
+    public void unchangedGameIsNotRedrawn() {
+        Player viewer = participants.get(0);
+        ColoredString[][] frame = view.frameOf(viewer);
+
+        assertSame(frame, view.frameOf(viewer));
+        assertNotSame(frame, view.frameOf(participants.get(1)));
+        assertSame(frame, view.frameOf(viewer));
+    }
+
+    /**
+     * Tests that moving a {@link Player} through the {@link Controller} redraws the canvas.
+     */
+    @Test
+    public void moveIsRedrawn() {
+        Player subject = participants.get(0);
+        Player viewer = participants.get(1);
+        ColoredString[][] before = view.frameOf(viewer);
+
+        Cell destination = game.getBoard().getCells().get(game.getBoard().getCells().size() - 1);
+        controller.move(subject, destination);
+
+        assertRedrawn(before, view.frameOf(viewer), viewer);
+    }
+
+    /**
+     * Tests that grabbing an {@code AmmoTile} through the {@link Controller} redraws the canvas.
+     *
+     * @throws AbortedTurnException if the grab is aborted.
+     */
+    @Test
+    public void grabAmmoIsRedrawn() throws AbortedTurnException {
+        Player subject = participants.get(0);
+        Cell ammoCell = game.getBoard().getCells().stream()
+                .filter(c -> !c.isSpawnPoint() && ((AmmoCell) c).getAmmoTile() != null)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        subject.setPosition(ammoCell);
+        game.notifyChanged();
+        ColoredString[][] before = view.frameOf(subject);
+
+        assertTrue(controller.grabAmmo(subject));
+
+        assertRedrawn(before, view.frameOf(subject), subject);
+    }
+
+    /**
+     * Tests that shooting a {@link Player} through the {@link Controller} redraws the canvas.
+     *
+     * @throws AbortedTurnException if the shot is aborted.
+     * @throws CannotAffordException never, as the author only pays for what they own.
+     */
+    @Test
+    public void shootTargetsIsRedrawn() throws AbortedTurnException, CannotAffordException {
+        Player author = participants.get(0);
+        Player victim = participants.get(1);
+        author.takeAmmoCubes(author.getAmmoCubes()); // so that the optional module can't be afforded
+        game.notifyChanged();
+
+        Weapon weapon = null;
+        do try {
+            weapon = game.getBoard().getWeaponDeck().draw();
+        } catch (EmptyDeckException e) {
+            fail();
+        } while (!weapon.getName().equals("Lock Rifle"));
+        AttackPattern pattern = weapon.getPattern();
+        controller.prepareForShoot(author, pattern);
+        AttackModule module = pattern.getModule(0);
+        ((TargetPlayer) module.getTargets().get(0)).setPlayer(victim);
+
+        ColoredString[][] before = view.frameOf(author);
+        controller.shootTargets(author, module, module.getTargets());
+
+        assertEquals(2, victim.getDamageByAuthor(author));
+        assertRedrawn(before, view.frameOf(author), author);
+    }
+
+    /**
+     * Tests that the changes made by the {@link Game} itself during its turns redraw the canvas.
+     */
+    @Test
+    public void turnsAreRedrawn() {
+        Player viewer = participants.get(0);
+        ColoredString[][] before = view.frameOf(viewer);
+
+        game.play();
+
+        assertRedrawn(before, view.frameOf(viewer), viewer);
+    }
+}
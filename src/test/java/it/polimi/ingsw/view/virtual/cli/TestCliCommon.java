@@ -0,0 +1,58 @@
+package it.polimi.ingsw.view.virtual.cli;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GameMode;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.util.printer.ColoredString;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the building of the {@code CLI} interface.
+ */
+public class TestCliCommon {
+
+    /**
+     * This test checks that frames of different games built at the same time are the same as when built one at a time.
+     *
+     * @throws Exception if a frame can't be built.
+     */
+    @Test
+    public void parallelRendering() throws Exception {
+        List<Player> viewers = new ArrayList<>();
+        List<ColoredString[][]> expected = new ArrayList<>();
+        for (int boardType = 1; boardType <= 4; boardType++) {
+            List<Player> participants = new ArrayList<>();
+            for (int i = 1; i <= 3 + boardType % 3; i++)
+                participants.add(new Player("Player" + i));
+            Game.create(true, 8, boardType, participants, GameMode.simulation(), boardType);
+
+            viewers.add(participants.get(boardType - 1));
+            expected.add(CliCommon.getCanvas(participants.get(boardType - 1)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(viewers.size());
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < viewers.size(); i++) {
+            int index = i;
+            results.add(executor.submit(() -> {
+                for (int k = 0; k < 50; k++) {
+                    ColoredString[][] canvas = CliCommon.getCanvas(viewers.get(index));
+                    for (int row = 0; row < canvas.length; row++)
+                        if (!Arrays.equals(expected.get(index)[row], canvas[row]))
+                            return false;
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> result : results)
+            assertTrue(result.get(30, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+}